@@ -0,0 +1,27 @@
+package org.treasurehunt.common.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page read by keyset pagination. {@code nextCursor} is passed back to fetch the following
+ * page and is {@code null} on the last one; {@code totalElements} is only filled when asked for.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long totalElements;
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), size, nextCursor, hasNext, totalElements);
+    }
+}
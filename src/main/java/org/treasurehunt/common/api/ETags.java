@@ -0,0 +1,30 @@
+package org.treasurehunt.common.api;
+
+/**
+ * Strong entity tags and {@code If-None-Match} matching.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String strong(String hash) {
+        return "\"" + hash + "\"";
+    }
+
+    /**
+     * @return whether an {@code If-None-Match} header value matches {@code etag}
+     */
+    public static boolean matches(String etag, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,30 @@
+package org.treasurehunt.common.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.DigestUtils;
+
+/**
+ * A response body serialized to JSON once, and its strong ETag derived from the bytes.
+ */
+public record RenderedJson(byte[] body, String etag) {
+
+    /**
+     * @throws IllegalStateException if the value cannot be serialized
+     */
+    public static RenderedJson of(ObjectMapper objectMapper, Object value) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            return new RenderedJson(body, ETags.strong(DigestUtils.md5DigestAsHex(body)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * @return whether an {@code If-None-Match} header value matches this body
+     */
+    public boolean matches(String ifNoneMatch) {
+        return ETags.matches(etag, ifNoneMatch);
+    }
+}
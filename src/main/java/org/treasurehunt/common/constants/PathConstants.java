@@ -27,6 +27,14 @@ public final class PathConstants {
     public static final String HUNT_ID = "{id}";
     public static final String HUNT_ID_CHALLENGE = "{id}/challenges";
     public static final String HUNT_ME = "me";
+    public static final String HUNT_CURSOR = "cursor";
+    public static final String HUNT_ME_CURSOR = "me/cursor";
+    public static final String HUNT_SEARCH = "search";
+    public static final String HUNT_NEARBY = "nearby";
+    public static final String HUNT_EXPORT = "{id}/export";
+    public static final String HUNT_IMPORT = "import";
+    public static final String HUNT_MAP_TILES = "{id}/map/tiles";
+    public static final String HUNT_MAP_TILE = "{id}/map/tiles/{z}/{x}/{y}";
 
     public static final String CHALLENGE_BASE = "challenges";
     public static final String CHALLENGE_SUBMIT = "challenges/submit";
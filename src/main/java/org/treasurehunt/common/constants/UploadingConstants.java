@@ -13,6 +13,14 @@ public class UploadingConstants {
     public static final String HUNT_BG_UPLOAD_DIR = "hunt-bg-photos/";
     public static final String HUNT_MAP_UPLOAD_DIR = "hunt-map-photos/";
     public static final String CHALLENGE_PIECES_UPLOAD_DIR = "challenge-pieces/";
+    /**
+     * Resized copies of the uploads in each of the directories above.
+     */
+    public static final String IMAGE_RENDITIONS_DIR = "renditions/";
+    /**
+     * Tile pyramids of the hunt maps, one directory per hunt under {@link #HUNT_MAP_UPLOAD_DIR}.
+     */
+    public static final String MAP_TILES_DIR = "tiles/";
     public static final Set<String> ALLOWED_TYPES = Set.of("image/png", "image/jpeg");
 
 }
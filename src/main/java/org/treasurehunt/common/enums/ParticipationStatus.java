@@ -0,0 +1,9 @@
+package org.treasurehunt.common.enums;
+
+/**
+ * Where a user stands in a hunt they joined. A user has at most one ACTIVE participation.
+ */
+public enum ParticipationStatus {
+    ACTIVE,
+    COMPLETED
+}
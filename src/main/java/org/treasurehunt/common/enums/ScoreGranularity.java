@@ -0,0 +1,10 @@
+package org.treasurehunt.common.enums;
+
+/**
+ * Resolution of a score history snapshot. Each level is rolled up from the one before it.
+ */
+public enum ScoreGranularity {
+    HOURLY,
+    DAILY,
+    WEEKLY
+}
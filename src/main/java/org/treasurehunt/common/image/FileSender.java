@@ -0,0 +1,171 @@
+package org.treasurehunt.common.image;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Writes a stored file to the response, whole or as a single byte range.
+ * <p>
+ * On Tomcat connectors that support it, the body is handed to Tomcat's sendfile, which moves
+ * the bytes from the file to the socket with {@link FileChannel#transferTo} and never copies
+ * them through the heap. Elsewhere, and for files under {@link #SENDFILE_MIN_BYTES} where the
+ * hand-off costs more than it saves, the file is written with {@code transferTo} onto the
+ * response stream.
+ * <p>
+ * {@code Range} requests get {@code 206 Partial Content}, or {@code 416} when the range lies
+ * past the end of the file. Only single ranges are honored: a multi-range or malformed
+ * {@code Range}, or an {@code If-Range} that no longer matches, gets the whole file.
+ */
+final class FileSender {
+
+    static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileSender() {
+    }
+
+    /**
+     * A requested byte range, both ends inclusive.
+     */
+    record ByteRange(long start, long end) {
+
+        static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        long length() {
+            return end - start + 1;
+        }
+    }
+
+    /**
+     * Sends the status, entity headers and body; validators and caching headers are left to the
+     * caller.
+     */
+    static void send(HttpServletRequest request, HttpServletResponse response, ImageMetadata file) throws IOException {
+        long length = file.length();
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(file.contentType());
+
+        ByteRange range = ifRangeMatches(request, file) ? parseRange(request.getHeader(HttpHeaders.RANGE), length) : null;
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return;
+        }
+        if (range == null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            range = new ByteRange(0, length - 1);
+        } else {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range.start() + "-" + range.end() + "/" + length);
+        }
+        response.setContentLengthLong(range.length());
+        if (HttpMethod.HEAD.matches(request.getMethod()) || range.length() == 0) {
+            return;
+        }
+
+        if (range.length() >= SENDFILE_MIN_BYTES && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end() + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = range.start();
+            long remaining = range.length();
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    throw new IOException("File ended early: " + file.path().getFileName());
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * @return the range asked for, {@link ByteRange#UNSATISFIABLE} if it starts past the end of
+     * the file, or {@code null} for the whole file
+     */
+    static ByteRange parseRange(String header, long length) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        if (!isDigits(first) || !isDigits(last) || first.isEmpty() && last.isEmpty()) {
+            return null;
+        }
+        try {
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return ByteRange.UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, length - suffix), length - 1);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (end < start) {
+                return null;
+            }
+            if (start >= length) {
+                return ByteRange.UNSATISFIABLE;
+            }
+            return new ByteRange(start, Math.min(end, length - 1));
+        } catch (NumberFormatException e) {
+            // Too large for a long
+            return null;
+        }
+    }
+
+    /**
+     * Byte positions are plain digits: no sign, which {@link Long#parseLong(String)} would accept.
+     */
+    private static boolean isDigits(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code If-Range} holds either the strong ETag or the Last-Modified date the client has.
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, ImageMetadata file) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(file.etag());
+        }
+        try {
+            return Instant.ofEpochMilli(request.getDateHeader(HttpHeaders.IF_RANGE)).equals(file.lastModified());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
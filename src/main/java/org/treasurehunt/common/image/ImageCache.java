@@ -0,0 +1,194 @@
+package org.treasurehunt.common.image;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.treasurehunt.common.api.ETags;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Serves uploaded images, in any of their {@link ImageSize}s, with HTTP caching.
+ * <p>
+ * The first request for an image in a size looks up its file name, has
+ * {@link ImageRenditions} make the rendition if needed, then reads the file once to hash it
+ * into a strong ETag. That metadata is kept in an LRU map of {@code app.images.cache-size}
+ * entries, so later requests need neither a database query nor a filesystem probe: conditional
+ * requests are answered with 304 straight from memory, and the file itself, or a byte range of
+ * it, is sent by {@link FileSender} with the content type found when the entry was loaded.
+ * <p>
+ * Entries are dropped on {@link ImageChangedEvent}s, and expire after
+ * {@code app.images.metadata-ttl-ms} to pick up changes made on other nodes. Responses carry
+ * {@code Cache-Control: max-age} of {@code app.images.max-age-seconds}, plus {@code immutable}
+ * when {@code app.images.immutable} is set.
+ */
+@Log4j2
+@Component
+public class ImageCache {
+
+    private final ImageRenditions imageRenditions;
+    private final Path uploadRoot;
+    private final String cacheControl;
+    private final Duration ttl;
+    private final Map<Key, ImageMetadata> entries;
+
+    public ImageCache(ImageRenditions imageRenditions,
+                      @Value("${app.upload.root:.}") String uploadRoot,
+                      @Value("${app.images.max-age-seconds:3600}") long maxAgeSeconds,
+                      @Value("${app.images.immutable:false}") boolean immutable,
+                      @Value("${app.images.metadata-ttl-ms:300000}") long ttlMs,
+                      @Value("${app.images.cache-size:10000}") int cacheSize) {
+        this.imageRenditions = imageRenditions;
+        this.uploadRoot = Paths.get(uploadRoot);
+        CacheControl policy = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+        this.cacheControl = (immutable ? policy.immutable() : policy).getHeaderValue();
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ImageMetadata> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    private record Key(ImageKind kind, Long id, ImageSize size) {
+    }
+
+    /**
+     * Answers a request for an image, with 304 when the request's validators still match, and
+     * 206 for a byte range. The original is served instead of a rendition that cannot be made
+     * right away.
+     * <p>
+     * Sends 200 without a body when the owner has no image, and 404 when its file is missing.
+     *
+     * @param fileNames looks up the image's file name by owner ID, on a cache miss only
+     */
+    public void serve(ImageKind kind, Long id, ImageSize size, Function<Long, String> fileNames,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImageMetadata image;
+        try {
+            image = get(kind, id, size, fileNames);
+        } catch (NoSuchFileException e) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        } catch (IOException e) {
+            log.error("Could not read {} image {}", kind, id, e);
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            return;
+        }
+        if (image == null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ETAG, image.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, image.lastModified().toEpochMilli());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (notModified(image, request)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        FileSender.send(request, response, image);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImageChanged(ImageChangedEvent event) {
+        for (ImageSize size : ImageSize.values()) {
+            entries.remove(new Key(event.kind(), event.id(), size));
+        }
+    }
+
+    int cachedImageCount() {
+        return entries.size();
+    }
+
+    /**
+     * @return the image's metadata, or {@code null} if its owner has no image
+     * @throws NoSuchFileException if the owner has an image but its file is missing
+     */
+    private ImageMetadata get(ImageKind kind, Long id, ImageSize size, Function<Long, String> fileNames)
+            throws IOException {
+        Key key = new Key(kind, id, size);
+        ImageMetadata cached = entries.get(key);
+        if (cached != null && cached.loadedAt().plus(ttl).isAfter(Instant.now())) {
+            return cached;
+        }
+
+        String fileName = fileNames.apply(id);
+        if (StringUtils.isBlank(fileName)) {
+            entries.remove(key);
+            return null;
+        }
+        ImageMetadata loaded;
+        try {
+            Path path = imageRenditions.rendition(uploadRoot.resolve(kind.uploadDir()).resolve(fileName).normalize(),
+                    size);
+            if (path == null) {
+                return get(kind, id, ImageSize.ORIGINAL, fileNames);
+            }
+            loaded = load(path);
+        } catch (NoSuchFileException e) {
+            entries.remove(key);
+            throw e;
+        }
+        entries.put(key, loaded);
+        return loaded;
+    }
+
+    private static ImageMetadata load(Path path) throws IOException {
+        String etag;
+        try (InputStream in = Files.newInputStream(path)) {
+            etag = ETags.strong(DigestUtils.md5DigestAsHex(in));
+        }
+        String contentType = Files.probeContentType(path);
+        if (contentType == null) {
+            contentType = MediaTypeFactory.getMediaType(path.getFileName().toString())
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        }
+        return new ImageMetadata(path, contentType,
+                Files.size(path),
+                Files.getLastModifiedTime(path).toInstant().truncatedTo(ChronoUnit.SECONDS),
+                etag,
+                Instant.now());
+    }
+
+    /**
+     * {@code If-None-Match} wins over {@code If-Modified-Since} when both are sent.
+     */
+    private static boolean notModified(ImageMetadata image, HttpServletRequest request) {
+        Enumeration<String> ifNoneMatch = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.hasMoreElements()) {
+            return ETags.matches(image.etag(), String.join(",", Collections.list(ifNoneMatch)));
+        }
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return ifModifiedSince >= 0 && !image.lastModified().isAfter(Instant.ofEpochMilli(ifModifiedSince));
+    }
+}
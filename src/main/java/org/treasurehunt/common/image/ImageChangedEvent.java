@@ -0,0 +1,8 @@
+package org.treasurehunt.common.image;
+
+/**
+ * Published when an uploaded image is replaced or deleted, so cached metadata about it is
+ * dropped.
+ */
+public record ImageChangedEvent(ImageKind kind, Long id) {
+}
@@ -0,0 +1,23 @@
+package org.treasurehunt.common.image;
+
+import static org.treasurehunt.common.constants.UploadingConstants.*;
+
+/**
+ * The kinds of uploaded images, each stored in its own directory and named by its owner's ID.
+ */
+public enum ImageKind {
+    HUNT_BACKGROUND(HUNT_BG_UPLOAD_DIR),
+    HUNT_MAP(HUNT_MAP_UPLOAD_DIR),
+    CHALLENGE_PIECE(CHALLENGE_PIECES_UPLOAD_DIR),
+    USER(USER_UPLOAD_DIR);
+
+    private final String uploadDir;
+
+    ImageKind(String uploadDir) {
+        this.uploadDir = uploadDir;
+    }
+
+    public String uploadDir() {
+        return uploadDir;
+    }
+}
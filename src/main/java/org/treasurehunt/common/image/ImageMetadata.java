@@ -0,0 +1,15 @@
+package org.treasurehunt.common.image;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * What is needed to answer a request for an image without touching the database or the
+ * filesystem, short of streaming the file itself.
+ *
+ * @param lastModified truncated to seconds, as HTTP dates are
+ * @param loadedAt     when this was read from the file, to let entries expire
+ */
+public record ImageMetadata(Path path, String contentType, long length, Instant lastModified, String etag,
+                            Instant loadedAt) {
+}
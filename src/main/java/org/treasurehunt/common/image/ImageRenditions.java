@@ -0,0 +1,182 @@
+package org.treasurehunt.common.image;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.treasurehunt.common.constants.UploadingConstants.IMAGE_RENDITIONS_DIR;
+
+/**
+ * Makes the resized JPEG renditions of uploaded images.
+ * <p>
+ * A rendition is made on its first request and stored next to the original, under
+ * {@code renditions/<size>/<original name>.jpg}; it is made again once the original is newer.
+ * Large originals are subsampled while they are decoded, so memory stays proportional to the
+ * rendition rather than to the upload.
+ * <p>
+ * Renditions are made on {@code app.images.render-workers} threads with room for
+ * {@code app.images.render-queue-size} more, so a burst of first requests cannot take over the
+ * server. Requests for the same rendition share one job, and a request waits at most
+ * {@code app.images.render-timeout-ms} for it.
+ */
+@Log4j2
+@Component
+public class ImageRenditions {
+
+    private final float jpegQuality;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor workers;
+    private final Map<Path, Future<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public ImageRenditions(@Value("${app.images.jpeg-quality:0.82}") float jpegQuality,
+                           @Value("${app.images.render-workers:2}") int renderWorkers,
+                           @Value("${app.images.render-queue-size:64}") int queueSize,
+                           @Value("${app.images.render-timeout-ms:10000}") long timeoutMs) {
+        this.jpegQuality = jpegQuality;
+        this.timeoutMs = timeoutMs;
+        this.workers = new ThreadPoolExecutor(renderWorkers, renderWorkers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), daemon("image-renditions"));
+    }
+
+    /**
+     * @return the rendition of {@code original} in {@code size}, or {@code null} if it cannot
+     * be made right now because the workers are busy or the original is not a readable image
+     * @throws NoSuchFileException if the original is missing
+     */
+    public Path rendition(Path original, ImageSize size) throws IOException {
+        if (size == ImageSize.ORIGINAL) {
+            return original;
+        }
+        Path target = original.resolveSibling(IMAGE_RENDITIONS_DIR)
+                .resolve(size.name().toLowerCase(Locale.ROOT))
+                .resolve(original.getFileName() + ".jpg");
+        if (isFresh(original, target)) {
+            return target;
+        }
+
+        Future<Path> job;
+        try {
+            job = inFlight.computeIfAbsent(target, key -> workers.submit(() -> {
+                try {
+                    return render(original, target, size.maxWidth());
+                } finally {
+                    inFlight.remove(key);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            log.warn("Too many image renditions queued, serving {} as is", original.getFileName());
+            return null;
+        }
+
+        try {
+            return job.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Left to finish in the background for the next request
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IllegalStateException("Could not render " + original.getFileName(), e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+
+    private static boolean isFresh(Path original, Path target) throws IOException {
+        if (!Files.exists(original)) {
+            throw new NoSuchFileException(original.toString());
+        }
+        return Files.exists(target)
+                && Files.getLastModifiedTime(target).compareTo(Files.getLastModifiedTime(original)) >= 0;
+    }
+
+    /**
+     * @return {@code target}, or {@code null} if the original cannot be decoded
+     */
+    private Path render(Path original, Path target, int maxWidth) throws IOException {
+        if (isFresh(original, target)) {
+            return target;
+        }
+        BufferedImage source = read(original, maxWidth);
+        if (source == null) {
+            log.warn("Could not decode {}, serving it as is", original.getFileName());
+            return null;
+        }
+
+        int width = Math.min(maxWidth, source.getWidth());
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        BufferedImage scaled = JpegImages.scaledOnWhite(source, width, height);
+
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "rendition", ".tmp");
+        try {
+            JpegImages.write(scaled, temp, jpegQuality);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return target;
+    }
+
+    /**
+     * Decodes every n-th pixel only, keeping at least twice the target width for the final
+     * bilinear pass.
+     */
+    private static BufferedImage read(Path original, int maxWidth) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int step = Math.max(1, reader.getWidth(0) / (maxWidth * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package org.treasurehunt.common.image;
+
+import org.treasurehunt.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * The renditions an image can be served in, as picked by the {@code size} request parameter.
+ * Renditions are JPEGs at most {@link #maxWidth()} pixels wide; {@link #ORIGINAL} is the
+ * uploaded file untouched.
+ */
+public enum ImageSize {
+    THUMB(160),
+    MEDIUM(640),
+    FULL(1600),
+    ORIGINAL(0);
+
+    private final int maxWidth;
+
+    ImageSize(int maxWidth) {
+        this.maxWidth = maxWidth;
+    }
+
+    public int maxWidth() {
+        return maxWidth;
+    }
+
+    /**
+     * @param size {@code thumb}, {@code medium}, {@code full} or {@code original}; {@code null}
+     *             for the original
+     * @throws BadRequestException if the size is unknown
+     */
+    public static ImageSize fromParam(String size) {
+        if (size == null) {
+            return ORIGINAL;
+        }
+        try {
+            return valueOf(size.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown image size: " + size);
+        }
+    }
+}
@@ -5,11 +5,14 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 
+import static org.treasurehunt.common.constants.UploadingConstants.IMAGE_RENDITIONS_DIR;
+
 public class FIleUploadUtil {
 
     public static void saveFile(String uploadDir, String filename, MultipartFile multipartFile) throws IOException {
@@ -30,7 +33,7 @@ public class FIleUploadUtil {
     }
 
     /**
-     * Deletes a file from the specified directory
+     * Deletes a file from the specified directory, along with its resized renditions
      *
      * @param uploadDir the directory where the file is located
      * @param filename the name of the file to delete
@@ -46,9 +49,21 @@ public class FIleUploadUtil {
             String cleanFilename = StringUtils.cleanPath(filename);
             Path filePath = uploadPath.resolve(cleanFilename);
 
+            deleteRenditions(uploadPath.resolve(IMAGE_RENDITIONS_DIR), cleanFilename + ".jpg");
             return Files.deleteIfExists(filePath);
         } catch (IOException e) {
             return false;
         }
     }
+
+    private static void deleteRenditions(Path renditionsPath, String renditionName) throws IOException {
+        if (!Files.isDirectory(renditionsPath)) {
+            return;
+        }
+        try (DirectoryStream<Path> sizes = Files.newDirectoryStream(renditionsPath, Files::isDirectory)) {
+            for (Path size : sizes) {
+                Files.deleteIfExists(size.resolve(renditionName));
+            }
+        }
+    }
 }
@@ -0,0 +1,14 @@
+package org.treasurehunt.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class to enable {@code @Scheduled} background jobs, run on
+ * {@code spring.task.scheduling.pool.size} threads
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // No additional configuration needed
+}
@@ -6,6 +6,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.treasurehunt.dashboard.service.DashboardService;
+import org.treasurehunt.dashboard.service.HomeService;
 
 @RestController
 @RequestMapping("dashboard")
@@ -13,9 +14,18 @@ import org.treasurehunt.dashboard.service.DashboardService;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final HomeService homeService;
 
     @GetMapping
     public ResponseEntity<DashboardResponse> getDashboardData() {
         return ResponseEntity.ok(dashboardService.getDashboardData());
     }
+
+    /**
+     * Returns the dashboard, active and completed hunts, score summary and challenge states in one payload.
+     */
+    @GetMapping("home")
+    public ResponseEntity<HomeResponse> getHome() {
+        return ResponseEntity.ok(homeService.getHome());
+    }
 }
@@ -0,0 +1,28 @@
+package org.treasurehunt.dashboard.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.treasurehunt.hunt.api.ActiveHuntsResponse;
+import org.treasurehunt.hunt.api.ChallengeInfo;
+import org.treasurehunt.hunt.api.CompletedHuntsResponse;
+import org.treasurehunt.user.api.UserScoreResponse;
+
+import java.util.List;
+
+/**
+ * Everything the home screen shows, in the shapes of the individual endpoints it replaces.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomeResponse {
+    private UserScoreResponse.UserScoreData score;
+    private List<DashboardResponse.DashboardItem> dashboard;
+    private List<ActiveHuntsResponse.ActiveHuntItem> activeHunts;
+    private List<CompletedHuntsResponse.CompletedHuntItem> completedHunts;
+    // Null when the user has not joined a hunt
+    private ChallengeInfo challenges;
+}
@@ -6,18 +6,9 @@ import org.springframework.stereotype.Service;
 import org.treasurehunt.common.util.AuthUtil;
 import org.treasurehunt.dashboard.api.DashboardResponse;
 import org.treasurehunt.exception.EntityNotFoundException;
-import org.treasurehunt.hunt.repository.ChallengeRepository;
-import org.treasurehunt.hunt.repository.HuntRepository;
-import org.treasurehunt.hunt.repository.entity.Challenge;
-import org.treasurehunt.hunt.repository.entity.Hunt;
-import org.treasurehunt.submissions.repo.Submission;
-import org.treasurehunt.submissions.repo.SubmissionRepo;
-import org.treasurehunt.user.repository.UserRepository;
-import org.treasurehunt.user.repository.entity.User;
+import org.treasurehunt.hunt.service.HuntProgress;
+import org.treasurehunt.hunt.service.HuntProgressService;
 
-import java.time.LocalDate;
-import java.time.ZoneId;
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -25,10 +16,7 @@ import java.util.List;
 @Log4j2
 public class DashboardService {
 
-    private final HuntRepository huntRepository;
-    private final ChallengeRepository challengeRepository;
-    private final UserRepository userRepository;
-    private final SubmissionRepo submissionRepo;
+    private final HuntProgressService huntProgressService;
 
     public DashboardResponse getDashboardData() {
         // Get the current user
@@ -36,50 +24,23 @@ public class DashboardService {
                 .orElseThrow(() -> new EntityNotFoundException("No user found"))
                 .getId();
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(userId, User.class));
+        // Return an empty response if the user has no hunt
+        List<DashboardResponse.DashboardItem> items = huntProgressService.getCurrentHuntProgress(userId)
+                .map(DashboardService::toDashboardItem)
+                .stream()
+                .toList();
 
-        // Get the hunt associated with the user
-        Hunt hunt = huntRepository.findHuntByUser_Id(userId);
-        if (hunt == null) {
-            // Return empty response if user has no hunt
-            return new DashboardResponse(new ArrayList<>());
-        }
-
-        // Get all challenges for the hunt
-        List<Challenge> challenges = hunt.getChallenges();
-        int totalChallenges = challenges.size();
-
-        // Count completed challenges
-        int completedChallenges = 0;
-        for (Challenge challenge : challenges) {
-            List<Submission> submissions = submissionRepo.findByChallengeIdAndUserId(challenge.getId(), userId);
-            boolean solved = submissions.stream()
-                    .anyMatch(s -> s.getStatus().equals(Submission.SubmissionStatus.SUCCESS));
-            if (solved) {
-                completedChallenges++;
-            }
-        }
-
-        // Calculate progress
-        double progress = totalChallenges > 0 ? (double) completedChallenges / totalChallenges * 100 : 0;
-
-        // Convert endDate to LocalDate
-        LocalDate dueDate = hunt.getEndDate() != null 
-            ? hunt.getEndDate().atZone(ZoneId.systemDefault()).toLocalDate() 
-            : null;
+        return new DashboardResponse(items);
+    }
 
-        // Create dashboard item
-        DashboardResponse.DashboardItem item = DashboardResponse.DashboardItem.builder()
-                .id(hunt.getId().toString())
-                .title(hunt.getTitle())
-                .progress(progress)
-                .completedChallenges(completedChallenges)
-                .totalChallenges(totalChallenges)
-                .dueDate(dueDate)
+    static DashboardResponse.DashboardItem toDashboardItem(HuntProgress huntProgress) {
+        return DashboardResponse.DashboardItem.builder()
+                .id(huntProgress.huntId().toString())
+                .title(huntProgress.title())
+                .progress(huntProgress.progress())
+                .completedChallenges(huntProgress.completedChallenges())
+                .totalChallenges(huntProgress.totalChallenges())
+                .dueDate(huntProgress.dueDate())
                 .build();
-
-        // Create and return response
-        return new DashboardResponse(List.of(item));
     }
-}
\ No newline at end of file
+}
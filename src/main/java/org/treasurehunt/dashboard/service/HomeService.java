@@ -0,0 +1,118 @@
+package org.treasurehunt.dashboard.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.treasurehunt.common.enums.HuntStatus;
+import org.treasurehunt.common.util.AuthUtil;
+import org.treasurehunt.dashboard.api.HomeResponse;
+import org.treasurehunt.exception.EntityNotFoundException;
+import org.treasurehunt.hunt.api.ChallengeInfo;
+import org.treasurehunt.hunt.repository.ChallengePointsRow;
+import org.treasurehunt.hunt.repository.ChallengeRepository;
+import org.treasurehunt.hunt.repository.CompletedHuntRow;
+import org.treasurehunt.hunt.repository.HuntResultRepository;
+import org.treasurehunt.hunt.service.ChallengeService;
+import org.treasurehunt.hunt.service.HuntProgress;
+import org.treasurehunt.hunt.service.HuntService;
+import org.treasurehunt.submissions.repo.UserChallengeProgress;
+import org.treasurehunt.submissions.service.ChallengeProgressService;
+import org.treasurehunt.user.api.UserScoreResponse;
+import org.treasurehunt.user.repository.UserHomeRow;
+import org.treasurehunt.user.repository.UserRepository;
+import org.treasurehunt.user.repository.entity.User;
+import org.treasurehunt.user.service.DailyPointsService;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Assembles the home screen in one request instead of five.
+ * <p>
+ * The user, their score figures and their current hunt come from a single statement. The
+ * remaining independent reads (the hunt's challenges, the user's progress in it and their
+ * completed hunts) then run in parallel on virtual threads, for at most four statements.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class HomeService {
+
+    static final int LAST_EARNED_DAYS = 7;
+
+    private final UserRepository userRepository;
+    private final ChallengeRepository challengeRepository;
+    private final HuntResultRepository huntResultRepository;
+    private final ChallengeProgressService challengeProgressService;
+
+    public HomeResponse getHome() {
+        Long userId = AuthUtil.getUserFromSecurityContext()
+                .orElseThrow(() -> new EntityNotFoundException("No user found"))
+                .getId();
+
+        UserHomeRow home = userRepository.findHomeRow(userId, DailyPointsService.windowStart(LAST_EARNED_DAYS))
+                .orElseThrow(() -> new EntityNotFoundException(userId, User.class));
+        Long huntId = home.getHuntId();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<CompletedHuntRow>> completed =
+                    executor.submit(() -> huntResultRepository.findCompletedHuntsByUserId(userId));
+            Future<List<ChallengePointsRow>> challenges = huntId == null ? null
+                    : executor.submit(() -> challengeRepository.findPointsByHuntId(huntId));
+            Future<Map<Long, UserChallengeProgress>> progress = huntId == null ? null
+                    : executor.submit(() -> challengeProgressService.getProgressByChallenge(userId, huntId));
+
+            HomeResponse.HomeResponseBuilder response = HomeResponse.builder()
+                    .score(toScoreData(home))
+                    .completedHunts(join(completed).stream().map(HuntService::toCompletedHuntItem).toList())
+                    .dashboard(List.of())
+                    .activeHunts(List.of());
+
+            if (huntId != null) {
+                Map<Long, Integer> pointsByChallenge = new LinkedHashMap<>();
+                join(challenges).forEach(c -> pointsByChallenge.put(c.getId(), c.getPoints()));
+                Map<Long, UserChallengeProgress> progressByChallenge = join(progress);
+
+                int solved = (int) progressByChallenge.values().stream().filter(UserChallengeProgress::isSolved).count();
+                HuntStatus status = home.getHuntStatus() != null ? HuntStatus.valueOf(home.getHuntStatus()) : null;
+                HuntProgress huntProgress = new HuntProgress(huntId, home.getHuntTitle(), status,
+                        home.getHuntEndDate() != null ? home.getHuntEndDate().toInstant() : null,
+                        solved, pointsByChallenge.size());
+                ChallengeInfo challengeInfo = ChallengeService.buildChallengeInfo(pointsByChallenge, progressByChallenge);
+
+                response.dashboard(List.of(DashboardService.toDashboardItem(huntProgress)))
+                        .activeHunts(status == HuntStatus.LIVE ? List.of(HuntService.toActiveHuntItem(huntProgress)) : List.of())
+                        .challenges(challengeInfo);
+            }
+            return response.build();
+        }
+    }
+
+    private static UserScoreResponse.UserScoreData toScoreData(UserHomeRow home) {
+        return UserScoreResponse.UserScoreData.builder()
+                .total(home.getScore().intValue())
+                .rank(home.getUserRank().intValue())
+                .lastEarned(home.getLastEarned().intValue())
+                .highestScore(home.getHighestScore().intValue())
+                .build();
+    }
+
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the home screen", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Could not load the home screen", e.getCause());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.treasurehunt.hunt.api;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import org.treasurehunt.common.enums.HuntStatus;
 
@@ -30,6 +31,10 @@ public record AdminHuntUpdateRequest(
         HuntStatus status,
 
         @Schema(description = "Reviewer ID", example = "2")
-        Long reviewerId
+        Long reviewerId,
+
+        @Schema(description = "Maximum number of participants, unlimited when never set", example = "500")
+        @Positive(message = "Max participants must be positive")
+        Integer maxParticipants
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package org.treasurehunt.hunt.api;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.treasurehunt.common.enums.ChallengeType;
+
+import java.util.List;
+
+/**
+ * A {@code challenges/<n>.json} entry of a hunt archive.
+ *
+ * @param mapPiece name of the map piece image under {@code images/challenge-pieces/}, if any
+ */
+public record ChallengeArchiveEntry(
+        @NotBlank @Size(max = 255) String title,
+        @NotNull String description,
+        @NotNull Integer points,
+        @NotNull ChallengeType challengeType,
+        String externalGameUri,
+        String mapPiece,
+        List<TestCaseDTO> testCases,
+        List<ChallengeCodeDTO> challengeCodes,
+        List<OptimalSolutionDTO> optimalSolutions
+) {
+
+    public ChallengeArchiveEntry withMapPiece(String mapPiece) {
+        return new ChallengeArchiveEntry(title, description, points, challengeType, externalGameUri, mapPiece,
+                testCases, challengeCodes, optimalSolutions);
+    }
+}
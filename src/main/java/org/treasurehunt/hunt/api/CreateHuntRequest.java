@@ -2,6 +2,7 @@ package org.treasurehunt.hunt.api;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.*;
 import org.treasurehunt.hunt.repository.entity.Location;
 
@@ -26,4 +27,7 @@ public class CreateHuntRequest {
 
     @NotNull(message = "Location is required")
     private Location location;
+
+    @Positive(message = "Max participants must be positive")
+    private Integer maxParticipants;
 }
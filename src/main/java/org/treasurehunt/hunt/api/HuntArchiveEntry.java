@@ -0,0 +1,28 @@
+package org.treasurehunt.hunt.api;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+
+/**
+ * The {@code hunt.json} entry of a hunt archive, always its first entry.
+ *
+ * @param huntImage name of the background image under {@code images/hunt-bg/}, if any
+ * @param mapImage  name of the map image under {@code images/hunt-map/}, if any
+ */
+public record HuntArchiveEntry(
+        @NotNull Integer formatVersion,
+        @NotBlank @Size(max = 255) String title,
+        String description,
+        Instant startDate,
+        Instant endDate,
+        @NotNull Double latitude,
+        @NotNull Double longitude,
+        @Positive Integer maxParticipants,
+        String huntImage,
+        String mapImage
+) {
+}
@@ -0,0 +1,24 @@
+package org.treasurehunt.hunt.api;
+
+import java.time.Instant;
+
+/**
+ * Progress of a hunt deletion running in the background.
+ */
+public record HuntDeletionStatus(
+        Long huntId,
+        State state,
+        int participantsDetached,
+        long challengesTotal,
+        long challengesDeleted,
+        Instant startedAt,
+        Instant finishedAt,
+        String error
+) {
+    public enum State {
+        QUEUED,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+}
@@ -2,6 +2,9 @@ package org.treasurehunt.hunt.api;
 
 public record HuntStatistics(
         Long numberOfChallenges,
-        Long numberOfParticipants
+        Long numberOfParticipants,
+        Long numberOfSubmissions,
+        Long numberOfSuccessfulSubmissions,
+        Long numberOfUniqueSolvers
 ) {
 }
@@ -0,0 +1,23 @@
+package org.treasurehunt.hunt.api;
+
+import org.treasurehunt.common.enums.ChallengeType;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A challenge as shown to the hunters playing it: no reference solutions, and only the sample
+ * test cases.
+ */
+public record HunterChallengeResponse(
+        Long challengeId,
+        String title,
+        String description,
+        Integer points,
+        ChallengeType challengeType,
+        String externalGameUri,
+        List<TestCaseDTO> sampleTests,
+        List<ChallengeCodeDTO> challengeCodes,
+        Instant createdAt
+) {
+}
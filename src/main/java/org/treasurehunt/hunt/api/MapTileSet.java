@@ -0,0 +1,11 @@
+package org.treasurehunt.hunt.api;
+
+/**
+ * How a hunt's map is cut into tiles. Zoom level {@code maxZoom} is the map at full resolution,
+ * and each level below halves it, down to level 0 where the whole map fits in one tile.
+ *
+ * @param width  of the map at full resolution, in pixels
+ * @param height of the map at full resolution, in pixels
+ */
+public record MapTileSet(int width, int height, int tileSize, int maxZoom) {
+}
@@ -0,0 +1,7 @@
+package org.treasurehunt.hunt.api;
+
+public record NearbyHuntDTO(
+        DraftHuntDTO hunt,
+        double distanceKm
+) {
+}
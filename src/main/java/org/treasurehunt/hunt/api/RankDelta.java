@@ -0,0 +1,11 @@
+package org.treasurehunt.hunt.api;
+
+/**
+ * A participant's new score and rank within a hunt, pushed to the hunt's subscribers.
+ */
+public record RankDelta(
+        Long userId,
+        int newScore,
+        long newRank
+) {
+}
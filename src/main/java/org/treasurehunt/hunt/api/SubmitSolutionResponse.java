@@ -19,7 +19,8 @@ public record SubmitSolutionResponse(
             String expectedOutput,
             String actualOutput,
             boolean passed,
-            String error
+            String error,
+            Double runtime
     ) {
     }
 }
\ No newline at end of file
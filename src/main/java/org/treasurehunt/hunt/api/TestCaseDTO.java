@@ -14,4 +14,9 @@ public class TestCaseDTO {
 
     @NotNull(message = "Order is required")
     private Integer order;
+
+    /**
+     * Whether hunters may see this test case; hidden by default.
+     */
+    private boolean sample;
 }
\ No newline at end of file
@@ -2,30 +2,40 @@ package org.treasurehunt.hunt.api.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.lang3.StringUtils;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.treasurehunt.common.api.ApiResp;
+import org.treasurehunt.common.api.CursorPage;
+import org.treasurehunt.common.api.RenderedJson;
 import org.treasurehunt.common.enums.HuntStatus;
+import org.treasurehunt.common.image.ImageCache;
+import org.treasurehunt.common.image.ImageKind;
+import org.treasurehunt.common.image.ImageSize;
 import org.treasurehunt.common.util.AuthUtil;
 import org.treasurehunt.exception.AuthenticationFailedException;
 import org.treasurehunt.exception.BadRequestException;
@@ -33,22 +43,21 @@ import org.treasurehunt.hunt.api.*;
 import org.treasurehunt.hunt.mapper.HuntMapper;
 import org.treasurehunt.hunt.repository.ChallengeRepository;
 import org.treasurehunt.hunt.service.ChallengeService;
+import org.treasurehunt.hunt.service.HuntArchiveService;
 import org.treasurehunt.hunt.service.HuntService;
+import org.treasurehunt.hunt.service.LeaderboardPushService;
+import org.treasurehunt.hunt.service.MapTileService;
 import org.treasurehunt.hunt.repository.entity.Hunt;
 import org.treasurehunt.security.UserDetailsDTO;
 import jakarta.validation.Valid;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.List;
 
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.HttpStatus.OK;
 import static org.treasurehunt.common.constants.PathConstants.*;
-import static org.treasurehunt.common.constants.UploadingConstants.*;
 import static org.treasurehunt.common.util.AuthUtil.getUserFromSecurityContext;
 
 
@@ -64,6 +73,10 @@ public class HuntController {
     private final HuntMapper huntMapper;
     private final ChallengeService challengeService;
     private final ChallengeRepository challengeRepository;
+    private final LeaderboardPushService leaderboardPushService;
+    private final HuntArchiveService huntArchiveService;
+    private final ImageCache imageCache;
+    private final MapTileService mapTileService;
 
     @Operation(
             summary = "Create a new hunt",
@@ -130,6 +143,60 @@ public class HuntController {
         return ResponseEntity.ok(challenge);
     }
 
+    @Operation(
+            summary = "Export a hunt",
+            description = "Streams a ZIP archive of the hunt, its challenges with their test cases, codes and optimal solutions, "
+                    + "and all referenced images. Only the organizer or an admin can export a hunt."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archive streamed",
+                    content = @Content(mediaType = "application/zip")),
+            @ApiResponse(responseCode = "403", description = "Forbidden - not the organizer of the hunt",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResp.ErrorExample.class))),
+            @ApiResponse(responseCode = "404", description = "Hunt not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResp.ErrorExample.class)))
+    })
+    @PreAuthorize("hasAnyAuthority('ORGANIZER', 'ADMIN')")
+    @GetMapping(HUNT_EXPORT)
+    public ResponseEntity<StreamingResponseBody> exportHunt(
+            @Parameter(description = "Hunt ID") @PathVariable Long id) {
+        UserDetailsDTO user = getUserFromSecurityContext()
+                .orElseThrow(() -> new AuthenticationFailedException("Authentication failed"));
+        huntArchiveService.checkExportAllowed(id, user.getId(), user.getAuthorities());
+
+        StreamingResponseBody body = out -> huntArchiveService.exportHunt(id, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("hunt-" + id + ".zip").build().toString())
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Import a hunt",
+            description = "Creates a new draft hunt owned by the current user from an archive produced by the export endpoint. "
+                    + "The archive is sent as the raw request body and read as it arrives."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Hunt imported",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = DraftHuntDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed or too large archive",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResp.ErrorExample.class)))
+    })
+    @PreAuthorize("hasAnyAuthority('ORGANIZER', 'ADMIN')")
+    @PostMapping(value = HUNT_IMPORT, consumes = {"application/zip", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<DraftHuntDTO> importHunt(HttpServletRequest request) throws IOException {
+        UserDetailsDTO user = getUserFromSecurityContext()
+                .orElseThrow(() -> new AuthenticationFailedException("Authentication failed"));
+
+        Hunt importedHunt = huntArchiveService.importHunt(request.getInputStream(), user.getId());
+        return ResponseEntity.status(CREATED).body(huntMapper.toDraftDTO(importedHunt));
+    }
+
     @Operation(
             summary = "Get all hunts",
             description = "Retrieves a paginated list of hunts with optional filtering"
@@ -178,7 +245,7 @@ public class HuntController {
             @Parameter(description = "Filter by end date (to)")
             @RequestParam(required = false) Instant endDateTo
     ) {
-        Pageable pageable = PageRequest.of(page, size, Sort.Direction.fromString(direction), sort);
+        Pageable pageable = pageRequest(page, size, direction, sort);
 
         HuntFilter filter = HuntFilter.builder()
                 .title(title)
@@ -190,10 +257,159 @@ public class HuntController {
                 .endDateTo(endDateTo)
                 .build();
 
-        Page<Hunt> hunts = huntService.getAllHunts(pageable, filter);
-        Page<DraftHuntDTO> huntDTOs = hunts.map(huntMapper::toDraftDTO);
+        return ResponseEntity.ok(huntService.getAllHunts(pageable, filter));
+    }
+
+    @Operation(
+            summary = "Get all hunts by cursor",
+            description = "Retrieves hunts with optional filtering using keyset pagination, which stays fast on deep pages"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of hunts"),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort field or malformed cursor",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResp.ErrorExample.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResp.ErrorExample.class)))
+    })
+    @GetMapping(HUNT_CURSOR)
+    public ResponseEntity<CursorPage<DraftHuntDTO>> getAllHuntsByCursor(
+            @Parameter(description = "Continuation token from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(description = "Sort field (id, title, startDate or endDate)")
+            @RequestParam(defaultValue = "id") String sort,
+
+            @Parameter(description = "Sort direction (ASC or DESC)")
+            @RequestParam(defaultValue = "ASC") String direction,
+
+            @Parameter(description = "Whether to count all matching hunts")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+
+            @Parameter(description = "Filter by title (case-insensitive, partial match)")
+            @RequestParam(required = false) String title,
+
+            @Parameter(description = "Filter by hunt status")
+            @RequestParam(required = false) HuntStatus status,
+
+            @Parameter(description = "Filter by organizer ID")
+            @RequestParam(required = false) Long organizerId,
+
+            @Parameter(description = "Filter by start date (from)")
+            @RequestParam(required = false) Instant startDateFrom,
+
+            @Parameter(description = "Filter by start date (to)")
+            @RequestParam(required = false) Instant startDateTo,
+
+            @Parameter(description = "Filter by end date (from)")
+            @RequestParam(required = false) Instant endDateFrom,
+
+            @Parameter(description = "Filter by end date (to)")
+            @RequestParam(required = false) Instant endDateTo
+    ) {
+        HuntFilter filter = HuntFilter.builder()
+                .title(title)
+                .status(status)
+                .organizerId(organizerId)
+                .startDateFrom(startDateFrom)
+                .startDateTo(startDateTo)
+                .endDateFrom(endDateFrom)
+                .endDateTo(endDateTo)
+                .build();
+
+        return ResponseEntity.ok(huntService.getHuntsAfter(
+                filter, sort, sortDirection(direction), cursor, size, includeTotal));
+    }
+
+    @Operation(
+            summary = "Search hunts",
+            description = "Full-text search over hunt titles and descriptions, ranked by relevance, with optional filtering"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved matching hunts"),
+            @ApiResponse(responseCode = "400", description = "Empty search query",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResp.ErrorExample.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResp.ErrorExample.class)))
+    })
+    @GetMapping(HUNT_SEARCH)
+    public ResponseEntity<Page<DraftHuntDTO>> searchHunts(
+            @Parameter(description = "Words to search for; each also matches words it is a prefix of")
+            @RequestParam String q,
+
+            @Parameter(description = "Page number (zero-based)")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(description = "Filter by hunt status")
+            @RequestParam(required = false) HuntStatus status,
+
+            @Parameter(description = "Filter by organizer ID")
+            @RequestParam(required = false) Long organizerId,
+
+            @Parameter(description = "Filter by start date (from)")
+            @RequestParam(required = false) Instant startDateFrom,
+
+            @Parameter(description = "Filter by start date (to)")
+            @RequestParam(required = false) Instant startDateTo,
+
+            @Parameter(description = "Filter by end date (from)")
+            @RequestParam(required = false) Instant endDateFrom,
+
+            @Parameter(description = "Filter by end date (to)")
+            @RequestParam(required = false) Instant endDateTo
+    ) {
+        HuntFilter filter = HuntFilter.builder()
+                .status(status)
+                .organizerId(organizerId)
+                .startDateFrom(startDateFrom)
+                .startDateTo(startDateTo)
+                .endDateFrom(endDateFrom)
+                .endDateTo(endDateTo)
+                .build();
+
+        return ResponseEntity.ok(huntService.searchHunts(q, filter, pageRequest(page, size)));
+    }
+
+    @Operation(
+            summary = "Get hunts near a point",
+            description = "Retrieves the hunts within a radius of the given coordinates, nearest first"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved nearby hunts"),
+            @ApiResponse(responseCode = "400", description = "Invalid coordinates, radius or limit",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResp.ErrorExample.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResp.ErrorExample.class)))
+    })
+    @GetMapping(HUNT_NEARBY)
+    public ResponseEntity<List<NearbyHuntDTO>> getNearbyHunts(
+            @Parameter(description = "Latitude in degrees")
+            @RequestParam double lat,
+
+            @Parameter(description = "Longitude in degrees")
+            @RequestParam double lng,
+
+            @Parameter(description = "Search radius in kilometres")
+            @RequestParam(defaultValue = "10") double radiusKm,
+
+            @Parameter(description = "Maximum number of hunts to return")
+            @RequestParam(defaultValue = "50") int limit,
 
-        return ResponseEntity.ok(huntDTOs);
+            @Parameter(description = "Filter by hunt status")
+            @RequestParam(required = false) HuntStatus status
+    ) {
+        return ResponseEntity.ok(huntService.getNearbyHunts(lat, lng, radiusKm, limit, status));
     }
 
 
@@ -224,10 +440,15 @@ public class HuntController {
 
     @Operation(
             summary = "Get challenges by hunt ID",
-            description = "Retrieves all challenges associated with a specific hunt. Only allows access if the user is an admin or the organizer of the hunt."
+            description = "Retrieves all challenges associated with a specific hunt. Admins, reviewers and the organizer get the full challenges; "
+                    + "participants get them without reference solutions and with sample test cases only. "
+                    + "Responses carry an ETag; send it back in If-None-Match to get 304 Not Modified while the challenges are unchanged."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of challenges for the hunt"),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of challenges for the hunt",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = CreateChallengeResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "Challenges unchanged since the given ETag"),
             @ApiResponse(responseCode = "401", description = "Authentication failed"),
             @ApiResponse(responseCode = "403", description = "Forbidden - user is not authorized to access this hunt's challenges"),
             @ApiResponse(responseCode = "404", description = "Hunt not found",
@@ -235,13 +456,13 @@ public class HuntController {
                             schema = @Schema(implementation = ApiResp.ErrorExample.class)))
     })
     @GetMapping(HUNT_ID_CHALLENGE)
-    public ResponseEntity<List<CreateChallengeResponse>> getChallengesByHuntId(
-            @Parameter(description = "Hunt ID") @PathVariable Long id) {
+    public ResponseEntity<byte[]> getChallengesByHuntId(
+            @Parameter(description = "Hunt ID") @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         UserDetailsDTO user = getUserFromSecurityContext()
                 .orElseThrow(() -> new AuthenticationFailedException("Authentication failed"));
 
-        List<CreateChallengeResponse> challenges = challengeService.getChallengesByHuntIdWithAuth(id, user.getId(), user.getAuthorities());
-        return ResponseEntity.status(OK).body(challenges);
+        return rendered(challengeService.getPublishedChallengesWithAuth(id, user.getId(), user.getAuthorities()), ifNoneMatch);
     }
 
     @Operation(
@@ -292,7 +513,7 @@ public class HuntController {
         UserDetailsDTO user = getUserFromSecurityContext()
                 .orElseThrow(() -> new EntityNotFoundException("No authenticated user found"));
 
-        Pageable pageable = PageRequest.of(page, size, Sort.Direction.fromString(direction), sort);
+        Pageable pageable = pageRequest(page, size, direction, sort);
 
         HuntFilter filter = HuntFilter.builder()
                 .title(title)
@@ -304,10 +525,72 @@ public class HuntController {
                 .endDateTo(endDateTo)
                 .build();
 
-        Page<Hunt> hunts = huntService.getAllHunts(pageable, filter);
-        Page<DraftHuntDTO> huntDTOs = hunts.map(huntMapper::toDraftDTO);
+        return ResponseEntity.ok(huntService.getAllHunts(pageable, filter));
+    }
+
+    @Operation(
+            summary = "Get hunts for current user by cursor",
+            description = "Retrieves hunts created by the currently logged-in user using keyset pagination"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of user's hunts"),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort field or malformed cursor",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResp.ErrorExample.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResp.ErrorExample.class)))
+    })
+    @GetMapping(HUNT_ME_CURSOR)
+    public ResponseEntity<CursorPage<DraftHuntDTO>> getMyHuntsByCursor(
+            @Parameter(description = "Continuation token from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(description = "Sort field (id, title, startDate or endDate)")
+            @RequestParam(defaultValue = "id") String sort,
+
+            @Parameter(description = "Sort direction (ASC or DESC)")
+            @RequestParam(defaultValue = "ASC") String direction,
+
+            @Parameter(description = "Whether to count all matching hunts")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+
+            @Parameter(description = "Filter by title (case-insensitive, partial match)")
+            @RequestParam(required = false) String title,
+
+            @Parameter(description = "Filter by hunt status")
+            @RequestParam(required = false) HuntStatus status,
+
+            @Parameter(description = "Filter by start date (from)")
+            @RequestParam(required = false) Instant startDateFrom,
+
+            @Parameter(description = "Filter by start date (to)")
+            @RequestParam(required = false) Instant startDateTo,
+
+            @Parameter(description = "Filter by end date (from)")
+            @RequestParam(required = false) Instant endDateFrom,
+
+            @Parameter(description = "Filter by end date (to)")
+            @RequestParam(required = false) Instant endDateTo
+    ) {
+        UserDetailsDTO user = getUserFromSecurityContext()
+                .orElseThrow(() -> new EntityNotFoundException("No authenticated user found"));
 
-        return ResponseEntity.ok(huntDTOs);
+        HuntFilter filter = HuntFilter.builder()
+                .title(title)
+                .status(status)
+                .organizerId(user.getId())
+                .startDateFrom(startDateFrom)
+                .startDateTo(startDateTo)
+                .endDateFrom(endDateFrom)
+                .endDateTo(endDateTo)
+                .build();
+
+        return ResponseEntity.ok(huntService.getHuntsAfter(
+                filter, sort, sortDirection(direction), cursor, size, includeTotal));
     }
 
     @Operation(
@@ -356,56 +639,74 @@ public class HuntController {
 //    }
 
 
+    @Operation(
+            summary = "Get hunt by ID",
+            description = "Responses carry an ETag; send it back in If-None-Match to get 304 Not Modified while the hunt is unchanged."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hunt found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = DraftHuntDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Hunt unchanged since the given ETag"),
+            @ApiResponse(responseCode = "404", description = "Hunt not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResp.ErrorExample.class)))
+    })
     @GetMapping(HUNT_ID)
-    public ResponseEntity<DraftHuntDTO> getHuntById(
-            @PathVariable("id") Long huntId
+    public ResponseEntity<byte[]> getHuntById(
+            @PathVariable("id") Long huntId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        return ResponseEntity.ok(huntService.getHunt(huntId));
+        return rendered(huntService.getPublishedHunt(huntId), ifNoneMatch);
     }
 
 
     @GetMapping("{id}/images/bg")
-    public ResponseEntity<Resource> getHuntBgImage(@PathVariable Long id) {
-        try {
-            String bgPicture = huntService.getBackgroundPic(id);
-            if (!StringUtils.isNotBlank(bgPicture)) {
-                return ResponseEntity.ok(null);
-            }
-
-            Path filePath = Paths.get(HUNT_BG_UPLOAD_DIR).resolve(bgPicture).normalize();
-            if (!Files.exists(filePath)) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
-            }
-
-            Resource resource = new UrlResource(filePath.toUri());
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_TYPE, Files.probeContentType(filePath))
-                    .body(resource);
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
-        }
+    public void getHuntBgImage(
+            @PathVariable Long id,
+            @RequestParam(value = "size", required = false) String size,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        imageCache.serve(ImageKind.HUNT_BACKGROUND, id, ImageSize.fromParam(size), huntService::getBackgroundPic, request, response);
     }
 
     @GetMapping("{id}/images/map")
-    public ResponseEntity<Resource> getHuntMapImage(@PathVariable Long id) {
-        try {
-            String mapPic = huntService.getMapPic(id);
-            if (!StringUtils.isNotBlank(mapPic)) {
-                return ResponseEntity.ok(null);
-            }
-
-            Path filePath = Paths.get(HUNT_MAP_UPLOAD_DIR).resolve(mapPic).normalize();
-            if (!Files.exists(filePath)) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
-            }
-
-            Resource resource = new UrlResource(filePath.toUri());
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_TYPE, Files.probeContentType(filePath))
-                    .body(resource);
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
-        }
+    public void getHuntMapImage(
+            @PathVariable Long id,
+            @RequestParam(value = "size", required = false) String size,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        imageCache.serve(ImageKind.HUNT_MAP, id, ImageSize.fromParam(size), huntService::getMapPic, request, response);
+    }
+
+    @Operation(
+            summary = "Get the tile set of a hunt's map",
+            description = "Describes the zoom levels the map is cut into for hunts/{id}/map/tiles/{z}/{x}/{y}. Answers 503 with Retry-After while the tiles are being cut."
+    )
+    @GetMapping(HUNT_MAP_TILES)
+    public ResponseEntity<MapTileSet> getHuntMapTileSet(@PathVariable Long id) {
+        return mapTileService.tileSet(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .build());
+    }
+
+    @Operation(
+            summary = "Get a tile of a hunt's map",
+            description = "A 256x256 JPEG tile, shorter at the right and bottom edges. Responses carry an ETag; send it back in If-None-Match to get 304 Not Modified."
+    )
+    @GetMapping(HUNT_MAP_TILE)
+    public ResponseEntity<byte[]> getHuntMapTile(
+            @PathVariable Long id,
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return mapTileService.serveTile(id, z, x, y, ifNoneMatch);
     }
 
     @PostMapping("{huntId}/comments")
@@ -459,26 +760,24 @@ public class HuntController {
         return ResponseEntity.ok(challengeService.getChallengesInfo(huntId));
     }
 
+    @Operation(
+            summary = "Stream leaderboard changes",
+            description = "Opens a Server-Sent Events stream of 'rank-delta' events for the hunt. Each event carries "
+                    + "a JSON array of {userId, newScore, newRank}, scores and ranks within the hunt; bursts of changes are coalesced into at most one event per interval."
+    )
+    @GetMapping(value = "{huntId}/leaderboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLeaderboard(@PathVariable Long huntId) {
+        return leaderboardPushService.subscribe(huntId);
+    }
+
     @GetMapping("challenges/{id}/img")
-    public ResponseEntity<Resource> getChallengeImage(@PathVariable Long id) {
-        try {
-            String pic = challengeService.getImgPiece(id);
-            if (!StringUtils.isNotBlank(pic)) {
-                return ResponseEntity.ok(null);
-            }
-
-            Path filePath = Paths.get(CHALLENGE_PIECES_UPLOAD_DIR).resolve(pic).normalize();
-            if (!Files.exists(filePath)) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
-            }
-
-            Resource resource = new UrlResource(filePath.toUri());
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_TYPE, Files.probeContentType(filePath))
-                    .body(resource);
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
-        }
+    public void getChallengeImage(
+            @PathVariable Long id,
+            @RequestParam(value = "size", required = false) String size,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        imageCache.serve(ImageKind.CHALLENGE_PIECE, id, ImageSize.fromParam(size), challengeService::getImgPiece, request, response);
     }
 
     @PostMapping("game-on")
@@ -492,10 +791,11 @@ public class HuntController {
 
     @Operation(
             summary = "Delete a hunt",
-            description = "Deletes a hunt and all associated data. Only accessible by ADMIN."
+            description = "Starts deleting a hunt and all associated data in the background. " +
+                    "Only accessible by ADMIN."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Hunt successfully deleted"),
+            @ApiResponse(responseCode = "202", description = "Hunt deletion started"),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiResp.ErrorExample.class))),
@@ -508,11 +808,33 @@ public class HuntController {
     })
     @PreAuthorize("hasAuthority('ADMIN')")
     @DeleteMapping("/admin/{id}")
-    public ResponseEntity<ApiResp<Void>> deleteHunt(
+    public ResponseEntity<ApiResp<HuntDeletionStatus>> deleteHunt(
             @Parameter(description = "Hunt ID") @PathVariable Long id
     ) {
-        huntService.deleteHunt(id);
-        return ResponseEntity.ok(ApiResp.success(null, "Hunt successfully deleted"));
+        HuntDeletionStatus status = huntService.deleteHunt(id);
+        return ResponseEntity.accepted().body(ApiResp.success(List.of(status), "Hunt deletion started"));
+    }
+
+    @Operation(
+            summary = "Get hunt deletion progress",
+            description = "Returns the progress of a background hunt deletion. Only accessible by ADMIN."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Deletion progress retrieved"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResp.ErrorExample.class))),
+            @ApiResponse(responseCode = "404", description = "No deletion found for the hunt",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResp.ErrorExample.class)))
+    })
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/admin/{id}/deletion")
+    public ResponseEntity<ApiResp<HuntDeletionStatus>> getHuntDeletionStatus(
+            @Parameter(description = "Hunt ID") @PathVariable Long id
+    ) {
+        return ResponseEntity.ok(ApiResp.success(List.of(huntService.getHuntDeletionStatus(id)),
+                "Hunt deletion progress retrieved"));
     }
 
     @Operation(
@@ -566,4 +888,37 @@ public class HuntController {
         Hunt updatedHunt = huntService.updateHuntDetails(id, updateRequest);
         return ResponseEntity.ok(huntMapper.toDraftDTO(updatedHunt));
     }
+
+    private static Sort.Direction sortDirection(String direction) {
+        return Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new BadRequestException("Sort direction must be ASC or DESC"));
+    }
+
+    /**
+     * Sizes above {@link HuntService#MAX_PAGE_SIZE} are clamped to it.
+     */
+    private static PageRequest pageRequest(int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new BadRequestException("Page must not be negative and page size must be at least 1");
+        }
+        return PageRequest.of(page, Math.min(size, HuntService.MAX_PAGE_SIZE));
+    }
+
+    private static PageRequest pageRequest(int page, int size, String direction, String sort) {
+        return pageRequest(page, size).withSort(sortDirection(direction), sort);
+    }
+
+    private static ResponseEntity<byte[]> rendered(RenderedJson rendered, String ifNoneMatch) {
+        if (rendered.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(rendered.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(rendered.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(rendered.body());
+    }
 }
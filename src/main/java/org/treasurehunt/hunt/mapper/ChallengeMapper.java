@@ -31,6 +31,44 @@ public abstract class ChallengeMapper {
     @Mapping(target = "challengeCodes", expression = "java(mapChallengeCodes(challenge.getChallengeCodes()))")
     public abstract CreateChallengeResponse fromEntity(Challenge challenge);
 
+    /**
+     * Same as {@link #fromEntity(Challenge)}, with child collections that were loaded separately,
+     * so the challenge's lazy collections are never touched.
+     */
+    public CreateChallengeResponse fromEntity(Challenge challenge,
+                                              List<TestCaseDTO> testCases,
+                                              List<OptimalSolutionDTO> optimalSolutions,
+                                              List<ChallengeCodeDTO> challengeCodes) {
+        return new CreateChallengeResponse(
+                challenge.getId(),
+                challenge.getTitle(),
+                challenge.getDescription(),
+                challenge.getPoints(),
+                challenge.getChallengeType(),
+                challenge.getExternalGameUri(),
+                testCases,
+                optimalSolutions,
+                challengeCodes,
+                challenge.getCreatedAt()
+        );
+    }
+
+    public HunterChallengeResponse toHunterResponse(Challenge challenge,
+                                                    List<TestCaseDTO> sampleTests,
+                                                    List<ChallengeCodeDTO> challengeCodes) {
+        return new HunterChallengeResponse(
+                challenge.getId(),
+                challenge.getTitle(),
+                challenge.getDescription(),
+                challenge.getPoints(),
+                challenge.getChallengeType(),
+                challenge.getExternalGameUri(),
+                sampleTests,
+                challengeCodes,
+                challenge.getCreatedAt()
+        );
+    }
+
     protected List<OptimalSolutionDTO> mapOptimalSolutions(List<OptimalSolution> solutions) {
         if (solutions == null) return null;
         return solutions.stream()
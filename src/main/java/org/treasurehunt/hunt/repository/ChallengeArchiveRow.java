@@ -0,0 +1,22 @@
+package org.treasurehunt.hunt.repository;
+
+import org.treasurehunt.common.enums.ChallengeType;
+
+/**
+ * A challenge's own columns, for streaming exports without managed entities.
+ */
+public interface ChallengeArchiveRow {
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    Integer getPoints();
+
+    ChallengeType getChallengeType();
+
+    String getExternalGameUri();
+
+    String getMapPieceUri();
+}
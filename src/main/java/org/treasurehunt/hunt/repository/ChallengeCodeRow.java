@@ -0,0 +1,16 @@
+package org.treasurehunt.hunt.repository;
+
+import org.treasurehunt.common.enums.SupportedLanguages;
+
+/**
+ * A challenge code or optimal solution with its challenge's id, without loading the challenge entity.
+ */
+public interface ChallengeCodeRow {
+    Long getId();
+
+    Long getChallengeId();
+
+    String getCode();
+
+    SupportedLanguages getLanguage();
+}
@@ -0,0 +1,10 @@
+package org.treasurehunt.hunt.repository;
+
+/**
+ * A challenge's id and points, without loading the challenge entity.
+ */
+public interface ChallengePointsRow {
+    Long getId();
+
+    Integer getPoints();
+}
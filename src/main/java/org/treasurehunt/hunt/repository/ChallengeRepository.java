@@ -1,11 +1,14 @@
 package org.treasurehunt.hunt.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.treasurehunt.hunt.repository.entity.Challenge;
 import org.treasurehunt.hunt.repository.entity.TestCase;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -22,4 +25,66 @@ public interface ChallengeRepository extends JpaRepository<Challenge, Long> {
     @Query("SELECT c.mapPieceUri FROM Challenge c WHERE c.id = :id")
     String getImageById(Long id);
 
+    @Query("SELECT c.id AS id, c.points AS points FROM Challenge c WHERE c.hunt.id = :huntId ORDER BY c.id")
+    List<ChallengePointsRow> findPointsByHuntId(Long huntId);
+
+    @Query("SELECT c.id FROM Challenge c WHERE c.hunt.id = :huntId ORDER BY c.id")
+    List<Long> findIdsByHuntId(Long huntId, Pageable pageable);
+
+    @Query("""
+            SELECT c.id AS id, c.title AS title, c.description AS description, c.points AS points,
+                   c.challengeType AS challengeType, c.externalGameUri AS externalGameUri, c.mapPieceUri AS mapPieceUri
+            FROM Challenge c WHERE c.hunt.id = :huntId AND c.id > :afterId ORDER BY c.id
+            """)
+    List<ChallengeArchiveRow> findArchiveRowsByHuntIdAfter(Long huntId, Long afterId, Pageable pageable);
+
+    @Query("SELECT c.mapPieceUri FROM Challenge c WHERE c.id IN :ids AND c.mapPieceUri IS NOT NULL")
+    List<String> findImagesByIdIn(Collection<Long> ids);
+
+    @Query("""
+            SELECT t.challenge.id AS challengeId, t.input AS input, t.expectedOutput AS expectedOutput,
+                   t.order AS position, t.sample AS sample
+            FROM TestCase t WHERE t.challenge.id IN :ids ORDER BY t.id
+            """)
+    List<TestCaseRow> findTestCaseRowsByChallengeIdIn(Collection<Long> ids);
+
+    /**
+     * Same as {@link #findTestCaseRowsByChallengeIdIn}, restricted to sample test cases, so the
+     * large inputs and outputs of hidden test cases are never read.
+     */
+    @Query("""
+            SELECT t.challenge.id AS challengeId, t.input AS input, t.expectedOutput AS expectedOutput,
+                   t.order AS position, t.sample AS sample
+            FROM TestCase t WHERE t.challenge.id IN :ids AND t.sample = true ORDER BY t.id
+            """)
+    List<TestCaseRow> findSampleTestCaseRowsByChallengeIdIn(Collection<Long> ids);
+
+    @Query("""
+            SELECT c.id AS id, c.challenge.id AS challengeId, c.code AS code, c.language AS language
+            FROM ChallengeCode c WHERE c.challenge.id IN :ids ORDER BY c.id
+            """)
+    List<ChallengeCodeRow> findCodeRowsByChallengeIdIn(Collection<Long> ids);
+
+    @Query("""
+            SELECT s.id AS id, s.challenge.id AS challengeId, s.code AS code, s.language AS language
+            FROM OptimalSolution s WHERE s.challenge.id IN :ids ORDER BY s.id
+            """)
+    List<ChallengeCodeRow> findOptimalSolutionRowsByChallengeIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM TestCase t WHERE t.challenge.id IN :ids")
+    int deleteTestCasesByChallengeIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM ChallengeCode c WHERE c.challenge.id IN :ids")
+    int deleteCodesByChallengeIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM OptimalSolution s WHERE s.challenge.id IN :ids")
+    int deleteOptimalSolutionsByChallengeIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Challenge c WHERE c.id IN :ids")
+    int deleteByIdIn(Collection<Long> ids);
+
 }
@@ -1,6 +1,8 @@
 package org.treasurehunt.hunt.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.treasurehunt.hunt.repository.entity.Comment;
 
@@ -9,4 +11,8 @@ import java.util.List;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findAllByHunt_Id(Long huntId);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.hunt.id = :huntId")
+    int deleteAllByHuntId(Long huntId);
 }
@@ -0,0 +1,18 @@
+package org.treasurehunt.hunt.repository;
+
+import java.time.Instant;
+
+/**
+ * A finished hunt together with one participant's frozen result in it.
+ */
+public interface CompletedHuntRow {
+    Long getHuntId();
+
+    String getTitle();
+
+    Instant getEndDate();
+
+    Integer getScore();
+
+    Integer getRank();
+}
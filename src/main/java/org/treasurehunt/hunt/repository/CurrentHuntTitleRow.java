@@ -0,0 +1,10 @@
+package org.treasurehunt.hunt.repository;
+
+/**
+ * The title of the hunt a user joined last.
+ */
+public interface CurrentHuntTitleRow {
+    Long getUserId();
+
+    String getTitle();
+}
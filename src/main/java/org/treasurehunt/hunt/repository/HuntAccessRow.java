@@ -0,0 +1,12 @@
+package org.treasurehunt.hunt.repository;
+
+import org.treasurehunt.common.enums.HuntStatus;
+
+/**
+ * What deciding who may read a hunt's content needs, without loading the hunt entity.
+ */
+public interface HuntAccessRow {
+    HuntStatus getStatus();
+
+    Long getOrganizerId();
+}
@@ -0,0 +1,54 @@
+package org.treasurehunt.hunt.repository;
+
+import org.springframework.data.domain.Sort;
+import org.treasurehunt.exception.BadRequestException;
+import org.treasurehunt.hunt.api.DraftHuntDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last hunt of a keyset page: the sort it was read with, its sort key and its id.
+ * <p>
+ * Clients only see it as an opaque, URL-safe token. The id breaks ties between equal keys, and
+ * a {@code null} key is kept as such because hunts without one sort after all the others.
+ */
+public record HuntCursor(HuntSortField field, Sort.Direction direction, Comparable<?> key, Long id) {
+
+    private static final String SEPARATOR = "|";
+    private static final String NULL_KEY = "N";
+    private static final String VALUE_KEY = "V";
+
+    public static HuntCursor after(DraftHuntDTO hunt, HuntSortField field, Sort.Direction direction) {
+        return new HuntCursor(field, direction, field.keyOf(hunt), hunt.id());
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                field.name(),
+                direction.name(),
+                String.valueOf(id),
+                key == null ? NULL_KEY : VALUE_KEY + key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static HuntCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The key goes last so that separators inside a title survive the split
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new BadRequestException("Malformed cursor");
+            }
+            HuntSortField field = HuntSortField.valueOf(parts[0]);
+            Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+            Long id = Long.valueOf(parts[2]);
+            Comparable<?> key = parts[3].startsWith(VALUE_KEY) ? field.parse(parts[3].substring(1)) : null;
+            return new HuntCursor(field, direction, key, id);
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Malformed cursor");
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.treasurehunt.hunt.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+import org.treasurehunt.common.enums.HuntStatus;
+import org.treasurehunt.hunt.api.DraftHuntDTO;
+import org.treasurehunt.hunt.api.LocationDTO;
+import org.treasurehunt.hunt.repository.entity.Hunt;
+import org.treasurehunt.hunt.repository.entity.Location;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads hunt lists straight into {@link DraftHuntDTO}s.
+ * <p>
+ * Loading {@link Hunt} entities also loads their eager organizer, reviewer and winner, and the
+ * roles of each, before anything is mapped. Here a page is a single select of the columns the
+ * DTO needs, with one join to the location, plus a count query when the page size demands it.
+ * The organizer and reviewer ids are read from the hunt's foreign keys.
+ */
+@Repository
+public class HuntListRepository {
+
+    private final EntityManager entityManager;
+
+    public HuntListRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Flat shape of a hunt list row; JPA constructor expressions cannot build the nested location.
+     */
+    public record HuntListRow(Long id, String title, String description, Long organizerId, Long reviewerId,
+                              Instant startDate, Instant endDate, HuntStatus status,
+                              Double latitude, Double longitude) {
+
+        public DraftHuntDTO toDraftDTO() {
+            return new DraftHuntDTO(id, title, description, organizerId, reviewerId, startDate, endDate, status,
+                    new LocationDTO(latitude, longitude));
+        }
+    }
+
+    /**
+     * @return the requested page of hunts matching {@code spec}, sorted as {@code pageable} says
+     */
+    public Page<DraftHuntDTO> findAll(Specification<Hunt> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<HuntListRow> query = cb.createQuery(HuntListRow.class);
+        Root<Hunt> root = selectRow(cb, query, spec);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(pageable.getSort().stream()
+                    .map(order -> order.isAscending()
+                            ? cb.asc(path(root, order.getProperty()))
+                            : cb.desc(path(root, order.getProperty())))
+                    .toList());
+        }
+
+        TypedQuery<HuntListRow> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<DraftHuntDTO> content = typedQuery.getResultList().stream().map(HuntListRow::toDraftDTO).toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    /**
+     * @return at most {@code limit} hunts matching {@code spec}, in the order {@code spec} sets
+     */
+    public List<DraftHuntDTO> findAll(Specification<Hunt> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<HuntListRow> query = cb.createQuery(HuntListRow.class);
+        selectRow(cb, query, spec);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(HuntListRow::toDraftDTO)
+                .toList();
+    }
+
+    /**
+     * Reads at most {@code limit} hunts matching {@code spec} that follow {@code after} in
+     * {@link HuntSpecification#keysetOrder} order. The hunts with a key are read first, then, if the
+     * key is nullable and there is room left, those without one; each read seeks on its own index.
+     *
+     * @param after position of the last hunt read, or {@code null} to start from the first
+     */
+    public List<DraftHuntDTO> findAllAfter(Specification<Hunt> spec, HuntSortField field, Sort.Direction direction,
+                                           HuntCursor after, int limit) {
+        Specification<Hunt> filter = Specification.where(spec);
+        Specification<Hunt> order = HuntSpecification.keysetOrder(field, direction);
+        boolean pastKeyedHunts = after != null && after.key() == null;
+
+        List<DraftHuntDTO> hunts = new ArrayList<>();
+        if (!pastKeyedHunts) {
+            hunts.addAll(findAll(filter
+                    .and(HuntSpecification.withKey(field))
+                    .and(HuntSpecification.after(after))
+                    .and(order), limit));
+        }
+        if (field.isNullable() && hunts.size() < limit) {
+            Specification<Hunt> rest = pastKeyedHunts ? HuntSpecification.after(after) : HuntSpecification.withoutKey(field);
+            hunts.addAll(findAll(filter.and(rest).and(order), limit - hunts.size()));
+        }
+        return hunts;
+    }
+
+    public long count(Specification<Hunt> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Hunt> root = query.from(Hunt.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Resolves a sort property, following dot notation (e.g. "location.latitude").
+     */
+    private static Path<?> path(Root<Hunt> root, String property) {
+        Path<?> path = root;
+        for (String part : property.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+
+    private Root<Hunt> selectRow(CriteriaBuilder cb, CriteriaQuery<HuntListRow> query, Specification<Hunt> spec) {
+        Root<Hunt> root = query.from(Hunt.class);
+        Join<Hunt, Location> location = root.join("location", JoinType.LEFT);
+        query.select(cb.construct(HuntListRow.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("description"),
+                root.get("organizer").get("id"),
+                root.get("reviewer").get("id"),
+                root.get("startDate"),
+                root.get("endDate"),
+                root.get("status"),
+                location.get("latitude"),
+                location.get("longitude")));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return root;
+    }
+}
@@ -0,0 +1,12 @@
+package org.treasurehunt.hunt.repository;
+
+/**
+ * A hunt's coordinates, without loading the hunt or its location entity.
+ */
+public interface HuntLocationRow {
+    Long getHuntId();
+
+    Double getLatitude();
+
+    Double getLongitude();
+}
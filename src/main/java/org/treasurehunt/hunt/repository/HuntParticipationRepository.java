@@ -0,0 +1,109 @@
+package org.treasurehunt.hunt.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.treasurehunt.common.enums.ParticipationStatus;
+import org.treasurehunt.hunt.repository.entity.HuntParticipation;
+import org.treasurehunt.hunt.repository.entity.HuntParticipationId;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hunt membership. Queries by hunt range-scan the (hunt_id, user_id) primary key, queries by
+ * user the (user_id, status) index.
+ */
+@Repository
+public interface HuntParticipationRepository extends JpaRepository<HuntParticipation, HuntParticipationId> {
+
+    @Query("""
+            SELECT count(p) > 0 FROM HuntParticipation p
+            WHERE p.id.huntId = :huntId AND p.id.userId = :userId
+            """)
+    boolean isParticipant(Long huntId, Long userId);
+
+    @Query("""
+            SELECT count(p) > 0 FROM HuntParticipation p
+            WHERE p.id.userId = :userId AND p.status = :status
+            """)
+    boolean existsByUserIdAndStatus(Long userId, ParticipationStatus status);
+
+    /**
+     * Records an ACTIVE participation unless the user already took part in the hunt or is active
+     * in another one, which the primary key and the unique active_user_id column rule out.
+     *
+     * @return 1 if the participation was recorded, 0 otherwise
+     */
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO hunt_participation (hunt_id, user_id, status, joined_at)
+            VALUES (:huntId, :userId, 'ACTIVE', :joinedAt)
+            """, nativeQuery = true)
+    int insertActive(Long huntId, Long userId, Instant joinedAt);
+
+    /**
+     * @return the title of the hunt the user joined last, if any
+     */
+    @Query(value = """
+            SELECT h.title FROM hunt h
+            WHERE h.hunt_id = (SELECT p.hunt_id FROM hunt_participation p
+                               WHERE p.user_id = :userId
+                               ORDER BY p.joined_at DESC LIMIT 1)
+            """, nativeQuery = true)
+    Optional<String> findCurrentHuntTitle(Long userId);
+
+    /**
+     * {@link #findCurrentHuntTitle} for a whole page of users in one statement.
+     *
+     * @return a row for each of the users who joined a hunt
+     */
+    @Query(value = """
+            SELECT p.user_id AS userId, h.title AS title
+            FROM (SELECT user_id, hunt_id,
+                         ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY joined_at DESC) AS position
+                  FROM hunt_participation
+                  WHERE user_id IN (:userIds)) p
+            JOIN hunt h ON h.hunt_id = p.hunt_id
+            WHERE p.position = 1
+            """, nativeQuery = true)
+    List<CurrentHuntTitleRow> findCurrentHuntTitles(Collection<Long> userIds);
+
+    /**
+     * Scores every participant of the hunt as results are frozen (challenge points when solved,
+     * minus 10 per failed submission) and ranks them within the hunt.
+     *
+     * @return the standing of each of the given users who take part in the hunt
+     */
+    @Query(value = """
+            SELECT s.user_id AS userId, s.score AS score, s.hunt_rank AS huntRank
+            FROM (SELECT r.user_id, r.score, RANK() OVER (ORDER BY r.score DESC) AS hunt_rank
+                  FROM (SELECT hp.user_id,
+                               COALESCE(SUM(CASE WHEN p.solved_at IS NOT NULL THEN c.points ELSE 0 END), 0)
+                                   - 10 * COALESCE(SUM(p.fail_count), 0) AS score
+                        FROM hunt_participation hp
+                        LEFT JOIN user_challenge_progress p ON p.user_id = hp.user_id AND p.hunt_id = hp.hunt_id
+                        LEFT JOIN challenge c ON c.challenge_id = p.challenge_id
+                        WHERE hp.hunt_id = :huntId
+                        GROUP BY hp.user_id) r) s
+            WHERE s.user_id IN (:userIds)
+            """, nativeQuery = true)
+    List<HuntStandingRow> findStandings(Long huntId, Collection<Long> userIds);
+
+    /**
+     * Moves every participant of the hunt from {@code from} to {@code to} in one statement.
+     */
+    @Modifying
+    @Query("""
+            UPDATE HuntParticipation p SET p.status = :to
+            WHERE p.id.huntId = :huntId AND p.status = :from
+            """)
+    int updateStatusByHuntId(Long huntId, ParticipationStatus from, ParticipationStatus to);
+
+    @Modifying
+    @Query("DELETE FROM HuntParticipation p WHERE p.id.huntId = :huntId")
+    int deleteAllByHuntId(Long huntId);
+}
@@ -2,11 +2,16 @@ package org.treasurehunt.hunt.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.treasurehunt.common.enums.HuntStatus;
 import org.treasurehunt.hunt.repository.entity.Hunt;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface HuntRepository extends JpaRepository<Hunt, Long>, JpaSpecificationExecutor<Hunt> {
@@ -18,14 +23,127 @@ public interface HuntRepository extends JpaRepository<Hunt, Long>, JpaSpecificat
     @Query("SELECT h.mapImgUri FROM Hunt h WHERE h.id = :id")
     String getHuntMapImageById(Long id);
 
+    @Query("SELECT h.location.id FROM Hunt h WHERE h.id = :id")
+    Long getLocationIdById(Long id);
+
+    @Query("SELECT h.status AS status, h.organizer.id AS organizerId FROM Hunt h WHERE h.id = :id")
+    Optional<HuntAccessRow> findAccessRowById(Long id);
+
+    /**
+     * Deletes the hunt row without loading it; its children must already be gone.
+     */
+    @Modifying
+    @Query("DELETE FROM Hunt h WHERE h.id = :id")
+    int deleteRowById(Long id);
+
     @Query("""
-            SELECT count(*) from User u where u.hunt.id=:huntId
+            SELECT count(p) FROM HuntParticipation p WHERE p.id.huntId = :huntId
             """)
     Long countParticipants(Long huntId);
 
+    /**
+     * Counts the statistics of each hunt from the challenge, participation, submission and
+     * progress tables. Every subquery is a range scan on an index led by the hunt or challenge.
+     */
+    @Query(value = """
+            SELECT h.hunt_id AS huntId,
+                   (SELECT COUNT(*) FROM challenge c WHERE c.hunt_id = h.hunt_id) AS challenges,
+                   (SELECT COUNT(*) FROM hunt_participation hp WHERE hp.hunt_id = h.hunt_id) AS participants,
+                   (SELECT COUNT(*) FROM submissions s JOIN challenge c ON c.challenge_id = s.challenge_id
+                    WHERE c.hunt_id = h.hunt_id) AS submissions,
+                   (SELECT COUNT(*) FROM submissions s JOIN challenge c ON c.challenge_id = s.challenge_id
+                    WHERE c.hunt_id = h.hunt_id AND s.status = 'SUCCESS') AS successes,
+                   (SELECT COUNT(DISTINCT p.user_id) FROM user_challenge_progress p
+                    WHERE p.hunt_id = h.hunt_id AND p.solved_at IS NOT NULL) AS uniqueSolvers
+            FROM hunt h
+            WHERE h.hunt_id IN (:huntIds)
+            """, nativeQuery = true)
+    List<HuntStatisticsRow> findStatisticsRows(Collection<Long> huntIds);
+
+    /**
+     * Takes a seat in the hunt if it has room, in one conditional update on the hunt row.
+     *
+     * @return 1 if the seat was taken, 0 if the hunt is full or does not exist
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE hunt SET participant_count = participant_count + 1
+            WHERE hunt_id = :huntId
+              AND (max_participants IS NULL OR participant_count < max_participants)
+            """, nativeQuery = true)
+    int admitParticipant(Long huntId);
+
+    /**
+     * @return the hunt the user joined last, or {@code null} if they never joined one
+     */
+    @Query(value = """
+            SELECT h.* FROM hunt h
+            WHERE h.hunt_id = (SELECT p.hunt_id FROM hunt_participation p
+                               WHERE p.user_id = :id
+                               ORDER BY p.joined_at DESC LIMIT 1)
+            """, nativeQuery = true)
+    Hunt findHuntByUser_Id(Long id);
+
+    @Query("SELECT h.id AS id, h.title AS title, h.description AS description FROM Hunt h")
+    List<HuntSearchRow> findAllSearchRows();
+
+    @Query("SELECT h.id AS id, h.title AS title, h.description AS description FROM Hunt h WHERE h.id = :id")
+    Optional<HuntSearchRow> findSearchRowById(Long id);
+
+    /**
+     * Approved hunts starting, and live hunts ending, no later than {@code until}.
+     */
     @Query("""
-            SELECT h from Hunt h where h.id = (SELECT u.hunt.id FROM User u where u.id = :id)
+            SELECT h.id AS huntId, h.status AS status, h.startDate AS startDate, h.endDate AS endDate
+            FROM Hunt h
+            WHERE (h.status = :approved AND h.startDate <= :until)
+               OR (h.status = :live AND h.endDate <= :until)
             """)
-    Hunt findHuntByUser_Id(Long id);
+    List<HuntScheduleRow> findScheduledTransitions(Instant until, HuntStatus approved, HuntStatus live);
+
+    /**
+     * Sets an approved hunt live if its start date has passed.
+     *
+     * @return 1 if this call made the transition, 0 if the hunt was not due or already moved on
+     */
+    @Modifying
+    @Query("""
+            UPDATE Hunt h SET h.status = :live
+            WHERE h.id = :huntId AND h.status = :approved AND h.startDate <= :now
+            """)
+    int startIfDue(Long huntId, Instant now, HuntStatus approved, HuntStatus live);
+
+    /**
+     * Finishes a live hunt if its end date has passed.
+     *
+     * @return 1 if this call made the transition, 0 if the hunt was not due or already moved on
+     */
+    @Modifying
+    @Query("""
+            UPDATE Hunt h SET h.status = :finished
+            WHERE h.id = :huntId AND h.status = :live AND h.endDate <= :now
+            """)
+    int finishIfDue(Long huntId, Instant now, HuntStatus live, HuntStatus finished);
+
+    /**
+     * Takes the lifecycle lease on a hunt row if it is free, expired or already held by {@code owner}.
+     *
+     * @return 1 if the lease is now held by {@code owner}
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE hunt
+            SET lifecycle_lease_owner = :owner, lifecycle_lease_until = :until
+            WHERE hunt_id = :huntId
+              AND (lifecycle_lease_until IS NULL OR lifecycle_lease_until < :now OR lifecycle_lease_owner = :owner)
+            """, nativeQuery = true)
+    int acquireLifecycleLease(Long huntId, String owner, Instant now, Instant until);
 
+    @Modifying
+    @Query(value = """
+            UPDATE hunt
+            SET lifecycle_lease_owner = NULL, lifecycle_lease_until = NULL
+            WHERE hunt_id = :huntId AND lifecycle_lease_owner = :owner
+            """, nativeQuery = true)
+    int releaseLifecycleLease(Long huntId, String owner);
 }
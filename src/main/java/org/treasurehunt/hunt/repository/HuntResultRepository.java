@@ -0,0 +1,93 @@
+package org.treasurehunt.hunt.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.treasurehunt.hunt.repository.entity.HuntResult;
+import org.treasurehunt.hunt.repository.entity.HuntResultId;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface HuntResultRepository extends JpaRepository<HuntResult, HuntResultId> {
+
+    /**
+     * Scores every participant of the hunt from the progress projection (challenge points when
+     * solved, minus 10 per failed submission) and ranks them with a window function. A new
+     * result starts with the challenge awards the user was credited during the hunt as its
+     * credited points. Re-finalizing a hunt overwrites its previous results, but not what was
+     * credited for them.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO hunt_result (hunt_id, user_id, score, hunt_rank, credited_points, finalized_at)
+            SELECT r.hunt_id, r.user_id, r.score,
+                   RANK() OVER (PARTITION BY r.hunt_id ORDER BY r.score DESC),
+                   (SELECT COALESCE(SUM(a.points), 0)
+                    FROM score_award a
+                    JOIN challenge ac ON ac.challenge_id = a.challenge_id
+                    WHERE a.user_id = r.user_id AND ac.hunt_id = r.hunt_id),
+                   :finalizedAt
+            FROM (
+                SELECT hp.hunt_id, hp.user_id,
+                       COALESCE(SUM(CASE WHEN p.solved_at IS NOT NULL THEN c.points ELSE 0 END), 0)
+                           - 10 * COALESCE(SUM(p.fail_count), 0) AS score
+                FROM hunt_participation hp
+                LEFT JOIN user_challenge_progress p ON p.user_id = hp.user_id AND p.hunt_id = hp.hunt_id
+                LEFT JOIN challenge c ON c.challenge_id = p.challenge_id
+                WHERE hp.hunt_id = :huntId
+                GROUP BY hp.hunt_id, hp.user_id
+            ) r
+            ON DUPLICATE KEY UPDATE score = VALUES(score),
+                                    hunt_rank = VALUES(hunt_rank),
+                                    finalized_at = VALUES(finalized_at)
+            """, nativeQuery = true)
+    int freezeResults(Long huntId, Instant finalizedAt);
+
+    /**
+     * @return the participants whose hunt score is not fully in their total yet, with the
+     * points still to add, which are negative when penalties outweigh the awards
+     */
+    @Query("""
+            SELECT r.id.userId AS userId, r.score - r.creditedPoints AS delta
+            FROM HuntResult r
+            WHERE r.id.huntId = :huntId AND r.score <> r.creditedPoints
+            """)
+    List<ScoreCreditRow> findUncreditedScores(Long huntId);
+
+    /**
+     * Adds what is left of every participant's hunt score to their total, in one statement.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE users u
+            SET score = COALESCE(score, 0) + (SELECT r.score - r.credited_points
+                                              FROM hunt_result r
+                                              WHERE r.hunt_id = :huntId AND r.user_id = u.user_id)
+            WHERE u.user_id IN (SELECT r.user_id
+                                FROM hunt_result r
+                                WHERE r.hunt_id = :huntId AND r.score <> r.credited_points)
+            """, nativeQuery = true)
+    int creditScores(Long huntId);
+
+    @Modifying
+    @Query("UPDATE HuntResult r SET r.creditedPoints = r.score WHERE r.id.huntId = :huntId")
+    int markCredited(Long huntId);
+
+    @Modifying
+    @Query("DELETE FROM HuntResult r WHERE r.id.huntId = :huntId")
+    int deleteAllByHuntId(Long huntId);
+
+    @Query("SELECT r FROM HuntResult r WHERE r.id.huntId = :huntId ORDER BY r.rank, r.id.userId")
+    List<HuntResult> findByHuntId(Long huntId);
+
+    @Query("""
+            SELECT h.id AS huntId, h.title AS title, h.endDate AS endDate, r.score AS score, r.rank AS rank
+            FROM HuntResult r JOIN Hunt h ON h.id = r.id.huntId
+            WHERE r.id.userId = :userId
+            ORDER BY r.finalizedAt DESC
+            """)
+    List<CompletedHuntRow> findCompletedHuntsByUserId(Long userId);
+}
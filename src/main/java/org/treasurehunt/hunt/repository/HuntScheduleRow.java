@@ -0,0 +1,18 @@
+package org.treasurehunt.hunt.repository;
+
+import org.treasurehunt.common.enums.HuntStatus;
+
+import java.time.Instant;
+
+/**
+ * The fields that decide a hunt's next automatic status transition.
+ */
+public interface HuntScheduleRow {
+    Long getHuntId();
+
+    HuntStatus getStatus();
+
+    Instant getStartDate();
+
+    Instant getEndDate();
+}
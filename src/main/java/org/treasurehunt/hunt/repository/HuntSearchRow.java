@@ -0,0 +1,12 @@
+package org.treasurehunt.hunt.repository;
+
+/**
+ * The searchable text of a hunt, without loading the hunt entity.
+ */
+public interface HuntSearchRow {
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+}
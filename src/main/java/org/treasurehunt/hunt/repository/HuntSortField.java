@@ -0,0 +1,55 @@
+package org.treasurehunt.hunt.repository;
+
+import lombok.Getter;
+import org.treasurehunt.exception.BadRequestException;
+import org.treasurehunt.hunt.api.DraftHuntDTO;
+
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Hunt properties that keyset pagination can sort on, with how to read a key from a hunt and
+ * how to parse it back from a cursor.
+ */
+@Getter
+public enum HuntSortField {
+    ID("id", false, DraftHuntDTO::id, Long::valueOf),
+    TITLE("title", false, DraftHuntDTO::title, Function.identity()),
+    START_DATE("startDate", true, DraftHuntDTO::startDate, Instant::parse),
+    END_DATE("endDate", true, DraftHuntDTO::endDate, Instant::parse);
+
+    private final String property;
+    /**
+     * Whether hunts can lack this key, in which case they are paged after all the others.
+     */
+    private final boolean nullable;
+    private final Function<DraftHuntDTO, ? extends Comparable<?>> extractor;
+    private final Function<String, ? extends Comparable<?>> parser;
+
+    HuntSortField(String property,
+                  boolean nullable,
+                  Function<DraftHuntDTO, ? extends Comparable<?>> extractor,
+                  Function<String, ? extends Comparable<?>> parser) {
+        this.property = property;
+        this.nullable = nullable;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public static HuntSortField fromProperty(String property) {
+        for (HuntSortField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new BadRequestException("Unsupported sort field for cursor paging: " + property);
+    }
+
+    public Comparable<?> keyOf(DraftHuntDTO hunt) {
+        return extractor.apply(hunt);
+    }
+
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+}
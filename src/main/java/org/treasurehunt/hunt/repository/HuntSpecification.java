@@ -1,9 +1,20 @@
 package org.treasurehunt.hunt.repository;
 
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.sqm.NodeBuilder;
+import org.hibernate.query.sqm.tree.expression.SqmExpression;
+import org.hibernate.query.sqm.tree.expression.SqmTuple;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.treasurehunt.hunt.api.HuntFilter;
 import org.treasurehunt.hunt.repository.entity.Hunt;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 public class HuntSpecification {
 
     public static Specification<Hunt> getSpecification(HuntFilter filter) {
@@ -16,6 +27,10 @@ public class HuntSpecification {
                 .and(endDateLessThanOrEqual(filter.getEndDateTo()));
     }
 
+    public static Specification<Hunt> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
     private static Specification<Hunt> titleContains(String title) {
         return (title == null || title.isEmpty()) ? null :
                 (root, query, cb) -> cb.like(cb.lower(root.get("title")), "%" + title.toLowerCase() + "%");
@@ -50,4 +65,66 @@ public class HuntSpecification {
         return endDate == null ? null :
                 (root, query, cb) -> cb.lessThanOrEqualTo(root.get("endDate"), endDate);
     }
-}
\ No newline at end of file
+
+    /**
+     * Orders hunts by {@code field} then id, the order of the {@code (key, hunt_id)} indexes, which
+     * is the order {@link #after(HuntCursor)} seeks in. Hunts without a key are read separately,
+     * after all the others, with {@link #withoutKey(HuntSortField)}.
+     */
+    public static Specification<Hunt> keysetOrder(HuntSortField field, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            boolean ascending = direction.isAscending();
+            List<Order> orders = new ArrayList<>();
+            if (field != HuntSortField.ID) {
+                Path<Object> key = root.get(field.getProperty());
+                orders.add(ascending ? cb.asc(key) : cb.desc(key));
+            }
+            orders.add(ascending ? cb.asc(root.get("id")) : cb.desc(root.get("id")));
+            query.orderBy(orders);
+            return null;
+        };
+    }
+
+    /**
+     * Keeps the hunts that have a key for {@code field}, if it is {@link HuntSortField#isNullable()}.
+     */
+    public static Specification<Hunt> withKey(HuntSortField field) {
+        return !field.isNullable() ? null :
+                (root, query, cb) -> cb.isNotNull(root.get(field.getProperty()));
+    }
+
+    /**
+     * Keeps the hunts that have no key for {@code field}, which come after all the others.
+     */
+    public static Specification<Hunt> withoutKey(HuntSortField field) {
+        return (root, query, cb) -> cb.isNull(root.get(field.getProperty()));
+    }
+
+    /**
+     * Keeps the hunts that come after {@code cursor} in {@link #keysetOrder} order, as a row
+     * comparison {@code (key, id) > (last, lastId)}, which the index seeks to directly. A cursor
+     * without a key points into the hunts {@link #withoutKey}, which only the id orders.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Hunt> after(HuntCursor cursor) {
+        return cursor == null ? null : (root, query, cb) -> {
+            boolean ascending = cursor.direction().isAscending();
+            Path<Long> id = root.get("id");
+            Predicate idAfter = ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+            if (cursor.field() == HuntSortField.ID) {
+                return idAfter;
+            }
+
+            Path key = root.get(cursor.field().getProperty());
+            if (cursor.key() == null) {
+                return cb.and(cb.isNull(key), idAfter);
+            }
+            // JPA has no row values; Hibernate's own builder does
+            NodeBuilder nodeBuilder = (NodeBuilder) cb;
+            SqmTuple row = new SqmTuple<>(nodeBuilder, (SqmExpression<?>) key, (SqmExpression<?>) id);
+            SqmTuple last = new SqmTuple<>(nodeBuilder,
+                    (SqmExpression<?>) nodeBuilder.value(cursor.key()), (SqmExpression<?>) nodeBuilder.value(cursor.id()));
+            return ascending ? nodeBuilder.greaterThan(row, last) : nodeBuilder.lessThan(row, last);
+        };
+    }
+}
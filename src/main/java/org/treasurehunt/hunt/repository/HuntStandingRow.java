@@ -0,0 +1,12 @@
+package org.treasurehunt.hunt.repository;
+
+/**
+ * A participant's current score and rank within a hunt.
+ */
+public interface HuntStandingRow {
+    Long getUserId();
+
+    Integer getScore();
+
+    Long getHuntRank();
+}
@@ -0,0 +1,18 @@
+package org.treasurehunt.hunt.repository;
+
+/**
+ * A hunt's statistics counted from the underlying tables.
+ */
+public interface HuntStatisticsRow {
+    Long getHuntId();
+
+    Long getChallenges();
+
+    Long getParticipants();
+
+    Long getSubmissions();
+
+    Long getSuccesses();
+
+    Long getUniqueSolvers();
+}
@@ -1,9 +1,31 @@
 package org.treasurehunt.hunt.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.treasurehunt.hunt.repository.entity.Location;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface LocationRepository extends JpaRepository<Location, Long> {
+
+    @Query("""
+            SELECT h.id AS huntId, l.latitude AS latitude, l.longitude AS longitude
+            FROM Hunt h JOIN h.location l
+            """)
+    List<HuntLocationRow> findAllHuntLocations();
+
+    @Query("""
+            SELECT h.id AS huntId, l.latitude AS latitude, l.longitude AS longitude
+            FROM Hunt h JOIN h.location l
+            WHERE h.id = :huntId
+            """)
+    Optional<HuntLocationRow> findHuntLocationByHuntId(Long huntId);
+
+    @Modifying
+    @Query("DELETE FROM Location l WHERE l.id = :id")
+    int deleteRowById(Long id);
 }
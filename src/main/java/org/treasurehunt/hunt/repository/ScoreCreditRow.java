@@ -0,0 +1,10 @@
+package org.treasurehunt.hunt.repository;
+
+/**
+ * The points of a participant's hunt score not yet added to their total.
+ */
+public interface ScoreCreditRow {
+    Long getUserId();
+
+    Integer getDelta();
+}
@@ -0,0 +1,16 @@
+package org.treasurehunt.hunt.repository;
+
+/**
+ * A test case with its challenge's id, without loading the challenge entity.
+ */
+public interface TestCaseRow {
+    Long getChallengeId();
+
+    String getInput();
+
+    String getExpectedOutput();
+
+    Integer getPosition();
+
+    Boolean getSample();
+}
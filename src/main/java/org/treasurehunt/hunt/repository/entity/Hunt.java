@@ -3,6 +3,7 @@ package org.treasurehunt.hunt.repository.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.treasurehunt.common.enums.HuntStatus;
@@ -38,9 +39,6 @@ public class Hunt {
     @JoinColumn(name = "organizer_id", nullable = false)
     private User organizer;
 
-    @OneToMany(mappedBy = "hunt", fetch = FetchType.LAZY)
-    private List<User> participants;
-
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "reviewer_id")
     private User reviewer;
@@ -74,6 +72,14 @@ public class Hunt {
     @JoinColumn(name = "location_id", nullable = false)
     private Location location;
 
+    @Positive
+    @Column(name = "max_participants")
+    private Integer maxParticipants;
+
+    // Maintained by HuntRepository.admitParticipant only, never written from the entity
+    @Column(name = "participant_count", insertable = false, updatable = false)
+    private Integer participantCount;
+
     @OneToMany(
             mappedBy = "hunt",
             fetch = FetchType.LAZY,
@@ -0,0 +1,34 @@
+package org.treasurehunt.hunt.repository.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import org.treasurehunt.common.enums.ParticipationStatus;
+
+import java.time.Instant;
+
+/**
+ * A user's membership in a hunt. Rows are kept after the hunt finishes, so a user's history
+ * spans every hunt they took part in.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "hunt_participation")
+public class HuntParticipation {
+
+    @EmbeddedId
+    private HuntParticipationId id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ParticipationStatus status;
+
+    @Column(name = "joined_at", nullable = false)
+    private Instant joinedAt;
+}
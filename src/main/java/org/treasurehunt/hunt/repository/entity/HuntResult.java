@@ -0,0 +1,39 @@
+package org.treasurehunt.hunt.repository.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A participant's final score and rank in a hunt, frozen when the hunt is finished.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "hunt_result")
+public class HuntResult {
+
+    @EmbeddedId
+    private HuntResultId id;
+
+    @Column(name = "score", nullable = false)
+    private Integer score;
+
+    @Column(name = "hunt_rank", nullable = false)
+    private Integer rank;
+
+    /**
+     * The part of {@link #score} already added to the user's total: the challenge awards
+     * credited during the hunt, then the rest once the hunt is finalized.
+     */
+    @Column(name = "credited_points", nullable = false)
+    private Integer creditedPoints;
+
+    @Column(name = "finalized_at", nullable = false)
+    private Instant finalizedAt;
+}
@@ -0,0 +1,43 @@
+package org.treasurehunt.hunt.repository.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.Hibernate;
+
+import java.io.Serial;
+import java.util.Objects;
+
+@Getter
+@Setter
+@Embeddable
+@NoArgsConstructor
+public class HuntResultId implements java.io.Serializable {
+    @Serial
+    private static final long serialVersionUID = 5318420934762104117L;
+
+    @NotNull
+    @Column(name = "hunt_id", nullable = false)
+    private Long huntId;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        HuntResultId entity = (HuntResultId) o;
+        return Objects.equals(this.huntId, entity.huntId) &&
+               Objects.equals(this.userId, entity.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(huntId, userId);
+    }
+}
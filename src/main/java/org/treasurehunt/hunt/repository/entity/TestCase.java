@@ -39,6 +39,13 @@ public class TestCase {
     @Column(name = "`order`", nullable = false)
     private Integer order;
 
+    /**
+     * Sample test cases are shown to hunters; the others stay hidden and are only used for judging.
+     */
+    @ColumnDefault("0")
+    @Column(name = "is_sample", nullable = false)
+    private boolean sample;
+
     @ColumnDefault("CURRENT_TIMESTAMP")
     @Column(name = "created_at")
     private Instant createdAt;
@@ -0,0 +1,121 @@
+package org.treasurehunt.hunt.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.treasurehunt.hunt.api.ChallengeArchiveEntry;
+import org.treasurehunt.hunt.api.ChallengeCodeDTO;
+import org.treasurehunt.hunt.api.OptimalSolutionDTO;
+import org.treasurehunt.hunt.api.TestCaseDTO;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes imported challenges and their children with JDBC batches: one batched statement per
+ * table for a whole group of challenges, instead of one insert per row through the entities.
+ * <p>
+ * Must run inside the caller's transaction. Enums are written as their ordinals, as the entities
+ * map them.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChallengeBatchWriter {
+
+    private static final String INSERT_CHALLENGE = """
+            INSERT INTO challenge (hunt_id, title, points, challenge_type, map_piece_uri, external_game_uri,
+                                   description, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_TEST_CASE = """
+            INSERT INTO test_case (challenge_id, input, expected_output, `order`, is_sample, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_CHALLENGE_CODE =
+            "INSERT INTO challenge_code (challenge_id, language, code) VALUES (?, ?, ?)";
+    private static final String INSERT_OPTIMAL_SOLUTION =
+            "INSERT INTO optimal_solution (challenge_id, language, code) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return the ids of the inserted challenges, in order
+     */
+    public List<Long> insert(Long huntId, List<ChallengeArchiveEntry> challenges) {
+        if (challenges.isEmpty()) {
+            return List.of();
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_CHALLENGE, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ChallengeArchiveEntry challenge = challenges.get(i);
+                        ps.setLong(1, huntId);
+                        ps.setString(2, challenge.title());
+                        ps.setInt(3, challenge.points());
+                        ps.setInt(4, challenge.challengeType().ordinal());
+                        ps.setString(5, challenge.mapPiece());
+                        ps.setString(6, challenge.externalGameUri());
+                        ps.setString(7, challenge.description());
+                        ps.setTimestamp(8, now);
+                        ps.setTimestamp(9, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return challenges.size();
+                    }
+                },
+                keyHolder);
+        List<Long> ids = keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toList();
+        if (ids.size() != challenges.size()) {
+            throw new IllegalStateException("Expected " + challenges.size() + " challenge ids, got " + ids.size());
+        }
+
+        List<Object[]> testCases = new ArrayList<>();
+        List<Object[]> codes = new ArrayList<>();
+        List<Object[]> solutions = new ArrayList<>();
+        for (int i = 0; i < challenges.size(); i++) {
+            ChallengeArchiveEntry challenge = challenges.get(i);
+            Long challengeId = ids.get(i);
+            for (TestCaseDTO testCase : nullToEmpty(challenge.testCases())) {
+                testCases.add(new Object[]{challengeId, testCase.getInput(), testCase.getExpectedOutput(),
+                        testCase.getOrder(), testCase.isSample(), now, now});
+            }
+            for (ChallengeCodeDTO code : nullToEmpty(challenge.challengeCodes())) {
+                codes.add(new Object[]{challengeId, code.language().ordinal(), code.code()});
+            }
+            for (OptimalSolutionDTO solution : nullToEmpty(challenge.optimalSolutions())) {
+                solutions.add(new Object[]{challengeId, solution.language().ordinal(), solution.code()});
+            }
+        }
+        batch(INSERT_TEST_CASE, testCases);
+        batch(INSERT_CHALLENGE_CODE, codes);
+        batch(INSERT_OPTIMAL_SOLUTION, solutions);
+        return ids;
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> list) {
+        return list != null ? list : List.of();
+    }
+}
@@ -0,0 +1,138 @@
+package org.treasurehunt.hunt.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.treasurehunt.hunt.api.ChallengeCodeDTO;
+import org.treasurehunt.hunt.api.CreateChallengeResponse;
+import org.treasurehunt.hunt.api.HunterChallengeResponse;
+import org.treasurehunt.hunt.api.OptimalSolutionDTO;
+import org.treasurehunt.hunt.api.TestCaseDTO;
+import org.treasurehunt.hunt.mapper.ChallengeMapper;
+import org.treasurehunt.hunt.repository.ChallengeCodeRow;
+import org.treasurehunt.hunt.repository.ChallengeRepository;
+import org.treasurehunt.hunt.repository.TestCaseRow;
+import org.treasurehunt.hunt.repository.entity.Challenge;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads a hunt's challenges with their test cases, codes and optimal solutions in a fixed number
+ * of queries: one for the challenges, then one per kind of child for every {@link #BATCH_SIZE}
+ * challenges, instead of three lazy loads per challenge. The responses are assembled in memory.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChallengeReadService {
+
+    /**
+     * Challenge ids per {@code IN} list, to keep the statements and their plans bounded.
+     */
+    static final int BATCH_SIZE = 500;
+
+    private final ChallengeRepository challengeRepository;
+    private final ChallengeMapper challengeMapper;
+
+    /**
+     * @return the hunt's challenges in the order of {@link ChallengeRepository#findByHuntId(Long)}
+     */
+    @Transactional(readOnly = true)
+    public List<CreateChallengeResponse> getChallengesByHuntId(Long huntId) {
+        List<Challenge> challenges = challengeRepository.findByHuntId(huntId);
+        if (challenges.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = challenges.stream().map(Challenge::getId).toList();
+        Map<Long, List<TestCaseDTO>> testCases = fetchTestCases(ids);
+        Map<Long, List<OptimalSolutionDTO>> optimalSolutions = fetchOptimalSolutions(ids);
+        Map<Long, List<ChallengeCodeDTO>> challengeCodes = fetchChallengeCodes(ids);
+
+        return challenges.stream()
+                .map(challenge -> challengeMapper.fromEntity(challenge,
+                        testCases.getOrDefault(challenge.getId(), List.of()),
+                        optimalSolutions.getOrDefault(challenge.getId(), List.of()),
+                        challengeCodes.getOrDefault(challenge.getId(), List.of())))
+                .toList();
+    }
+
+    /**
+     * Same as {@link #getChallengesByHuntId(Long)}, as shown to hunters: optimal solutions are not
+     * read at all, and of the test cases only the samples are.
+     */
+    @Transactional(readOnly = true)
+    public List<HunterChallengeResponse> getHunterChallengesByHuntId(Long huntId) {
+        List<Challenge> challenges = challengeRepository.findByHuntId(huntId);
+        if (challenges.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = challenges.stream().map(Challenge::getId).toList();
+        Map<Long, List<TestCaseDTO>> sampleTests =
+                fetchGrouped(ids, challengeRepository::findSampleTestCaseRowsByChallengeIdIn, TestCaseRow::getChallengeId,
+                        ChallengeReadService::toTestCase);
+        Map<Long, List<ChallengeCodeDTO>> challengeCodes = fetchChallengeCodes(ids);
+
+        return challenges.stream()
+                .map(challenge -> challengeMapper.toHunterResponse(challenge,
+                        sampleTests.getOrDefault(challenge.getId(), List.of()),
+                        challengeCodes.getOrDefault(challenge.getId(), List.of())))
+                .toList();
+    }
+
+    /**
+     * @return every test case of the challenges, grouped by challenge id
+     */
+    Map<Long, List<TestCaseDTO>> fetchTestCases(List<Long> ids) {
+        return fetchGrouped(ids, challengeRepository::findTestCaseRowsByChallengeIdIn, TestCaseRow::getChallengeId,
+                ChallengeReadService::toTestCase);
+    }
+
+    /**
+     * @return the optimal solutions of the challenges, grouped by challenge id
+     */
+    Map<Long, List<OptimalSolutionDTO>> fetchOptimalSolutions(List<Long> ids) {
+        return fetchGrouped(ids, challengeRepository::findOptimalSolutionRowsByChallengeIdIn, ChallengeCodeRow::getChallengeId,
+                row -> new OptimalSolutionDTO(row.getId(), row.getCode(), row.getLanguage()));
+    }
+
+    /**
+     * @return the codes of the challenges, grouped by challenge id
+     */
+    Map<Long, List<ChallengeCodeDTO>> fetchChallengeCodes(List<Long> ids) {
+        return fetchGrouped(ids, challengeRepository::findCodeRowsByChallengeIdIn, ChallengeCodeRow::getChallengeId,
+                row -> new ChallengeCodeDTO(row.getId(), row.getCode(), row.getLanguage()));
+    }
+
+    /**
+     * Runs {@code query} once per batch of ids and groups the mapped rows by challenge id, keeping
+     * their order.
+     */
+    private static <R, T> Map<Long, List<T>> fetchGrouped(List<Long> ids,
+                                                          Function<Collection<Long>, List<R>> query,
+                                                          Function<R, Long> challengeId,
+                                                          Function<R, T> mapper) {
+        Map<Long, List<T>> grouped = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            for (R row : query.apply(batch)) {
+                grouped.computeIfAbsent(challengeId.apply(row), id -> new ArrayList<>()).add(mapper.apply(row));
+            }
+        }
+        return grouped;
+    }
+
+    private static TestCaseDTO toTestCase(TestCaseRow row) {
+        TestCaseDTO testCase = new TestCaseDTO();
+        testCase.setInput(row.getInput());
+        testCase.setExpectedOutput(row.getExpectedOutput());
+        testCase.setOrder(row.getPosition());
+        testCase.setSample(Boolean.TRUE.equals(row.getSample()));
+        return testCase;
+    }
+}
@@ -4,12 +4,17 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.treasurehunt.common.api.RenderedJson;
 import org.treasurehunt.common.enums.ChallengeType;
+import org.treasurehunt.common.enums.HuntStatus;
 import org.treasurehunt.common.enums.Roles;
+import org.treasurehunt.common.image.ImageChangedEvent;
+import org.treasurehunt.common.image.ImageKind;
 import org.treasurehunt.common.util.AuthUtil;
 import org.treasurehunt.common.util.FIleUploadUtil;
 import org.treasurehunt.common.validation.ValidatorService;
@@ -18,13 +23,17 @@ import org.treasurehunt.exception.EntityNotFoundException;
 import org.treasurehunt.hunt.api.*;
 import org.treasurehunt.hunt.mapper.ChallengeMapper;
 import org.treasurehunt.hunt.repository.ChallengeRepository;
+import org.treasurehunt.hunt.repository.HuntAccessRow;
+import org.treasurehunt.hunt.repository.HuntParticipationRepository;
 import org.treasurehunt.hunt.repository.HuntRepository;
 import org.treasurehunt.hunt.repository.entity.*;
 import org.treasurehunt.security.UserDetailsDTO;
 import org.treasurehunt.submissions.repo.Submission;
-import org.treasurehunt.submissions.repo.SubmissionRepo;
+import org.treasurehunt.submissions.repo.UserChallengeProgress;
+import org.treasurehunt.submissions.service.ChallengeProgressService;
 import org.treasurehunt.user.repository.UserRepository;
 import org.treasurehunt.user.repository.entity.User;
+import org.treasurehunt.user.service.ScoreService;
 
 import java.io.IOException;
 import java.time.Instant;
@@ -45,7 +54,12 @@ public class ChallengeService {
     private final Judge0Service judge0Service;
     private final ValidatorService validatorService;
     private final UserRepository userRepository;
-    private final SubmissionRepo submissionRepo;
+    private final ChallengeProgressService challengeProgressService;
+    private final ScoreService scoreService;
+    private final HuntParticipationRepository huntParticipationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PublishedHuntCache publishedHuntCache;
+    private final ChallengeReadService challengeReadService;
 
 
     @Transactional
@@ -131,13 +145,16 @@ public class ChallengeService {
                             testCase.setInput(dto.getInput());
                             testCase.setExpectedOutput(dto.getExpectedOutput());
                             testCase.setOrder(dto.getOrder());
+                            testCase.setSample(dto.isSample());
                             return testCase;
                         }).toList();
 
                 challengeToCreate.setTestCases(testCases);
             }
 
-            return challengeMapper.fromEntity(challengeRepository.save(challengeToCreate));
+            Challenge savedChallenge = challengeRepository.save(challengeToCreate);
+            eventPublisher.publishEvent(HuntChangedEvent.saved(huntId));
+            return challengeMapper.fromEntity(savedChallenge);
         } catch (JsonProcessingException ex) {
             throw new BadRequestException("Failed to process Challenge JSON: " + ex.getMessage());
         }
@@ -173,9 +190,12 @@ public class ChallengeService {
 
         // Get the image filename
         String mapPieceUri = challenge.getMapPieceUri();
+        Long huntId = challenge.getHunt().getId();
 
         // Delete the challenge from the database
         challengeRepository.delete(challenge);
+        eventPublisher.publishEvent(HuntChangedEvent.saved(huntId));
+        eventPublisher.publishEvent(new ImageChangedEvent(ImageKind.CHALLENGE_PIECE, challengeId));
 
         // If there's an associated image, delete it
         if (mapPieceUri != null && !mapPieceUri.isEmpty()) {
@@ -201,30 +221,36 @@ public class ChallengeService {
         huntRepository.findById(huntId)
                 .orElseThrow(() -> new EntityNotFoundException(huntId, Hunt.class));
 
-        // Get all challenges for the hunt
-        List<Challenge> challenges = challengeRepository.findByHuntId(huntId);
-
-        // Map the challenges to DTOs and return
-        return challenges.stream()
-                .map(challengeMapper::fromEntity)
-                .toList();
+        // Get all challenges for the hunt, with their children batch-fetched
+        return challengeReadService.getChallengesByHuntId(huntId);
     }
 
     /**
-     * Retrieves all challenges for a specific hunt
-     * Only allows access if the user is an admin or the organizer of the hunt
+     * Retrieves all challenges for a specific hunt, serialized. Participants get the hunter view,
+     * without reference solutions or hidden test cases, served from the {@link PublishedHuntCache}
+     * while the hunt is live: only the access check touches the database. Admins, reviewers and the
+     * hunt's organizer get the full challenges, loaded on each request. Access is checked before any
+     * challenge is read.
      *
      * @param huntId      the ID of the hunt
      * @param userId      the ID of the user making the request
      * @param authorities the authorities of the user making the request
-     * @return a list of challenge response DTOs
      * @throws EntityNotFoundException if the hunt is not found
      * @throws RuntimeException        if the user is not authorized to access the hunt's challenges
      */
-    public List<CreateChallengeResponse> getChallengesByHuntIdWithAuth(Long huntId, Long userId, Collection<? extends GrantedAuthority> authorities) {
-        // Verify that the hunt exists
-        Hunt hunt = huntRepository.findById(huntId)
-                .orElseThrow(() -> new EntityNotFoundException(huntId, Hunt.class));
+    public RenderedJson getPublishedChallengesWithAuth(Long huntId, Long userId, Collection<? extends GrantedAuthority> authorities) {
+        PublishedHunt published = publishedHuntCache.cached(huntId).orElse(null);
+        HuntStatus status;
+        Long organizerId;
+        if (published != null) {
+            status = published.status();
+            organizerId = published.organizerId();
+        } else {
+            HuntAccessRow hunt = huntRepository.findAccessRowById(huntId)
+                    .orElseThrow(() -> new EntityNotFoundException(huntId, Hunt.class));
+            status = hunt.getStatus();
+            organizerId = hunt.getOrganizerId();
+        }
 
         // Check if user is admin
         boolean isAdmin = false;
@@ -234,25 +260,20 @@ public class ChallengeService {
                 break;
             }
         }
-
-        User hunter = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-
-        // If not admin, check if user is the organizer of the hunt
-        if (!isAdmin) {
-            User huntOrganizer = hunt.getOrganizer();
-            if (!Objects.equals(huntOrganizer.getId(), userId) && !hunter.getHunt().getId().equals(hunt.getId())) {
-                throw new RuntimeException("You are not authorized to access this hunt's challenges");
-            }
+        boolean fullView = isAdmin || Objects.equals(organizerId, userId);
+        if (!fullView && !huntParticipationRepository.isParticipant(huntId, userId)) {
+            throw new RuntimeException("You are not authorized to access this hunt's challenges");
         }
 
-        // Get all challenges for the hunt
-        List<Challenge> challenges = challengeRepository.findByHuntId(huntId);
-
-        // Map the challenges to DTOs and return
-        return challenges.stream()
-                .map(challengeMapper::fromEntity)
-                .toList();
+        if (fullView) {
+            return RenderedJson.of(objectMapper, challengeReadService.getChallengesByHuntId(huntId));
+        }
+        if (published == null && status == HuntStatus.LIVE) {
+            published = publishedHuntCache.get(huntId);
+        }
+        return published != null
+                ? published.hunterChallenges()
+                : RenderedJson.of(objectMapper, challengeReadService.getHunterChallengesByHuntId(huntId));
     }
 
     /**
@@ -308,21 +329,34 @@ public class ChallengeService {
         User user = userRepository.findById(AuthUtil.getUserFromSecurityContext().orElseThrow().getId())
                 .orElseThrow(() -> new EntityNotFoundException(huntId, Hunt.class));
 
-        List<Challenge> challenges = hunt.getChallenges();
+        Map<Long, Integer> pointsByChallenge = new LinkedHashMap<>();
+        for (Challenge c : hunt.getChallenges()) {
+            pointsByChallenge.put(c.getId(), c.getPoints());
+        }
+        Map<Long, UserChallengeProgress> progress =
+                challengeProgressService.getProgressByChallenge(user.getId(), hunt.getId());
+
+        return buildChallengeInfo(pointsByChallenge, progress);
+    }
 
+    /**
+     * Builds the per-challenge solved state and the points collected so far: each solved challenge
+     * is worth its points, and each failed submission costs one point.
+     *
+     * @param pointsByChallenge the hunt's challenges and their points, in display order
+     * @param progress          the user's progress rows, keyed by challenge id
+     */
+    public static ChallengeInfo buildChallengeInfo(Map<Long, Integer> pointsByChallenge,
+                                                   Map<Long, UserChallengeProgress> progress) {
         List<ChallengeState> challengeStates = new ArrayList<>();
         long total = 0L;
-        for (Challenge c : challenges) {
-            List<Submission> submissions = submissionRepo.findByChallengeIdAndUserId(c.getId(), user.getId());
+        for (Map.Entry<Long, Integer> c : pointsByChallenge.entrySet()) {
+            UserChallengeProgress challengeProgress = progress.get(c.getKey());
             ChallengeState challengeState = new ChallengeState();
-            boolean solved = submissions.stream()
-                    .anyMatch(s -> s.getStatus().equals(Submission.SubmissionStatus.SUCCESS));
-            Long score = submissions.stream()
-                    .reduce(0L,
-                            (acc, sub) -> sub.getStatus().equals(Submission.SubmissionStatus.FAIL) ? acc - 1L : acc,
-                            Long::sum);
-            score = solved ? score + c.getPoints() : score;
-            challengeState.setChallenge_id(c.getId());
+            boolean solved = challengeProgress != null && challengeProgress.isSolved();
+            long score = challengeProgress != null ? -challengeProgress.getFailCount() : 0L;
+            score = solved ? score + c.getValue() : score;
+            challengeState.setChallenge_id(c.getKey());
             challengeState.setSolved(solved);
             total = Long.sum(total, score);
 
@@ -342,10 +376,9 @@ public class ChallengeService {
         UserDetailsDTO userDTO = AuthUtil.getUserFromSecurityContext()
                 .orElseThrow(() -> new EntityNotFoundException("No user found"));
 
-        User user = userRepository.findById(userDTO.getId())
-                .orElseThrow(() -> new EntityNotFoundException("No user found"));
+        Long userId = userDTO.getId();
 
-        Hunt hunt = huntRepository.findHuntByUser_Id(user.getId());
+        Hunt hunt = huntRepository.findHuntByUser_Id(userId);
         Challenge game = null;
         for (Challenge challenge : hunt.getChallenges()) {
             if(challenge.getChallengeType().equals(ChallengeType.GAME)){
@@ -357,29 +390,17 @@ public class ChallengeService {
             throw new IllegalStateException("idk");
         }
 
-        List<Submission> submissions = submissionRepo.findByChallengeIdAndUserId(
-                game.getId(), user.getId()
-        );
-
-        boolean wonBefore = submissions.stream()
-                .anyMatch((submission -> submission.getStatus().equals(Submission.SubmissionStatus.SUCCESS)));
-
-        if (wonBefore) {
+        // Idempotent on (user, challenge): a repeated or concurrent win is not credited twice
+        if (!scoreService.awardChallenge(userId, game.getId(), game.getPoints(), hunt.getId())) {
             return;
         }
 
-        int challengeScore = game.getPoints();
-
-        user.setScore(user.getScore() + challengeScore);
-
-        userRepository.save(user);
-
         Submission submission = new Submission();
         submission.setChallengeId(game.getId());
         submission.setTime(Instant.now());
-        submission.setUserId(user.getId());
+        submission.setUserId(userId);
         submission.setStatus(Submission.SubmissionStatus.SUCCESS);
 
-        submissionRepo.save(submission);
+        challengeProgressService.recordSubmission(submission, game);
     }
 }
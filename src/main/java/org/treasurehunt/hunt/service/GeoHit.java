@@ -0,0 +1,7 @@
+package org.treasurehunt.hunt.service;
+
+/**
+ * A hunt within the searched radius and its great-circle distance from the searched point.
+ */
+public record GeoHit(Long huntId, double distanceKm) {
+}
@@ -0,0 +1,58 @@
+package org.treasurehunt.hunt.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.treasurehunt.common.enums.ParticipationStatus;
+import org.treasurehunt.exception.BadRequestException;
+import org.treasurehunt.exception.EntityNotFoundException;
+import org.treasurehunt.hunt.repository.HuntParticipationRepository;
+import org.treasurehunt.hunt.repository.HuntRepository;
+
+import java.time.Instant;
+
+/**
+ * Admits users into hunts, safely under a crowd of concurrent joins.
+ * <p>
+ * A join is two writes and no reads: the participation row is inserted, which the table's keys
+ * reject if the user is already in a hunt, then a seat is taken with a conditional update on the
+ * hunt row, which fails once {@code max_participants} is reached. Either failure rolls the whole
+ * join back. The seat is taken last so that the hot hunt row stays locked only until commit.
+ */
+@Service
+@RequiredArgsConstructor
+public class HuntAdmissionService {
+
+    private final HuntRepository huntRepository;
+    private final HuntParticipationRepository huntParticipationRepository;
+    private final HuntStatisticsCounters huntStatisticsCounters;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @throws BadRequestException     if the hunt is full or the user cannot join it
+     * @throws EntityNotFoundException if the hunt is not found
+     */
+    @Transactional
+    public void join(Long huntId, Long userId) {
+        if (huntStatisticsCounters.isFull(huntId)) {
+            throw new BadRequestException("Hunt is full");
+        }
+
+        if (huntParticipationRepository.insertActive(huntId, userId, Instant.now()) == 0) {
+            throw new BadRequestException(
+                    huntParticipationRepository.existsByUserIdAndStatus(userId, ParticipationStatus.ACTIVE)
+                            ? "User is already in a hunt"
+                            : "User has already taken part in this hunt");
+        }
+
+        if (huntRepository.admitParticipant(huntId) == 0) {
+            if (!huntRepository.existsById(huntId)) {
+                throw new EntityNotFoundException("Couldn't find hunt");
+            }
+            huntStatisticsCounters.markFull(huntId);
+            throw new BadRequestException("Hunt is full");
+        }
+        eventPublisher.publishEvent(new HuntJoinedEvent(huntId, userId));
+    }
+}
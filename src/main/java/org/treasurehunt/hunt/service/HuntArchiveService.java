@@ -0,0 +1,409 @@
+package org.treasurehunt.hunt.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.treasurehunt.common.enums.HuntStatus;
+import org.treasurehunt.common.enums.Roles;
+import org.treasurehunt.common.validation.ValidatorService;
+import org.treasurehunt.exception.BadRequestException;
+import org.treasurehunt.exception.EntityNotFoundException;
+import org.treasurehunt.hunt.api.ChallengeArchiveEntry;
+import org.treasurehunt.hunt.api.ChallengeCodeDTO;
+import org.treasurehunt.hunt.api.HuntArchiveEntry;
+import org.treasurehunt.hunt.api.OptimalSolutionDTO;
+import org.treasurehunt.hunt.api.TestCaseDTO;
+import org.treasurehunt.hunt.repository.ChallengeArchiveRow;
+import org.treasurehunt.hunt.repository.ChallengeRepository;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.LocationRepository;
+import org.treasurehunt.hunt.repository.entity.Hunt;
+import org.treasurehunt.hunt.repository.entity.Location;
+import org.treasurehunt.user.service.UserService;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.treasurehunt.common.constants.UploadingConstants.*;
+
+/**
+ * Exports a hunt as a ZIP archive and imports such archives as new draft hunts, so hunts can be
+ * moved between environments or cloned from a template.
+ * <p>
+ * An archive holds {@code hunt.json} first, then one {@code challenges/<n>.json} per challenge
+ * with its test cases, codes and optimal solutions, and the images under {@code images/}.
+ * Both directions stream: an export reads {@code app.hunt.archive.batch-size} challenges at a
+ * time and copies images straight from disk, and an import writes challenges in JDBC batches of
+ * the same size and images straight to disk, so memory does not grow with the hunt.
+ */
+@Log4j2
+@Service
+public class HuntArchiveService {
+
+    static final int FORMAT_VERSION = 1;
+    static final String HUNT_ENTRY = "hunt.json";
+    static final String CHALLENGES_DIR = "challenges/";
+    static final String HUNT_BG_DIR = "images/hunt-bg/";
+    static final String HUNT_MAP_DIR = "images/hunt-map/";
+    static final String CHALLENGE_PIECES_DIR = "images/challenge-pieces/";
+
+    private static final long MAX_IMAGE_BYTES = 10 * 1024 * 1024;
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("png", "jpg", "jpeg");
+
+    private final HuntRepository huntRepository;
+    private final ChallengeRepository challengeRepository;
+    private final LocationRepository locationRepository;
+    private final UserService userService;
+    private final ChallengeReadService challengeReadService;
+    private final ChallengeBatchWriter challengeBatchWriter;
+    private final ValidatorService validatorService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path uploadRoot;
+    private final int batchSize;
+    private final long maxImportBytes;
+
+    public HuntArchiveService(HuntRepository huntRepository,
+                              ChallengeRepository challengeRepository,
+                              LocationRepository locationRepository,
+                              UserService userService,
+                              ChallengeReadService challengeReadService,
+                              ChallengeBatchWriter challengeBatchWriter,
+                              ValidatorService validatorService,
+                              ObjectMapper objectMapper,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${app.upload.root:.}") String uploadRoot,
+                              @Value("${app.hunt.archive.batch-size:50}") int batchSize,
+                              @Value("${app.hunt.archive.max-import-bytes:536870912}") long maxImportBytes) {
+        this.huntRepository = huntRepository;
+        this.challengeRepository = challengeRepository;
+        this.locationRepository = locationRepository;
+        this.userService = userService;
+        this.challengeReadService = challengeReadService;
+        this.challengeBatchWriter = challengeBatchWriter;
+        this.validatorService = validatorService;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.uploadRoot = Paths.get(uploadRoot);
+        this.batchSize = batchSize;
+        this.maxImportBytes = maxImportBytes;
+    }
+
+    /**
+     * Admins and the hunt's organizer may export it.
+     *
+     * @throws EntityNotFoundException if the hunt is not found
+     * @throws AccessDeniedException   if the user may not export the hunt
+     */
+    public void checkExportAllowed(Long huntId, Long userId, Collection<? extends GrantedAuthority> authorities) {
+        Hunt hunt = huntRepository.findById(huntId)
+                .orElseThrow(() -> new EntityNotFoundException(huntId, Hunt.class));
+        boolean isAdmin = authorities.stream().anyMatch(authority -> Roles.ADMIN.name().equals(authority.getAuthority()));
+        if (!isAdmin && !hunt.getOrganizer().getId().equals(userId)) {
+            throw new AccessDeniedException("Only the organizer can export this hunt");
+        }
+    }
+
+    /**
+     * Writes the hunt's archive to {@code out}, without closing it.
+     *
+     * @throws EntityNotFoundException if the hunt is not found
+     */
+    @Transactional(readOnly = true)
+    public void exportHunt(Long huntId, OutputStream out) throws IOException {
+        Hunt hunt = huntRepository.findById(huntId)
+                .orElseThrow(() -> new EntityNotFoundException(huntId, Hunt.class));
+
+        ZipOutputStream zip = new ZipOutputStream(StreamUtils.nonClosing(out));
+        String huntImage = existingImage(HUNT_BG_UPLOAD_DIR, hunt.getHuntImgUri());
+        String mapImage = existingImage(HUNT_MAP_UPLOAD_DIR, hunt.getMapImgUri());
+        writeJson(zip, HUNT_ENTRY, new HuntArchiveEntry(
+                FORMAT_VERSION,
+                hunt.getTitle(),
+                hunt.getDescription(),
+                hunt.getStartDate(),
+                hunt.getEndDate(),
+                hunt.getLocation().getLatitude(),
+                hunt.getLocation().getLongitude(),
+                hunt.getMaxParticipants(),
+                huntImage,
+                mapImage));
+        writeImage(zip, HUNT_BG_DIR, HUNT_BG_UPLOAD_DIR, huntImage);
+        writeImage(zip, HUNT_MAP_DIR, HUNT_MAP_UPLOAD_DIR, mapImage);
+
+        int written = 0;
+        long afterId = 0;
+        List<ChallengeArchiveRow> page;
+        do {
+            page = challengeRepository.findArchiveRowsByHuntIdAfter(huntId, afterId, PageRequest.of(0, batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            List<Long> ids = page.stream().map(ChallengeArchiveRow::getId).toList();
+            Map<Long, List<TestCaseDTO>> testCases = challengeReadService.fetchTestCases(ids);
+            Map<Long, List<ChallengeCodeDTO>> codes = challengeReadService.fetchChallengeCodes(ids);
+            Map<Long, List<OptimalSolutionDTO>> solutions = challengeReadService.fetchOptimalSolutions(ids);
+
+            for (ChallengeArchiveRow row : page) {
+                String mapPiece = existingImage(CHALLENGE_PIECES_UPLOAD_DIR, row.getMapPieceUri());
+                writeJson(zip, CHALLENGES_DIR + written++ + ".json", new ChallengeArchiveEntry(
+                        row.getTitle(),
+                        row.getDescription(),
+                        row.getPoints(),
+                        row.getChallengeType(),
+                        row.getExternalGameUri(),
+                        mapPiece,
+                        testCases.getOrDefault(row.getId(), List.of()),
+                        codes.getOrDefault(row.getId(), List.of()),
+                        solutions.getOrDefault(row.getId(), List.of())));
+                writeImage(zip, CHALLENGE_PIECES_DIR, CHALLENGE_PIECES_UPLOAD_DIR, mapPiece);
+            }
+            afterId = ids.getLast();
+        } while (page.size() == batchSize);
+
+        zip.finish();
+        log.info("Exported hunt {} with {} challenges", huntId, written);
+    }
+
+    /**
+     * Creates a new draft hunt owned by {@code organizerId} from an archive. Dates are not
+     * imported; they are set when the hunt is scheduled, as for a new hunt. Images get fresh
+     * names, so importing the same archive twice yields two independent hunts.
+     *
+     * @throws BadRequestException if the archive is malformed or too large
+     */
+    @Transactional
+    public Hunt importHunt(InputStream in, Long organizerId) throws IOException {
+        String imagePrefix = "imported_" + UUID.randomUUID().toString().substring(0, 8) + "_";
+        List<Path> writtenFiles = new ArrayList<>();
+        deleteOnRollback(writtenFiles);
+        try {
+            ZipInputStream zip = new ZipInputStream(in);
+            InputStream entries = new LimitedInputStream(zip, maxImportBytes);
+
+            ZipEntry entry = zip.getNextEntry();
+            if (entry == null || !HUNT_ENTRY.equals(entry.getName())) {
+                throw new BadRequestException("The archive must start with " + HUNT_ENTRY);
+            }
+            HuntArchiveEntry huntEntry = readJson(entries, HuntArchiveEntry.class, HUNT_ENTRY);
+            if (huntEntry.formatVersion() != FORMAT_VERSION) {
+                throw new BadRequestException("Unsupported archive format version " + huntEntry.formatVersion());
+            }
+
+            Location location = new Location();
+            location.setLatitude(huntEntry.latitude());
+            location.setLongitude(huntEntry.longitude());
+            Hunt hunt = huntRepository.save(Hunt.builder()
+                    .organizer(userService.getUser(organizerId))
+                    .title(huntEntry.title())
+                    .description(huntEntry.description())
+                    .location(locationRepository.save(location))
+                    .status(HuntStatus.DRAFT)
+                    .maxParticipants(huntEntry.maxParticipants())
+                    .huntImgUri(importedImageName(imagePrefix, huntEntry.huntImage()))
+                    .mapImgUri(importedImageName(imagePrefix, huntEntry.mapImage()))
+                    .build());
+
+            int imported = 0;
+            List<ChallengeArchiveEntry> pending = new ArrayList<>(batchSize);
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                if (name.startsWith(CHALLENGES_DIR) && name.endsWith(".json")) {
+                    ChallengeArchiveEntry challenge = readJson(entries, ChallengeArchiveEntry.class, name);
+                    pending.add(challenge.withMapPiece(importedImageName(imagePrefix, challenge.mapPiece())));
+                    if (pending.size() == batchSize) {
+                        imported += challengeBatchWriter.insert(hunt.getId(), pending).size();
+                        pending = new ArrayList<>(batchSize);
+                    }
+                } else if (name.startsWith(HUNT_BG_DIR)) {
+                    writtenFiles.add(saveImage(entries, HUNT_BG_UPLOAD_DIR, importedImageName(imagePrefix, name)));
+                } else if (name.startsWith(HUNT_MAP_DIR)) {
+                    writtenFiles.add(saveImage(entries, HUNT_MAP_UPLOAD_DIR, importedImageName(imagePrefix, name)));
+                } else if (name.startsWith(CHALLENGE_PIECES_DIR)) {
+                    writtenFiles.add(saveImage(entries, CHALLENGE_PIECES_UPLOAD_DIR, importedImageName(imagePrefix, name)));
+                } else {
+                    log.debug("Skipping unknown archive entry {}", name);
+                }
+            }
+            imported += challengeBatchWriter.insert(hunt.getId(), pending).size();
+
+            eventPublisher.publishEvent(HuntChangedEvent.saved(hunt.getId()));
+            log.info("Imported hunt {} with {} challenges and {} images", hunt.getId(), imported, writtenFiles.size());
+            return hunt;
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(writtenFiles);
+            throw e;
+        }
+    }
+
+    private String existingImage(String uploadDir, String name) {
+        if (!StringUtils.hasText(name)) {
+            return null;
+        }
+        if (!Files.isRegularFile(uploadRoot.resolve(uploadDir).resolve(name).normalize())) {
+            log.warn("Image {} of {} is missing, exporting without it", name, uploadDir);
+            return null;
+        }
+        return name;
+    }
+
+    private void writeJson(ZipOutputStream zip, String name, Object value) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        objectMapper.writeValue(StreamUtils.nonClosing(zip), value);
+        zip.closeEntry();
+    }
+
+    private void writeImage(ZipOutputStream zip, String archiveDir, String uploadDir, String name) throws IOException {
+        if (name == null) {
+            return;
+        }
+        zip.putNextEntry(new ZipEntry(archiveDir + name));
+        Files.copy(uploadRoot.resolve(uploadDir).resolve(name).normalize(), zip);
+        zip.closeEntry();
+    }
+
+    private <T> T readJson(InputStream in, Class<T> type, String name) throws IOException {
+        T value;
+        try {
+            value = objectMapper.readValue(StreamUtils.nonClosing(in), type);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid " + name + ": " + e.getOriginalMessage());
+        }
+        validatorService.validate(value);
+        return value;
+    }
+
+    /**
+     * Image names are reduced to their file name and prefixed per import, so that archive
+     * entries cannot escape the upload directories or overwrite existing images.
+     */
+    static String importedImageName(String prefix, String name) {
+        if (!StringUtils.hasText(name)) {
+            return null;
+        }
+        String fileName = StringUtils.getFilename(StringUtils.cleanPath(name));
+        String extension = StringUtils.getFilenameExtension(fileName);
+        if (extension == null || !IMAGE_EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT))) {
+            throw new BadRequestException("Only png and jpg images can be imported: " + name);
+        }
+        return prefix + fileName;
+    }
+
+    private Path saveImage(InputStream in, String uploadDir, String fileName) throws IOException {
+        Path directory = uploadRoot.resolve(uploadDir);
+        Files.createDirectories(directory);
+        Path target = directory.resolve(fileName);
+        try (OutputStream out = Files.newOutputStream(target)) {
+            byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+            long total = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > MAX_IMAGE_BYTES) {
+                    throw new BadRequestException("Image " + fileName + " is larger than 10MB");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        return target;
+    }
+
+    private static void deleteOnRollback(List<Path> files) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    deleteQuietly(files);
+                }
+            }
+        });
+    }
+
+    private static void deleteQuietly(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete imported image {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * Fails the import once more than {@code limit} uncompressed bytes were read, so that a small
+     * archive cannot expand without bound. Closing it leaves the underlying stream open.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                consume(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                consume(read);
+            }
+            return read;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private void consume(long bytes) {
+            remaining -= bytes;
+            if (remaining < 0) {
+                throw new BadRequestException("The archive is too large");
+            }
+        }
+    }
+}
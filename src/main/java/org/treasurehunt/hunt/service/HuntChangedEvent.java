@@ -0,0 +1,16 @@
+package org.treasurehunt.hunt.service;
+
+/**
+ * Published when a hunt is created, edited or deleted, so that read-side copies of hunts
+ * (search index, caches) can refresh the affected hunt.
+ */
+public record HuntChangedEvent(Long huntId, boolean deleted) {
+
+    public static HuntChangedEvent saved(Long huntId) {
+        return new HuntChangedEvent(huntId, false);
+    }
+
+    public static HuntChangedEvent deleted(Long huntId) {
+        return new HuntChangedEvent(huntId, true);
+    }
+}
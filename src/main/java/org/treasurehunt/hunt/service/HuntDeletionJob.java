@@ -0,0 +1,169 @@
+package org.treasurehunt.hunt.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.treasurehunt.common.image.ImageChangedEvent;
+import org.treasurehunt.common.image.ImageKind;
+import org.treasurehunt.common.util.FIleUploadUtil;
+import org.treasurehunt.hunt.api.HuntDeletionStatus;
+import org.treasurehunt.hunt.api.HuntDeletionStatus.State;
+import org.treasurehunt.hunt.service.HuntDeletionService.ChallengeChunk;
+import org.treasurehunt.hunt.service.HuntDeletionService.StoredFile;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Deletes hunts in the background, a chunk of challenges per transaction.
+ * <p>
+ * Participants are detached first, then challenges and everything hanging off them are deleted
+ * {@code app.hunt.deletion.chunk-size} at a time, and the hunt row goes last. Short transactions
+ * keep row locks brief even for very large hunts, and a deletion that fails half-way can simply
+ * be submitted again: it picks up with the challenges that are left.
+ * <p>
+ * Uploaded images are removed on a separate thread once the rows pointing at them are committed.
+ * The status of a deletion can be polled while it runs and for an hour after it ends.
+ */
+@Log4j2
+@Component
+public class HuntDeletionJob {
+
+    private static final Duration STATUS_RETENTION = Duration.ofHours(1);
+
+    private final HuntDeletionService huntDeletionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    private final Map<Long, Progress> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(daemon("hunt-deletion"));
+    private final ExecutorService fileCleaner = Executors.newSingleThreadExecutor(daemon("hunt-file-cleanup"));
+
+    public HuntDeletionJob(HuntDeletionService huntDeletionService,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${app.hunt.deletion.chunk-size:50}") int chunkSize) {
+        this.huntDeletionService = huntDeletionService;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Queues the deletion of a hunt, unless one is already queued or running.
+     *
+     * @return the status of the hunt's deletion
+     */
+    public HuntDeletionStatus submit(Long huntId) {
+        Instant cutoff = Instant.now().minus(STATUS_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+
+        boolean[] queued = {false};
+        Progress progress = jobs.compute(huntId, (id, existing) -> {
+            if (existing != null && (existing.state == State.QUEUED || existing.state == State.RUNNING)) {
+                return existing;
+            }
+            queued[0] = true;
+            return new Progress(id);
+        });
+        if (queued[0]) {
+            runner.execute(() -> run(huntId));
+        }
+        return progress.snapshot();
+    }
+
+    public Optional<HuntDeletionStatus> status(Long huntId) {
+        return Optional.ofNullable(jobs.get(huntId)).map(Progress::snapshot);
+    }
+
+    void run(Long huntId) {
+        Progress progress = jobs.get(huntId);
+        progress.state = State.RUNNING;
+        progress.startedAt = Instant.now();
+        try {
+            progress.participantsDetached = huntDeletionService.detachParticipants(huntId);
+            progress.challengesTotal = huntDeletionService.countChallenges(huntId);
+
+            ChallengeChunk chunk;
+            do {
+                chunk = huntDeletionService.deleteChallengeChunk(huntId, chunkSize);
+                progress.challengesDeleted += chunk.challengeIds().size();
+                removeFiles(chunk.files());
+                chunk.challengeIds().forEach(id ->
+                        eventPublisher.publishEvent(new ImageChangedEvent(ImageKind.CHALLENGE_PIECE, id)));
+            } while (!chunk.challengeIds().isEmpty());
+
+            removeFiles(huntDeletionService.deleteHuntRow(huntId));
+            eventPublisher.publishEvent(HuntChangedEvent.deleted(huntId));
+            eventPublisher.publishEvent(new ImageChangedEvent(ImageKind.HUNT_BACKGROUND, huntId));
+            eventPublisher.publishEvent(new ImageChangedEvent(ImageKind.HUNT_MAP, huntId));
+            progress.state = State.DONE;
+            log.info("Deleted hunt {} with {} challenges", huntId, progress.challengesDeleted);
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Deleting hunt {} failed after {} challenges", huntId, progress.challengesDeleted, e);
+            progress.error = e.getMostSpecificCause().getMessage();
+            progress.state = State.FAILED;
+        } catch (RuntimeException e) {
+            // Anything else would leave the job RUNNING, and submit() would never run it again
+            log.error("Deleting hunt {} failed unexpectedly after {} challenges", huntId, progress.challengesDeleted, e);
+            progress.error = e.toString();
+            progress.state = State.FAILED;
+        } finally {
+            progress.finishedAt = Instant.now();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        runner.shutdown();
+        fileCleaner.shutdown();
+    }
+
+    private void removeFiles(List<StoredFile> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        fileCleaner.execute(() -> files.forEach(file -> {
+            if (!FIleUploadUtil.deleteFile(file.directory(), file.filename())) {
+                log.warn("Could not delete {}{}", file.directory(), file.filename());
+            }
+        }));
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Progress {
+        private final Long huntId;
+        private volatile State state = State.QUEUED;
+        private volatile int participantsDetached;
+        private volatile long challengesTotal;
+        private volatile long challengesDeleted;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Progress(Long huntId) {
+            this.huntId = huntId;
+        }
+
+        private HuntDeletionStatus snapshot() {
+            return new HuntDeletionStatus(huntId, state, participantsDetached, challengesTotal, challengesDeleted,
+                    startedAt, finishedAt, error);
+        }
+    }
+}
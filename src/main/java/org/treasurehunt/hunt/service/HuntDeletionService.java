@@ -0,0 +1,125 @@
+package org.treasurehunt.hunt.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.treasurehunt.hunt.repository.ChallengeRepository;
+import org.treasurehunt.hunt.repository.CommentRepository;
+import org.treasurehunt.hunt.repository.HuntParticipationRepository;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.HuntResultRepository;
+import org.treasurehunt.hunt.repository.LocationRepository;
+import org.treasurehunt.requestedcodes.repo.RequestedCodesRepo;
+import org.treasurehunt.submissions.repo.SubmissionRepo;
+import org.treasurehunt.submissions.repo.UserChallengeProgressRepo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.treasurehunt.common.constants.UploadingConstants.CHALLENGE_PIECES_UPLOAD_DIR;
+import static org.treasurehunt.common.constants.UploadingConstants.HUNT_BG_UPLOAD_DIR;
+import static org.treasurehunt.common.constants.UploadingConstants.HUNT_MAP_UPLOAD_DIR;
+
+/**
+ * The steps of a hunt deletion, each a handful of set-based statements in its own transaction.
+ * <p>
+ * Nothing is loaded into the persistence context: every child table is cleared with bulk DELETEs, so the cost grows with the number of
+ * statements rather than the number of rows. {@link HuntDeletionJob} runs the steps in order.
+ */
+@Service
+@RequiredArgsConstructor
+public class HuntDeletionService {
+
+    private final HuntRepository huntRepository;
+    private final ChallengeRepository challengeRepository;
+    private final CommentRepository commentRepository;
+    private final HuntParticipationRepository huntParticipationRepository;
+    private final SubmissionRepo submissionRepo;
+    private final UserChallengeProgressRepo userChallengeProgressRepo;
+    private final HuntResultRepository huntResultRepository;
+    private final RequestedCodesRepo requestedCodesRepo;
+    private final LocationRepository locationRepository;
+
+    /**
+     * An uploaded file to remove once the rows pointing at it are gone.
+     */
+    public record StoredFile(String directory, String filename) {
+    }
+
+    /**
+     * @param challengeIds the challenges deleted by this chunk, empty once none are left
+     * @param files        their map piece images
+     */
+    public record ChallengeChunk(List<Long> challengeIds, List<StoredFile> files) {
+    }
+
+    /**
+     * Removes every participant from the hunt, so nobody can submit while it is being deleted.
+     *
+     * @return the number of participants detached
+     */
+    @Transactional
+    public int detachParticipants(Long huntId) {
+        return huntParticipationRepository.deleteAllByHuntId(huntId);
+    }
+
+    @Transactional(readOnly = true)
+    public long countChallenges(Long huntId) {
+        return challengeRepository.countByHunt_Id(huntId);
+    }
+
+    /**
+     * Deletes up to {@code chunkSize} of the hunt's challenges together with their submissions,
+     * progress, test cases, codes and optimal solutions.
+     */
+    @Transactional
+    public ChallengeChunk deleteChallengeChunk(Long huntId, int chunkSize) {
+        List<Long> ids = challengeRepository.findIdsByHuntId(huntId, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return new ChallengeChunk(List.of(), List.of());
+        }
+        List<StoredFile> files = challengeRepository.findImagesByIdIn(ids).stream()
+                .map(image -> new StoredFile(CHALLENGE_PIECES_UPLOAD_DIR, image))
+                .toList();
+
+        submissionRepo.deleteByChallengeIdIn(ids);
+        userChallengeProgressRepo.deleteByChallengeIdIn(ids);
+        challengeRepository.deleteTestCasesByChallengeIdIn(ids);
+        challengeRepository.deleteCodesByChallengeIdIn(ids);
+        challengeRepository.deleteOptimalSolutionsByChallengeIdIn(ids);
+        challengeRepository.deleteByIdIn(ids);
+        return new ChallengeChunk(ids, files);
+    }
+
+    /**
+     * Deletes the hunt's comments, requested codes and results, then the hunt and its location.
+     * Call once every challenge is gone.
+     *
+     * @return the hunt's background and map images, or nothing if the hunt was already deleted
+     */
+    @Transactional
+    public List<StoredFile> deleteHuntRow(Long huntId) {
+        List<StoredFile> files = new ArrayList<>();
+        String background = huntRepository.getHuntBgImageById(huntId);
+        if (background != null) {
+            files.add(new StoredFile(HUNT_BG_UPLOAD_DIR, background));
+        }
+        String map = huntRepository.getHuntMapImageById(huntId);
+        if (map != null) {
+            files.add(new StoredFile(HUNT_MAP_UPLOAD_DIR, map));
+        }
+        Long locationId = huntRepository.getLocationIdById(huntId);
+
+        commentRepository.deleteAllByHuntId(huntId);
+        requestedCodesRepo.deleteAllByHuntId(huntId);
+        huntResultRepository.deleteAllByHuntId(huntId);
+        if (huntRepository.deleteRowById(huntId) == 0) {
+            return List.of();
+        }
+        if (locationId != null) {
+            locationRepository.deleteRowById(locationId);
+        }
+        return files;
+    }
+}
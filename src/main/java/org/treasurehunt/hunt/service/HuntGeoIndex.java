@@ -0,0 +1,289 @@
+package org.treasurehunt.hunt.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.treasurehunt.hunt.repository.HuntLocationRow;
+import org.treasurehunt.hunt.repository.LocationRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Grid index over hunt coordinates, held in memory.
+ * <p>
+ * The globe is cut into {@value #CELL_DEGREES}-degree cells. A radius query only visits the cells
+ * overlapping the circle's bounding box, then filters the hunts in them by haversine distance.
+ * The index is loaded from the database on the first query and then kept up to date from
+ * {@link HuntChangedEvent}s. Events that arrive while it is loading are held back and applied
+ * once the load is in, since the coordinates read may predate them. Hunts moved on other nodes
+ * raise no event here, so {@link #refresh()} reloads the index every
+ * {@code app.geo.refresh-interval-ms}.
+ */
+@Log4j2
+@Service
+public class HuntGeoIndex {
+
+    static final double CELL_DEGREES = 0.1;
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final int LAT_CELLS = (int) Math.ceil(180 / CELL_DEGREES);
+    private static final int LNG_CELLS = (int) Math.ceil(360 / CELL_DEGREES);
+
+    private final LocationRepository locationRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, List<Point>> cells = new HashMap<>();
+    private final Map<Long, Point> pointsByHunt = new HashMap<>();
+    private volatile boolean loaded;
+    // Guards loading as well as the events held back while it is set
+    private final List<HuntChangedEvent> changedWhileLoading = new ArrayList<>();
+    private boolean loading;
+
+    public HuntGeoIndex(LocationRepository locationRepository) {
+        this.locationRepository = locationRepository;
+    }
+
+    private record Point(Long huntId, double latitude, double longitude, long cell) {
+    }
+
+    /**
+     * @return the hunts within {@code radiusKm} of the given point, nearest first
+     */
+    public List<GeoHit> findNearby(double latitude, double longitude, double radiusKm, int limit) {
+        ensureLoaded();
+
+        double latDelta = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double minLat = latitude - latDelta;
+        double maxLat = latitude + latDelta;
+        // Near a pole, or for huge radii, the circle spans every longitude
+        double lngDelta = minLat <= -90 || maxLat >= 90 ? 180
+                : Math.toDegrees(Math.asin(Math.min(1, Math.sin(radiusKm / EARTH_RADIUS_KM)
+                / Math.cos(Math.toRadians(latitude)))));
+
+        int fromLatCell = latCell(Math.max(minLat, -90));
+        int toLatCell = latCell(Math.min(maxLat, 90));
+        int fromLngCell;
+        int toLngCell;
+        if (lngDelta >= 180) {
+            fromLngCell = 0;
+            toLngCell = LNG_CELLS - 1;
+        } else {
+            // May fall outside [0, LNG_CELLS); wrapped around the antimeridian below
+            fromLngCell = (int) Math.floor((longitude - lngDelta + 180) / CELL_DEGREES);
+            toLngCell = Math.min((int) Math.floor((longitude + lngDelta + 180) / CELL_DEGREES),
+                    fromLngCell + LNG_CELLS - 1);
+        }
+
+        List<GeoHit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int lat = fromLatCell; lat <= toLatCell; lat++) {
+                for (int lng = fromLngCell; lng <= toLngCell; lng++) {
+                    List<Point> points = cells.get(cellKey(lat, Math.floorMod(lng, LNG_CELLS)));
+                    if (points == null) {
+                        continue;
+                    }
+                    for (Point point : points) {
+                        double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+                        if (distance <= radiusKm) {
+                            hits.add(new GeoHit(point.huntId(), distance));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return hits.stream()
+                .sorted(Comparator.comparingDouble(GeoHit::distanceKm).thenComparing(GeoHit::huntId))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Adds a hunt to the index, or moves it if it was already indexed.
+     */
+    public void put(Long huntId, double latitude, double longitude) {
+        Point point = new Point(huntId, latitude, longitude, cellKey(latCell(latitude), lngCell(longitude)));
+        lock.writeLock().lock();
+        try {
+            remove(pointsByHunt.put(huntId, point));
+            cells.computeIfAbsent(point.cell(), cell -> new ArrayList<>()).add(point);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long huntId) {
+        lock.writeLock().lock();
+        try {
+            remove(pointsByHunt.remove(huntId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHuntChanged(HuntChangedEvent event) {
+        synchronized (changedWhileLoading) {
+            if (loading) {
+                changedWhileLoading.add(event);
+                return;
+            }
+        }
+        if (!loaded) {
+            // The first query loads the current state anyway
+            return;
+        }
+        apply(event);
+    }
+
+    private void apply(HuntChangedEvent event) {
+        if (event.deleted()) {
+            remove(event.huntId());
+            return;
+        }
+        try {
+            locationRepository.findHuntLocationByHuntId(event.huntId()).ifPresentOrElse(
+                    this::put,
+                    () -> remove(event.huntId()));
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh the location of hunt {}, reloading the index on the next query",
+                    event.huntId(), e);
+            loaded = false;
+        }
+    }
+
+    /**
+     * Replaces the index with the current coordinates of all hunts.
+     */
+    public void rebuild() {
+        List<HuntLocationRow> rows = locationRepository.findAllHuntLocations();
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            pointsByHunt.clear();
+            rows.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed the locations of {} hunts", rows.size());
+    }
+
+    /**
+     * Reloads the index, if it was loaded, while queries keep reading the current one.
+     */
+    @Scheduled(initialDelayString = "${app.geo.refresh-interval-ms:300000}",
+            fixedDelayString = "${app.geo.refresh-interval-ms:300000}")
+    public void refresh() {
+        if (!loaded) {
+            // The next query loads it
+            return;
+        }
+        try {
+            synchronized (this) {
+                load();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh the location index, retrying on the next run", e);
+        }
+    }
+
+    int indexedHuntCount() {
+        lock.readLock().lock();
+        try {
+            return pointsByHunt.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Great-circle distance between two points, by the haversine formula.
+     */
+    static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void put(HuntLocationRow row) {
+        if (row.getLatitude() != null && row.getLongitude() != null) {
+            put(row.getHuntId(), row.getLatitude(), row.getLongitude());
+        }
+    }
+
+    private void remove(Point point) {
+        if (point == null) {
+            return;
+        }
+        List<Point> points = cells.get(point.cell());
+        if (points != null) {
+            points.remove(point);
+            if (points.isEmpty()) {
+                cells.remove(point.cell());
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    load();
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the index, then applies the changes committed while the coordinates were being read.
+     */
+    private void load() {
+        synchronized (changedWhileLoading) {
+            loading = true;
+        }
+        boolean built = false;
+        List<HuntChangedEvent> replay;
+        try {
+            rebuild();
+            built = true;
+        } finally {
+            synchronized (changedWhileLoading) {
+                loading = false;
+                // Set under the same lock, so no event can slip between the two flags. A failed
+                // refresh leaves the previous index in place, and the held back events still apply to it.
+                loaded = built || loaded;
+                replay = List.copyOf(changedWhileLoading);
+                changedWhileLoading.clear();
+            }
+            if (loaded) {
+                replay.forEach(this::apply);
+            }
+        }
+    }
+
+    private static int latCell(double latitude) {
+        return Math.min((int) Math.floor((latitude + 90) / CELL_DEGREES), LAT_CELLS - 1);
+    }
+
+    private static int lngCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LNG_CELLS);
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return (long) latCell * LNG_CELLS + lngCell;
+    }
+}
@@ -0,0 +1,7 @@
+package org.treasurehunt.hunt.service;
+
+/**
+ * Published when a user is admitted into a hunt.
+ */
+public record HuntJoinedEvent(Long huntId, Long userId) {
+}
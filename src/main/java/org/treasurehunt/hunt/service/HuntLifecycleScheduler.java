@@ -0,0 +1,206 @@
+package org.treasurehunt.hunt.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.treasurehunt.common.enums.HuntStatus;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.HuntScheduleRow;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves hunts through their lifecycle on time: APPROVED hunts go live at their start date and
+ * LIVE hunts finish at their end date.
+ * <p>
+ * Transitions due within {@code app.hunt.lifecycle.horizon-ms} are loaded into a queue ordered
+ * by due time, and a timer wakes up exactly when the earliest one is due. The queue is reloaded
+ * every {@code app.hunt.lifecycle.refresh-interval-ms}, and shortly after any hunt changes.
+ * Transitions that were missed while no node was running are overdue on the first load, so
+ * they fire straight away.
+ * <p>
+ * Due transitions run on a small worker pool, so a long finalization does not delay the timer.
+ * Every node runs this scheduler. Before a node makes a transition it takes the lease on the
+ * hunt row through {@link HuntLifecycleService}, so the others skip that hunt.
+ */
+@Log4j2
+@Component
+public class HuntLifecycleScheduler {
+
+    private final HuntRepository huntRepository;
+    private final HuntLifecycleService huntLifecycleService;
+    private final Duration horizon;
+    private final Duration leaseDuration;
+    private final String nodeId;
+
+    private final PriorityQueue<Transition> queue =
+            new PriorityQueue<>(Comparator.comparing(Transition::dueAt).thenComparing(Transition::huntId));
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(daemon("hunt-lifecycle-timer"));
+    private final ExecutorService workers = Executors.newFixedThreadPool(2, daemon("hunt-lifecycle-worker"));
+    private ScheduledFuture<?> wakeUp;
+    private Instant wakeUpAt;
+
+    public HuntLifecycleScheduler(HuntRepository huntRepository,
+                                  HuntLifecycleService huntLifecycleService,
+                                  @Value("${app.hunt.lifecycle.horizon-ms:900000}") long horizonMs,
+                                  @Value("${app.hunt.lifecycle.lease-ms:300000}") long leaseMs) {
+        this.huntRepository = huntRepository;
+        this.huntLifecycleService = huntLifecycleService;
+        this.horizon = Duration.ofMillis(horizonMs);
+        this.leaseDuration = Duration.ofMillis(leaseMs);
+        this.nodeId = UUID.randomUUID().toString();
+    }
+
+    /**
+     * A hunt's next automatic status change.
+     */
+    record Transition(Long huntId, HuntStatus target, Instant dueAt) {
+    }
+
+    /**
+     * Reloads the queue with every transition due before the horizon, including overdue ones.
+     */
+    @Scheduled(initialDelayString = "${app.hunt.lifecycle.initial-delay-ms:5000}",
+            fixedDelayString = "${app.hunt.lifecycle.refresh-interval-ms:60000}")
+    public void refresh() {
+        List<HuntScheduleRow> rows;
+        try {
+            rows = huntRepository.findScheduledTransitions(Instant.now().plus(horizon),
+                    HuntStatus.APPROVED, HuntStatus.LIVE);
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Could not load upcoming hunt transitions, retrying on the next refresh", e);
+            return;
+        }
+
+        List<Transition> transitions = new ArrayList<>(rows.size());
+        for (HuntScheduleRow row : rows) {
+            transitions.add(row.getStatus() == HuntStatus.APPROVED
+                    ? new Transition(row.getHuntId(), HuntStatus.LIVE, row.getStartDate())
+                    : new Transition(row.getHuntId(), HuntStatus.FINISHED, row.getEndDate()));
+        }
+        synchronized (this) {
+            queue.clear();
+            queue.addAll(transitions);
+            scheduleWakeUp();
+        }
+    }
+
+    /**
+     * A hunt's dates or status may have changed; reload the queue shortly, coalescing bursts.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHuntChanged(HuntChangedEvent event) {
+        if (!timer.isShutdown() && refreshPending.compareAndSet(false, true)) {
+            timer.schedule(() -> {
+                refreshPending.set(false);
+                refresh();
+            }, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    synchronized List<Transition> queuedTransitions() {
+        return queue.stream().sorted(queue.comparator()).toList();
+    }
+
+    /**
+     * Hands every due transition to the workers, then waits for the next one.
+     */
+    void fireDue() {
+        List<Transition> due = new ArrayList<>();
+        synchronized (this) {
+            Instant now = Instant.now();
+            while (!queue.isEmpty() && !queue.peek().dueAt().isAfter(now)) {
+                due.add(queue.poll());
+            }
+            wakeUp = null;
+            wakeUpAt = null;
+            scheduleWakeUp();
+        }
+        due.forEach(transition -> workers.execute(() -> run(transition)));
+    }
+
+    void run(Transition transition) {
+        Long huntId = transition.huntId();
+        if (!running.add(huntId)) {
+            return;
+        }
+        try {
+            if (!huntLifecycleService.acquireLease(huntId, nodeId, leaseDuration)) {
+                log.debug("Hunt {} is being transitioned by another node", huntId);
+                return;
+            }
+            try {
+                Instant now = Instant.now();
+                boolean done = transition.target() == HuntStatus.LIVE
+                        ? huntLifecycleService.startIfDue(huntId, now)
+                        : huntLifecycleService.finishIfDue(huntId, now);
+                if (done) {
+                    log.info("Hunt {} is now {}", huntId, transition.target());
+                }
+            } finally {
+                huntLifecycleService.releaseLease(huntId, nodeId);
+            }
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Could not move hunt {} to {}, retrying on the next refresh", huntId, transition.target(), e);
+        } finally {
+            running.remove(huntId);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.shutdownNow();
+        workers.shutdown();
+    }
+
+    private void scheduleWakeUp() {
+        Transition next = queue.peek();
+        if (next == null) {
+            if (wakeUp != null) {
+                wakeUp.cancel(false);
+                wakeUp = null;
+                wakeUpAt = null;
+            }
+            return;
+        }
+        if (wakeUp != null && !wakeUp.isDone() && !next.dueAt().isBefore(wakeUpAt)) {
+            return;
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        long delayMs = Math.max(0, Duration.between(Instant.now(), next.dueAt()).toMillis());
+        wakeUpAt = next.dueAt();
+        wakeUp = timer.schedule(this::fireDue, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
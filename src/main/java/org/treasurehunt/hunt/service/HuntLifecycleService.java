@@ -0,0 +1,106 @@
+package org.treasurehunt.hunt.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.treasurehunt.common.enums.HuntStatus;
+import org.treasurehunt.common.enums.ParticipationStatus;
+import org.treasurehunt.hunt.repository.HuntParticipationRepository;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.HuntResultRepository;
+import org.treasurehunt.hunt.repository.ScoreCreditRow;
+import org.treasurehunt.user.repository.UserRepository;
+import org.treasurehunt.user.repository.UserScoreRow;
+import org.treasurehunt.user.service.ScoreChangedEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Status transitions of a hunt, each in its own transaction.
+ * <p>
+ * Transitions are conditional updates, so when several nodes race for the same hunt exactly
+ * one of them makes it. The lifecycle lease on the hunt row keeps the others from even trying
+ * while a finalization is running.
+ */
+@Service
+@RequiredArgsConstructor
+public class HuntLifecycleService {
+
+    private final HuntRepository huntRepository;
+    private final HuntResultRepository huntResultRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HuntParticipationRepository huntParticipationRepository;
+
+    /**
+     * @return whether {@code owner} now holds the hunt's lifecycle lease for {@code duration}
+     */
+    @Transactional
+    public boolean acquireLease(Long huntId, String owner, Duration duration) {
+        Instant now = Instant.now();
+        return huntRepository.acquireLifecycleLease(huntId, owner, now, now.plus(duration)) == 1;
+    }
+
+    @Transactional
+    public void releaseLease(Long huntId, String owner) {
+        huntRepository.releaseLifecycleLease(huntId, owner);
+    }
+
+    /**
+     * Sets an approved hunt live once its start date has passed.
+     *
+     * @return whether this call made the transition
+     */
+    @Transactional
+    public boolean startIfDue(Long huntId, Instant now) {
+        boolean started = huntRepository.startIfDue(huntId, now, HuntStatus.APPROVED, HuntStatus.LIVE) == 1;
+        if (started) {
+            eventPublisher.publishEvent(HuntChangedEvent.saved(huntId));
+        }
+        return started;
+    }
+
+    /**
+     * Finishes a live hunt once its end date has passed, and finalizes its results in the same
+     * transaction.
+     *
+     * @return whether this call made the transition
+     */
+    @Transactional
+    public boolean finishIfDue(Long huntId, Instant now) {
+        boolean finished = huntRepository.finishIfDue(huntId, now, HuntStatus.LIVE, HuntStatus.FINISHED) == 1;
+        if (finished) {
+            finalizeResults(huntId);
+            eventPublisher.publishEvent(HuntChangedEvent.saved(huntId));
+        }
+        return finished;
+    }
+
+    /**
+     * Freezes every participant's score and rank for the hunt, and adds their hunt score to
+     * their total, less the challenge awards already credited during the hunt. Scores are
+     * added with one set-based update, so points earned elsewhere are kept, and a hunt
+     * finalized again adds only what changed. Participants are then free to join another hunt.
+     */
+    @Transactional
+    public void finalizeResults(Long huntId) {
+        Instant now = Instant.now();
+        huntResultRepository.freezeResults(huntId, now);
+        Map<Long, Integer> deltas = huntResultRepository.findUncreditedScores(huntId).stream()
+                .collect(Collectors.toMap(ScoreCreditRow::getUserId, ScoreCreditRow::getDelta));
+        if (!deltas.isEmpty()) {
+            huntResultRepository.creditScores(huntId);
+            huntResultRepository.markCredited(huntId);
+            for (UserScoreRow user : userRepository.findScoresByIdIn(deltas.keySet())) {
+                eventPublisher.publishEvent(new ScoreChangedEvent(user.getUserId(), deltas.get(user.getUserId()),
+                        user.getScore(), huntId, now));
+            }
+        }
+        huntParticipationRepository.updateStatusByHuntId(huntId, ParticipationStatus.ACTIVE,
+                ParticipationStatus.COMPLETED);
+    }
+}
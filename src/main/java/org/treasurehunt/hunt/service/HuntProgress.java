@@ -0,0 +1,31 @@
+package org.treasurehunt.hunt.service;
+
+import org.treasurehunt.common.enums.HuntStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * A user's progress through the hunt they are taking part in.
+ */
+public record HuntProgress(
+        Long huntId,
+        String title,
+        HuntStatus status,
+        Instant endDate,
+        int completedChallenges,
+        int totalChallenges
+) {
+
+    /**
+     * @return the completed share of the hunt's challenges, in percent
+     */
+    public double progress() {
+        return totalChallenges > 0 ? (double) completedChallenges / totalChallenges * 100 : 0;
+    }
+
+    public LocalDate dueDate() {
+        return endDate != null ? endDate.atZone(ZoneId.systemDefault()).toLocalDate() : null;
+    }
+}
@@ -0,0 +1,39 @@
+package org.treasurehunt.hunt.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.treasurehunt.hunt.repository.ChallengeRepository;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.entity.Hunt;
+import org.treasurehunt.submissions.service.ChallengeProgressService;
+
+import java.util.Optional;
+
+/**
+ * Computes a user's progress through their current hunt for the dashboard and active-hunt views.
+ */
+@Service
+@RequiredArgsConstructor
+public class HuntProgressService {
+
+    private final HuntRepository huntRepository;
+    private final ChallengeRepository challengeRepository;
+    private final ChallengeProgressService challengeProgressService;
+
+    /**
+     * @param userId the user
+     * @return the user's progress in the hunt they joined, or empty if they have not joined one
+     */
+    public Optional<HuntProgress> getCurrentHuntProgress(Long userId) {
+        Hunt hunt = huntRepository.findHuntByUser_Id(userId);
+        if (hunt == null) {
+            return Optional.empty();
+        }
+
+        int totalChallenges = challengeRepository.countByHunt_Id(hunt.getId()).intValue();
+        int completedChallenges = (int) challengeProgressService.countSolved(userId, hunt.getId());
+
+        return Optional.of(new HuntProgress(hunt.getId(), hunt.getTitle(), hunt.getStatus(), hunt.getEndDate(),
+                completedChallenges, totalChallenges));
+    }
+}
@@ -0,0 +1,22 @@
+package org.treasurehunt.hunt.service;
+
+import java.util.List;
+
+/**
+ * Full-text search over hunt titles and descriptions.
+ */
+public interface HuntSearchEngine {
+
+    /**
+     * @return at most {@code limit} hunts matching every term of {@code query}, most relevant first;
+     * a term also matches the words it is a prefix of
+     */
+    List<HuntSearchHit> search(String query, int limit);
+
+    /**
+     * Adds a hunt to the index, or replaces its previously indexed text.
+     */
+    void index(Long huntId, String title, String description);
+
+    void remove(Long huntId);
+}
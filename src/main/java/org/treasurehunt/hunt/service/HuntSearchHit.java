@@ -0,0 +1,7 @@
+package org.treasurehunt.hunt.service;
+
+/**
+ * A hunt matching a search query, with its relevance score (higher is better).
+ */
+public record HuntSearchHit(Long huntId, double score) {
+}
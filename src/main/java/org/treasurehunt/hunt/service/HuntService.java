@@ -3,13 +3,19 @@ package org.treasurehunt.hunt.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.treasurehunt.common.api.CursorPage;
+import org.treasurehunt.common.api.RenderedJson;
 import org.treasurehunt.common.enums.HuntStatus;
 import org.treasurehunt.common.enums.Roles;
 import org.treasurehunt.common.util.AuthUtil;
@@ -20,13 +26,10 @@ import org.treasurehunt.exception.EntityNotFoundException;
 import org.treasurehunt.hunt.api.*;
 import org.treasurehunt.hunt.mapper.HuntMapper;
 import org.treasurehunt.hunt.repository.*;
-import org.treasurehunt.hunt.repository.entity.Challenge;
 import org.treasurehunt.hunt.repository.entity.Comment;
 import org.treasurehunt.hunt.repository.entity.Hunt;
 import org.treasurehunt.hunt.repository.entity.Location;
 import org.treasurehunt.security.UserDetailsDTO;
-import org.treasurehunt.submissions.repo.Submission;
-import org.treasurehunt.submissions.repo.SubmissionRepo;
 import org.treasurehunt.user.repository.UserRepository;
 import org.treasurehunt.user.repository.entity.User;
 import org.treasurehunt.user.service.UserService;
@@ -34,8 +37,12 @@ import org.springframework.security.access.prepost.PreAuthorize;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 import static org.treasurehunt.common.constants.UploadingConstants.*;
 
@@ -43,6 +50,10 @@ import static org.treasurehunt.common.constants.UploadingConstants.*;
 @RequiredArgsConstructor
 public class HuntService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_SEARCH_HITS = 1000;
+    static final double MAX_NEARBY_RADIUS_KM = 500;
+
     private final HuntRepository huntRepository;
     private final LocationRepository locationRepository;
     private final UserService userService;
@@ -52,7 +63,17 @@ public class HuntService {
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
     private final ChallengeRepository challengeRepository;
-    private final SubmissionRepo submissionRepo;
+    private final HuntProgressService huntProgressService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HuntResultRepository huntResultRepository;
+    private final HuntListRepository huntListRepository;
+    private final HuntSearchEngine huntSearchEngine;
+    private final HuntGeoIndex huntGeoIndex;
+    private final HuntLifecycleService huntLifecycleService;
+    private final HuntDeletionJob huntDeletionJob;
+    private final HuntAdmissionService huntAdmissionService;
+    private final HuntStatisticsCounters huntStatisticsCounters;
+    private final PublishedHuntCache publishedHuntCache;
 
     @Transactional
     public Hunt draftHunt(
@@ -82,6 +103,7 @@ public class HuntService {
 //                    .endDate(createHuntRequest.getEndDate())
                     .location(savedLocation)
                     .status(HuntStatus.DRAFT)
+                    .maxParticipants(createHuntRequest.getMaxParticipants())
                     .build();
 
             // save hunt as draft in DB
@@ -98,7 +120,9 @@ public class HuntService {
             savedHunt.setHuntImgUri(bgName);
             savedHunt.setMapImgUri(mapName);
 
-            return huntRepository.save(savedHunt);
+            Hunt draftedHunt = huntRepository.save(savedHunt);
+            eventPublisher.publishEvent(HuntChangedEvent.saved(draftedHunt.getId()));
+            return draftedHunt;
         } catch (JsonProcessingException ex) {
             throw new BadRequestException("Failed to process Hunt JSON: " + ex.getMessage());
         }
@@ -115,11 +139,134 @@ public class HuntService {
      * @param filter   filtering criteria
      * @return page of hunts matching the criteria
      */
-    public Page<Hunt> getAllHunts(Pageable pageable, HuntFilter filter) {
+    public Page<DraftHuntDTO> getAllHunts(Pageable pageable, HuntFilter filter) {
         if (filter == null) {
             filter = new HuntFilter();
         }
-        return huntRepository.findAll(HuntSpecification.getSpecification(filter), pageable);
+        return huntListRepository.findAll(HuntSpecification.getSpecification(filter), pageable);
+    }
+
+    /**
+     * Get hunts with filtering and keyset pagination. Unlike {@link #getAllHunts}, the cost of a
+     * page does not grow with its depth, and the total is only counted when asked for.
+     *
+     * @param filter       filtering criteria, which must be the same for every page
+     * @param sort         sort property, one of {@link HuntSortField}
+     * @param direction    sort direction
+     * @param cursor       {@code nextCursor} of the previous page, or {@code null} for the first
+     * @param size         page size, at most {@value #MAX_PAGE_SIZE}
+     * @param includeTotal whether to count all hunts matching the filter
+     * @return page of hunts following the cursor
+     */
+    public CursorPage<DraftHuntDTO> getHuntsAfter(HuntFilter filter, String sort, Sort.Direction direction,
+                                          String cursor, int size, boolean includeTotal) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        size = Math.min(size, MAX_PAGE_SIZE);
+        if (filter == null) {
+            filter = new HuntFilter();
+        }
+        HuntSortField field = HuntSortField.fromProperty(sort);
+        HuntCursor after = cursor == null || cursor.isBlank() ? null : HuntCursor.decode(cursor);
+        if (after != null && (after.field() != field || after.direction() != direction)) {
+            throw new BadRequestException("Cursor was issued for a different sort");
+        }
+
+        Specification<Hunt> filterSpec = HuntSpecification.getSpecification(filter);
+        // One extra row tells whether another page follows, without counting
+        List<DraftHuntDTO> rows = huntListRepository.findAllAfter(filterSpec, field, direction, after, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<DraftHuntDTO> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? HuntCursor.after(content.getLast(), field, direction).encode() : null;
+        Long total = includeTotal ? huntListRepository.count(filterSpec) : null;
+        return new CursorPage<>(content, size, nextCursor, hasNext, total);
+    }
+
+    /**
+     * Full-text search over hunt titles and descriptions, narrowed down by the usual filters.
+     * Results are ordered by relevance; only the {@value #MAX_SEARCH_HITS} most relevant hunts that
+     * pass the filters are considered.
+     *
+     * @param query    words to look for; each also matches the words it is a prefix of
+     * @param filter   filtering criteria
+     * @param pageable pagination information; its sort is ignored
+     * @return page of matching hunts, most relevant first
+     */
+    public Page<DraftHuntDTO> searchHunts(String query, HuntFilter filter, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be empty");
+        }
+        if (filter == null) {
+            filter = new HuntFilter();
+        }
+        List<HuntSearchHit> hits = huntSearchEngine.search(query, Integer.MAX_VALUE);
+        if (hits.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        // The filters run in the database, on the hits in relevance order, one batch at a time
+        // until enough hunts pass them
+        Specification<Hunt> filterSpec = HuntSpecification.getSpecification(filter);
+        List<DraftHuntDTO> matches = new ArrayList<>();
+        for (int from = 0; from < hits.size() && matches.size() < MAX_SEARCH_HITS; from += MAX_SEARCH_HITS) {
+            List<HuntSearchHit> batch = hits.subList(from, Math.min(from + MAX_SEARCH_HITS, hits.size()));
+            Map<Long, Integer> rankById = new HashMap<>();
+            for (int i = 0; i < batch.size(); i++) {
+                rankById.put(batch.get(i).huntId(), i);
+            }
+            huntListRepository.findAll(filterSpec.and(HuntSpecification.idIn(rankById.keySet())), batch.size()).stream()
+                    .sorted(Comparator.comparing(hunt -> rankById.get(hunt.id())))
+                    .limit(MAX_SEARCH_HITS - matches.size())
+                    .forEach(matches::add);
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return new PageImpl<>(matches.subList(from, to), pageable, matches.size());
+    }
+
+    /**
+     * Find the hunts around a point, nearest first.
+     *
+     * @param latitude  latitude of the point, in degrees
+     * @param longitude longitude of the point, in degrees
+     * @param radiusKm  search radius, at most {@value #MAX_NEARBY_RADIUS_KM} km
+     * @param limit     maximum number of hunts to return
+     * @param status    only return hunts in this status, if given
+     * @return hunts within the radius with their distance from the point
+     */
+    public List<NearbyHuntDTO> getNearbyHunts(double latitude, double longitude, double radiusKm, int limit,
+                                              HuntStatus status) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BadRequestException("Latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new BadRequestException("Radius must be greater than 0 and at most " + MAX_NEARBY_RADIUS_KM + " km");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_HITS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_SEARCH_HITS);
+        }
+
+        // Over-fetch when filtering, since some of the nearest hunts may not pass the filter
+        List<GeoHit> hits = huntGeoIndex.findNearby(latitude, longitude, radiusKm,
+                status == null ? limit : MAX_SEARCH_HITS);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Double> distanceById = new HashMap<>();
+        hits.forEach(hit -> distanceById.put(hit.huntId(), hit.distanceKm()));
+        HuntFilter filter = HuntFilter.builder().status(status).build();
+        return huntListRepository.findAll(
+                HuntSpecification.getSpecification(filter).and(HuntSpecification.idIn(distanceById.keySet())),
+                MAX_SEARCH_HITS).stream()
+                .map(hunt -> new NearbyHuntDTO(hunt, distanceById.get(hunt.id())))
+                .sorted(Comparator.comparingDouble(NearbyHuntDTO::distanceKm)
+                        .thenComparing(nearby -> nearby.hunt().id()))
+                .limit(limit)
+                .toList();
     }
 
     public DraftHuntDTO getHunt(Long huntId) {
@@ -139,6 +286,28 @@ public class HuntService {
         return huntMapper.toDraftDTO(hunt);
     }
 
+    /**
+     * Same as {@link #getHunt(Long)}, but serialized, and served from the {@link PublishedHuntCache}
+     * while the hunt is live. Hunts in any other status cost the one query for the hunt.
+     *
+     * @throws EntityNotFoundException if the hunt is not found
+     */
+    public RenderedJson getPublishedHunt(Long huntId) {
+        AuthUtil.getUserFromSecurityContext()
+                .orElseThrow(() -> new AccessDeniedException("ACCESS DENOTED"));
+
+        Optional<PublishedHunt> cached = publishedHuntCache.cached(huntId);
+        if (cached.isPresent()) {
+            return cached.get().hunt();
+        }
+        Hunt hunt = huntRepository.findById(huntId)
+                .orElseThrow(() -> new EntityNotFoundException("Didn't find hunt with id " + huntId));
+        if (hunt.getStatus() == HuntStatus.LIVE) {
+            return publishedHuntCache.get(huntId).hunt();
+        }
+        return RenderedJson.of(objectMapper, huntMapper.toDraftDTO(hunt));
+    }
+
     public String getBackgroundPic(Long id) {
         return huntRepository.getHuntBgImageById(id);
     }
@@ -223,32 +392,25 @@ public class HuntService {
         hunt.setStartDate(huntUpdateRequest.startDate());
         hunt.setEndDate(huntUpdateRequest.endDate());
         huntRepository.save(hunt);
+        eventPublisher.publishEvent(HuntChangedEvent.saved(huntId));
     }
 
+    /**
+     * Get a hunt's statistics, served from in-memory counters.
+     *
+     * @param huntId the ID of the hunt
+     * @return the hunt's challenge, participant, submission and solver counts
+     * @throws EntityNotFoundException if the hunt is not found
+     */
     public HuntStatistics getHuntStatistics(Long huntId) {
-        Hunt hunt = huntRepository.findById(huntId)
-                .orElseThrow(() -> new EntityNotFoundException("Couldn't find hunt"));
-
-        Long numOfChallenges = challengeRepository.countByHunt_Id(hunt.getId());
-        Long numOfParticipants = huntRepository.countParticipants(hunt.getId());
-
-        return new HuntStatistics(numOfChallenges, numOfParticipants);
+        return huntStatisticsCounters.statistics(huntId);
     }
 
     public void joinHunt(Long huntId) {
-
-        Hunt hunt = huntRepository.findById(huntId)
-                .orElseThrow(() -> new EntityNotFoundException("Couldn't find hunt"));
-        UserDetailsDTO u = AuthUtil.getUserFromSecurityContext().orElseThrow(() -> new EntityNotFoundException("Couldn't find hunt"));
-
-        User user = userRepository.findById(u.getId()).orElseThrow(() -> new EntityNotFoundException("Couldn't find hunt"));
-
-        if(user.getHunt() != null){
-            throw new BadRequestException("User is already in a hunt");
-        }
-
-        user.setHunt(hunt);
-        userRepository.save(user);
+        Long userId = AuthUtil.getUserFromSecurityContext()
+                .orElseThrow(() -> new EntityNotFoundException("No user found"))
+                .getId();
+        huntAdmissionService.join(huntId, userId);
     }
 
     public ActiveHuntsResponse getActiveHunts() {
@@ -257,122 +419,86 @@ public class HuntService {
                 .orElseThrow(() -> new EntityNotFoundException("No user found"))
                 .getId();
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(userId, User.class));
-
-        // Get the hunt associated with the user
-        Hunt hunt = huntRepository.findHuntByUser_Id(userId);
-        if (hunt == null || hunt.getStatus() != HuntStatus.LIVE) {
-            // Return empty response if user has no active hunt
-            return new ActiveHuntsResponse(new ArrayList<>());
-        }
+        // Only a LIVE hunt counts as active
+        List<ActiveHuntsResponse.ActiveHuntItem> items = huntProgressService.getCurrentHuntProgress(userId)
+                .filter(huntProgress -> huntProgress.status() == HuntStatus.LIVE)
+                .map(HuntService::toActiveHuntItem)
+                .stream()
+                .toList();
 
-        // Get all challenges for the hunt
-        List<Challenge> challenges = hunt.getChallenges();
-        int totalChallenges = challenges.size();
-
-        // Count completed challenges
-        int completedChallenges = 0;
-        for (Challenge challenge : challenges) {
-            List<Submission> submissions = submissionRepo.findByChallengeIdAndUserId(challenge.getId(), userId);
-            boolean solved = submissions.stream()
-                    .anyMatch(s -> s.getStatus().equals(Submission.SubmissionStatus.SUCCESS));
-            if (solved) {
-                completedChallenges++;
-            }
-        }
+        return new ActiveHuntsResponse(items);
+    }
 
-        // Calculate progress
-        double progress = totalChallenges > 0 ? (double) completedChallenges / totalChallenges * 100 : 0;
-
-        // Convert endDate to LocalDate
-        java.time.LocalDate dueDate = hunt.getEndDate() != null 
-            ? hunt.getEndDate().atZone(java.time.ZoneId.systemDefault()).toLocalDate() 
-            : null;
-
-        // Create active hunt item
-        ActiveHuntsResponse.ActiveHuntItem item = ActiveHuntsResponse.ActiveHuntItem.builder()
-                .id(hunt.getId().toString())
-                .title(hunt.getTitle())
-                .progress(progress)
-                .completedChallenges(completedChallenges)
-                .totalChallenges(totalChallenges)
-                .dueDate(dueDate)
+    public static ActiveHuntsResponse.ActiveHuntItem toActiveHuntItem(HuntProgress huntProgress) {
+        return ActiveHuntsResponse.ActiveHuntItem.builder()
+                .id(huntProgress.huntId().toString())
+                .title(huntProgress.title())
+                .progress(huntProgress.progress())
+                .completedChallenges(huntProgress.completedChallenges())
+                .totalChallenges(huntProgress.totalChallenges())
+                .dueDate(huntProgress.dueDate())
                 .build();
-
-        // Create and return response
-        return new ActiveHuntsResponse(List.of(item));
     }
 
+    /**
+     * Get the hunts the current user completed, with the score and rank frozen when each hunt finished.
+     *
+     * @return the completed hunts, most recently finalized first
+     */
     public CompletedHuntsResponse getCompletedHunts() {
-        // Get the current user
         Long userId = AuthUtil.getUserFromSecurityContext()
                 .orElseThrow(() -> new EntityNotFoundException("No user found"))
                 .getId();
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(userId, User.class));
+        List<CompletedHuntsResponse.CompletedHuntItem> items = huntResultRepository.findCompletedHuntsByUserId(userId)
+                .stream()
+                .map(HuntService::toCompletedHuntItem)
+                .toList();
 
-        // Get the hunt associated with the user
-        Hunt hunt = huntRepository.findHuntByUser_Id(userId);
-        if (hunt == null || hunt.getStatus() != HuntStatus.FINISHED) {
-            // Return empty response if user has no completed hunt
-            return new CompletedHuntsResponse(new ArrayList<>());
-        }
+        return new CompletedHuntsResponse(items);
+    }
 
-        // Convert endDate to LocalDate (as completedDate)
-        java.time.LocalDate completedDate = hunt.getEndDate() != null 
-            ? hunt.getEndDate().atZone(java.time.ZoneId.systemDefault()).toLocalDate() 
-            : null;
-
-        // For this implementation, we'll use the user's score and a placeholder rank
-        // In a real implementation, you would calculate the rank based on scores of all users
-        int score = user.getScore() != null ? user.getScore() : 0;
-        int rank = 1; // Placeholder, would need to be calculated based on all users' scores
-
-        // Create completed hunt item
-        CompletedHuntsResponse.CompletedHuntItem item = CompletedHuntsResponse.CompletedHuntItem.builder()
-                .id(hunt.getId().toString())
-                .title(hunt.getTitle())
-                .completedDate(completedDate)
-                .score(score)
-                .rank(rank)
+    public static CompletedHuntsResponse.CompletedHuntItem toCompletedHuntItem(CompletedHuntRow row) {
+        return CompletedHuntsResponse.CompletedHuntItem.builder()
+                .id(row.getHuntId().toString())
+                .title(row.getTitle())
+                .completedDate(row.getEndDate() != null
+                        ? row.getEndDate().atZone(java.time.ZoneId.systemDefault()).toLocalDate()
+                        : null)
+                .score(row.getScore())
+                .rank(row.getRank())
                 .build();
-
-        // Create and return response
-        return new CompletedHuntsResponse(List.of(item));
     }
 
     /**
      * Delete a hunt by ID. Only accessible by ADMIN.
+     * <p>
+     * The hunt and all its data are deleted in the background; poll
+     * {@link #getHuntDeletionStatus(Long)} for progress.
      *
      * @param huntId the ID of the hunt to delete
+     * @return the status of the deletion
      * @throws EntityNotFoundException if the hunt is not found
      */
     @PreAuthorize("hasAuthority('ADMIN')")
-    @Transactional
-    public void deleteHunt(Long huntId) {
-        Hunt hunt = huntRepository.findById(huntId)
-                .orElseThrow(() -> new EntityNotFoundException("Hunt not found with id: " + huntId));
-
-        // Delete all challenges associated with the hunt
-        challengeRepository.deleteAll(hunt.getChallenges());
-
-        // Delete all comments associated with the hunt
-        List<Comment> comments = commentRepository.findAllByHunt_Id(huntId);
-        commentRepository.deleteAll(comments);
-
-        // Remove hunt association from participants
-        List<User> participants = userRepository.findAll().stream()
-                .filter(user -> user.getHunt() != null && user.getHunt().getId().equals(huntId))
-                .toList();
-        participants.forEach(participant -> {
-            participant.setHunt(null);
-            userRepository.save(participant);
-        });
+    public HuntDeletionStatus deleteHunt(Long huntId) {
+        if (!huntRepository.existsById(huntId)) {
+            throw new EntityNotFoundException("Hunt not found with id: " + huntId);
+        }
+        return huntDeletionJob.submit(huntId);
+    }
 
-        // Delete the hunt
-        huntRepository.delete(hunt);
+    /**
+     * Get the progress of a hunt deletion. Only accessible by ADMIN.
+     *
+     * @param huntId the ID of the hunt being deleted
+     * @return the status of the deletion
+     * @throws EntityNotFoundException if no deletion of the hunt is known
+     */
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public HuntDeletionStatus getHuntDeletionStatus(Long huntId) {
+        return huntDeletionJob.status(huntId)
+                .orElseThrow(() -> new EntityNotFoundException("No deletion found for hunt with id: " + huntId));
     }
 
     /**
@@ -391,40 +517,11 @@ public class HuntService {
 
         hunt.setStatus(status);
         if(HuntStatus.FINISHED.equals(status)){
-            // Find all users participating in the hunt
-            List<User> participants = userRepository.findAll().stream()
-                    .filter(user -> user.getHunt() != null && user.getHunt().getId().equals(huntId))
-                    .toList();
-
-            // For each participant, calculate and update their score
-            for (User user : participants) {
-                int totalScore = 0;
-
-                // Get all challenges for the hunt
-                List<Challenge> challenges = hunt.getChallenges();
-
-                // For each challenge, check if the user has a successful submission
-                for (Challenge challenge : challenges) {
-                    List<Submission> submissions = submissionRepo.findByChallengeIdAndUserId(challenge.getId(), user.getId());
-                    boolean solved = submissions.stream()
-                            .anyMatch(s -> s.getStatus().equals(Submission.SubmissionStatus.SUCCESS));
-                    var failedSubmission = submissions.stream()
-                            .filter(s -> s.getStatus().equals(Submission.SubmissionStatus.FAIL))
-                            .count();
-
-                    // If the user has a successful submission, add points to their score
-                    if (solved) {
-                        totalScore += challenge.getPoints(); // Assigning 10 points per successful challenge
-                    }
-                    totalScore += (int) (failedSubmission * -10);
-                }
-
-                // Update the user's score
-                user.setScore(totalScore);
-                userRepository.save(user);
-            }
+            huntLifecycleService.finalizeResults(huntId);
         }
-        return huntRepository.save(hunt);
+        Hunt updatedHunt = huntRepository.save(hunt);
+        eventPublisher.publishEvent(HuntChangedEvent.saved(huntId));
+        return updatedHunt;
     }
 
     /**
@@ -461,12 +558,18 @@ public class HuntService {
             hunt.setStatus(updateRequest.status());
         }
 
+        if (updateRequest.maxParticipants() != null) {
+            hunt.setMaxParticipants(updateRequest.maxParticipants());
+        }
+
         if (updateRequest.reviewerId() != null) {
             User reviewer = userRepository.findById(updateRequest.reviewerId())
                     .orElseThrow(() -> new EntityNotFoundException("Reviewer not found with id: " + updateRequest.reviewerId()));
             hunt.setReviewer(reviewer);
         }
 
-        return huntRepository.save(hunt);
+        Hunt updatedHunt = huntRepository.save(hunt);
+        eventPublisher.publishEvent(HuntChangedEvent.saved(huntId));
+        return updatedHunt;
     }
 }
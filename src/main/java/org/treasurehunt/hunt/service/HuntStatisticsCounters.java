@@ -0,0 +1,180 @@
+package org.treasurehunt.hunt.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.treasurehunt.exception.EntityNotFoundException;
+import org.treasurehunt.hunt.api.HuntStatistics;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.HuntStatisticsRow;
+import org.treasurehunt.submissions.service.SubmissionRecordedEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics counters per hunt, held in memory.
+ * <p>
+ * A hunt's counters are counted from the database on first read and then bumped from the
+ * {@link HuntJoinedEvent}s and {@link SubmissionRecordedEvent}s of committed transactions, on
+ * {@link LongAdder}s so that a busy hunt does not contend on a single counter. They are dropped
+ * whenever the hunt itself changes, which includes adding or removing challenges. Counters can
+ * still drift, for instance through joins and submissions handled by other nodes, so
+ * {@link #reconcile()} periodically recounts every cached hunt.
+ * <p>
+ * Hunts found full on admission are also remembered for {@link #FULL_TTL}, so further joins are
+ * turned away without touching the database.
+ */
+@Log4j2
+@Component
+public class HuntStatisticsCounters {
+
+    static final Duration FULL_TTL = Duration.ofSeconds(30);
+
+    private final HuntRepository huntRepository;
+
+    private final Map<Long, Counters> counters = new ConcurrentHashMap<>();
+    private final Map<Long, Instant> fullUntil = new ConcurrentHashMap<>();
+
+    public HuntStatisticsCounters(HuntRepository huntRepository) {
+        this.huntRepository = huntRepository;
+    }
+
+    private static final class Counters {
+        private final LongAdder challenges = new LongAdder();
+        private final LongAdder participants = new LongAdder();
+        private final LongAdder submissions = new LongAdder();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder uniqueSolvers = new LongAdder();
+
+        private static Counters of(HuntStatisticsRow row) {
+            Counters counters = new Counters();
+            counters.challenges.add(row.getChallenges());
+            counters.participants.add(row.getParticipants());
+            counters.submissions.add(row.getSubmissions());
+            counters.successes.add(row.getSuccesses());
+            counters.uniqueSolvers.add(row.getUniqueSolvers());
+            return counters;
+        }
+
+        private HuntStatistics snapshot() {
+            return new HuntStatistics(challenges.sum(), participants.sum(), submissions.sum(), successes.sum(),
+                    uniqueSolvers.sum());
+        }
+    }
+
+    /**
+     * @throws EntityNotFoundException if the hunt is not found
+     */
+    public HuntStatistics statistics(Long huntId) {
+        Counters hunt = counters.get(huntId);
+        if (hunt == null) {
+            List<HuntStatisticsRow> rows = huntRepository.findStatisticsRows(List.of(huntId));
+            if (rows.isEmpty()) {
+                throw new EntityNotFoundException("Couldn't find hunt");
+            }
+            Counters loaded = Counters.of(rows.getFirst());
+            hunt = counters.putIfAbsent(huntId, loaded);
+            if (hunt == null) {
+                hunt = loaded;
+            }
+        }
+        return hunt.snapshot();
+    }
+
+    /**
+     * @return whether the hunt was found full recently
+     */
+    public boolean isFull(Long huntId) {
+        Instant until = fullUntil.get(huntId);
+        if (until == null) {
+            return false;
+        }
+        if (until.isBefore(Instant.now())) {
+            fullUntil.remove(huntId, until);
+            return false;
+        }
+        return true;
+    }
+
+    public void markFull(Long huntId) {
+        fullUntil.put(huntId, Instant.now().plus(FULL_TTL));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHuntJoined(HuntJoinedEvent event) {
+        Counters hunt = counters.get(event.huntId());
+        if (hunt != null) {
+            hunt.participants.increment();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubmissionRecorded(SubmissionRecordedEvent event) {
+        Counters hunt = counters.get(event.huntId());
+        if (hunt == null) {
+            return;
+        }
+        hunt.submissions.increment();
+        if (event.success()) {
+            hunt.successes.increment();
+        }
+        if (event.firstSolveInHunt()) {
+            hunt.uniqueSolvers.increment();
+        }
+    }
+
+    /**
+     * The hunt's challenges or capacity may have changed, or the hunt may be gone; start over
+     * from the database.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHuntChanged(HuntChangedEvent event) {
+        counters.remove(event.huntId());
+        fullUntil.remove(event.huntId());
+    }
+
+    /**
+     * Recounts every cached hunt in one query and replaces counters that drifted.
+     */
+    @Scheduled(initialDelayString = "${app.hunt.statistics.reconcile-interval-ms:300000}",
+            fixedDelayString = "${app.hunt.statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (counters.isEmpty()) {
+            return;
+        }
+        List<HuntStatisticsRow> rows;
+        try {
+            rows = huntRepository.findStatisticsRows(List.copyOf(counters.keySet()));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Could not reconcile hunt statistics, retrying on the next run", e);
+            return;
+        }
+
+        int corrected = 0;
+        for (HuntStatisticsRow row : rows) {
+            Counters actual = Counters.of(row);
+            Counters cached = counters.get(row.getHuntId());
+            if (cached != null && !cached.snapshot().equals(actual.snapshot())
+                    && counters.replace(row.getHuntId(), cached, actual)) {
+                corrected++;
+            }
+        }
+        // Hunts deleted on another node
+        counters.keySet().retainAll(rows.stream().map(HuntStatisticsRow::getHuntId).toList());
+        if (corrected > 0) {
+            log.info("Corrected the statistics of {} of {} cached hunts", corrected, rows.size());
+        }
+    }
+
+    int cachedHuntCount() {
+        return counters.size();
+    }
+}
@@ -0,0 +1,312 @@
+package org.treasurehunt.hunt.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.HuntSearchRow;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over hunt titles and descriptions, held in memory.
+ * <p>
+ * Terms are kept sorted so that a query term also matches, at a lower weight, every indexed
+ * word it is a prefix of. Hits are ranked by TF-IDF with title occurrences boosted over
+ * description ones. The index is loaded from the database on the first search and then kept
+ * up to date from {@link HuntChangedEvent}s. Events that arrive while it is loading are held back
+ * and applied once the load is in, since the rows read may predate them. Hunts changed on other
+ * nodes raise no event here, so {@link #refresh()} reloads the index every
+ * {@code app.search.refresh-interval-ms}.
+ */
+@Log4j2
+@Service
+public class InMemoryHuntSearchEngine implements HuntSearchEngine {
+
+    static final double TITLE_BOOST = 3.0;
+    static final double PREFIX_WEIGHT = 0.5;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final HuntRepository huntRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, Posting>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> termsByHunt = new HashMap<>();
+    private volatile boolean loaded;
+    // Guards loading as well as the events held back while it is set
+    private final List<HuntChangedEvent> changedWhileLoading = new ArrayList<>();
+    private boolean loading;
+
+    public InMemoryHuntSearchEngine(HuntRepository huntRepository) {
+        this.huntRepository = huntRepository;
+    }
+
+    /**
+     * How often a term occurs in one hunt's title and description.
+     */
+    private record Posting(int titleFrequency, int descriptionFrequency) {
+        double weight() {
+            return TITLE_BOOST * dampen(titleFrequency) + dampen(descriptionFrequency);
+        }
+
+        private static double dampen(int frequency) {
+            return frequency == 0 ? 0 : 1 + Math.log(frequency);
+        }
+    }
+
+    @Override
+    public List<HuntSearchHit> search(String query, int limit) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                Map<Long, Double> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Every term has to match
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((huntId, score) -> score + termScores.get(huntId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .map(entry -> new HuntSearchHit(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparingDouble(HuntSearchHit::score).reversed()
+                            .thenComparing(HuntSearchHit::huntId))
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Long huntId, String title, String description) {
+        Map<String, Integer> titleTerms = countTerms(title);
+        Map<String, Integer> descriptionTerms = countTerms(description);
+        Set<String> terms = new HashSet<>(titleTerms.keySet());
+        terms.addAll(descriptionTerms.keySet());
+
+        lock.writeLock().lock();
+        try {
+            unindex(huntId);
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new HashMap<>())
+                        .put(huntId, new Posting(titleTerms.getOrDefault(term, 0),
+                                descriptionTerms.getOrDefault(term, 0)));
+            }
+            termsByHunt.put(huntId, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long huntId) {
+        lock.writeLock().lock();
+        try {
+            unindex(huntId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHuntChanged(HuntChangedEvent event) {
+        synchronized (changedWhileLoading) {
+            if (loading) {
+                changedWhileLoading.add(event);
+                return;
+            }
+        }
+        if (!loaded) {
+            // The first search loads the current state anyway
+            return;
+        }
+        apply(event);
+    }
+
+    private void apply(HuntChangedEvent event) {
+        if (event.deleted()) {
+            remove(event.huntId());
+            return;
+        }
+        try {
+            huntRepository.findSearchRowById(event.huntId()).ifPresentOrElse(
+                    row -> index(row.getId(), row.getTitle(), row.getDescription()),
+                    () -> remove(event.huntId()));
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh hunt {} in the search index, reloading it on the next search",
+                    event.huntId(), e);
+            loaded = false;
+        }
+    }
+
+    /**
+     * Replaces the index with the current titles and descriptions of all hunts.
+     */
+    public void rebuild() {
+        List<HuntSearchRow> rows = huntRepository.findAllSearchRows();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByHunt.clear();
+            rows.forEach(row -> index(row.getId(), row.getTitle(), row.getDescription()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} hunts for search", rows.size());
+    }
+
+    /**
+     * Reloads the index, if it was loaded, while searches keep reading the current one.
+     */
+    @Scheduled(initialDelayString = "${app.search.refresh-interval-ms:300000}",
+            fixedDelayString = "${app.search.refresh-interval-ms:300000}")
+    public void refresh() {
+        if (!loaded) {
+            // The next search loads it
+            return;
+        }
+        try {
+            synchronized (this) {
+                load();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh the search index, retrying on the next run", e);
+        }
+    }
+
+    int indexedHuntCount() {
+        lock.readLock().lock();
+        try {
+            return termsByHunt.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cases, strips accents and splits on anything that is not a letter or a digit.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    load();
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the index, then applies the changes committed while the rows were being read.
+     */
+    private void load() {
+        synchronized (changedWhileLoading) {
+            loading = true;
+        }
+        boolean built = false;
+        List<HuntChangedEvent> replay;
+        try {
+            rebuild();
+            built = true;
+        } finally {
+            synchronized (changedWhileLoading) {
+                loading = false;
+                // Set under the same lock, so no event can slip between the two flags. A failed
+                // refresh leaves the previous index in place, and the held back events still apply to it.
+                loaded = built || loaded;
+                replay = List.copyOf(changedWhileLoading);
+                changedWhileLoading.clear();
+            }
+            if (loaded) {
+                replay.forEach(this::apply);
+            }
+        }
+    }
+
+    /**
+     * @return the best score of each hunt containing {@code term} or a word starting with it
+     */
+    private Map<Long, Double> scoreTerm(String term) {
+        Map<Long, Double> scores = new LinkedHashMap<>();
+        int huntCount = Math.max(termsByHunt.size(), 1);
+        // Single characters would expand to most of the vocabulary; match them exactly
+        Map<String, Map<Long, Posting>> matches = term.length() < 2
+                ? (postings.containsKey(term) ? Map.of(term, postings.get(term)) : Map.of())
+                : postings.subMap(term, true, term + Character.MAX_VALUE, false);
+
+        matches.forEach((word, huntPostings) -> {
+            double idf = Math.log(1 + (double) huntCount / huntPostings.size());
+            double matchWeight = word.equals(term) ? 1.0 : PREFIX_WEIGHT;
+            huntPostings.forEach((huntId, posting) ->
+                    scores.merge(huntId, posting.weight() * idf * matchWeight, Math::max));
+        });
+        return scores;
+    }
+
+    private void unindex(Long huntId) {
+        Set<String> terms = termsByHunt.remove(huntId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Posting> huntPostings = postings.get(term);
+            if (huntPostings != null) {
+                huntPostings.remove(huntId);
+                if (huntPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Integer> countTerms(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        tokenize(text).forEach(token -> counts.merge(token, 1, Integer::sum));
+        return counts;
+    }
+}
@@ -92,7 +92,8 @@ public class Judge0Service {
                         testCase.getExpectedOutput(),
                         decodedStdout,
                         passed,
-                        error
+                        error,
+                        parseRuntime(response.time())
                 ));
 
             } catch (Exception e) {
@@ -102,7 +103,8 @@ public class Judge0Service {
                         testCase.getExpectedOutput(),
                         null,
                         false,
-                        "Error processing submission: " + e.getMessage()
+                        "Error processing submission: " + e.getMessage(),
+                        null
                 ));
             }
         }
@@ -110,6 +112,19 @@ public class Judge0Service {
         return results;
     }
 
+    private Double parseRuntime(String time) {
+        // Judge0 reports the CPU time in seconds as a decimal string, e.g. "0.012"
+        if (time == null || time.isBlank()) {
+            return null;
+        }
+        try {
+            return Double.valueOf(time);
+        } catch (NumberFormatException e) {
+            log.warn("Failed to parse runtime: {}", time);
+            return null;
+        }
+    }
+
     private boolean isSubmissionSuccessful(Judge0SubmissionResponse response) {
         // Status ID 3 means "Accepted" in Judge0
         return response.status() != null && response.status().id() == 3;
@@ -0,0 +1,208 @@
+package org.treasurehunt.hunt.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.treasurehunt.exception.EntityNotFoundException;
+import org.treasurehunt.hunt.api.RankDelta;
+import org.treasurehunt.hunt.repository.HuntParticipationRepository;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.entity.Hunt;
+import org.treasurehunt.submissions.service.SubmissionRecordedEvent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes changes to a hunt's standings to its subscribers over Server-Sent Events.
+ * <p>
+ * Every recorded submission changes its author's hunt score, by the challenge's points or by a
+ * failure's penalty. The users who submitted are coalesced per hunt and flushed once every
+ * {@code app.leaderboard.push-interval-ms}, with their score and rank within the hunt read in
+ * one query. Each flush encodes a single
+ * {@code rank-delta} frame that is written as-is to every subscriber of the hunt, so a
+ * subscriber receives at most one frame per interval.
+ * <p>
+ * Frames are written on {@code app.leaderboard.push-threads} dedicated threads rather than the
+ * scheduler's, so a slow client holds up neither the other scheduled jobs nor other hunts. A
+ * hunt whose previous frame is still being written is skipped, its changes kept coalesced for
+ * the next flush.
+ */
+@Log4j2
+@Service
+public class LeaderboardPushService {
+
+    static final String RANK_DELTA_EVENT = "rank-delta";
+
+    private final HuntRepository huntRepository;
+    private final HuntParticipationRepository huntParticipationRepository;
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMs;
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+
+    public LeaderboardPushService(HuntRepository huntRepository,
+                                  HuntParticipationRepository huntParticipationRepository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.leaderboard.push-timeout-ms:1800000}") long emitterTimeoutMs,
+                                  @Value("${app.leaderboard.push-threads:4}") int pushThreads) {
+        this.huntRepository = huntRepository;
+        this.huntParticipationRepository = huntParticipationRepository;
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.sender = Executors.newFixedThreadPool(pushThreads, daemon("leaderboard-push"));
+    }
+
+    private static final class Channel {
+        private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+        private final Set<Long> pendingUsers = ConcurrentHashMap.newKeySet();
+        // Set while a frame is being written to the subscribers, to keep frames in order
+        private final AtomicBoolean sending = new AtomicBoolean();
+    }
+
+    public SseEmitter subscribe(Long huntId) {
+        if (!huntRepository.existsById(huntId)) {
+            throw new EntityNotFoundException(huntId, Hunt.class);
+        }
+
+        return subscribe(huntId, new SseEmitter(emitterTimeoutMs));
+    }
+
+    SseEmitter subscribe(Long huntId, SseEmitter emitter) {
+        // Added under the map's lock, so a concurrent unsubscribe cannot drop the channel in between
+        channels.compute(huntId, (id, channel) -> {
+            Channel target = channel != null ? channel : new Channel();
+            target.subscribers.add(emitter);
+            return target;
+        });
+
+        Runnable remove = () -> unsubscribe(huntId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubmissionRecorded(SubmissionRecordedEvent event) {
+        Channel channel = channels.get(event.huntId());
+        if (channel != null) {
+            channel.pendingUsers.add(event.userId());
+        }
+    }
+
+    /**
+     * Sends one coalesced frame to every hunt that had score changes since the last flush.
+     */
+    @Scheduled(fixedDelayString = "${app.leaderboard.push-interval-ms:1000}")
+    public void flush() {
+        channels.forEach((huntId, channel) -> {
+            if (channel.pendingUsers.isEmpty() || !channel.sending.compareAndSet(false, true)) {
+                return;
+            }
+            boolean handedOff = false;
+            try {
+                List<RankDelta> deltas = drain(huntId, channel);
+                if (channel.subscribers.isEmpty() || deltas.isEmpty()) {
+                    return;
+                }
+                Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event()
+                        .name(RANK_DELTA_EVENT)
+                        .data(objectMapper.writeValueAsString(deltas), MediaType.APPLICATION_JSON)
+                        .build();
+                sender.execute(() -> {
+                    try {
+                        broadcast(huntId, channel, frame);
+                    } finally {
+                        channel.sending.set(false);
+                    }
+                });
+                handedOff = true;
+            } catch (JsonProcessingException e) {
+                log.error("Could not encode rank deltas for hunt {}", huntId, e);
+            } catch (RejectedExecutionException e) {
+                log.debug("Leaderboard push is shutting down", e);
+            } finally {
+                if (!handedOff) {
+                    channel.sending.set(false);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+    }
+
+    int subscriberCount(Long huntId) {
+        Channel channel = channels.get(huntId);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    private List<RankDelta> drain(Long huntId, Channel channel) {
+        List<Long> userIds = new ArrayList<>();
+        for (Long userId : List.copyOf(channel.pendingUsers)) {
+            if (channel.pendingUsers.remove(userId)) {
+                userIds.add(userId);
+            }
+        }
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return huntParticipationRepository.findStandings(huntId, userIds).stream()
+                    .map(row -> new RankDelta(row.getUserId(), row.getScore(), row.getHuntRank()))
+                    .toList();
+        } catch (DataAccessException e) {
+            log.warn("Could not read the standings of hunt {}, skipping its deltas", huntId, e);
+            return List.of();
+        }
+    }
+
+    private void broadcast(Long huntId, Channel channel, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        for (SseEmitter emitter : channel.subscribers) {
+            try {
+                emitter.send(frame);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter's callbacks may not fire for a broken pipe
+                unsubscribe(huntId, emitter);
+            }
+        }
+    }
+
+    void unsubscribe(Long huntId, SseEmitter emitter) {
+        channels.computeIfPresent(huntId, (id, channel) -> {
+            channel.subscribers.remove(emitter);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,499 @@
+package org.treasurehunt.hunt.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileSystemUtils;
+import org.treasurehunt.common.api.ETags;
+import org.treasurehunt.common.image.JpegImages;
+import org.treasurehunt.exception.EntityNotFoundException;
+import org.treasurehunt.hunt.api.MapTileSet;
+import org.treasurehunt.hunt.repository.HuntRepository;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.treasurehunt.common.constants.UploadingConstants.HUNT_MAP_UPLOAD_DIR;
+import static org.treasurehunt.common.constants.UploadingConstants.MAP_TILES_DIR;
+
+/**
+ * Cuts hunt maps into a pyramid of {@value #TILE_SIZE} px JPEG tiles and serves them, so clients
+ * that pan and zoom fetch only the region and resolution they show.
+ * <p>
+ * The top zoom level is the map at full resolution and each level below halves it, until the
+ * whole map fits in one tile. A pyramid is cut in the background when a hunt is saved, or on
+ * the first request for one of its tiles, and is stored under {@code tiles/<huntId>/} next to
+ * the maps. It is cut again once the map is newer. Cutting runs on a single worker, since a
+ * map is decoded whole; maps over {@code app.hunt.map-tiles.max-pixels} are not tiled. A map
+ * that cannot be tiled is remembered, and answered with 404 without being decoded again, until
+ * the map file changes.
+ * <p>
+ * Tiles are kept in memory in an LRU of at most {@code app.hunt.map-tiles.cache-bytes}, with
+ * their ETags, so hot tiles are served without touching the disk.
+ */
+@Log4j2
+@Component
+public class MapTileService {
+
+    static final int TILE_SIZE = 256;
+    private static final String TILE_SET_FILE = "tileset.properties";
+
+    private final HuntRepository huntRepository;
+    private final Path mapDir;
+    private final float jpegQuality;
+    private final long maxPixels;
+    private final long timeoutMs;
+    private final CacheControl cacheControl;
+    private final HotTiles hotTiles;
+
+    private final Map<Long, Pyramid> pyramids = new ConcurrentHashMap<>();
+    private final Map<Long, Future<Pyramid>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, Failure> failures = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(32), daemon("map-tiles"));
+
+    public MapTileService(HuntRepository huntRepository,
+                          @Value("${app.upload.root:.}") String uploadRoot,
+                          @Value("${app.images.jpeg-quality:0.82}") float jpegQuality,
+                          @Value("${app.images.max-age-seconds:3600}") long maxAgeSeconds,
+                          @Value("${app.hunt.map-tiles.max-pixels:40000000}") long maxPixels,
+                          @Value("${app.hunt.map-tiles.cache-bytes:67108864}") long cacheBytes,
+                          @Value("${app.hunt.map-tiles.timeout-ms:20000}") long timeoutMs) {
+        this.huntRepository = huntRepository;
+        this.mapDir = Paths.get(uploadRoot).resolve(HUNT_MAP_UPLOAD_DIR);
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+        this.timeoutMs = timeoutMs;
+        this.cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+        this.hotTiles = new HotTiles(cacheBytes);
+    }
+
+    /**
+     * A cut pyramid on disk.
+     */
+    record Pyramid(Path dir, MapTileSet tileSet) {
+
+        int columns(int zoom) {
+            return tiles(tileSet.width(), zoom);
+        }
+
+        int rows(int zoom) {
+            return tiles(tileSet.height(), zoom);
+        }
+
+        private int tiles(int fullSize, int zoom) {
+            int levelSize = (int) Math.ceil(fullSize / Math.pow(2, tileSet.maxZoom() - zoom));
+            return Math.ceilDiv(levelSize, TILE_SIZE);
+        }
+    }
+
+    private record TileKey(Long huntId, int zoom, int x, int y) {
+    }
+
+    private record Tile(byte[] body, String etag) {
+    }
+
+    /**
+     * A map that could not be tiled, as it was when it failed.
+     */
+    private record Failure(Path map, FileTime modified, String reason) {
+
+        /**
+         * @return whether the map is still the one that failed
+         */
+        private boolean matches(Path current) {
+            try {
+                return map.equals(current) && Files.getLastModifiedTime(current).equals(modified);
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return the hunt's tile set, or empty if its pyramid is still being cut
+     * @throws EntityNotFoundException if the hunt has no map that can be tiled
+     */
+    public Optional<MapTileSet> tileSet(Long huntId) {
+        return pyramid(huntId).map(Pyramid::tileSet);
+    }
+
+    /**
+     * Answers a request for a tile, with 304 when {@code ifNoneMatch} still matches, and 503
+     * while the hunt's pyramid is being cut.
+     *
+     * @throws EntityNotFoundException if the hunt has no tiled map or there is no such tile
+     */
+    public ResponseEntity<byte[]> serveTile(Long huntId, int zoom, int x, int y, String ifNoneMatch) {
+        Optional<Pyramid> pyramid = pyramid(huntId);
+        if (pyramid.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+        Tile tile = tile(pyramid.get(), new TileKey(huntId, zoom, x, y));
+
+        if (ETags.matches(tile.etag(), ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(tile.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(tile.etag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.IMAGE_JPEG)
+                .body(tile.body());
+    }
+
+    /**
+     * A saved hunt may have a new map; a deleted one takes its tiles along.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHuntChanged(HuntChangedEvent event) {
+        Long huntId = event.huntId();
+        if (event.deleted()) {
+            pyramids.remove(huntId);
+            failures.remove(huntId);
+            hotTiles.removeHunt(huntId);
+            execute(() -> FileSystemUtils.deleteRecursively(tilesDir(huntId)));
+            return;
+        }
+        execute(() -> {
+            try {
+                prepare(huntId);
+            } catch (EntityNotFoundException e) {
+                log.debug("Hunt {} has no map to tile", huntId);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdownNow();
+    }
+
+    int cachedTileCount() {
+        return hotTiles.size();
+    }
+
+    private Optional<Pyramid> pyramid(Long huntId) {
+        Pyramid pyramid = pyramids.get(huntId);
+        if (pyramid != null) {
+            return Optional.of(pyramid);
+        }
+        Failure failure = failures.get(huntId);
+        if (failure != null && failure.matches(failure.map())) {
+            throw new EntityNotFoundException(failure.reason());
+        }
+        Future<Pyramid> job;
+        try {
+            job = inFlight.computeIfAbsent(huntId, id -> worker.submit(() -> {
+                try {
+                    return prepare(id);
+                } finally {
+                    inFlight.remove(id);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(job.get(timeoutMs, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            // Left to finish in the background for the next request
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Could not tile the map of hunt " + huntId, e.getCause());
+        }
+    }
+
+    private Tile tile(Pyramid pyramid, TileKey key) {
+        if (key.zoom() < 0 || key.zoom() > pyramid.tileSet().maxZoom()
+                || key.x() < 0 || key.x() >= pyramid.columns(key.zoom())
+                || key.y() < 0 || key.y() >= pyramid.rows(key.zoom())) {
+            throw new EntityNotFoundException("No such map tile");
+        }
+        Tile tile = hotTiles.get(key);
+        if (tile != null) {
+            return tile;
+        }
+        byte[] body;
+        try {
+            body = Files.readAllBytes(tileFile(pyramid.dir(), key.zoom(), key.x(), key.y()));
+        } catch (NoSuchFileException e) {
+            // Being cut again
+            pyramids.remove(key.huntId(), pyramid);
+            throw new EntityNotFoundException("No such map tile");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read a map tile of hunt " + key.huntId(), e);
+        }
+        tile = new Tile(body, ETags.strong(DigestUtils.md5DigestAsHex(body)));
+        hotTiles.put(key, tile);
+        return tile;
+    }
+
+    /**
+     * Runs on the worker: finds the hunt's map and cuts its pyramid unless an up to date one is
+     * on disk already.
+     */
+    private Pyramid prepare(Long huntId) throws IOException {
+        String mapName = huntRepository.getHuntMapImageById(huntId);
+        if (StringUtils.isBlank(mapName)) {
+            throw new EntityNotFoundException("The hunt has no map");
+        }
+        Path map = mapDir.resolve(mapName).normalize();
+        if (!Files.exists(map)) {
+            throw new EntityNotFoundException("The hunt has no map");
+        }
+
+        Failure failure = failures.get(huntId);
+        if (failure != null && failure.matches(map)) {
+            throw new EntityNotFoundException(failure.reason());
+        }
+
+        Path dir = tilesDir(huntId);
+        Pyramid pyramid = readPyramid(dir, map);
+        if (pyramid == null) {
+            FileTime modified = Files.getLastModifiedTime(map);
+            try {
+                pyramid = cut(huntId, map, dir);
+            } catch (EntityNotFoundException e) {
+                failures.put(huntId, new Failure(map, modified, e.getMessage()));
+                throw e;
+            } catch (IOException e) {
+                log.warn("Could not tile the map of hunt {}, not trying again until it changes", huntId, e);
+                failures.put(huntId, new Failure(map, modified, "The hunt's map could not be tiled"));
+                throw new EntityNotFoundException("The hunt's map could not be tiled");
+            }
+            hotTiles.removeHunt(huntId);
+        }
+        failures.remove(huntId);
+        pyramids.put(huntId, pyramid);
+        return pyramid;
+    }
+
+    /**
+     * @return the pyramid on disk, or {@code null} if there is none or the map is newer
+     */
+    private static Pyramid readPyramid(Path dir, Path map) throws IOException {
+        Path file = dir.resolve(TILE_SET_FILE);
+        if (!Files.exists(file)
+                || Files.getLastModifiedTime(file).compareTo(Files.getLastModifiedTime(map)) < 0) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return new Pyramid(dir, new MapTileSet(
+                Integer.parseInt(properties.getProperty("width")),
+                Integer.parseInt(properties.getProperty("height")),
+                TILE_SIZE,
+                Integer.parseInt(properties.getProperty("maxZoom"))));
+    }
+
+    /**
+     * Cuts every level into a temporary directory that then replaces the hunt's tiles, writing
+     * the tile set file last so that a half-cut pyramid is never picked up. The decoded map is
+     * the top level as it is: each tile, and each level below, is drawn on white anyway, so
+     * no second full-size copy is made.
+     *
+     * @throws EntityNotFoundException if the map is not an image or is too large to tile
+     */
+    private Pyramid cut(Long huntId, Path map, Path dir) throws IOException {
+        long start = System.nanoTime();
+        BufferedImage level = decode(map);
+        int width = level.getWidth();
+        int height = level.getHeight();
+        int maxZoom = Math.max(0, (int) Math.ceil(Math.log((double) Math.max(width, height) / TILE_SIZE) / Math.log(2)));
+
+        Files.createDirectories(dir.getParent());
+        Path temp = Files.createTempDirectory(dir.getParent(), huntId + "-");
+        try {
+            int tiles = 0;
+            for (int zoom = maxZoom; zoom >= 0; zoom--) {
+                tiles += writeLevel(level, temp, zoom);
+                if (zoom > 0) {
+                    level = JpegImages.scaledOnWhite(level, Math.ceilDiv(level.getWidth(), 2),
+                            Math.ceilDiv(level.getHeight(), 2));
+                }
+            }
+
+            Properties properties = new Properties();
+            properties.setProperty("width", String.valueOf(width));
+            properties.setProperty("height", String.valueOf(height));
+            properties.setProperty("maxZoom", String.valueOf(maxZoom));
+            try (OutputStream out = Files.newOutputStream(temp.resolve(TILE_SET_FILE))) {
+                properties.store(out, "Map tile pyramid");
+            }
+
+            FileSystemUtils.deleteRecursively(dir);
+            Files.move(temp, dir, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Cut the {}x{} map of hunt {} into {} tiles over {} zoom levels in {} ms",
+                    width, height, huntId, tiles, maxZoom + 1, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            FileSystemUtils.deleteRecursively(temp);
+        }
+        return new Pyramid(dir, new MapTileSet(width, height, TILE_SIZE, maxZoom));
+    }
+
+    private int writeLevel(BufferedImage level, Path dir, int zoom) throws IOException {
+        int columns = Math.ceilDiv(level.getWidth(), TILE_SIZE);
+        int rows = Math.ceilDiv(level.getHeight(), TILE_SIZE);
+        for (int x = 0; x < columns; x++) {
+            Files.createDirectories(dir.resolve(String.valueOf(zoom)).resolve(String.valueOf(x)));
+            for (int y = 0; y < rows; y++) {
+                // Edge tiles are cut short rather than padded
+                int tileWidth = Math.min(TILE_SIZE, level.getWidth() - x * TILE_SIZE);
+                int tileHeight = Math.min(TILE_SIZE, level.getHeight() - y * TILE_SIZE);
+                BufferedImage tile = JpegImages.scaledOnWhite(
+                        level.getSubimage(x * TILE_SIZE, y * TILE_SIZE, tileWidth, tileHeight), tileWidth, tileHeight);
+                JpegImages.write(tile, tileFile(dir, zoom, x, y), jpegQuality);
+            }
+        }
+        return columns * rows;
+    }
+
+    /**
+     * @throws EntityNotFoundException if the map is not an image or is too large to tile
+     */
+    private BufferedImage decode(Path map) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(map.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new EntityNotFoundException("The hunt's map is not an image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    throw new EntityNotFoundException("The hunt's map is too large to tile");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private Path tilesDir(Long huntId) {
+        return mapDir.resolve(MAP_TILES_DIR).resolve(String.valueOf(huntId));
+    }
+
+    private static Path tileFile(Path dir, int zoom, int x, int y) {
+        return dir.resolve(String.valueOf(zoom)).resolve(String.valueOf(x)).resolve(y + ".jpg");
+    }
+
+    private void execute(IoTask task) {
+        try {
+            worker.execute(() -> {
+                try {
+                    task.run();
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Map tile job failed", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Tiles are cut on their first request instead
+            log.debug("Map tile queue is full", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoTask {
+        void run() throws IOException;
+    }
+
+    /**
+     * Tiles recently served, evicted least recently used first once they add up to more than
+     * the byte budget.
+     */
+    private static final class HotTiles {
+        private final long maxBytes;
+        private final LinkedHashMap<TileKey, Tile> tiles = new LinkedHashMap<>(256, 0.75f, true);
+        private long bytes;
+
+        private HotTiles(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        private synchronized Tile get(TileKey key) {
+            return tiles.get(key);
+        }
+
+        private synchronized void put(TileKey key, Tile tile) {
+            Tile previous = tiles.put(key, tile);
+            bytes += tile.body().length - (previous != null ? previous.body().length : 0);
+            Iterator<Tile> eldest = tiles.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().body().length;
+                eldest.remove();
+            }
+        }
+
+        private synchronized void removeHunt(Long huntId) {
+            Iterator<Map.Entry<TileKey, Tile>> entries = tiles.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<TileKey, Tile> entry = entries.next();
+                if (entry.getKey().huntId().equals(huntId)) {
+                    bytes -= entry.getValue().body().length;
+                    entries.remove();
+                }
+            }
+        }
+
+        private synchronized int size() {
+            return tiles.size();
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
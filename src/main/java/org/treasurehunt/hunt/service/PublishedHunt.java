@@ -0,0 +1,21 @@
+package org.treasurehunt.hunt.service;
+
+import org.treasurehunt.common.api.RenderedJson;
+import org.treasurehunt.common.enums.HuntStatus;
+
+/**
+ * A hunt and its challenges as shown to participants, serialized once. The full challenges, with
+ * reference solutions and hidden test cases, are not kept: the few admins, reviewers and
+ * organizers who read them load them on request.
+ *
+ * @param version           increases with every snapshot built on this node
+ * @param organizerId       kept for the access check, so that it needs no query for the hunt
+ * @param hunterChallenges  the challenges as shown to participants
+ */
+public record PublishedHunt(Long huntId,
+                            long version,
+                            HuntStatus status,
+                            Long organizerId,
+                            RenderedJson hunt,
+                            RenderedJson hunterChallenges) {
+}
@@ -0,0 +1,102 @@
+package org.treasurehunt.hunt.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.treasurehunt.common.enums.HuntStatus;
+import org.treasurehunt.exception.EntityNotFoundException;
+import org.treasurehunt.hunt.repository.HuntRepository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable snapshots of live hunts, so that the rush of participants at a hunt's start is
+ * served from memory.
+ * <p>
+ * A live hunt's content is loaded and serialized once, when the hunt goes live, or on its first
+ * read after a restart, and kept until the hunt changes again. Every {@link HuntChangedEvent}
+ * (admin edits, challenges added or removed, status changes) drops the snapshot and rebuilds it
+ * if the hunt is still live. Only live hunts are built: callers read hunts in any other status
+ * themselves, loading just what they serve.
+ */
+@Log4j2
+@Component
+public class PublishedHuntCache {
+
+    private final PublishedHuntLoader publishedHuntLoader;
+    private final HuntRepository huntRepository;
+
+    private final Map<Long, PublishedHunt> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    // Bumped before every invalidation, so that a build racing with it is not kept
+    private final AtomicLong changes = new AtomicLong();
+
+    public PublishedHuntCache(PublishedHuntLoader publishedHuntLoader, HuntRepository huntRepository) {
+        this.publishedHuntLoader = publishedHuntLoader;
+        this.huntRepository = huntRepository;
+    }
+
+    /**
+     * @return the snapshot of the hunt if it is held, without touching the database
+     */
+    public Optional<PublishedHunt> cached(Long huntId) {
+        return Optional.ofNullable(snapshots.get(huntId));
+    }
+
+    /**
+     * Returns the snapshot of a hunt the caller found live, building it on a miss. Should the hunt
+     * have left the live status meanwhile, the snapshot is returned but not kept.
+     *
+     * @throws EntityNotFoundException if the hunt is not found
+     */
+    public PublishedHunt get(Long huntId) {
+        PublishedHunt snapshot = snapshots.get(huntId);
+        return snapshot != null ? snapshot : build(huntId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHuntChanged(HuntChangedEvent event) {
+        changes.incrementAndGet();
+        snapshots.remove(event.huntId());
+        if (event.deleted()) {
+            return;
+        }
+        try {
+            boolean live = huntRepository.findAccessRowById(event.huntId())
+                    .map(hunt -> hunt.getStatus() == HuntStatus.LIVE)
+                    .orElse(false);
+            if (live) {
+                build(event.huntId());
+            }
+        } catch (EntityNotFoundException e) {
+            // Deleted meanwhile
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Could not rebuild the snapshot of hunt {}, building it on the next read", event.huntId(), e);
+        }
+    }
+
+    int cachedHuntCount() {
+        return snapshots.size();
+    }
+
+    private PublishedHunt build(Long huntId) {
+        long seen = changes.get();
+        PublishedHunt built = publishedHuntLoader.load(huntId, versions.incrementAndGet());
+        if (built.status() != HuntStatus.LIVE) {
+            return built;
+        }
+        snapshots.compute(huntId, (id, cached) -> {
+            if (changes.get() != seen) {
+                return cached;
+            }
+            return cached != null && cached.version() > built.version() ? cached : built;
+        });
+        log.debug("Built snapshot v{} of live hunt {}", built.version(), huntId);
+        return built;
+    }
+}
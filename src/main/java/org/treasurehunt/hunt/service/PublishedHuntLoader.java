@@ -0,0 +1,38 @@
+package org.treasurehunt.hunt.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.treasurehunt.common.api.RenderedJson;
+import org.treasurehunt.exception.EntityNotFoundException;
+import org.treasurehunt.hunt.mapper.HuntMapper;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.entity.Hunt;
+
+/**
+ * Loads and serializes a hunt and its hunter view in one read-only transaction, for
+ * {@link PublishedHuntCache}.
+ */
+@Service
+@RequiredArgsConstructor
+public class PublishedHuntLoader {
+
+    private final HuntRepository huntRepository;
+    private final ChallengeReadService challengeReadService;
+    private final HuntMapper huntMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @throws EntityNotFoundException if the hunt is not found
+     */
+    @Transactional(readOnly = true)
+    public PublishedHunt load(Long huntId, long version) {
+        Hunt hunt = huntRepository.findById(huntId)
+                .orElseThrow(() -> new EntityNotFoundException(huntId, Hunt.class));
+
+        return new PublishedHunt(huntId, version, hunt.getStatus(), hunt.getOrganizer().getId(),
+                RenderedJson.of(objectMapper, huntMapper.toDraftDTO(hunt)),
+                RenderedJson.of(objectMapper, challengeReadService.getHunterChallengesByHuntId(huntId)));
+    }
+}
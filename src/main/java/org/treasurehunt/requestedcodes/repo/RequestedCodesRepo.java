@@ -1,6 +1,7 @@
 package org.treasurehunt.requestedcodes.repo;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +12,8 @@ public interface RequestedCodesRepo extends JpaRepository<RequestedCode, Long> {
 
     @Query("SELECT rc FROM RequestedCode rc WHERE rc.hunt_id = :huntId")
     Optional<RequestedCode> findByHuntId(long huntId);
+
+    @Modifying
+    @Query("DELETE FROM RequestedCode rc WHERE rc.hunt_id = :huntId")
+    int deleteAllByHuntId(long huntId);
 }
@@ -71,7 +71,7 @@ public class SecurityConfig {
                 "/api-docs/**", "/auth/refresh-token",
                 "/auth/signin", "/auth/signup", "/swagger-ui/**",
                 "/doc/**", "/index.html", "/error/**", "/users/**",
-                "/hunts/*/images/bg", "/hunts/*/images/map"};
+                "/hunts/*/images/bg", "/hunts/*/images/map", "/hunts/*/map/tiles", "/hunts/*/map/tiles/*/*/*"};
 
 
         http.
@@ -3,16 +3,22 @@ package org.treasurehunt.submissions.api;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.treasurehunt.common.api.ApiResp;
 import org.treasurehunt.submissions.repo.Submission;
+import org.treasurehunt.submissions.service.ChallengeProgressService;
 import org.treasurehunt.submissions.service.SubmissionService;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 @RestController
 @RequestMapping
 public class SubmissionController {
 
     private final SubmissionService submissionService;
+    private final ChallengeProgressService challengeProgressService;
 
     @PostMapping("challenges/{challengeId}/submissions")
     public ResponseEntity<Submission> submitChallengeSolution(
@@ -32,4 +38,11 @@ public class SubmissionController {
         SubmissionListResponse response = submissionService.getSubmissionsByHuntIdAndHunterName(huntId, hunterName, page, pageSize);
         return ResponseEntity.ok(response);
     }
+
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping("submissions/progress/rebuild")
+    public ResponseEntity<ApiResp<Integer>> rebuildProgress() {
+        int rows = challengeProgressService.rebuild();
+        return ResponseEntity.ok(ApiResp.success(List.of(rows), "Challenge progress rebuilt from submissions"));
+    }
 }
@@ -36,6 +36,9 @@ public class Submission {
     @Column(name = "time")
     private Instant time;
 
+    @Column(name = "runtime")
+    private Double runtime;
+
     public enum SubmissionStatus{
         SUCCESS,
         FAIL
@@ -3,11 +3,13 @@ package org.treasurehunt.submissions.repo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -62,4 +64,8 @@ public interface SubmissionRepo extends JpaRepository<Submission, Long> {
             ORDER BY s.time DESC
             """)
     Page<Submission> findAllWithDetails(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Submission s WHERE s.challengeId IN :challengeIds")
+    int deleteByChallengeIdIn(Collection<Long> challengeIds);
 }
@@ -0,0 +1,39 @@
+package org.treasurehunt.submissions.repo;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Write-time projection of a user's standing on a single challenge.
+ * <p>
+ * One row per (user, challenge), upserted whenever a submission result is recorded,
+ * so progress reads never have to scan the raw {@code submissions} table.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "user_challenge_progress")
+public class UserChallengeProgress {
+
+    @EmbeddedId
+    private UserChallengeProgressId id;
+
+    @Column(name = "hunt_id", nullable = false)
+    private Long huntId;
+
+    @Column(name = "solved_at")
+    private Instant solvedAt;
+
+    @Column(name = "fail_count", nullable = false)
+    private Integer failCount;
+
+    @Column(name = "best_runtime")
+    private Double bestRuntime;
+
+    public boolean isSolved() {
+        return solvedAt != null;
+    }
+}
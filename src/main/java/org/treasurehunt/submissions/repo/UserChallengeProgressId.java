@@ -0,0 +1,48 @@
+package org.treasurehunt.submissions.repo;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.Hibernate;
+
+import java.io.Serial;
+import java.util.Objects;
+
+@Getter
+@Setter
+@Embeddable
+@NoArgsConstructor
+public class UserChallengeProgressId implements java.io.Serializable {
+    @Serial
+    private static final long serialVersionUID = 2871164502219403817L;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(name = "challenge_id", nullable = false)
+    private Long challengeId;
+
+    public UserChallengeProgressId(Long userId, Long challengeId) {
+        this.userId = userId;
+        this.challengeId = challengeId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        UserChallengeProgressId entity = (UserChallengeProgressId) o;
+        return Objects.equals(this.userId, entity.userId) &&
+               Objects.equals(this.challengeId, entity.challengeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, challengeId);
+    }
+}
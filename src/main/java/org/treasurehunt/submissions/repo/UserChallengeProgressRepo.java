@@ -0,0 +1,99 @@
+package org.treasurehunt.submissions.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserChallengeProgressRepo extends JpaRepository<UserChallengeProgress, UserChallengeProgressId> {
+
+    @Query("""
+            SELECT p FROM UserChallengeProgress p WHERE p.id.userId = :userId AND p.huntId = :huntId
+            """)
+    List<UserChallengeProgress> findByUserIdAndHuntId(Long userId, Long huntId);
+
+    @Query("""
+            SELECT count(p) FROM UserChallengeProgress p
+            WHERE p.id.userId = :userId AND p.huntId = :huntId AND p.solvedAt IS NOT NULL
+            """)
+    long countSolved(Long userId, Long huntId);
+
+    List<UserChallengeProgress> findByHuntId(Long huntId);
+
+    /**
+     * Records a successful run of a challenge the user has no row for yet.
+     *
+     * @return 1 if the row was inserted, which makes this the first solve; 0 if a row already existed
+     */
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO user_challenge_progress (user_id, challenge_id, hunt_id, solved_at, fail_count, best_runtime)
+            VALUES (:userId, :challengeId, :huntId, :solvedAt, 0, :runtime)
+            """, nativeQuery = true)
+    int insertSolved(Long userId, Long challengeId, Long huntId, Instant solvedAt, Double runtime);
+
+    /**
+     * Marks an existing, still unsolved row as solved. The row lock taken by the update lets
+     * only one of several concurrent successful runs match {@code solved_at IS NULL}.
+     *
+     * @return 1 if this run solved the challenge first; 0 if it was already solved
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE user_challenge_progress SET solved_at = :solvedAt, best_runtime = :runtime
+            WHERE user_id = :userId AND challenge_id = :challengeId AND solved_at IS NULL
+            """, nativeQuery = true)
+    int markSolved(Long userId, Long challengeId, Instant solvedAt, Double runtime);
+
+    /**
+     * Keeps the fastest successful run of an already solved challenge.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE user_challenge_progress SET best_runtime = LEAST(COALESCE(best_runtime, :runtime), :runtime)
+            WHERE user_id = :userId AND challenge_id = :challengeId AND :runtime IS NOT NULL
+            """, nativeQuery = true)
+    int recordRuntime(Long userId, Long challengeId, Double runtime);
+
+    /**
+     * Atomically records a failed run by bumping {@code fail_count}.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_challenge_progress (user_id, challenge_id, hunt_id, solved_at, fail_count, best_runtime)
+            VALUES (:userId, :challengeId, :huntId, NULL, 1, NULL)
+            ON DUPLICATE KEY UPDATE fail_count = fail_count + 1
+            """, nativeQuery = true)
+    int upsertFailure(Long userId, Long challengeId, Long huntId);
+
+    @Modifying
+    @Query("DELETE FROM UserChallengeProgress p WHERE p.id.challengeId IN :challengeIds")
+    int deleteByChallengeIdIn(Collection<Long> challengeIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_challenge_progress", nativeQuery = true)
+    int deleteAllRows();
+
+    /**
+     * Backfills the projection from the raw submissions table in a single set-based statement.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_challenge_progress (user_id, challenge_id, hunt_id, solved_at, fail_count, best_runtime)
+            SELECT s.user_id,
+                   s.challenge_id,
+                   c.hunt_id,
+                   MIN(CASE WHEN s.status = 'SUCCESS' THEN s.time END),
+                   SUM(CASE WHEN s.status = 'FAIL' THEN 1 ELSE 0 END),
+                   MIN(CASE WHEN s.status = 'SUCCESS' THEN s.runtime END)
+            FROM submissions s
+            JOIN challenge c ON c.challenge_id = s.challenge_id
+            GROUP BY s.user_id, s.challenge_id, c.hunt_id
+            """, nativeQuery = true)
+    int backfillFromSubmissions();
+}
@@ -0,0 +1,114 @@
+package org.treasurehunt.submissions.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.treasurehunt.hunt.repository.entity.Challenge;
+import org.treasurehunt.submissions.repo.Submission;
+import org.treasurehunt.submissions.repo.SubmissionRepo;
+import org.treasurehunt.submissions.repo.UserChallengeProgress;
+import org.treasurehunt.submissions.repo.UserChallengeProgressId;
+import org.treasurehunt.submissions.repo.UserChallengeProgressRepo;
+import org.treasurehunt.user.service.DailyPointsService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@code user_challenge_progress} projection and serves progress reads from it.
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class ChallengeProgressService {
+
+    private final UserChallengeProgressRepo progressRepo;
+    private final SubmissionRepo submissionRepo;
+    private final DailyPointsService dailyPointsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Persists a submission and merges its result into the progress projection
+     * within the same transaction. The first successful submission of a challenge
+     * also credits its points to the user's daily bucket. A {@link SubmissionRecordedEvent}
+     * is published for the hunt statistics.
+     *
+     * @param submission the submission to store
+     * @param challenge  the submitted challenge
+     * @return the saved submission
+     */
+    @Transactional
+    public Submission recordSubmission(Submission submission, Challenge challenge) {
+        Submission saved = submissionRepo.save(submission);
+        Long huntId = challenge.getHunt().getId();
+        boolean success = Submission.SubmissionStatus.SUCCESS.equals(saved.getStatus());
+        boolean firstSolveInHunt = false;
+
+        if (success) {
+            Long userId = saved.getUserId();
+            Long challengeId = saved.getChallengeId();
+            // Decided by the writes themselves, so concurrent successful runs credit the points once
+            boolean firstSolve =
+                    progressRepo.insertSolved(userId, challengeId, huntId, saved.getTime(), saved.getRuntime()) == 1
+                            || progressRepo.markSolved(userId, challengeId, saved.getTime(), saved.getRuntime()) == 1;
+            if (!firstSolve) {
+                progressRepo.recordRuntime(userId, challengeId, saved.getRuntime());
+            }
+            firstSolveInHunt = firstSolve && countSolved(userId, huntId) == 1;
+            if (firstSolve && challenge.getPoints() != null) {
+                dailyPointsService.addPoints(userId, challenge.getPoints(), saved.getTime());
+            }
+        } else {
+            progressRepo.upsertFailure(saved.getUserId(), saved.getChallengeId(), huntId);
+        }
+
+        eventPublisher.publishEvent(new SubmissionRecordedEvent(huntId, saved.getChallengeId(), saved.getUserId(),
+                success, firstSolveInHunt));
+        return saved;
+    }
+
+    public boolean hasSolved(Long userId, Long challengeId) {
+        return progressRepo.findById(new UserChallengeProgressId(userId, challengeId))
+                .map(UserChallengeProgress::isSolved)
+                .orElse(false);
+    }
+
+    public long countSolved(Long userId, Long huntId) {
+        return progressRepo.countSolved(userId, huntId);
+    }
+
+    /**
+     * @return the user's progress rows for a hunt, keyed by challenge id
+     */
+    public Map<Long, UserChallengeProgress> getProgressByChallenge(Long userId, Long huntId) {
+        return progressRepo.findByUserIdAndHuntId(userId, huntId).stream()
+                .collect(Collectors.toMap(p -> p.getId().getChallengeId(), Function.identity()));
+    }
+
+    /**
+     * @return every progress row of a hunt, grouped by user id
+     */
+    public Map<Long, List<UserChallengeProgress>> getHuntProgressByUser(Long huntId) {
+        return progressRepo.findByHuntId(huntId).stream()
+                .collect(Collectors.groupingBy(p -> p.getId().getUserId()));
+    }
+
+    /**
+     * Drops and rebuilds the whole projection from the raw submissions table,
+     * then rebuilds the daily point buckets derived from it.
+     *
+     * @return the number of progress rows written
+     */
+    @Transactional
+    public int rebuild() {
+        int removed = progressRepo.deleteAllRows();
+        int written = progressRepo.backfillFromSubmissions();
+        log.info("Rebuilt user challenge progress: removed {} rows, wrote {} rows", removed, written);
+        dailyPointsService.rebuild();
+        return written;
+    }
+}
@@ -0,0 +1,30 @@
+package org.treasurehunt.submissions.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the progress projection on startup when the application is launched
+ * with {@code --rebuild-progress}.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class ProgressRebuildRunner implements ApplicationRunner {
+
+    static final String REBUILD_OPTION = "rebuild-progress";
+
+    private final ChallengeProgressService challengeProgressService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(REBUILD_OPTION)) {
+            return;
+        }
+        log.info("Rebuilding user challenge progress from submissions");
+        challengeProgressService.rebuild();
+    }
+}
@@ -0,0 +1,10 @@
+package org.treasurehunt.submissions.service;
+
+/**
+ * Published when a submission has been stored and merged into the progress projection.
+ *
+ * @param firstSolveInHunt whether this is the user's first solved challenge in the hunt
+ */
+public record SubmissionRecordedEvent(Long huntId, Long challengeId, Long userId, boolean success,
+                                      boolean firstSolveInHunt) {
+}
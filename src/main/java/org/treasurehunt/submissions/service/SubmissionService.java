@@ -35,6 +35,7 @@ public class SubmissionService {
     private final ChallengeRepository challengeRepository;
     private final SubmissionRepo submissionRepo;
     private final UserRepository userRepository;
+    private final ChallengeProgressService challengeProgressService;
 
     public Submission submit(Long challengeId, ChallengeSubmitRequest request) {
         UserDetailsDTO user = AuthUtil.getUserFromSecurityContext().orElseThrow();
@@ -56,8 +57,20 @@ public class SubmissionService {
                 .allMatch(SubmitSolutionResponse.TestCaseResult::passed);
 
         submission.setStatus(allPassed ? Submission.SubmissionStatus.SUCCESS : Submission.SubmissionStatus.FAIL);
+        if (allPassed) {
+            submission.setRuntime(totalRuntime(testCaseResults));
+        }
+
+        return challengeProgressService.recordSubmission(submission, challenge);
+    }
 
-        return submissionRepo.save(submission);
+    private Double totalRuntime(List<SubmitSolutionResponse.TestCaseResult> testCaseResults) {
+        if (testCaseResults.stream().anyMatch(result -> result.runtime() == null)) {
+            return null;
+        }
+        return testCaseResults.stream()
+                .mapToDouble(SubmitSolutionResponse.TestCaseResult::runtime)
+                .sum();
     }
 
     public SubmissionListResponse getSubmissionsByHuntIdAndHunterName(Long huntId, String hunterName, Integer page, Integer pageSize) {
@@ -0,0 +1,11 @@
+package org.treasurehunt.user.api;
+
+import java.time.Instant;
+
+public record ScoreHistoryPoint(
+        Instant bucketStart,
+        int maxScore,
+        int closeScore,
+        Integer rank
+) {
+}
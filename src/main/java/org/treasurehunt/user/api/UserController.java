@@ -10,13 +10,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.NotNull;
-import org.apache.commons.lang3.StringUtils;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import java.util.List;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -28,23 +28,26 @@ import org.treasurehunt.auth.UserAuthResponse;
 import org.treasurehunt.common.api.ApiResp;
 import org.treasurehunt.common.api.PageDTO;
 import org.treasurehunt.common.api.PageResponse;
+import org.treasurehunt.common.api.RenderedJson;
 import org.treasurehunt.common.enums.Roles;
+import org.treasurehunt.common.image.ImageCache;
+import org.treasurehunt.common.image.ImageKind;
+import org.treasurehunt.common.image.ImageSize;
+import org.treasurehunt.common.enums.ScoreGranularity;
 import org.treasurehunt.security.UserDetailsDTO;
 import org.treasurehunt.user.mapper.UserMapper;
+import org.treasurehunt.user.service.LeaderboardCache;
 import org.treasurehunt.user.service.UserService;
 import org.treasurehunt.user.repository.UserSearchCriteria;
 import jakarta.validation.Valid;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 import static org.treasurehunt.common.constants.PathConstants.USER_BASE;
 import static org.treasurehunt.common.constants.PathConstants.USER_IMAGE;
-import static org.treasurehunt.common.constants.UploadingConstants.USER_UPLOAD_DIR;
 
 @Tag(name = "Users Management",
         description = "API Endpoints for managing users")
@@ -55,10 +58,15 @@ public class UserController {
 
     private final UserService userService;
     private final UserMapper userMapper;
+    private final LeaderboardCache leaderboardCache;
+    private final ImageCache imageCache;
 
-    public UserController(UserService userService, UserMapper userMapper) {
+    public UserController(UserService userService, UserMapper userMapper, LeaderboardCache leaderboardCache,
+                          ImageCache imageCache) {
         this.userService = userService;
         this.userMapper = userMapper;
+        this.leaderboardCache = leaderboardCache;
+        this.imageCache = imageCache;
     }
 
     @PreAuthorize("hasAuthority('ADMIN')")
@@ -142,25 +150,13 @@ public class UserController {
     }
 
     @GetMapping(USER_IMAGE)
-    public ResponseEntity<Resource> getUserImage(@PathVariable Long id) {
-        try {
-            String profilePic = userService.getProfilePic(id);
-            if (!StringUtils.isNotBlank(profilePic)) {
-                return ResponseEntity.ok(null);
-            }
-
-            Path filePath = Paths.get(USER_UPLOAD_DIR).resolve(profilePic).normalize();
-            if (!Files.exists(filePath)) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
-            }
-
-            Resource resource = new UrlResource(filePath.toUri());
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_TYPE, Files.probeContentType(filePath))
-                    .body(resource);
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
-        }
+    public void getUserImage(
+            @PathVariable Long id,
+            @RequestParam(value = "size", required = false) String size,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        imageCache.serve(ImageKind.USER, id, ImageSize.fromParam(size), userService::getProfilePic, request, response);
     }
 
 
@@ -174,17 +170,37 @@ public class UserController {
     }
 
     @GetMapping("/score")
-    public ResponseEntity<UserScoreResponse> getUserScore() {
-        return ResponseEntity.ok(userService.getUserScore());
+    public ResponseEntity<UserScoreResponse> getUserScore(
+            @RequestParam(name = "lastEarnedDays", defaultValue = "7") int lastEarnedDays
+    ) {
+        return ResponseEntity.ok(userService.getUserScore(lastEarnedDays));
+    }
+
+    @Operation(
+            summary = "Get score history",
+            description = "Retrieves the current user's score over time, downsampled to hourly, daily or weekly buckets.",
+            security = {@SecurityRequirement(name = "bearer-key")}
+    )
+    @GetMapping("/score/history")
+    public ResponseEntity<ApiResp<ScoreHistoryPoint>> getScoreHistory(
+            @RequestParam(name = "granularity", defaultValue = "DAILY") ScoreGranularity granularity,
+            @RequestParam(name = "from") Instant from,
+            @RequestParam(name = "to", required = false) Instant to
+    ) {
+        List<ScoreHistoryPoint> history = userService.getScoreHistory(granularity, from, to != null ? to : Instant.now());
+        return ResponseEntity.ok(ApiResp.success(history, "Score history retrieved successfully"));
     }
 
     @Operation(
             summary = "Get leaderboard",
-            description = "Retrieves a paginated list of users sorted by score in descending order.",
+            description = "Retrieves a paginated list of users sorted by score in descending order. "
+                    + "Responses carry an ETag; send it back in If-None-Match to get 304 Not Modified while the page is unchanged.",
             security = {@SecurityRequirement(name = "bearer-key")}
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Leaderboard fetched successfully"),
+            @ApiResponse(responseCode = "200", description = "Leaderboard fetched successfully",
+                    content = @Content(schema = @Schema(implementation = LeaderboardResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Leaderboard page unchanged since the given ETag"),
             @ApiResponse(
                     responseCode = "500",
                     description = "Internal Server Error - Unexpected server issue",
@@ -197,15 +213,27 @@ public class UserController {
             )
     })
     @GetMapping("/leaderboard")
-    public ResponseEntity<LeaderboardResponse> getLeaderboard(
+    public ResponseEntity<byte[]> getLeaderboard(
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
 
             @Parameter(description = "Page size", example = "10")
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        PageDTO pageDTO = new PageDTO(page, size, Sort.Direction.DESC, "score");
-        return ResponseEntity.ok(userService.getLeaderboard(pageDTO));
+        RenderedJson rendered = leaderboardCache.getPage(page, size);
+        if (rendered.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(rendered.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(rendered.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(rendered.body());
     }
 
     private Optional<UserDetailsDTO> getUserFromSecurityContext() {
@@ -8,14 +8,17 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.treasurehunt.auth.CreateUserRequest;
 import org.treasurehunt.auth.UserAuthResponse;
-import org.treasurehunt.hunt.repository.entity.Hunt;
+import org.treasurehunt.hunt.repository.CurrentHuntTitleRow;
+import org.treasurehunt.hunt.repository.HuntParticipationRepository;
 import org.treasurehunt.user.api.PublicUserProfile;
 import org.treasurehunt.user.repository.entity.Role;
 import org.treasurehunt.user.repository.entity.User;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring")
 public abstract class UserMapper {
@@ -23,6 +26,9 @@ public abstract class UserMapper {
     @Autowired
     protected PasswordEncoder passwordEncoder;
 
+    @Autowired
+    protected HuntParticipationRepository huntParticipationRepository;
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", expression = "java(java.time.Instant.now())")
     @Mapping(target = "updatedAt", expression = "java(java.time.Instant.now())")
@@ -30,11 +36,23 @@ public abstract class UserMapper {
             expression = "java( passwordEncoder.encode(request.password()) )")
     public abstract User toUser(CreateUserRequest request);
 
-    @Mapping(target = "currentHunt", expression = "java(getHuntTitle(user))")
-    public abstract UserAuthResponse toUserAuthResponse(User user);
+    @Mapping(target = "currentHunt", source = "currentHunt")
+    public abstract UserAuthResponse toUserAuthResponse(User user, String currentHunt);
 
-    // Convert a list of Users to a list of UserAuthResponses
-    public abstract List<UserAuthResponse> toUserAuthResponseList(List<User> users);
+    public UserAuthResponse toUserAuthResponse(User user) {
+        if (user == null) {
+            return null;
+        }
+        return toUserAuthResponse(user, getHuntTitle(user));
+    }
+
+    // Convert a list of Users to a list of UserAuthResponses, reading their current hunts in one query
+    public List<UserAuthResponse> toUserAuthResponseList(List<User> users) {
+        Map<Long, String> huntTitles = getHuntTitles(users);
+        return users.stream()
+                .map(user -> toUserAuthResponse(user, huntTitles.getOrDefault(user.getId(), "")))
+                .toList();
+    }
 
     // Convert Page<User> to Page<UserAuthResponse>
     public Page<UserAuthResponse> toUserAuthPageResponse(Page<User> users) {
@@ -51,8 +69,15 @@ public abstract class UserMapper {
     public abstract PublicUserProfile toPublicUser(User user);
 
     protected String getHuntTitle(User user){
-        if(user.getHunt() != null)
-            return user.getHunt().getTitle();
-        return "";
+        return huntParticipationRepository.findCurrentHuntTitle(user.getId()).orElse("");
+    }
+
+    protected Map<Long, String> getHuntTitles(List<User> users) {
+        if (users.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> userIds = users.stream().map(User::getId).toList();
+        return huntParticipationRepository.findCurrentHuntTitles(userIds).stream()
+                .collect(Collectors.toMap(CurrentHuntTitleRow::getUserId, CurrentHuntTitleRow::getTitle));
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package org.treasurehunt.user.repository;
+
+/**
+ * Projection of the columns the leaderboard needs, so ranking users does not load
+ * full {@link org.treasurehunt.user.repository.entity.User} entities and their roles.
+ */
+public interface LeaderboardRow {
+    Long getId();
+
+    String getUsername();
+
+    Integer getScore();
+
+    String getProfilePicture();
+}
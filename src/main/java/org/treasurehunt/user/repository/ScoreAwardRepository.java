@@ -0,0 +1,24 @@
+package org.treasurehunt.user.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.treasurehunt.user.repository.entity.ScoreAward;
+import org.treasurehunt.user.repository.entity.ScoreAwardId;
+
+import java.time.Instant;
+
+@Repository
+public interface ScoreAwardRepository extends JpaRepository<ScoreAward, ScoreAwardId> {
+
+    /**
+     * @return 1 if the award was recorded, 0 if the user was already credited for the challenge
+     */
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO score_award (user_id, challenge_id, points, awarded_at)
+            VALUES (:userId, :challengeId, :points, :awardedAt)
+            """, nativeQuery = true)
+    int insertIfAbsent(Long userId, Long challengeId, int points, Instant awardedAt);
+}
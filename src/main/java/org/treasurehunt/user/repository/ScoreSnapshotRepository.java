@@ -0,0 +1,90 @@
+package org.treasurehunt.user.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.treasurehunt.common.enums.ScoreGranularity;
+import org.treasurehunt.user.repository.entity.ScoreSnapshot;
+import org.treasurehunt.user.repository.entity.ScoreSnapshotId;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ScoreSnapshotRepository extends JpaRepository<ScoreSnapshot, ScoreSnapshotId> {
+
+    @Query("""
+            SELECT s FROM ScoreSnapshot s
+            WHERE s.id.userId = :userId AND s.id.granularity = :granularity
+              AND s.id.bucketStart >= :from AND s.id.bucketStart < :to
+            ORDER BY s.id.bucketStart
+            """)
+    List<ScoreSnapshot> findHistory(Long userId, ScoreGranularity granularity, Instant from, Instant to);
+
+    /**
+     * Highest score ever recorded for a user, across the raw log and every snapshot level.
+     */
+    @Query(value = """
+            SELECT GREATEST(
+                COALESCE((SELECT MAX(s.max_score) FROM score_snapshot s WHERE s.user_id = :userId), 0),
+                COALESCE((SELECT MAX(e.new_score) FROM score_event e WHERE e.user_id = :userId), 0))
+            """, nativeQuery = true)
+    int findHighestScore(Long userId);
+
+    /**
+     * Folds the raw events of {@code [from, to)} into one HOURLY row per user. The rank is the
+     * user's rank at rollup time.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO score_snapshot (user_id, granularity, bucket_start, max_score, close_score, close_rank)
+            SELECT e.user_id, 'HOURLY', :from, MAX(e.new_score),
+                   (SELECT l.new_score FROM score_event l
+                    WHERE l.user_id = e.user_id AND l.occurred_at >= :from AND l.occurred_at < :to
+                    ORDER BY l.occurred_at DESC, l.score_event_id DESC LIMIT 1),
+                   r.user_rank
+            FROM score_event e
+            JOIN (SELECT u.user_id, RANK() OVER (ORDER BY COALESCE(u.score, 0) DESC) AS user_rank
+                  FROM users u) r ON r.user_id = e.user_id
+            WHERE e.occurred_at >= :from AND e.occurred_at < :to
+            GROUP BY e.user_id, r.user_rank
+            ON DUPLICATE KEY UPDATE max_score = VALUES(max_score),
+                                    close_score = VALUES(close_score),
+                                    close_rank = VALUES(close_rank)
+            """, nativeQuery = true)
+    int rollupEvents(Instant from, Instant to);
+
+    /**
+     * Folds the {@code source} snapshots of {@code [from, to)} into one {@code target} row per user.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO score_snapshot (user_id, granularity, bucket_start, max_score, close_score, close_rank)
+            SELECT s.user_id, :target, :from, MAX(s.max_score),
+                   (SELECT l.close_score FROM score_snapshot l
+                    WHERE l.user_id = s.user_id AND l.granularity = :source
+                      AND l.bucket_start >= :from AND l.bucket_start < :to
+                    ORDER BY l.bucket_start DESC LIMIT 1),
+                   (SELECT l.close_rank FROM score_snapshot l
+                    WHERE l.user_id = s.user_id AND l.granularity = :source
+                      AND l.bucket_start >= :from AND l.bucket_start < :to
+                    ORDER BY l.bucket_start DESC LIMIT 1)
+            FROM score_snapshot s
+            WHERE s.granularity = :source AND s.bucket_start >= :from AND s.bucket_start < :to
+            GROUP BY s.user_id
+            ON DUPLICATE KEY UPDATE max_score = VALUES(max_score),
+                                    close_score = VALUES(close_score),
+                                    close_rank = VALUES(close_rank)
+            """, nativeQuery = true)
+    int rollupSnapshots(String source, String target, Instant from, Instant to);
+
+    @Modifying
+    @Query(value = "DELETE FROM score_event WHERE occurred_at < :before", nativeQuery = true)
+    int deleteEventsBefore(Instant before);
+
+    @Modifying
+    @Query(value = "DELETE FROM score_snapshot WHERE granularity = :granularity AND bucket_start < :before",
+            nativeQuery = true)
+    int deleteSnapshotsBefore(String granularity, Instant before);
+}
@@ -0,0 +1,47 @@
+package org.treasurehunt.user.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.treasurehunt.user.repository.entity.UserDailyPoints;
+import org.treasurehunt.user.repository.entity.UserDailyPointsId;
+
+import java.time.LocalDate;
+
+@Repository
+public interface UserDailyPointsRepository extends JpaRepository<UserDailyPoints, UserDailyPointsId> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_daily_points (user_id, day, points)
+            VALUES (:userId, :day, :points)
+            ON DUPLICATE KEY UPDATE points = points + VALUES(points)
+            """, nativeQuery = true)
+    int addPoints(Long userId, LocalDate day, int points);
+
+    @Query("""
+            SELECT COALESCE(SUM(p.points), 0) FROM UserDailyPoints p
+            WHERE p.id.userId = :userId AND p.id.day >= :fromDay
+            """)
+    long sumPointsSince(Long userId, LocalDate fromDay);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_daily_points", nativeQuery = true)
+    int deleteAllRows();
+
+    /**
+     * Rebuilds the buckets from the first-solve timestamps kept in the progress projection.
+     * Days are taken in UTC, like {@code DailyPointsService#addPoints}, whatever the session time zone.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_daily_points (user_id, day, points)
+            SELECT p.user_id, DATE(CONVERT_TZ(p.solved_at, @@session.time_zone, '+00:00')), SUM(c.points)
+            FROM user_challenge_progress p
+            JOIN challenge c ON c.challenge_id = p.challenge_id
+            WHERE p.solved_at IS NOT NULL
+            GROUP BY p.user_id, DATE(CONVERT_TZ(p.solved_at, @@session.time_zone, '+00:00'))
+            """, nativeQuery = true)
+    int backfillFromProgress();
+}
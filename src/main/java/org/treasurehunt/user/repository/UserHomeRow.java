@@ -0,0 +1,27 @@
+package org.treasurehunt.user.repository;
+
+import java.util.Date;
+
+/**
+ * Everything the home screen needs about a user and their current hunt, read in one statement.
+ * Aggregates are exposed as {@link Number} because their SQL type depends on the expression.
+ */
+public interface UserHomeRow {
+    Long getUserId();
+
+    Number getScore();
+
+    Number getUserRank();
+
+    Number getLastEarned();
+
+    Number getHighestScore();
+
+    Long getHuntId();
+
+    String getHuntTitle();
+
+    String getHuntStatus();
+
+    Date getHuntEndDate();
+}
@@ -1,5 +1,6 @@
 package org.treasurehunt.user.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +9,9 @@ import org.springframework.stereotype.Repository;
 import org.treasurehunt.common.repository.criteria.CriteriaRepository;
 import org.treasurehunt.user.repository.entity.User;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -38,4 +42,57 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
+
+    /**
+     * Adds {@code delta} to the user's score in a single statement, without loading the entity.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.score = COALESCE(u.score, 0) + :delta WHERE u.id = :userId")
+    int incrementScore(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Query("SELECT COALESCE(u.score, 0) FROM User u WHERE u.id = :userId")
+    int getScoreById(@Param("userId") Long userId);
+
+    @Query("SELECT u.id AS userId, COALESCE(u.score, 0) AS score FROM User u WHERE u.id IN :userIds")
+    List<UserScoreRow> findScoresByIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Query("""
+            SELECT u.id AS id, u.username AS username, COALESCE(u.score, 0) AS score,
+                   u.profilePicture AS profilePicture
+            FROM User u
+            ORDER BY COALESCE(u.score, 0) DESC, u.id ASC
+            """)
+    List<LeaderboardRow> findLeaderboardRows(Pageable pageable);
+
+    /**
+     * @return how many users have a strictly higher score; a user's rank is this plus one
+     */
+    @Query("SELECT COUNT(u) FROM User u WHERE COALESCE(u.score, 0) > :score")
+    long countUsersWithScoreAbove(@Param("score") int score);
+
+    /**
+     * Reads the user's score, rank, points earned since {@code fromDay}, highest score and
+     * current hunt in a single statement.
+     */
+    @Query(value = """
+            SELECT u.user_id AS userId,
+                   COALESCE(u.score, 0) AS score,
+                   (SELECT COUNT(*) FROM users o WHERE COALESCE(o.score, 0) > COALESCE(u.score, 0)) + 1 AS userRank,
+                   (SELECT COALESCE(SUM(d.points), 0) FROM user_daily_points d
+                    WHERE d.user_id = u.user_id AND d.day >= :fromDay) AS lastEarned,
+                   GREATEST(COALESCE(u.score, 0),
+                            COALESCE((SELECT MAX(s.max_score) FROM score_snapshot s WHERE s.user_id = u.user_id), 0),
+                            COALESCE((SELECT MAX(e.new_score) FROM score_event e WHERE e.user_id = u.user_id), 0))
+                       AS highestScore,
+                   h.hunt_id AS huntId,
+                   h.title AS huntTitle,
+                   h.status AS huntStatus,
+                   h.end_date AS huntEndDate
+            FROM users u
+            LEFT JOIN hunt h ON h.hunt_id = (SELECT p.hunt_id FROM hunt_participation p
+                                             WHERE p.user_id = u.user_id
+                                             ORDER BY p.joined_at DESC LIMIT 1)
+            WHERE u.user_id = :userId
+            """, nativeQuery = true)
+    Optional<UserHomeRow> findHomeRow(@Param("userId") Long userId, @Param("fromDay") LocalDate fromDay);
 }
@@ -0,0 +1,10 @@
+package org.treasurehunt.user.repository;
+
+/**
+ * A user's current total score.
+ */
+public interface UserScoreRow {
+    Long getUserId();
+
+    Integer getScore();
+}
@@ -0,0 +1,29 @@
+package org.treasurehunt.user.repository.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Marks that a user has been credited for a challenge. The primary key makes awards idempotent.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "score_award")
+public class ScoreAward {
+
+    @EmbeddedId
+    private ScoreAwardId id;
+
+    @Column(name = "points", nullable = false)
+    private Integer points;
+
+    @Column(name = "awarded_at", nullable = false)
+    private Instant awardedAt;
+}
@@ -0,0 +1,43 @@
+package org.treasurehunt.user.repository.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.Hibernate;
+
+import java.io.Serial;
+import java.util.Objects;
+
+@Getter
+@Setter
+@Embeddable
+@NoArgsConstructor
+public class ScoreAwardId implements java.io.Serializable {
+    @Serial
+    private static final long serialVersionUID = -2096334511372083554L;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(name = "challenge_id", nullable = false)
+    private Long challengeId;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        ScoreAwardId entity = (ScoreAwardId) o;
+        return Objects.equals(this.userId, entity.userId) &&
+               Objects.equals(this.challengeId, entity.challengeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, challengeId);
+    }
+}
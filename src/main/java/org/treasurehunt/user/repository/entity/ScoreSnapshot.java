@@ -0,0 +1,30 @@
+package org.treasurehunt.user.repository.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Downsampled view of a user's score over one hour, day or week.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "score_snapshot")
+public class ScoreSnapshot {
+
+    @EmbeddedId
+    private ScoreSnapshotId id;
+
+    @Column(name = "max_score", nullable = false)
+    private Integer maxScore;
+
+    @Column(name = "close_score", nullable = false)
+    private Integer closeScore;
+
+    @Column(name = "close_rank")
+    private Integer closeRank;
+}
@@ -0,0 +1,53 @@
+package org.treasurehunt.user.repository.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.Hibernate;
+import org.treasurehunt.common.enums.ScoreGranularity;
+
+import java.io.Serial;
+import java.time.Instant;
+import java.util.Objects;
+
+@Getter
+@Setter
+@Embeddable
+@NoArgsConstructor
+public class ScoreSnapshotId implements java.io.Serializable {
+    @Serial
+    private static final long serialVersionUID = 6630915837215468170L;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 10)
+    private ScoreGranularity granularity;
+
+    @NotNull
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        ScoreSnapshotId entity = (ScoreSnapshotId) o;
+        return Objects.equals(this.userId, entity.userId) &&
+               Objects.equals(this.granularity, entity.granularity) &&
+               Objects.equals(this.bucketStart, entity.bucketStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, granularity, bucketStart);
+    }
+}
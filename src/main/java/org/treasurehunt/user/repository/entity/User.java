@@ -67,10 +67,6 @@ public class User {
     @Column(name = "refresh_token_exp")
     private Instant refreshTokenExpiry;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "hunt_id")
-    private Hunt hunt;
-
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "reviewer")
     private List<Hunt> huntsToReview;
 
@@ -0,0 +1,24 @@
+package org.treasurehunt.user.repository.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Points a user earned on a single (UTC) day.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "user_daily_points")
+public class UserDailyPoints {
+
+    @EmbeddedId
+    private UserDailyPointsId id;
+
+    @Column(name = "points", nullable = false)
+    private Integer points;
+}
@@ -0,0 +1,49 @@
+package org.treasurehunt.user.repository.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.Hibernate;
+
+import java.io.Serial;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Getter
+@Setter
+@Embeddable
+@NoArgsConstructor
+public class UserDailyPointsId implements java.io.Serializable {
+    @Serial
+    private static final long serialVersionUID = -4127381931360716145L;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    public UserDailyPointsId(Long userId, LocalDate day) {
+        this.userId = userId;
+        this.day = day;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        UserDailyPointsId entity = (UserDailyPointsId) o;
+        return Objects.equals(this.userId, entity.userId) &&
+               Objects.equals(this.day, entity.day);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, day);
+    }
+}
@@ -0,0 +1,69 @@
+package org.treasurehunt.user.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.treasurehunt.exception.BadRequestException;
+import org.treasurehunt.user.repository.UserDailyPointsRepository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Keeps per-user daily point buckets so "points earned in the last N days"
+ * is a sum over at most N rows instead of a scan over submissions.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class DailyPointsService {
+
+    private final UserDailyPointsRepository userDailyPointsRepository;
+
+    /**
+     * Adds points to the bucket of the (UTC) day the points were earned on.
+     */
+    @Transactional
+    public void addPoints(Long userId, int points, Instant earnedAt) {
+        if (points == 0) {
+            return;
+        }
+        userDailyPointsRepository.addPoints(userId, LocalDate.ofInstant(earnedAt, ZoneOffset.UTC), points);
+    }
+
+    /**
+     * Sums the points earned over a window of {@code days} buckets ending today.
+     *
+     * @param userId the user
+     * @param days   window size in days, today included
+     * @return the points earned in the window
+     */
+    public int getPointsEarnedInLastDays(Long userId, int days) {
+        if (days < 1) {
+            throw new BadRequestException("The window must be at least one day");
+        }
+        return (int) userDailyPointsRepository.sumPointsSince(userId, windowStart(days));
+    }
+
+    /**
+     * @return the first (UTC) day of a window of {@code days} buckets ending today
+     */
+    public static LocalDate windowStart(int days) {
+        return LocalDate.now(ZoneOffset.UTC).minusDays(days - 1L);
+    }
+
+    /**
+     * Rebuilds every bucket from the challenge progress projection.
+     *
+     * @return the number of buckets written
+     */
+    @Transactional
+    public int rebuild() {
+        userDailyPointsRepository.deleteAllRows();
+        int written = userDailyPointsRepository.backfillFromProgress();
+        log.info("Rebuilt daily point buckets: wrote {} rows", written);
+        return written;
+    }
+}
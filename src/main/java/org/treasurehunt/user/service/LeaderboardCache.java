@@ -0,0 +1,160 @@
+package org.treasurehunt.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.treasurehunt.common.api.PageDTO;
+import org.treasurehunt.common.api.RenderedJson;
+import org.treasurehunt.exception.BadRequestException;
+import org.treasurehunt.user.api.LeaderboardResponse;
+import org.treasurehunt.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves leaderboard pages from a versioned snapshot of the top-K users.
+ * <p>
+ * The snapshot is rebuilt with one paged query when a score changed, at most once every
+ * {@code app.leaderboard.min-rebuild-interval-ms}, and at least every
+ * {@code app.leaderboard.max-age-ms} to pick up other changes such as new users.
+ * Each page is serialized to JSON once per snapshot and carries a strong ETag derived
+ * from its bytes, so repeated polls cost neither a query nor serialization.
+ * Pages beyond the top K fall back to {@link UserService#getLeaderboard(PageDTO)}.
+ */
+@Log4j2
+@Component
+public class LeaderboardCache {
+
+    private static final int MAX_CACHED_PAGES = 256;
+
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final int topK;
+    private final long minRebuildIntervalMs;
+    private final long maxAgeMs;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    private volatile boolean dirty = true;
+
+    public LeaderboardCache(UserRepository userRepository,
+                            UserService userService,
+                            ObjectMapper objectMapper,
+                            @Value("${app.leaderboard.top-k:1000}") int topK,
+                            @Value("${app.leaderboard.min-rebuild-interval-ms:2000}") long minRebuildIntervalMs,
+                            @Value("${app.leaderboard.max-age-ms:60000}") long maxAgeMs) {
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.topK = topK;
+        this.minRebuildIntervalMs = minRebuildIntervalMs;
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    private record Snapshot(long version,
+                            long builtAt,
+                            List<LeaderboardResponse.LeaderboardUser> top,
+                            long totalElements,
+                            Map<Long, RenderedJson> pages) {
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoreChanged(ScoreChangedEvent event) {
+        dirty = true;
+    }
+
+    public void invalidate() {
+        dirty = true;
+    }
+
+    public RenderedJson getPage(int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new BadRequestException("Page must be >= 0 and size must be >= 1");
+        }
+
+        Snapshot current = currentSnapshot();
+        long fromIndex = (long) page * size;
+        boolean beyondTopK = fromIndex + size > current.top().size()
+                && current.top().size() < current.totalElements();
+        if (beyondTopK) {
+            PageDTO pageDTO = new PageDTO(page, size, Sort.Direction.DESC, "score");
+            return render(userService.getLeaderboard(pageDTO));
+        }
+
+        long key = ((long) page << 32) | size;
+        RenderedJson cached = current.pages().get(key);
+        if (cached != null) {
+            return cached;
+        }
+        RenderedJson rendered = render(slice(current, page, size));
+        if (current.pages().size() < MAX_CACHED_PAGES) {
+            current.pages().putIfAbsent(key, rendered);
+        }
+        return rendered;
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && isFresh(current)) {
+            return current;
+        }
+
+        if (current == null) {
+            rebuildLock.lock();
+        } else if (!rebuildLock.tryLock()) {
+            // Someone else is rebuilding; the previous snapshot is good enough meanwhile
+            return current;
+        }
+        try {
+            current = snapshot;
+            if (current != null && isFresh(current)) {
+                return current;
+            }
+            // Cleared before reading so that changes landing during the rebuild mark it dirty again
+            dirty = false;
+            long version = current == null ? 1 : current.version() + 1;
+            Snapshot rebuilt = new Snapshot(
+                    version,
+                    System.currentTimeMillis(),
+                    userRepository.findLeaderboardRows(PageRequest.of(0, topK)).stream()
+                            .map(UserService::toLeaderboardUser)
+                            .toList(),
+                    userRepository.count(),
+                    new ConcurrentHashMap<>());
+            snapshot = rebuilt;
+            log.debug("Rebuilt leaderboard snapshot v{} with {} users", version, rebuilt.top().size());
+            return rebuilt;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private boolean isFresh(Snapshot current) {
+        long age = System.currentTimeMillis() - current.builtAt();
+        return age < minRebuildIntervalMs || (!dirty && age < maxAgeMs);
+    }
+
+    private static LeaderboardResponse slice(Snapshot current, int page, int size) {
+        int fromIndex = (int) Math.min((long) page * size, current.top().size());
+        int toIndex = Math.min(fromIndex + size, current.top().size());
+        return new LeaderboardResponse(
+                current.top().subList(fromIndex, toIndex),
+                (int) Math.ceil((double) current.totalElements() / size),
+                current.totalElements(),
+                size,
+                page
+        );
+    }
+
+    private RenderedJson render(LeaderboardResponse response) {
+        return RenderedJson.of(objectMapper, response);
+    }
+}
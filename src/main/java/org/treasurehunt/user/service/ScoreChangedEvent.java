@@ -0,0 +1,15 @@
+package org.treasurehunt.user.service;
+
+import java.time.Instant;
+
+/**
+ * Published whenever a user's total score changes.
+ *
+ * @param userId   the user whose score changed
+ * @param delta    the signed change applied to the score
+ * @param newScore the score after the change
+ * @param huntId   the hunt the change originated from, if any
+ * @param at       when the change happened
+ */
+public record ScoreChangedEvent(Long userId, int delta, int newScore, Long huntId, Instant at) {
+}
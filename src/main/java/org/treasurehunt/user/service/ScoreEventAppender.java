@@ -0,0 +1,120 @@
+package org.treasurehunt.user.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends {@link ScoreChangedEvent}s to the {@code score_event} log off the request thread.
+ * <p>
+ * Events are queued once the publishing transaction commits and a single daemon thread
+ * drains the queue into batched inserts. When the queue is full the caller writes its
+ * event directly rather than dropping it.
+ */
+@Log4j2
+@Component
+public class ScoreEventAppender {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO score_event (user_id, delta, new_score, hunt_id, occurred_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<ScoreChangedEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private Thread writer;
+    private volatile boolean running;
+
+    public ScoreEventAppender(JdbcTemplate jdbcTemplate,
+                              @Value("${app.score-history.queue-capacity:10000}") int queueCapacity,
+                              @Value("${app.score-history.batch-size:500}") int batchSize,
+                              @Value("${app.score-history.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "score-event-appender");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        flushRemaining();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoreChanged(ScoreChangedEvent event) {
+        append(event);
+    }
+
+    public void append(ScoreChangedEvent event) {
+        if (!queue.offer(event)) {
+            log.warn("Score event queue is full, writing event for user {} synchronously", event.userId());
+            write(List.of(event));
+        }
+    }
+
+    private void drainLoop() {
+        List<ScoreChangedEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ScoreChangedEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        List<ScoreChangedEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<ScoreChangedEvent> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                ps.setLong(1, event.userId());
+                ps.setInt(2, event.delta());
+                ps.setInt(3, event.newScore());
+                ps.setObject(4, event.huntId());
+                ps.setTimestamp(5, Timestamp.from(event.at()));
+            });
+        } catch (DataAccessException e) {
+            log.error("Failed to append {} score events", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.treasurehunt.user.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.treasurehunt.common.enums.ScoreGranularity;
+import org.treasurehunt.exception.BadRequestException;
+import org.treasurehunt.user.api.ScoreHistoryPoint;
+import org.treasurehunt.user.repository.ScoreSnapshotRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reads and maintains the downsampled score history.
+ * <p>
+ * Raw {@code score_event} rows are folded into HOURLY snapshots, hours into DAILY and days
+ * into WEEKLY ones. Each level is kept for a bounded period so history reads never touch
+ * more than a few hundred rows per user.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class ScoreHistoryService {
+
+    static final Duration EVENT_RETENTION = Duration.ofDays(7);
+    static final Duration HOURLY_RETENTION = Duration.ofDays(35);
+    static final Duration DAILY_RETENTION = Duration.ofDays(400);
+
+    private final ScoreSnapshotRepository scoreSnapshotRepository;
+
+    /**
+     * @return the highest score the user ever had, or {@code currentScore} if that is higher
+     */
+    public int getHighestScore(Long userId, int currentScore) {
+        return Math.max(currentScore, scoreSnapshotRepository.findHighestScore(userId));
+    }
+
+    public List<ScoreHistoryPoint> getHistory(Long userId, ScoreGranularity granularity, Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        return scoreSnapshotRepository.findHistory(userId, granularity, from, to).stream()
+                .map(s -> new ScoreHistoryPoint(s.getId().getBucketStart(), s.getMaxScore(),
+                        s.getCloseScore(), s.getCloseRank()))
+                .toList();
+    }
+
+    @Transactional
+    public int rollupHour(Instant hourStart) {
+        int rows = scoreSnapshotRepository.rollupEvents(hourStart, hourStart.plus(Duration.ofHours(1)));
+        log.debug("Rolled up score events of {} into {} hourly snapshots", hourStart, rows);
+        return rows;
+    }
+
+    @Transactional
+    public int rollupDay(Instant dayStart) {
+        return scoreSnapshotRepository.rollupSnapshots(ScoreGranularity.HOURLY.name(), ScoreGranularity.DAILY.name(),
+                dayStart, dayStart.plus(Duration.ofDays(1)));
+    }
+
+    @Transactional
+    public int rollupWeek(Instant weekStart) {
+        return scoreSnapshotRepository.rollupSnapshots(ScoreGranularity.DAILY.name(), ScoreGranularity.WEEKLY.name(),
+                weekStart, weekStart.plus(Duration.ofDays(7)));
+    }
+
+    /**
+     * Drops raw events and fine-grained snapshots that have already been folded into a coarser level.
+     */
+    @Transactional
+    public void prune(Instant now) {
+        int events = scoreSnapshotRepository.deleteEventsBefore(now.minus(EVENT_RETENTION));
+        int hourly = scoreSnapshotRepository.deleteSnapshotsBefore(ScoreGranularity.HOURLY.name(),
+                now.minus(HOURLY_RETENTION));
+        int daily = scoreSnapshotRepository.deleteSnapshotsBefore(ScoreGranularity.DAILY.name(),
+                now.minus(DAILY_RETENTION));
+        log.info("Pruned score history: {} events, {} hourly and {} daily snapshots", events, hourly, daily);
+    }
+}
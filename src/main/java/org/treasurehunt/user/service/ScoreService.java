@@ -0,0 +1,50 @@
+package org.treasurehunt.user.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.treasurehunt.user.repository.ScoreAwardRepository;
+import org.treasurehunt.user.repository.UserRepository;
+
+import java.time.Instant;
+
+/**
+ * Single entry point for crediting points to a user's score.
+ * <p>
+ * Scores are changed with atomic {@code UPDATE ... SET score = score + ?} statements instead
+ * of a read-modify-write on the {@link org.treasurehunt.user.repository.entity.User} entity,
+ * and each (user, challenge) pair can be credited at most once.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScoreService {
+
+    private final ScoreAwardRepository scoreAwardRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Credits a challenge's points to a user unless they were already credited for it.
+     * The award row and the score increment are written in the same transaction, so
+     * concurrent calls for the same pair serialize on the award's primary key.
+     *
+     * @param userId      the user to credit
+     * @param challengeId the challenge being credited
+     * @param points      the points to add
+     * @param huntId      the hunt the challenge belongs to
+     * @return {@code true} if the points were added, {@code false} if already awarded
+     */
+    @Transactional
+    public boolean awardChallenge(Long userId, Long challengeId, int points, Long huntId) {
+        Instant now = Instant.now();
+        if (scoreAwardRepository.insertIfAbsent(userId, challengeId, points, now) == 0) {
+            return false;
+        }
+
+        userRepository.incrementScore(userId, points);
+        int newScore = userRepository.getScoreById(userId);
+        eventPublisher.publishEvent(new ScoreChangedEvent(userId, points, newScore, huntId, now));
+        return true;
+    }
+}
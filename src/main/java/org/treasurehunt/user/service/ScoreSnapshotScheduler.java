@@ -0,0 +1,59 @@
+package org.treasurehunt.user.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Runs the score history rollups. Every run re-folds the previous bucket as well, so
+ * events flushed late by the appender are still picked up.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class ScoreSnapshotScheduler {
+
+    private final ScoreHistoryService scoreHistoryService;
+
+    @Scheduled(cron = "0 5 * * * *", zone = "UTC")
+    public void rollupHours() {
+        Instant currentHour = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        try {
+            scoreHistoryService.rollupHour(currentHour.minus(2, ChronoUnit.HOURS));
+            scoreHistoryService.rollupHour(currentHour.minus(1, ChronoUnit.HOURS));
+        } catch (DataAccessException e) {
+            log.error("Hourly score rollup failed", e);
+        }
+    }
+
+    @Scheduled(cron = "0 15 0 * * *", zone = "UTC")
+    public void rollupDays() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        try {
+            scoreHistoryService.rollupDay(today.minusDays(2).atStartOfDay(ZoneOffset.UTC).toInstant());
+            scoreHistoryService.rollupDay(today.minusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+            scoreHistoryService.prune(Instant.now());
+        } catch (DataAccessException e) {
+            log.error("Daily score rollup failed", e);
+        }
+    }
+
+    @Scheduled(cron = "0 30 0 * * MON", zone = "UTC")
+    public void rollupWeeks() {
+        LocalDate thisWeek = LocalDate.now(ZoneOffset.UTC).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        try {
+            scoreHistoryService.rollupWeek(thisWeek.minusWeeks(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+        } catch (DataAccessException e) {
+            log.error("Weekly score rollup failed", e);
+        }
+    }
+}
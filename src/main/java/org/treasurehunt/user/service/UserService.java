@@ -2,6 +2,7 @@ package org.treasurehunt.user.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -17,16 +18,17 @@ import org.treasurehunt.auth.UserAuthResponse;
 import org.treasurehunt.common.api.PageDTO;
 import org.treasurehunt.common.api.PageResponse;
 import org.treasurehunt.common.enums.Roles;
+import org.treasurehunt.common.enums.ScoreGranularity;
+import org.treasurehunt.common.image.ImageChangedEvent;
+import org.treasurehunt.common.image.ImageKind;
 import org.treasurehunt.common.util.FIleUploadUtil;
 import org.treasurehunt.exception.*;
-import org.treasurehunt.hunt.repository.ChallengeRepository;
-import org.treasurehunt.hunt.repository.entity.Challenge;
 import org.treasurehunt.security.jwt.JwtService;
-import org.treasurehunt.submissions.repo.Submission;
-import org.treasurehunt.submissions.repo.SubmissionRepo;
 import org.treasurehunt.user.api.LeaderboardResponse;
+import org.treasurehunt.user.api.ScoreHistoryPoint;
 import org.treasurehunt.user.api.UpdateUserRequest;
 import org.treasurehunt.user.mapper.UserMapper;
+import org.treasurehunt.user.repository.LeaderboardRow;
 import org.treasurehunt.user.repository.UserCriteriaRepository;
 import org.treasurehunt.user.repository.UserSearchCriteria;
 import org.treasurehunt.user.repository.entity.Role;
@@ -36,13 +38,11 @@ import org.treasurehunt.user.repository.UserRepository;
 
 import java.io.IOException;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.Comparator;
 import java.util.stream.Collectors;
 
 import static org.treasurehunt.common.constants.UploadingConstants.ALLOWED_TYPES;
@@ -57,8 +57,9 @@ public class UserService {
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
     private final UserCriteriaRepository userCriteriaRepository;
-    private final SubmissionRepo submissionRepo;
-    private final ChallengeRepository challengeRepository;
+    private final DailyPointsService dailyPointsService;
+    private final ScoreHistoryService scoreHistoryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.security.jwt.refresh-expiration}")
     private Long refreshTokenExpiration;
@@ -188,6 +189,7 @@ public class UserService {
         user.setProfilePicture(imageName);
         user.setUpdatedAt(Instant.now());
         userRepository.save(user);
+        eventPublisher.publishEvent(new ImageChangedEvent(ImageKind.USER, id));
     }
 
     private User unwrapUser(Optional<User> optionalUser, Long id) {
@@ -202,34 +204,12 @@ public class UserService {
     }
 
     /**
-     * Calculate the user's rank based on their score compared to other users.
+     * Get the current user's score summary.
      *
-     * @param userId    The ID of the user
-     * @param userScore The score of the user
-     * @return The user's rank (1 is the highest rank)
+     * @param lastEarnedDays The window, in days, over which {@code lastEarned} is summed
+     * @return The user's total, rank, recently earned points and highest score
      */
-    private int calculateUserRank(Long userId, int userScore) {
-        // Get all users
-        List<User> allUsers = userRepository.findAll();
-
-        // Sort users by score in descending order
-        allUsers.sort(Comparator.comparing(user -> {
-            Integer score = user.getScore();
-            return score != null ? -score : 0; // Negative for descending order
-        }));
-
-        // Find the position of the current user
-        for (int i = 0; i < allUsers.size(); i++) {
-            if (allUsers.get(i).getId().equals(userId)) {
-                return i + 1; // Rank is 1-based
-            }
-        }
-
-        // If user not found (shouldn't happen), return a default rank
-        return allUsers.size() + 1;
-    }
-
-    public org.treasurehunt.user.api.UserScoreResponse getUserScore() {
+    public org.treasurehunt.user.api.UserScoreResponse getUserScore(int lastEarnedDays) {
         // Get the current user
         Long userId = org.treasurehunt.common.util.AuthUtil.getUserFromSecurityContext()
                 .orElseThrow(() -> new org.treasurehunt.exception.EntityNotFoundException("No user found"))
@@ -241,15 +221,14 @@ public class UserService {
         // Get the user's score
         int totalScore = user.getScore() != null ? user.getScore() : 0;
 
-        // Calculate the user's rank
-        int rank = calculateUserRank(userId, totalScore);
+        // Rank 1 is the highest score; users tied on a score share its rank
+        int rank = (int) userRepository.countUsersWithScoreAbove(totalScore) + 1;
 
-        // Calculate points earned in the last 7 days
-        int lastEarned = calculatePointsEarnedInLast7Days(userId);
+        // Sum the daily point buckets of the requested window
+        int lastEarned = dailyPointsService.getPointsEarnedInLastDays(userId, lastEarnedDays);
 
-        // For highestScore, we would ideally track the user's highest score over time
-        // For now, we'll use the current score as the highest score
-        int highestScore = totalScore;
+        // Highest score ever reached, from the score history
+        int highestScore = scoreHistoryService.getHighestScore(userId, totalScore);
 
         // Create user score data
         org.treasurehunt.user.api.UserScoreResponse.UserScoreData scoreData =
@@ -265,29 +244,18 @@ public class UserService {
     }
 
     /**
-     * Calculate the points earned by the user in the last 7 days.
+     * Get the current user's downsampled score history.
      *
-     * @param userId The ID of the user
-     * @return The total points earned in the last 7 days
+     * @param granularity The snapshot resolution
+     * @param from        Start of the range (inclusive)
+     * @param to          End of the range (exclusive)
+     * @return One point per bucket in the range, oldest first
      */
-    private int calculatePointsEarnedInLast7Days(Long userId) {
-        // Calculate the date 7 days ago
-        Instant sevenDaysAgo = Instant.now().minus(7, ChronoUnit.DAYS);
-
-        // Get all successful submissions since that date
-        List<Submission> recentSubmissions = submissionRepo.findSuccessfulSubmissionsByUserIdSince(userId, sevenDaysAgo);
-
-        // Sum up the points from the challenges associated with those submissions
-        int totalPoints = 0;
-        for (Submission submission : recentSubmissions) {
-            Challenge challenge = challengeRepository.findById(submission.getChallengeId())
-                    .orElse(null);
-            if (challenge != null) {
-                totalPoints += challenge.getPoints();
-            }
-        }
-
-        return totalPoints;
+    public List<ScoreHistoryPoint> getScoreHistory(ScoreGranularity granularity, Instant from, Instant to) {
+        Long userId = org.treasurehunt.common.util.AuthUtil.getUserFromSecurityContext()
+                .orElseThrow(() -> new org.treasurehunt.exception.EntityNotFoundException("No user found"))
+                .getId();
+        return scoreHistoryService.getHistory(userId, granularity, from, to);
     }
 
     /**
@@ -297,54 +265,34 @@ public class UserService {
      * @return A paginated response containing users sorted by score
      */
     public LeaderboardResponse getLeaderboard(PageDTO pageDTO) {
-        // Get all users
-        List<User> allUsers = userRepository.findAll();
-
-        // Sort users by score in descending order
-        allUsers.sort(Comparator.comparing(user -> {
-            Integer score = user.getScore();
-            return score != null ? -score : 0; // Negative for descending order
-        }));
-
-        // Apply pagination
         int page = pageDTO.getPage();
         int size = pageDTO.getPageSize();
-        int fromIndex = page * size;
-        int toIndex = Math.min(fromIndex + size, allUsers.size());
-
-        // Handle case where fromIndex is out of bounds
-        if (fromIndex >= allUsers.size()) {
-            return new LeaderboardResponse(
-                    List.of(),
-                    (int) Math.ceil((double) allUsers.size() / size),
-                    allUsers.size(),
-                    size,
-                    page
-            );
-        }
-
-        List<User> pagedUsers = allUsers.subList(fromIndex, toIndex);
+        long totalElements = userRepository.count();
 
-        // Map to LeaderboardUser objects
-        List<LeaderboardResponse.LeaderboardUser> leaderboardUsers = pagedUsers.stream()
-                .map(user -> LeaderboardResponse.LeaderboardUser.builder()
-                        .id(user.getId())
-                        .username(user.getUsername())
-                        .points(user.getScore() != null ? user.getScore() : 0)
-                        .profileImage(user.getProfilePicture())
-                        .build())
+        // Only the requested page is read, already ordered by score
+        List<LeaderboardResponse.LeaderboardUser> leaderboardUsers = userRepository
+                .findLeaderboardRows(PageRequest.of(page, size)).stream()
+                .map(UserService::toLeaderboardUser)
                 .toList();
 
-        // Create and return the response
         return new LeaderboardResponse(
                 leaderboardUsers,
-                (int) Math.ceil((double) allUsers.size() / size),
-                allUsers.size(),
+                (int) Math.ceil((double) totalElements / size),
+                totalElements,
                 size,
                 page
         );
     }
 
+    static LeaderboardResponse.LeaderboardUser toLeaderboardUser(LeaderboardRow row) {
+        return LeaderboardResponse.LeaderboardUser.builder()
+                .id(row.getId())
+                .username(row.getUsername())
+                .points(row.getScore())
+                .profileImage(row.getProfilePicture())
+                .build();
+    }
+
     public void updateUser(long userId, UpdateUserRequest updateUserRequest) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id " + userId));
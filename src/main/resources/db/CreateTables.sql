@@ -60,3 +60,147 @@ CREATE TABLE challenge_code (
     FOREIGN KEY (challenge_id) REFERENCES challenge(challenge_id) ON DELETE CASCADE
 );
 
+
+ALTER TABLE submissions ADD COLUMN runtime DOUBLE NULL;
+
+-- Write-time projection of each user's progress on a challenge, maintained on submit.
+-- Backfill with POST /submissions/progress/rebuild or by starting the app with --rebuild-progress.
+CREATE TABLE user_challenge_progress (
+    user_id BIGINT UNSIGNED NOT NULL,
+    challenge_id BIGINT UNSIGNED NOT NULL,
+    hunt_id BIGINT UNSIGNED NOT NULL,
+    solved_at TIMESTAMP NULL,
+    fail_count INT NOT NULL DEFAULT 0,
+    best_runtime DOUBLE NULL,
+    PRIMARY KEY (user_id, challenge_id),
+    INDEX idx_progress_user_hunt (user_id, hunt_id),
+    INDEX idx_progress_hunt (hunt_id)
+);
+
+-- Points earned per user per UTC day, credited on a challenge's first solve.
+-- Rebuilt from user_challenge_progress together with the progress projection.
+CREATE TABLE user_daily_points (
+    user_id BIGINT UNSIGNED NOT NULL,
+    day DATE NOT NULL,
+    points INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, day)
+);
+
+-- Append-only log of score changes, written in batches off the request thread.
+-- Raw rows are kept for 7 days after being folded into score_snapshot.
+CREATE TABLE score_event (
+    score_event_id BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT UNSIGNED NOT NULL,
+    delta INT NOT NULL,
+    new_score INT NOT NULL,
+    hunt_id BIGINT UNSIGNED NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    INDEX idx_score_event_user (user_id, occurred_at),
+    INDEX idx_score_event_time (occurred_at)
+);
+
+-- Downsampled score history: HOURLY (35 days), DAILY (400 days) and WEEKLY (kept).
+CREATE TABLE score_snapshot (
+    user_id BIGINT UNSIGNED NOT NULL,
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    max_score INT NOT NULL,
+    close_score INT NOT NULL,
+    close_rank INT NULL,
+    PRIMARY KEY (user_id, granularity, bucket_start),
+    INDEX idx_score_snapshot_bucket (granularity, bucket_start)
+);
+
+-- One row per (user, challenge) credited to users.score; makes score awards idempotent.
+CREATE TABLE score_award (
+    user_id BIGINT UNSIGNED NOT NULL,
+    challenge_id BIGINT UNSIGNED NOT NULL,
+    points INT NOT NULL,
+    awarded_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, challenge_id)
+);
+
+-- Seed awards for GAME challenges that were already credited before score_award existed.
+INSERT IGNORE INTO score_award (user_id, challenge_id, points, awarded_at)
+SELECT p.user_id, p.challenge_id, c.points, p.solved_at
+FROM user_challenge_progress p
+JOIN challenge c ON c.challenge_id = p.challenge_id
+WHERE c.challenge_type = 2 AND p.solved_at IS NOT NULL; -- ChallengeType.GAME (ordinal)
+
+-- Final score and RANK() of every participant, frozen when a hunt is set to FINISHED.
+CREATE TABLE hunt_result (
+    hunt_id BIGINT UNSIGNED NOT NULL,
+    user_id BIGINT UNSIGNED NOT NULL,
+    score INT NOT NULL,
+    hunt_rank INT NOT NULL,
+    finalized_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (hunt_id, user_id),
+    INDEX idx_hunt_result_user (user_id, finalized_at)
+);
+
+-- Lease taken by the node applying a scheduled status transition (APPROVED->LIVE->FINISHED),
+-- so that only one application node transitions and finalizes a hunt at a time.
+ALTER TABLE hunt
+    ADD COLUMN lifecycle_lease_owner VARCHAR(64) NULL,
+    ADD COLUMN lifecycle_lease_until TIMESTAMP(6) NULL,
+    ADD INDEX idx_hunt_status_start (status, start_date),
+    ADD INDEX idx_hunt_status_end (status, end_date);
+
+-- Hunt membership, replacing users.hunt_id. The primary key serves lookups by hunt, the
+-- (user_id, status) index lookups by user. Rows outlive the hunt's end, keeping each user's history.
+CREATE TABLE hunt_participation (
+    hunt_id BIGINT UNSIGNED NOT NULL,
+    user_id BIGINT UNSIGNED NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    joined_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (hunt_id, user_id),
+    INDEX idx_participation_user_status (user_id, status)
+);
+
+INSERT INTO hunt_participation (hunt_id, user_id, status, joined_at)
+SELECT u.hunt_id, u.user_id,
+       CASE WHEN h.status IN ('FINISHED', 'TERMINATED') THEN 'COMPLETED' ELSE 'ACTIVE' END,
+       CURRENT_TIMESTAMP(6)
+FROM users u
+JOIN hunt h ON h.hunt_id = u.hunt_id;
+
+-- users.hunt_id is no longer read or written; drop it once every node runs with hunt_participation.
+
+-- Optional capacity per hunt. participant_count is only changed by the conditional
+-- UPDATE that admits a participant, so joins beyond max_participants are refused atomically.
+ALTER TABLE hunt
+    ADD COLUMN max_participants INT NULL,
+    ADD COLUMN participant_count INT NOT NULL DEFAULT 0;
+
+UPDATE hunt h
+SET h.participant_count = (SELECT COUNT(*) FROM hunt_participation p WHERE p.hunt_id = h.hunt_id);
+
+-- At most one ACTIVE participation per user, enforced by the database rather than a read-then-write.
+ALTER TABLE hunt_participation
+    ADD COLUMN active_user_id BIGINT UNSIGNED
+        AS (CASE WHEN status = 'ACTIVE' THEN user_id END) STORED,
+    ADD UNIQUE INDEX uq_participation_active_user (active_user_id);
+
+-- Lets the hunt statistics reconciliation count a hunt's submissions and successes by range scans.
+ALTER TABLE submissions ADD INDEX idx_submissions_challenge_status (challenge_id, status);
+
+-- Only sample test cases are shown to hunters; the others stay hidden and are only used for judging.
+-- Existing challenges keep their first test case as a sample.
+ALTER TABLE test_case ADD COLUMN is_sample BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE test_case t
+JOIN (SELECT challenge_id, MIN(`order`) AS first_order FROM test_case GROUP BY challenge_id) f
+  ON f.challenge_id = t.challenge_id AND f.first_order = t.`order`
+SET t.is_sample = TRUE;
+
+-- Part of each hunt result already added to users.score, so that finalizing adds only the rest.
+-- Results finalized before this column set the user's total to the hunt score: count them as credited.
+ALTER TABLE hunt_result ADD COLUMN credited_points INT NOT NULL DEFAULT 0;
+
+UPDATE hunt_result SET credited_points = score;
+
+-- Keyset paging of hunt lists seeks on (key, hunt_id); hunts without a date are read from the NULL range of the same index.
+ALTER TABLE hunt
+    ADD INDEX idx_hunt_start_id (start_date, hunt_id),
+    ADD INDEX idx_hunt_end_id (end_date, hunt_id),
+    ADD INDEX idx_hunt_title_id (title, hunt_id);
@@ -0,0 +1,235 @@
+package org.treasurehunt.common.image;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Log4j2(topic = "benchmark")
+class FileSenderTest {
+
+    private static final String ETAG = "\"abc\"";
+    private static final Instant MODIFIED = Instant.parse("2025-03-01T10:15:30Z");
+
+    @TempDir
+    private Path dir;
+
+    private ImageMetadata file;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        content = new byte[1000];
+        new Random(5).nextBytes(content);
+        Path path = Files.write(dir.resolve("map.png"), content);
+        file = new ImageMetadata(path, "image/png", content.length, MODIFIED, ETAG, Instant.now());
+    }
+
+    @Test
+    void send_WithoutRange_ShouldSendTheWholeFile() throws IOException {
+        // Act
+        MockHttpServletResponse response = send(new MockHttpServletRequest());
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals("image/png", response.getContentType());
+        assertEquals(1000, response.getContentLengthLong());
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void send_WithRange_ShouldSendPartialContent() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+
+        // Act
+        MockHttpServletResponse response = send(request);
+
+        // Assert
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 100-199/1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(100, response.getContentLengthLong());
+        assertArrayEquals(Arrays.copyOfRange(content, 100, 200), response.getContentAsByteArray());
+    }
+
+    @Test
+    void parseRange_ShouldFollowTheByteRangeForms() {
+        assertEquals(new FileSender.ByteRange(900, 999), FileSender.parseRange("bytes=900-", 1000));
+        assertEquals(new FileSender.ByteRange(950, 999), FileSender.parseRange("bytes=-50", 1000));
+        assertEquals(new FileSender.ByteRange(0, 999), FileSender.parseRange("bytes=-5000", 1000));
+        assertEquals(new FileSender.ByteRange(990, 999), FileSender.parseRange("bytes=990-2000", 1000));
+        assertEquals(FileSender.ByteRange.UNSATISFIABLE, FileSender.parseRange("bytes=1000-", 1000));
+        assertEquals(FileSender.ByteRange.UNSATISFIABLE, FileSender.parseRange("bytes=-0", 1000));
+        // Ignored, so the whole file is sent
+        assertNull(FileSender.parseRange("bytes=0-1,5-9", 1000));
+        assertNull(FileSender.parseRange("bytes=9-5", 1000));
+        assertNull(FileSender.parseRange("bytes=x-", 1000));
+        assertNull(FileSender.parseRange("bytes=--5", 1000));
+        assertNull(FileSender.parseRange("bytes=-+5", 1000));
+        assertNull(FileSender.parseRange("bytes=+5-9", 1000));
+        assertNull(FileSender.parseRange("items=0-5", 1000));
+    }
+
+    @Test
+    void send_WhenRangeStartsPastTheEnd_ShouldAnswer416() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=5000-");
+
+        // Act
+        MockHttpServletResponse response = send(request);
+
+        // Assert
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void send_WhenIfRangeIsStale_ShouldSendTheWholeFile() throws IOException {
+        // Arrange
+        MockHttpServletRequest stale = new MockHttpServletRequest();
+        stale.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+        stale.addHeader(HttpHeaders.IF_RANGE, "\"old\"");
+        MockHttpServletRequest current = new MockHttpServletRequest();
+        current.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+        current.addHeader(HttpHeaders.IF_RANGE, MODIFIED.toEpochMilli());
+
+        // Act & Assert
+        assertEquals(200, send(stale).getStatus());
+        assertEquals(206, send(current).getStatus());
+    }
+
+    @Test
+    void send_OnTomcat_ShouldHandTheFileToSendfile() throws IOException {
+        // Arrange
+        Path large = Files.write(dir.resolve("large.png"), new byte[(int) FileSender.SENDFILE_MIN_BYTES * 2]);
+        ImageMetadata largeFile = new ImageMetadata(large, "image/png", Files.size(large), MODIFIED, ETAG, Instant.now());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", true);
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        FileSender.send(request, response, largeFile);
+
+        // Assert
+        assertEquals(large.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(10L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(Files.size(large), request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmark_SendfileAgainstUrlResourceCopy() throws Exception {
+        // Arrange
+        byte[] payload = new byte[16 * 1024 * 1024];
+        new Random(9).nextBytes(payload);
+        Path big = Files.write(dir.resolve("big.png"), payload);
+        ImageMetadata bigFile = new ImageMetadata(big, "image/png", payload.length, MODIFIED, ETAG, Instant.now());
+
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(dir.resolve("tomcat").toString());
+        tomcat.setPort(0);
+        Context context = tomcat.addContext("", dir.toString());
+        Tomcat.addServlet(context, "urlResource", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                // What the image endpoints did before: stream a UrlResource through a heap buffer
+                response.setContentType("image/png");
+                response.setContentLengthLong(payload.length);
+                try (InputStream in = new UrlResource(big.toUri()).getInputStream()) {
+                    StreamUtils.copy(in, response.getOutputStream());
+                }
+            }
+        });
+        Tomcat.addServlet(context, "fileSender", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                FileSender.send(request, response, bigFile);
+            }
+        });
+        context.addServletMappingDecoded("/url-resource", "urlResource");
+        context.addServletMappingDecoded("/file-sender", "fileSender");
+        tomcat.getConnector();
+        tomcat.start();
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            String base = "http://localhost:" + tomcat.getConnector().getLocalPort();
+            int requests = 40;
+            fetch(client, base + "/url-resource", 5, payload.length);
+            fetch(client, base + "/file-sender", 5, payload.length);
+
+            // Act
+            double urlResource = fetch(client, base + "/url-resource", requests, payload.length);
+            double fileSender = fetch(client, base + "/file-sender", requests, payload.length);
+
+            // Assert
+            log.info("Serving a 16 MB file {} times: UrlResource copy {} MB/s, sendfile {} MB/s",
+                    requests, Math.round(urlResource), Math.round(fileSender));
+            assertTrue(fileSender > 0 && urlResource > 0);
+        } finally {
+            stop(tomcat);
+        }
+    }
+
+    /**
+     * @return throughput in MB/s
+     */
+    private static double fetch(HttpClient client, String url, int requests, long expectedLength) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).build();
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            long read;
+            try (InputStream body = response.body()) {
+                read = body.transferTo(OutputStream.nullOutputStream());
+            }
+            assertEquals(200, response.statusCode());
+            assertEquals(expectedLength, read);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return requests * expectedLength / 1e6 / seconds;
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FileSender.send(request, response, file);
+        return response;
+    }
+
+    private static void stop(Tomcat tomcat) throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+}
@@ -0,0 +1,184 @@
+package org.treasurehunt.common.image;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.treasurehunt.common.constants.UploadingConstants.HUNT_BG_UPLOAD_DIR;
+
+class ImageCacheTest {
+
+    private static final Instant MODIFIED = Instant.parse("2025-03-01T10:15:30Z");
+
+    @TempDir
+    private Path uploadRoot;
+
+    private ImageCache imageCache;
+    private ImageRenditions imageRenditions;
+    private AtomicInteger lookups;
+    private Function<Long, String> fileNames;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageRenditions = new ImageRenditions(0.8f, 1, 4, 10_000);
+        imageCache = new ImageCache(imageRenditions, uploadRoot.toString(), 3600, false, 300_000, 100);
+        lookups = new AtomicInteger();
+        fileNames = id -> {
+            lookups.incrementAndGet();
+            return id == 1L ? "1.png" : null;
+        };
+        write("1.png", "first");
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageRenditions.stop();
+    }
+
+    @Test
+    void serve_ShouldLookUpOnceThenServeFromCache() throws IOException {
+        // Act
+        MockHttpServletResponse first = serve(ImageKind.HUNT_BACKGROUND, 1L, ImageSize.ORIGINAL, new MockHttpServletRequest());
+        MockHttpServletResponse second = serve(ImageKind.HUNT_BACKGROUND, 1L, ImageSize.ORIGINAL, new MockHttpServletRequest());
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), second.getStatus());
+        assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+        assertTrue(second.getHeader(HttpHeaders.ETAG).startsWith("\""));
+        assertEquals(MODIFIED.toEpochMilli(), second.getDateHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals("max-age=3600, public", second.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(MediaType.IMAGE_PNG_VALUE, second.getContentType());
+        assertEquals(5, second.getContentAsByteArray().length);
+        assertEquals("first", second.getContentAsString());
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void serve_WhenETagMatches_ShouldReturnNotModified() throws IOException {
+        // Arrange
+        String etag = serve(ImageKind.HUNT_BACKGROUND, 1L, ImageSize.ORIGINAL, new MockHttpServletRequest())
+                .getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag);
+        // Dates are ignored when an ETag is sent
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, 0L);
+
+        // Act
+        MockHttpServletResponse response = serve(ImageKind.HUNT_BACKGROUND, 1L, ImageSize.ORIGINAL, request);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void serve_ShouldHonorIfModifiedSince() throws IOException {
+        // Arrange
+        MockHttpServletRequest unchanged = new MockHttpServletRequest();
+        unchanged.addHeader(HttpHeaders.IF_MODIFIED_SINCE, MODIFIED.toEpochMilli());
+        MockHttpServletRequest stale = new MockHttpServletRequest();
+        stale.addHeader(HttpHeaders.IF_MODIFIED_SINCE, MODIFIED.minusSeconds(1).toEpochMilli());
+
+        // Act & Assert
+        assertEquals(HttpStatus.NOT_MODIFIED.value(),
+                serve(ImageKind.HUNT_BACKGROUND, 1L, ImageSize.ORIGINAL, unchanged).getStatus());
+        assertEquals(HttpStatus.OK.value(),
+                serve(ImageKind.HUNT_BACKGROUND, 1L, ImageSize.ORIGINAL, stale).getStatus());
+    }
+
+    @Test
+    void onImageChanged_ShouldServeTheNewContent() throws IOException {
+        // Arrange
+        String before = serve(ImageKind.HUNT_BACKGROUND, 1L, ImageSize.ORIGINAL, new MockHttpServletRequest())
+                .getHeader(HttpHeaders.ETAG);
+        write("1.png", "second");
+
+        // Act
+        imageCache.onImageChanged(new ImageChangedEvent(ImageKind.HUNT_BACKGROUND, 1L));
+        MockHttpServletResponse response = serve(ImageKind.HUNT_BACKGROUND, 1L, ImageSize.ORIGINAL, new MockHttpServletRequest());
+
+        // Assert
+        assertNotEquals(before, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(6, response.getContentAsByteArray().length);
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void serve_WhenImageOrFileIsMissing_ShouldNotCacheAnything() throws IOException {
+        // Arrange
+        Files.delete(uploadRoot.resolve(HUNT_BG_UPLOAD_DIR).resolve("1.png"));
+
+        // Act & Assert
+        assertEquals(HttpStatus.NOT_FOUND.value(),
+                serve(ImageKind.HUNT_BACKGROUND, 1L, ImageSize.ORIGINAL, new MockHttpServletRequest()).getStatus());
+        MockHttpServletResponse noImage = serve(ImageKind.HUNT_BACKGROUND, 2L, ImageSize.ORIGINAL, new MockHttpServletRequest());
+        assertEquals(HttpStatus.OK.value(), noImage.getStatus());
+        assertEquals(0, noImage.getContentAsByteArray().length);
+        assertEquals(0, imageCache.cachedImageCount());
+    }
+
+    @Test
+    void serve_ShouldServeAndCacheEachSizeSeparately() throws IOException {
+        // Arrange
+        ImageIO.write(ImageRenditionsTest.noise(1000, 500), "png",
+                uploadRoot.resolve(HUNT_BG_UPLOAD_DIR).resolve("1.png").toFile());
+
+        // Act
+        MockHttpServletResponse original = serve(ImageKind.HUNT_BACKGROUND, 1L, ImageSize.ORIGINAL, new MockHttpServletRequest());
+        MockHttpServletResponse thumb = serve(ImageKind.HUNT_BACKGROUND, 1L, ImageSize.THUMB, new MockHttpServletRequest());
+        serve(ImageKind.HUNT_BACKGROUND, 1L, ImageSize.THUMB, new MockHttpServletRequest());
+
+        // Assert
+        assertEquals(MediaType.IMAGE_JPEG_VALUE, thumb.getContentType());
+        assertNotEquals(original.getHeader(HttpHeaders.ETAG), thumb.getHeader(HttpHeaders.ETAG));
+        assertTrue(thumb.getContentAsByteArray().length < original.getContentAsByteArray().length);
+        assertEquals(2, imageCache.cachedImageCount());
+        assertEquals(2, lookups.get());
+
+        imageCache.onImageChanged(new ImageChangedEvent(ImageKind.HUNT_BACKGROUND, 1L));
+        assertEquals(0, imageCache.cachedImageCount());
+    }
+
+    @Test
+    void serve_WhenImmutable_ShouldSayImmutable() throws IOException {
+        // Arrange
+        imageCache = new ImageCache(imageRenditions, uploadRoot.toString(), 31_536_000, true, 300_000, 100);
+
+        // Act
+        MockHttpServletResponse response = serve(ImageKind.HUNT_BACKGROUND, 1L, ImageSize.ORIGINAL, new MockHttpServletRequest());
+
+        // Assert
+        assertEquals("max-age=31536000, public, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    private MockHttpServletResponse serve(ImageKind kind, Long id, ImageSize size, MockHttpServletRequest request)
+            throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        imageCache.serve(kind, id, size, fileNames, request, response);
+        return response;
+    }
+
+    private void write(String name, String content) throws IOException {
+        Path directory = Files.createDirectories(uploadRoot.resolve(HUNT_BG_UPLOAD_DIR));
+        Path file = Files.writeString(directory.resolve(name), content);
+        Files.setLastModifiedTime(file, FileTime.from(MODIFIED));
+    }
+}
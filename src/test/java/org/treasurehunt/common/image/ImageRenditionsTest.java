@@ -0,0 +1,103 @@
+package org.treasurehunt.common.image;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageRenditionsTest {
+
+    @TempDir
+    private Path uploadDir;
+
+    private ImageRenditions imageRenditions;
+    private Path original;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageRenditions = new ImageRenditions(0.8f, 2, 8, 10_000);
+        original = uploadDir.resolve("7.png");
+        ImageIO.write(noise(3000, 1500), "png", original.toFile());
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageRenditions.stop();
+    }
+
+    @Test
+    void rendition_ShouldMakeWidthBoundedJpegs() throws IOException {
+        // Act
+        Path thumb = imageRenditions.rendition(original, ImageSize.THUMB);
+        Path medium = imageRenditions.rendition(original, ImageSize.MEDIUM);
+
+        // Assert
+        assertEquals(uploadDir.resolve("renditions/thumb/7.png.jpg"), thumb);
+        BufferedImage thumbImage = ImageIO.read(thumb.toFile());
+        assertEquals(160, thumbImage.getWidth());
+        assertEquals(80, thumbImage.getHeight());
+        assertEquals(640, ImageIO.read(medium.toFile()).getWidth());
+        assertTrue(Files.size(medium) < Files.size(original) / 10);
+        assertSame(original, imageRenditions.rendition(original, ImageSize.ORIGINAL));
+    }
+
+    @Test
+    void rendition_ShouldNotUpscaleSmallImages() throws IOException {
+        // Arrange
+        ImageIO.write(noise(300, 200), "png", original.toFile());
+
+        // Act
+        Path full = imageRenditions.rendition(original, ImageSize.FULL);
+
+        // Assert
+        assertEquals(300, ImageIO.read(full.toFile()).getWidth());
+    }
+
+    @Test
+    void rendition_ShouldReuseTheFileUntilTheOriginalChanges() throws IOException {
+        // Arrange
+        Path thumb = imageRenditions.rendition(original, ImageSize.THUMB);
+        FileTime made = FileTime.from(Instant.now().minusSeconds(60));
+        Files.setLastModifiedTime(original, FileTime.from(Instant.now().minusSeconds(120)));
+        Files.setLastModifiedTime(thumb, made);
+
+        // Act & Assert
+        imageRenditions.rendition(original, ImageSize.THUMB);
+        assertEquals(made, Files.getLastModifiedTime(thumb));
+
+        ImageIO.write(noise(800, 800), "png", original.toFile());
+        imageRenditions.rendition(original, ImageSize.THUMB);
+        assertEquals(160, ImageIO.read(thumb.toFile()).getHeight());
+    }
+
+    @Test
+    void rendition_WhenOriginalIsNotAnImage_ShouldReturnNull() throws IOException {
+        // Arrange
+        Files.writeString(original, "not an image");
+
+        // Act & Assert
+        assertNull(imageRenditions.rendition(original, ImageSize.THUMB));
+    }
+
+    static BufferedImage noise(int width, int height) {
+        Random random = new Random(3);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        return image;
+    }
+}
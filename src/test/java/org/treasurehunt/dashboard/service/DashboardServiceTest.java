@@ -10,15 +10,12 @@ import org.treasurehunt.hunt.repository.ChallengeRepository;
 import org.treasurehunt.hunt.repository.HuntRepository;
 import org.treasurehunt.hunt.repository.entity.Challenge;
 import org.treasurehunt.hunt.repository.entity.Hunt;
+import org.treasurehunt.hunt.service.HuntProgressService;
 import org.treasurehunt.security.UserDetailsDTO;
-import org.treasurehunt.submissions.repo.Submission;
-import org.treasurehunt.submissions.repo.SubmissionRepo;
-import org.treasurehunt.user.repository.UserRepository;
-import org.treasurehunt.user.repository.entity.User;
+import org.treasurehunt.submissions.service.ChallengeProgressService;
 
 import java.time.Instant;
 import java.time.ZoneId;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,19 +34,13 @@ class DashboardServiceTest {
     private ChallengeRepository challengeRepository;
 
     @Mock
-    private UserRepository userRepository;
-
-    @Mock
-    private SubmissionRepo submissionRepo;
+    private ChallengeProgressService challengeProgressService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
         dashboardService = new DashboardService(
-                huntRepository,
-                challengeRepository,
-                userRepository,
-                submissionRepo
+                new HuntProgressService(huntRepository, challengeRepository, challengeProgressService)
         );
     }
 
@@ -59,10 +50,6 @@ class DashboardServiceTest {
         Long userId = 1L;
         UserDetailsDTO userDetailsDTO = new UserDetailsDTO(userId, "test@example.com", "password", List.of());
         
-        User user = new User();
-        user.setId(userId);
-        user.setEmail("test@example.com");
-        
         Hunt hunt = new Hunt();
         hunt.setId(1L);
         hunt.setTitle("Test Hunt");
@@ -80,20 +67,14 @@ class DashboardServiceTest {
         List<Challenge> challenges = List.of(challenge1, challenge2);
         hunt.setChallenges(challenges);
         
-        Submission submission1 = new Submission();
-        submission1.setStatus(Submission.SubmissionStatus.SUCCESS);
-        
         // Mock static method
         try (var authUtilMock = mockStatic(AuthUtil.class)) {
             authUtilMock.when(() -> AuthUtil.getUserFromSecurityContext())
                     .thenReturn(Optional.of(userDetailsDTO));
             
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(huntRepository.findHuntByUser_Id(userId)).thenReturn(hunt);
-            when(submissionRepo.findByChallengeIdAndUserId(1L, userId))
-                    .thenReturn(List.of(submission1));
-            when(submissionRepo.findByChallengeIdAndUserId(2L, userId))
-                    .thenReturn(new ArrayList<>());
+            when(challengeRepository.countByHunt_Id(1L)).thenReturn(2L);
+            when(challengeProgressService.countSolved(userId, 1L)).thenReturn(1L);
             
             // Act
             DashboardResponse response = dashboardService.getDashboardData();
@@ -111,10 +92,8 @@ class DashboardServiceTest {
             assertEquals(endDate.atZone(ZoneId.systemDefault()).toLocalDate(), item.getDueDate());
             
             // Verify interactions
-            verify(userRepository).findById(userId);
             verify(huntRepository).findHuntByUser_Id(userId);
-            verify(submissionRepo).findByChallengeIdAndUserId(1L, userId);
-            verify(submissionRepo).findByChallengeIdAndUserId(2L, userId);
+            verify(challengeProgressService).countSolved(userId, 1L);
         }
     }
 
@@ -124,10 +103,6 @@ class DashboardServiceTest {
         Long userId = 1L;
         UserDetailsDTO userDetailsDTO = new UserDetailsDTO(userId, "test@example.com", "password", List.of());
         
-        User user = new User();
-        user.setId(userId);
-        user.setEmail("test@example.com");
-        
         Hunt hunt = new Hunt();
         hunt.setId(1L);
         hunt.setTitle("Test Hunt");
@@ -149,10 +124,9 @@ class DashboardServiceTest {
             authUtilMock.when(() -> AuthUtil.getUserFromSecurityContext())
                     .thenReturn(Optional.of(userDetailsDTO));
             
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(huntRepository.findHuntByUser_Id(userId)).thenReturn(hunt);
-            when(submissionRepo.findByChallengeIdAndUserId(anyLong(), anyLong()))
-                    .thenReturn(new ArrayList<>());
+            when(challengeRepository.countByHunt_Id(1L)).thenReturn(2L);
+            when(challengeProgressService.countSolved(anyLong(), anyLong())).thenReturn(0L);
             
             // Act
             DashboardResponse response = dashboardService.getDashboardData();
@@ -169,9 +143,8 @@ class DashboardServiceTest {
             assertEquals(2, item.getTotalChallenges());
             
             // Verify interactions
-            verify(userRepository).findById(userId);
             verify(huntRepository).findHuntByUser_Id(userId);
-            verify(submissionRepo, times(2)).findByChallengeIdAndUserId(anyLong(), anyLong());
+            verify(challengeProgressService).countSolved(anyLong(), anyLong());
         }
     }
 
@@ -181,16 +154,11 @@ class DashboardServiceTest {
         Long userId = 1L;
         UserDetailsDTO userDetailsDTO = new UserDetailsDTO(userId, "test@example.com", "password", List.of());
         
-        User user = new User();
-        user.setId(userId);
-        user.setEmail("test@example.com");
-        
         // Mock static method
         try (var authUtilMock = mockStatic(AuthUtil.class)) {
             authUtilMock.when(() -> AuthUtil.getUserFromSecurityContext())
                     .thenReturn(Optional.of(userDetailsDTO));
             
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(huntRepository.findHuntByUser_Id(userId)).thenReturn(null);
             
             // Act
@@ -201,9 +169,8 @@ class DashboardServiceTest {
             assertEquals(0, response.getData().size());
             
             // Verify interactions
-            verify(userRepository).findById(userId);
             verify(huntRepository).findHuntByUser_Id(userId);
-            verify(submissionRepo, never()).findByChallengeIdAndUserId(anyLong(), anyLong());
+            verify(challengeProgressService, never()).countSolved(anyLong(), anyLong());
         }
     }
 }
\ No newline at end of file
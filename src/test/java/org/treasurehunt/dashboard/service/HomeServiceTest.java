@@ -0,0 +1,136 @@
+package org.treasurehunt.dashboard.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.treasurehunt.common.util.AuthUtil;
+import org.treasurehunt.dashboard.api.HomeResponse;
+import org.treasurehunt.hunt.repository.ChallengePointsRow;
+import org.treasurehunt.hunt.repository.ChallengeRepository;
+import org.treasurehunt.hunt.repository.HuntResultRepository;
+import org.treasurehunt.security.UserDetailsDTO;
+import org.treasurehunt.submissions.repo.UserChallengeProgress;
+import org.treasurehunt.submissions.repo.UserChallengeProgressId;
+import org.treasurehunt.submissions.service.ChallengeProgressService;
+import org.treasurehunt.user.repository.UserHomeRow;
+import org.treasurehunt.user.repository.UserRepository;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HomeServiceTest {
+
+    private HomeService homeService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ChallengeRepository challengeRepository;
+
+    @Mock
+    private HuntResultRepository huntResultRepository;
+
+    @Mock
+    private ChallengeProgressService challengeProgressService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        homeService = new HomeService(userRepository, challengeRepository, huntResultRepository, challengeProgressService);
+    }
+
+    @Test
+    void getHome_WithLiveHunt_ShouldAssembleEverythingFromFourReads() {
+        // Arrange
+        Long userId = 1L;
+        UserDetailsDTO userDetailsDTO = new UserDetailsDTO(userId, "test@example.com", "password", List.of());
+        UserHomeRow home = homeRow(5L, "LIVE");
+        UserChallengeProgress solved = new UserChallengeProgress();
+        solved.setId(new UserChallengeProgressId(userId, 20L));
+        solved.setSolvedAt(Instant.now());
+        solved.setFailCount(2);
+
+        try (var authUtilMock = mockStatic(AuthUtil.class)) {
+            authUtilMock.when(() -> AuthUtil.getUserFromSecurityContext())
+                    .thenReturn(Optional.of(userDetailsDTO));
+
+            when(userRepository.findHomeRow(eq(userId), any())).thenReturn(Optional.of(home));
+            when(challengeRepository.findPointsByHuntId(5L))
+                    .thenReturn(List.of(points(20L, 100), points(21L, 50)));
+            when(challengeProgressService.getProgressByChallenge(userId, 5L)).thenReturn(Map.of(20L, solved));
+            when(huntResultRepository.findCompletedHuntsByUserId(userId)).thenReturn(List.of());
+
+            // Act
+            HomeResponse response = homeService.getHome();
+
+            // Assert
+            assertEquals(120, response.getScore().getTotal());
+            assertEquals(3, response.getScore().getRank());
+            assertEquals(1, response.getActiveHunts().size());
+            assertEquals(50.0, response.getActiveHunts().get(0).getProgress());
+            assertEquals(1, response.getDashboard().get(0).getCompletedChallenges());
+            assertEquals(98L, response.getChallenges().getPointsCollected());
+            assertEquals(2, response.getChallenges().getChallenges().size());
+
+            verify(userRepository).findHomeRow(eq(userId), any());
+            verify(challengeRepository).findPointsByHuntId(5L);
+            verify(challengeProgressService).getProgressByChallenge(userId, 5L);
+            verify(huntResultRepository).findCompletedHuntsByUserId(userId);
+            verifyNoMoreInteractions(userRepository, challengeRepository, huntResultRepository, challengeProgressService);
+        }
+    }
+
+    @Test
+    void getHome_WithoutHunt_ShouldSkipHuntReads() {
+        // Arrange
+        Long userId = 1L;
+        UserDetailsDTO userDetailsDTO = new UserDetailsDTO(userId, "test@example.com", "password", List.of());
+
+        try (var authUtilMock = mockStatic(AuthUtil.class)) {
+            authUtilMock.when(() -> AuthUtil.getUserFromSecurityContext())
+                    .thenReturn(Optional.of(userDetailsDTO));
+
+            when(userRepository.findHomeRow(eq(userId), any())).thenReturn(Optional.of(homeRow(null, null)));
+            when(huntResultRepository.findCompletedHuntsByUserId(userId)).thenReturn(List.of());
+
+            // Act
+            HomeResponse response = homeService.getHome();
+
+            // Assert
+            assertTrue(response.getDashboard().isEmpty());
+            assertTrue(response.getActiveHunts().isEmpty());
+            assertNull(response.getChallenges());
+            verifyNoInteractions(challengeRepository, challengeProgressService);
+        }
+    }
+
+    private UserHomeRow homeRow(Long huntId, String status) {
+        return new UserHomeRow() {
+            public Long getUserId() { return 1L; }
+            public Number getScore() { return 120; }
+            public Number getUserRank() { return 3L; }
+            public Number getLastEarned() { return 100; }
+            public Number getHighestScore() { return 150; }
+            public Long getHuntId() { return huntId; }
+            public String getHuntTitle() { return "Test Hunt"; }
+            public String getHuntStatus() { return status; }
+            public Date getHuntEndDate() { return null; }
+        };
+    }
+
+    private ChallengePointsRow points(Long id, int points) {
+        return new ChallengePointsRow() {
+            public Long getId() { return id; }
+            public Integer getPoints() { return points; }
+        };
+    }
+}
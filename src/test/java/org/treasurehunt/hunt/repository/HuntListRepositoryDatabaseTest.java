@@ -0,0 +1,174 @@
+package org.treasurehunt.hunt.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.treasurehunt.hunt.api.DraftHuntDTO;
+import org.treasurehunt.hunt.api.HuntFilter;
+import org.treasurehunt.hunt.repository.entity.Hunt;
+import org.treasurehunt.support.DatabaseTest;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements Hibernate prepares for a hunt list, with hunts of different
+ * organizers and reviewers, whose eager loading would show as extra selects.
+ */
+@DatabaseTest
+@Import(HuntListRepository.class)
+class HuntListRepositoryDatabaseTest {
+
+    private static final int HUNTS = 6;
+
+    @Autowired
+    private HuntListRepository huntListRepository;
+
+    @Autowired
+    private HuntRepository huntRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (long id = 1; id <= HUNTS; id++) {
+            jdbcTemplate.update("INSERT INTO users (user_id, username, email, password, score) VALUES (?, ?, ?, 'x', 0)",
+                    id, "organizer" + id, "organizer" + id + "@example.com");
+            jdbcTemplate.update("INSERT INTO users (user_id, username, email, password, score) VALUES (?, ?, ?, 'x', 0)",
+                    100 + id, "reviewer" + id, "reviewer" + id + "@example.com");
+            jdbcTemplate.update("INSERT INTO location (location_id, latitude, longitude) VALUES (?, ?, ?)", id, id, -id);
+            jdbcTemplate.update("""
+                    INSERT INTO hunt (hunt_id, title, organizer_id, reviewer_id, location_id, status, participant_count)
+                    VALUES (?, ?, ?, ?, ?, 'APPROVED', 0)
+                    """, id, "Gold hunt " + id, id, 100 + id, id);
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void findAll_WithFullPage_ShouldPrepareOneSelectAndOneCount() {
+        // Arrange
+        Specification<Hunt> spec = HuntSpecification.getSpecification(HuntFilter.builder().title("gold").build());
+
+        // Act
+        Page<DraftHuntDTO> page = huntListRepository.findAll(spec, PageRequest.of(0, 4, Sort.by("title")));
+
+        // Assert
+        assertEquals(4, page.getContent().size());
+        assertEquals(HUNTS, page.getTotalElements());
+        assertEquals(101L, page.getContent().getFirst().reviewerId());
+        assertEquals(1.0, page.getContent().getFirst().location().latitude());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findAll_WithShortPage_ShouldPrepareASingleSelect() {
+        // Act
+        Page<DraftHuntDTO> page = huntListRepository.findAll(null, PageRequest.of(0, 10, Sort.by("title")));
+
+        // Assert
+        assertEquals(HUNTS, page.getContent().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAll_WithLimit_ShouldPrepareASingleSelect() {
+        // Act
+        List<DraftHuntDTO> hunts = huntListRepository.findAll(
+                HuntSpecification.keysetOrder(HuntSortField.TITLE, Sort.Direction.ASC), 3);
+
+        // Assert
+        assertEquals(3, hunts.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAll_ShouldPrepareFewerStatementsThanLoadingHuntEntities() {
+        // Arrange
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("title"));
+        huntRepository.findAll((Specification<Hunt>) null, pageable);
+        long entityStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+
+        // Act
+        huntListRepository.findAll(null, pageable);
+
+        // Assert
+        assertTrue(entityStatements > HUNTS, "entity path prepared " + entityStatements + " statements");
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllAfter_ShouldWalkKeyedHuntsThenHuntsWithoutAKeyInBothDirections() {
+        // Arrange: a tie on the start date, and two hunts without one
+        Instant start = Instant.parse("2026-06-01T10:00:00Z");
+        jdbcTemplate.update("UPDATE hunt SET start_date = ? WHERE hunt_id IN (1, 2)", Timestamp.from(start));
+        jdbcTemplate.update("UPDATE hunt SET start_date = ? WHERE hunt_id = 3", Timestamp.from(start.minusSeconds(60)));
+        jdbcTemplate.update("UPDATE hunt SET start_date = ? WHERE hunt_id = 4", Timestamp.from(start.plusSeconds(60)));
+
+        // Act
+        List<Long> ascending = walk(HuntSortField.START_DATE, Sort.Direction.ASC);
+        List<Long> descending = walk(HuntSortField.START_DATE, Sort.Direction.DESC);
+
+        // Assert
+        assertEquals(List.of(3L, 1L, 2L, 4L, 5L, 6L), ascending);
+        assertEquals(List.of(4L, 2L, 1L, 3L, 6L, 5L), descending);
+    }
+
+    @Test
+    void findAllAfter_ForATitle_ShouldSeekPastTheCursorInOneSelectPerPage() {
+        // Arrange
+        HuntCursor after = new HuntCursor(HuntSortField.TITLE, Sort.Direction.ASC, "Gold hunt 2", 2L);
+
+        // Act
+        List<DraftHuntDTO> hunts = huntListRepository.findAllAfter(null, HuntSortField.TITLE, Sort.Direction.ASC, after, 3);
+
+        // Assert
+        assertEquals(List.of(3L, 4L, 5L), hunts.stream().map(DraftHuntDTO::id).toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Reads every hunt two at a time, each page after the cursor of the previous one.
+     */
+    private List<Long> walk(HuntSortField field, Sort.Direction direction) {
+        List<Long> ids = new ArrayList<>();
+        HuntCursor after = null;
+        List<DraftHuntDTO> page;
+        do {
+            page = huntListRepository.findAllAfter(null, field, direction, after, 2);
+            page.forEach(hunt -> ids.add(hunt.id()));
+            after = page.isEmpty() ? null : HuntCursor.after(page.getLast(), field, direction);
+        } while (!page.isEmpty());
+        return ids;
+    }
+}
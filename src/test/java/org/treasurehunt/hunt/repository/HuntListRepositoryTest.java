@@ -0,0 +1,124 @@
+package org.treasurehunt.hunt.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.treasurehunt.common.enums.HuntStatus;
+import org.treasurehunt.hunt.api.DraftHuntDTO;
+import org.treasurehunt.hunt.api.HuntFilter;
+import org.treasurehunt.hunt.api.LocationDTO;
+import org.treasurehunt.hunt.repository.HuntListRepository.HuntListRow;
+import org.treasurehunt.hunt.repository.entity.Hunt;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks how the repository builds its criteria queries: rows are read as a scalar
+ * {@link HuntListRow} projection rather than {@link Hunt} entities, and the count is only built
+ * when the page does not already tell the total. The {@link EntityManager} is a mock; the SQL
+ * statements a real datasource runs are counted by {@link HuntListRepositoryDatabaseTest}.
+ */
+class HuntListRepositoryTest {
+
+    private EntityManager entityManager;
+    private CriteriaBuilder criteriaBuilder;
+    private TypedQuery<Object> listQuery;
+    private TypedQuery<Object> countQuery;
+    private HuntListRepository huntListRepository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        criteriaBuilder = mock(CriteriaBuilder.class, Answers.RETURNS_DEEP_STUBS);
+        listQuery = mock(TypedQuery.class);
+        countQuery = mock(TypedQuery.class);
+        when(entityManager.getCriteriaBuilder()).thenReturn(criteriaBuilder);
+
+        CriteriaQuery<HuntListRow> rowCriteria = mock(CriteriaQuery.class, Answers.RETURNS_DEEP_STUBS);
+        CriteriaQuery<Long> countCriteria = mock(CriteriaQuery.class, Answers.RETURNS_DEEP_STUBS);
+        Root<Hunt> root = rowCriteria.from(Hunt.class);
+        doReturn(Hunt.class).when(root).getJavaType();
+        when(criteriaBuilder.createQuery(HuntListRow.class)).thenReturn(rowCriteria);
+        when(criteriaBuilder.createQuery(Long.class)).thenReturn(countCriteria);
+        when(entityManager.createQuery(rowCriteria)).thenReturn((TypedQuery) listQuery);
+        when(entityManager.createQuery(countCriteria)).thenReturn((TypedQuery) countQuery);
+        when(listQuery.setFirstResult(anyInt())).thenReturn(listQuery);
+        when(listQuery.setMaxResults(anyInt())).thenReturn(listQuery);
+        when(countQuery.getSingleResult()).thenReturn(25L);
+
+        huntListRepository = new HuntListRepository(entityManager);
+    }
+
+    @Test
+    void findAll_WithFullPage_ShouldQueryTheProjectionAndCount() {
+        // Arrange
+        when(listQuery.getResultList()).thenReturn(rows(10));
+        Specification<Hunt> spec = HuntSpecification.getSpecification(HuntFilter.builder().title("gold").build());
+
+        // Act
+        Page<DraftHuntDTO> page = huntListRepository.findAll(spec, PageRequest.of(1, 10, Sort.by("title")));
+
+        // Assert
+        assertEquals(10, page.getContent().size());
+        assertEquals(25L, page.getTotalElements());
+        verify(entityManager, times(2)).createQuery(any(CriteriaQuery.class));
+        verify(criteriaBuilder, never()).createQuery(Hunt.class);
+        verify(listQuery).setFirstResult(10);
+        verify(listQuery).setMaxResults(10);
+    }
+
+    @Test
+    void findAll_WithShortFirstPage_ShouldNotBuildACountQuery() {
+        // Arrange
+        when(listQuery.getResultList()).thenReturn(rows(3));
+
+        // Act
+        Page<DraftHuntDTO> page = huntListRepository.findAll(
+                HuntSpecification.getSpecification(new HuntFilter()), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(3L, page.getTotalElements());
+        verify(entityManager, times(1)).createQuery(any(CriteriaQuery.class));
+        verifyNoInteractions(countQuery);
+    }
+
+    @Test
+    void findAll_WithLimit_ShouldQueryTheProjectionOnceAndMapEveryColumn() {
+        // Arrange
+        when(listQuery.getResultList()).thenReturn(List.of(
+                new HuntListRow(5L, "Gold", "Dig", 2L, 3L, null, null, HuntStatus.LIVE, 1.5, 2.5)));
+
+        // Act
+        List<DraftHuntDTO> hunts = huntListRepository.findAll(
+                HuntSpecification.keysetOrder(HuntSortField.ID, Sort.Direction.ASC), 11);
+
+        // Assert
+        assertEquals(List.of(new DraftHuntDTO(5L, "Gold", "Dig", 2L, 3L, null, null, HuntStatus.LIVE,
+                new LocationDTO(1.5, 2.5))), hunts);
+        verify(entityManager, times(1)).createQuery(any(CriteriaQuery.class));
+        verify(listQuery).setMaxResults(11);
+    }
+
+    private static List<Object> rows(int count) {
+        return LongStream.rangeClosed(1, count)
+                .<Object>mapToObj(id -> new HuntListRow(id, "Hunt " + id, null, 1L, null, null, null,
+                        HuntStatus.DRAFT, 0.0, 0.0))
+                .toList();
+    }
+}
@@ -0,0 +1,80 @@
+package org.treasurehunt.hunt.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.treasurehunt.support.DatabaseTest;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DatabaseTest
+class HuntParticipationRepositoryTest {
+
+    @Autowired
+    private HuntParticipationRepository huntParticipationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        for (long userId = 1; userId <= 5; userId++) {
+            jdbcTemplate.update("INSERT INTO users (user_id, username, email, password, score) VALUES (?, ?, ?, 'x', ?)",
+                    userId, "user" + userId, "user" + userId + "@example.com", userId == 5 ? 1000 : 0);
+        }
+        hunt(10L);
+        hunt(20L);
+        jdbcTemplate.update("INSERT INTO challenge (challenge_id, hunt_id, title, points, challenge_type, description) VALUES (11, 10, 'c', 50, 0, '')");
+        jdbcTemplate.update("INSERT INTO challenge (challenge_id, hunt_id, title, points, challenge_type, description) VALUES (21, 20, 'c', 500, 0, '')");
+        join(10L, 2L);
+        join(10L, 3L);
+        join(10L, 4L);
+        join(20L, 5L);
+        progress(2L, 11L, 10L, true, 1);
+        progress(3L, 11L, 10L, true, 0);
+        progress(5L, 21L, 20L, true, 0);
+    }
+
+    @Test
+    void findStandings_ShouldScoreAndRankWithinTheHunt() {
+        // Act
+        Map<Long, HuntStandingRow> standings = huntParticipationRepository.findStandings(10L, List.of(2L, 4L, 5L)).stream()
+                .collect(Collectors.toMap(HuntStandingRow::getUserId, row -> row));
+
+        // Assert: user 5 takes part in another hunt, and the total score plays no part
+        assertEquals(2, standings.size());
+        assertEquals(50 - 10, standings.get(2L).getScore());
+        assertEquals(2L, standings.get(2L).getHuntRank());
+        assertEquals(0, standings.get(4L).getScore());
+        assertEquals(3L, standings.get(4L).getHuntRank());
+    }
+
+    private void hunt(Long huntId) {
+        jdbcTemplate.update("INSERT INTO location (location_id, latitude, longitude) VALUES (?, 0, 0)", huntId);
+        jdbcTemplate.update("""
+                INSERT INTO hunt (hunt_id, title, organizer_id, location_id, status, participant_count)
+                VALUES (?, ?, 1, ?, 'LIVE', 0)
+                """, huntId, "Hunt " + huntId, huntId);
+    }
+
+    private void join(Long huntId, Long userId) {
+        jdbcTemplate.update("""
+                INSERT INTO hunt_participation (hunt_id, user_id, status, joined_at)
+                VALUES (?, ?, 'ACTIVE', CURRENT_TIMESTAMP)
+                """, huntId, userId);
+    }
+
+    private void progress(Long userId, Long challengeId, Long huntId, boolean solved, int failCount) {
+        jdbcTemplate.update("""
+                INSERT INTO user_challenge_progress (user_id, challenge_id, hunt_id, solved_at, fail_count)
+                VALUES (?, ?, ?, ?, ?)
+                """, userId, challengeId, huntId, solved ? Timestamp.from(Instant.now()) : null, failCount);
+    }
+}
@@ -0,0 +1,95 @@
+package org.treasurehunt.hunt.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.treasurehunt.hunt.api.CreateChallengeResponse;
+import org.treasurehunt.hunt.api.HunterChallengeResponse;
+import org.treasurehunt.hunt.mapper.ChallengeMapperImpl;
+import org.treasurehunt.support.DatabaseTest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the JSON hunters receive with the full challenge view, read from the same rows.
+ */
+@Log4j2(topic = "benchmark")
+@DatabaseTest
+@Import({ChallengeReadService.class, ChallengeMapperImpl.class})
+class ChallengeReadServiceDatabaseTest {
+
+    private static final int CHALLENGES = 20;
+    private static final int HIDDEN_TESTS = 10;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Autowired
+    private ChallengeReadService challengeReadService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (user_id, username, email, password, score) VALUES (1, 'organizer', 'o@example.com', 'x', 0)");
+        jdbcTemplate.update("INSERT INTO location (location_id, latitude, longitude) VALUES (1, 0, 0)");
+        jdbcTemplate.update("""
+                INSERT INTO hunt (hunt_id, title, organizer_id, location_id, status, participant_count)
+                VALUES (1, 'Code quest', 1, 1, 'LIVE', 0)
+                """);
+        long testCaseId = 1;
+        for (long challengeId = 1; challengeId <= CHALLENGES; challengeId++) {
+            jdbcTemplate.update("""
+                    INSERT INTO challenge (challenge_id, hunt_id, title, points, challenge_type, description)
+                    VALUES (?, 1, ?, 50, 0, 'Sum the numbers of each line')
+                    """, challengeId, "Challenge " + challengeId);
+            jdbcTemplate.update("INSERT INTO challenge_code (challenge_code_id, challenge_id, language, code) VALUES (?, ?, 0, ?)",
+                    challengeId, challengeId, code("def solve(lines):\n    pass\n"));
+            jdbcTemplate.update("INSERT INTO optimal_solution (challenge_code_id, challenge_id, language, code) VALUES (?, ?, 0, ?)",
+                    challengeId, challengeId, code("def solve(lines):\n    return [sum(map(int, l.split())) for l in lines]\n"));
+            for (int order = 0; order <= HIDDEN_TESTS; order++) {
+                // The first test is the sample; the hidden ones carry the large inputs
+                String input = order == 0 ? "1 2 3" : "7 ".repeat(200 * order).strip();
+                jdbcTemplate.update("""
+                        INSERT INTO "treasure-hunt".test_case (test_case_id, challenge_id, input, expected_output, `order`, is_sample)
+                        VALUES (?, ?, ?, ?, ?, ?)
+                        """, testCaseId++, challengeId, input, order == 0 ? "6" : String.valueOf(1400 * order), order, order == 0);
+            }
+        }
+    }
+
+    @Test
+    void getHunterChallengesByHuntId_ShouldSerializeFarSmallerThanTheFullView() throws Exception {
+        // Act
+        List<CreateChallengeResponse> full = challengeReadService.getChallengesByHuntId(1L);
+        List<HunterChallengeResponse> hunter = challengeReadService.getHunterChallengesByHuntId(1L);
+
+        // Assert
+        String fullJson = objectMapper.writeValueAsString(full);
+        String hunterJson = objectMapper.writeValueAsString(hunter);
+        int fullBytes = fullJson.getBytes(StandardCharsets.UTF_8).length;
+        int hunterBytes = hunterJson.getBytes(StandardCharsets.UTF_8).length;
+        log.info("Challenges of a hunt as JSON: full view {} bytes, hunter view {} bytes", fullBytes, hunterBytes);
+
+        assertEquals(CHALLENGES, hunter.size());
+        assertEquals(1, hunter.getFirst().sampleTests().size());
+        assertEquals("1 2 3", hunter.getFirst().sampleTests().getFirst().getInput());
+        assertEquals(1, hunter.getFirst().challengeCodes().size());
+        assertFalse(hunterJson.contains("return [sum("));
+        assertFalse(hunterJson.contains("7 7 7"));
+        assertTrue(fullJson.contains("return [sum("));
+        assertTrue(hunterBytes * 10 < fullBytes);
+    }
+
+    private static byte[] code(String code) {
+        return code.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,198 @@
+package org.treasurehunt.hunt.service;
+
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.treasurehunt.common.enums.ChallengeType;
+import org.treasurehunt.common.enums.SupportedLanguages;
+import org.treasurehunt.hunt.api.CreateChallengeResponse;
+import org.treasurehunt.hunt.api.HunterChallengeResponse;
+import org.treasurehunt.hunt.api.TestCaseDTO;
+import org.treasurehunt.hunt.mapper.ChallengeMapperImpl;
+import org.treasurehunt.hunt.repository.ChallengeCodeRow;
+import org.treasurehunt.hunt.repository.ChallengeRepository;
+import org.treasurehunt.hunt.repository.TestCaseRow;
+import org.treasurehunt.hunt.repository.entity.Challenge;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ChallengeReadServiceTest {
+
+    private ChallengeReadService challengeReadService;
+
+    @Mock
+    private ChallengeRepository challengeRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        challengeReadService = new ChallengeReadService(challengeRepository, new ChallengeMapperImpl());
+    }
+
+    @Test
+    void getChallengesByHuntId_ShouldAssembleChildrenWithoutTouchingLazyCollections() {
+        // Arrange
+        when(challengeRepository.findByHuntId(1L)).thenReturn(List.of(challenge(10L), challenge(11L)));
+        when(challengeRepository.findTestCaseRowsByChallengeIdIn(List.of(10L, 11L)))
+                .thenReturn(List.of(testCase(10L, "1", 1), testCase(10L, "2", 2), testCase(11L, "3", 1)));
+        when(challengeRepository.findOptimalSolutionRowsByChallengeIdIn(List.of(10L, 11L)))
+                .thenReturn(List.of(code(7L, 11L)));
+        when(challengeRepository.findCodeRowsByChallengeIdIn(List.of(10L, 11L)))
+                .thenReturn(List.of(code(5L, 10L), code(6L, 11L)));
+
+        // Act
+        List<CreateChallengeResponse> result = challengeReadService.getChallengesByHuntId(1L);
+
+        // Assert
+        assertEquals(List.of(10L, 11L), result.stream().map(CreateChallengeResponse::challengeId).toList());
+        CreateChallengeResponse first = result.getFirst();
+        assertEquals("Challenge 10", first.title());
+        assertEquals(List.of("1", "2"), first.testCases().stream().map(TestCaseDTO::getInput).toList());
+        assertEquals(List.of(), first.optimalSolutions());
+        assertEquals(5L, first.challengeCodes().getFirst().id());
+        CreateChallengeResponse second = result.get(1);
+        assertEquals(1, second.testCases().size());
+        assertEquals(7L, second.optimalSolutions().getFirst().id());
+        assertEquals(6L, second.challengeCodes().getFirst().id());
+    }
+
+    @Test
+    void getChallengesByHuntId_ShouldRunAFixedNumberOfQueriesPerBatch() {
+        // Arrange
+        int challengeCount = ChallengeReadService.BATCH_SIZE * 2 + 200;
+        List<Challenge> challenges = LongStream.rangeClosed(1, challengeCount).mapToObj(this::challenge).toList();
+        when(challengeRepository.findByHuntId(1L)).thenReturn(challenges);
+        when(challengeRepository.findTestCaseRowsByChallengeIdIn(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            assertTrue(ids.size() <= ChallengeReadService.BATCH_SIZE);
+            List<TestCaseRow> rows = new ArrayList<>();
+            ids.forEach(id -> rows.add(testCase(id, "in", 1)));
+            return rows;
+        });
+        when(challengeRepository.findOptimalSolutionRowsByChallengeIdIn(any())).thenReturn(List.of());
+        when(challengeRepository.findCodeRowsByChallengeIdIn(any())).thenReturn(List.of());
+
+        // Act
+        List<CreateChallengeResponse> result = challengeReadService.getChallengesByHuntId(1L);
+
+        // Assert: one query for the challenges, then three per batch of 500, however many challenges
+        assertEquals(challengeCount, result.size());
+        assertTrue(result.stream().allMatch(challenge -> challenge.testCases().size() == 1));
+        assertEquals(1 + 3 * 3, mockingDetails(challengeRepository).getInvocations().size());
+    }
+
+    @Test
+    void getChallengesByHuntId_WhenHuntHasNoChallenges_ShouldRunOneQuery() {
+        // Arrange
+        when(challengeRepository.findByHuntId(1L)).thenReturn(List.of());
+
+        // Act
+        List<CreateChallengeResponse> result = challengeReadService.getChallengesByHuntId(1L);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        assertEquals(1, mockingDetails(challengeRepository).getInvocations().size());
+    }
+
+    @Test
+    void getHunterChallengesByHuntId_ShouldSkipSolutionsAndHiddenTests() {
+        // Arrange
+        when(challengeRepository.findByHuntId(1L)).thenReturn(List.of(challenge(10L)));
+        when(challengeRepository.findSampleTestCaseRowsByChallengeIdIn(List.of(10L)))
+                .thenReturn(List.of(testCase(10L, "1", 1)));
+        when(challengeRepository.findCodeRowsByChallengeIdIn(List.of(10L))).thenReturn(List.of(code(5L, 10L)));
+
+        // Act
+        List<HunterChallengeResponse> result = challengeReadService.getHunterChallengesByHuntId(1L);
+
+        // Assert
+        HunterChallengeResponse challenge = result.getFirst();
+        assertEquals(1, challenge.sampleTests().size());
+        assertTrue(challenge.sampleTests().getFirst().isSample());
+        assertEquals(5L, challenge.challengeCodes().getFirst().id());
+        verify(challengeRepository, never()).findTestCaseRowsByChallengeIdIn(any());
+        verify(challengeRepository, never()).findOptimalSolutionRowsByChallengeIdIn(any());
+    }
+
+    private Challenge challenge(Long id) {
+        Challenge challenge = new Challenge();
+        challenge.setId(id);
+        challenge.setTitle("Challenge " + id);
+        challenge.setPoints(10);
+        challenge.setChallengeType(ChallengeType.CODING);
+        // Any access to a lazy collection fails the test, as it would cost a query per challenge
+        challenge.setTestCases(lazy());
+        challenge.setChallengeCodes(lazy());
+        challenge.setOptimalSolutions(lazy());
+        return challenge;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> lazy() {
+        return mock(List.class, invocation -> {
+            throw new LazyInitializationException("lazy collection touched");
+        });
+    }
+
+    private static TestCaseRow testCase(Long challengeId, String input, int position) {
+        return new TestCaseRow() {
+            @Override
+            public Long getChallengeId() {
+                return challengeId;
+            }
+
+            @Override
+            public String getInput() {
+                return input;
+            }
+
+            @Override
+            public String getExpectedOutput() {
+                return input;
+            }
+
+            @Override
+            public Integer getPosition() {
+                return position;
+            }
+
+            @Override
+            public Boolean getSample() {
+                return position == 1;
+            }
+        };
+    }
+
+    private static ChallengeCodeRow code(Long id, Long challengeId) {
+        return new ChallengeCodeRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getChallengeId() {
+                return challengeId;
+            }
+
+            @Override
+            public String getCode() {
+                return "print()";
+            }
+
+            @Override
+            public SupportedLanguages getLanguage() {
+                return SupportedLanguages.JAVA;
+            }
+        };
+    }
+}
@@ -1,21 +1,28 @@
 package org.treasurehunt.hunt.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.treasurehunt.common.api.RenderedJson;
 import org.treasurehunt.common.enums.ChallengeType;
+import org.treasurehunt.common.enums.HuntStatus;
 import org.treasurehunt.common.util.FIleUploadUtil;
 import org.treasurehunt.common.validation.ValidatorService;
 import org.treasurehunt.exception.EntityNotFoundException;
 import org.treasurehunt.hunt.api.CreateChallengeResponse;
 import org.treasurehunt.hunt.mapper.ChallengeMapper;
 import org.treasurehunt.hunt.repository.ChallengeRepository;
+import org.treasurehunt.hunt.repository.HuntAccessRow;
+import org.treasurehunt.hunt.repository.HuntParticipationRepository;
 import org.treasurehunt.hunt.repository.HuntRepository;
 import org.treasurehunt.hunt.repository.entity.Challenge;
 import org.treasurehunt.hunt.repository.entity.Hunt;
-import org.treasurehunt.submissions.repo.SubmissionRepo;
+import org.treasurehunt.submissions.service.ChallengeProgressService;
 import org.treasurehunt.user.repository.UserRepository;
+import org.treasurehunt.user.service.ScoreService;
 
 import java.time.Instant;
 import java.util.List;
@@ -50,7 +57,22 @@ class ChallengeServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private SubmissionRepo submissionRepo;
+    private HuntParticipationRepository huntParticipationRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ChallengeProgressService challengeProgressService;
+
+    @Mock
+    private ScoreService scoreService;
+
+    @Mock
+    private PublishedHuntCache publishedHuntCache;
+
+    @Mock
+    private ChallengeReadService challengeReadService;
 
     @BeforeEach
     void setUp() {
@@ -59,11 +81,16 @@ class ChallengeServiceTest {
                 challengeRepository,
                 huntRepository,
                 challengeMapper,
-                null, // ObjectMapper not needed for these tests
+                new ObjectMapper(),
                 judge0Service,
                 validatorService,
                 userRepository,
-                submissionRepo
+                challengeProgressService,
+                scoreService,
+                huntParticipationRepository,
+                eventPublisher,
+                publishedHuntCache,
+                challengeReadService
         );
     }
 
@@ -132,32 +159,18 @@ class ChallengeServiceTest {
         Hunt hunt = new Hunt();
         hunt.setId(huntId);
 
-        Challenge challenge1 = new Challenge();
-        challenge1.setId(1L);
-        challenge1.setTitle("Challenge 1");
-        challenge1.setHunt(hunt);
-
-        Challenge challenge2 = new Challenge();
-        challenge2.setId(2L);
-        challenge2.setTitle("Challenge 2");
-        challenge2.setHunt(hunt);
-
-        List<Challenge> challenges = List.of(challenge1, challenge2);
-
         CreateChallengeResponse response1 = new CreateChallengeResponse(
                 1L, "Challenge 1", "Description 1", 100, ChallengeType.CODING,
-                null, null, null, null, Instant.now()
+                null, List.of(), List.of(), List.of(), Instant.now()
         );
 
         CreateChallengeResponse response2 = new CreateChallengeResponse(
                 2L, "Challenge 2", "Description 2", 200, ChallengeType.BUGFIX,
-                null, null, null, null, Instant.now()
+                null, List.of(), List.of(), List.of(), Instant.now()
         );
 
         when(huntRepository.findById(huntId)).thenReturn(Optional.of(hunt));
-        when(challengeRepository.findByHuntId(huntId)).thenReturn(challenges);
-        when(challengeMapper.fromEntity(challenge1)).thenReturn(response1);
-        when(challengeMapper.fromEntity(challenge2)).thenReturn(response2);
+        when(challengeReadService.getChallengesByHuntId(huntId)).thenReturn(List.of(response1, response2));
 
         // Act
         List<CreateChallengeResponse> result = challengeService.getChallengesByHuntId(huntId);
@@ -171,8 +184,8 @@ class ChallengeServiceTest {
         assertEquals("Challenge 2", result.get(1).title());
 
         verify(huntRepository).findById(huntId);
-        verify(challengeRepository).findByHuntId(huntId);
-        verify(challengeMapper, times(2)).fromEntity(any(Challenge.class));
+        verify(challengeReadService).getChallengesByHuntId(huntId);
+        verifyNoInteractions(challengeMapper);
     }
 
     @Test
@@ -183,6 +196,9 @@ class ChallengeServiceTest {
         challenge.setId(challengeId);
         challenge.setTitle("Test Challenge");
         challenge.setMapPieceUri("test-image.jpg");
+        Hunt hunt = new Hunt();
+        hunt.setId(5L);
+        challenge.setHunt(hunt);
 
         when(challengeRepository.findById(challengeId)).thenReturn(Optional.of(challenge));
 
@@ -196,6 +212,7 @@ class ChallengeServiceTest {
             // Assert
             verify(challengeRepository).findById(challengeId);
             verify(challengeRepository).delete(challenge);
+            verify(eventPublisher).publishEvent(HuntChangedEvent.saved(5L));
             mocked.verify(() -> FIleUploadUtil.deleteFile(anyString(), eq("test-image.jpg")));
         }
     }
@@ -214,4 +231,104 @@ class ChallengeServiceTest {
         verify(challengeRepository).findById(challengeId);
         verify(challengeRepository, never()).delete(any());
     }
+
+    @Test
+    void getPublishedChallengesWithAuth_ForParticipant_ShouldServeHunterViewAfterAccessCheck() {
+        // Arrange
+        RenderedJson hunter = new RenderedJson("[]".getBytes(), "\"hunter\"");
+        when(publishedHuntCache.cached(1L)).thenReturn(Optional.of(new PublishedHunt(1L, 3L, HuntStatus.LIVE, 9L, null, hunter)));
+        when(huntParticipationRepository.isParticipant(1L, 2L)).thenReturn(true);
+
+        // Act
+        RenderedJson result = challengeService.getPublishedChallengesWithAuth(1L, 2L, List.of());
+
+        // Assert
+        assertSame(hunter, result);
+        verifyNoInteractions(huntRepository, challengeRepository, challengeMapper, challengeReadService);
+    }
+
+    @Test
+    void getPublishedChallengesWithAuth_ForOrganizer_ShouldLoadTheFullChallenges() {
+        // Arrange
+        RenderedJson hunter = new RenderedJson("[]".getBytes(), "\"hunter\"");
+        when(publishedHuntCache.cached(1L)).thenReturn(Optional.of(new PublishedHunt(1L, 3L, HuntStatus.LIVE, 9L, null, hunter)));
+        when(challengeReadService.getChallengesByHuntId(1L)).thenReturn(List.of());
+
+        // Act
+        RenderedJson result = challengeService.getPublishedChallengesWithAuth(1L, 9L, List.of());
+
+        // Assert
+        assertNotSame(hunter, result);
+        verify(challengeReadService).getChallengesByHuntId(1L);
+        verify(challengeReadService, never()).getHunterChallengesByHuntId(any());
+        verifyNoInteractions(huntParticipationRepository);
+    }
+
+    @Test
+    void getPublishedChallengesWithAuth_ForOutsider_ShouldThrow() {
+        // Arrange
+        when(publishedHuntCache.cached(1L)).thenReturn(Optional.of(new PublishedHunt(1L, 3L, HuntStatus.LIVE, 9L, null, null)));
+        when(huntParticipationRepository.isParticipant(1L, 2L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class,
+                () -> challengeService.getPublishedChallengesWithAuth(1L, 2L, List.of()));
+    }
+
+    @Test
+    void getPublishedChallengesWithAuth_ForOutsiderOfAHuntNotCached_ShouldThrowBeforeReadingChallenges() {
+        // Arrange
+        when(publishedHuntCache.cached(1L)).thenReturn(Optional.empty());
+        when(huntRepository.findAccessRowById(1L)).thenReturn(Optional.of(accessRow(HuntStatus.LIVE, 9L)));
+        when(huntParticipationRepository.isParticipant(1L, 2L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class,
+                () -> challengeService.getPublishedChallengesWithAuth(1L, 2L, List.of()));
+        verify(publishedHuntCache, never()).get(any());
+        verifyNoInteractions(challengeReadService);
+    }
+
+    @Test
+    void getPublishedChallengesWithAuth_ForParticipantOfAHuntNotLive_ShouldLoadOnlyTheHunterView() {
+        // Arrange
+        when(publishedHuntCache.cached(1L)).thenReturn(Optional.empty());
+        when(huntRepository.findAccessRowById(1L)).thenReturn(Optional.of(accessRow(HuntStatus.FINISHED, 9L)));
+        when(huntParticipationRepository.isParticipant(1L, 2L)).thenReturn(true);
+        when(challengeReadService.getHunterChallengesByHuntId(1L)).thenReturn(List.of());
+
+        // Act
+        RenderedJson result = challengeService.getPublishedChallengesWithAuth(1L, 2L, List.of());
+
+        // Assert
+        assertArrayEquals("[]".getBytes(), result.body());
+        verify(challengeReadService, never()).getChallengesByHuntId(any());
+        verify(publishedHuntCache, never()).get(any());
+    }
+
+    @Test
+    void getPublishedChallengesWithAuth_WhenHuntDoesNotExist_ShouldThrowEntityNotFound() {
+        // Arrange
+        when(publishedHuntCache.cached(1L)).thenReturn(Optional.empty());
+        when(huntRepository.findAccessRowById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class,
+                () -> challengeService.getPublishedChallengesWithAuth(1L, 2L, List.of()));
+        verifyNoInteractions(challengeReadService);
+    }
+
+    private static HuntAccessRow accessRow(HuntStatus status, Long organizerId) {
+        return new HuntAccessRow() {
+            @Override
+            public HuntStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getOrganizerId() {
+                return organizerId;
+            }
+        };
+    }
 }
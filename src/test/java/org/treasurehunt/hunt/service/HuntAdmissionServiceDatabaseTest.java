@@ -0,0 +1,121 @@
+package org.treasurehunt.hunt.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.treasurehunt.exception.BadRequestException;
+import org.treasurehunt.support.DatabaseTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Admits crowds of concurrent joins against the schema, each join committing on its own.
+ */
+@Log4j2(topic = "benchmark")
+@DatabaseTest
+@Import({HuntAdmissionService.class, HuntStatisticsCounters.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HuntAdmissionServiceDatabaseTest {
+
+    private static final int SEATS = 500;
+    private static final int REQUESTS = 10_000;
+
+    @Autowired
+    private HuntAdmissionService huntAdmissionService;
+
+    @Autowired
+    private HuntStatisticsCounters huntStatisticsCounters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // The generated column of CreateTables.sql, which the entities do not map
+        jdbcTemplate.execute("""
+                ALTER TABLE hunt_participation ADD COLUMN active_user_id BIGINT
+                    GENERATED ALWAYS AS (CASE WHEN status = 'ACTIVE' THEN user_id END)
+                """);
+        jdbcTemplate.execute("CREATE UNIQUE INDEX uq_participation_active_user ON hunt_participation (active_user_id)");
+
+        List<Object[]> users = new ArrayList<>(REQUESTS + 1);
+        for (long userId = 1; userId <= REQUESTS + 1; userId++) {
+            users.add(new Object[]{userId, "user" + userId, "user" + userId + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (user_id, username, email, password, score) VALUES (?, ?, ?, 'x', 0)", users);
+        jdbcTemplate.update("INSERT INTO location (location_id, latitude, longitude) VALUES (1, 0, 0)");
+        jdbcTemplate.update("""
+                INSERT INTO hunt (hunt_id, title, organizer_id, location_id, status, participant_count, max_participants)
+                VALUES (1, 'Opening night', ?, 1, 'LIVE', 0, ?)
+                """, REQUESTS + 1, SEATS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM hunt_participation");
+        jdbcTemplate.update("DELETE FROM hunt");
+        jdbcTemplate.update("DELETE FROM location");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.execute("DROP INDEX uq_participation_active_user");
+        jdbcTemplate.execute("ALTER TABLE hunt_participation DROP COLUMN active_user_id");
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmark_TenThousandConcurrentJoinsForAHuntWithFiveHundredSeats() throws Exception {
+        // Arrange
+        huntStatisticsCounters.statistics(1L);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        List<Future<?>> joins = new ArrayList<>(REQUESTS);
+
+        // Act
+        long nanos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long userId = 1; userId <= REQUESTS; userId++) {
+                long user = userId;
+                joins.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        huntAdmissionService.join(1L, user);
+                        admitted.incrementAndGet();
+                    } catch (BadRequestException e) {
+                        refused.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> join : joins) {
+                join.get();
+            }
+            nanos = System.nanoTime() - begin;
+        }
+
+        // Assert
+        log.info("{} concurrent joins for {} seats: {} ms, {} admitted, {} refused",
+                REQUESTS, SEATS, nanos / 1_000_000, admitted.get(), refused.get());
+        assertEquals(SEATS, admitted.get());
+        assertEquals(REQUESTS - SEATS, refused.get());
+        assertEquals(SEATS, jdbcTemplate.queryForObject("SELECT participant_count FROM hunt WHERE hunt_id = 1", Integer.class));
+        assertEquals(SEATS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM hunt_participation WHERE hunt_id = 1", Integer.class));
+        assertEquals(SEATS, huntStatisticsCounters.statistics(1L).numberOfParticipants());
+    }
+}
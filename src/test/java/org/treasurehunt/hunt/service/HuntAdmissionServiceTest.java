@@ -0,0 +1,114 @@
+package org.treasurehunt.hunt.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.treasurehunt.common.enums.ParticipationStatus;
+import org.treasurehunt.exception.BadRequestException;
+import org.treasurehunt.exception.EntityNotFoundException;
+import org.treasurehunt.hunt.repository.HuntParticipationRepository;
+import org.treasurehunt.hunt.repository.HuntRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class HuntAdmissionServiceTest {
+
+    private HuntAdmissionService huntAdmissionService;
+    private HuntStatisticsCounters huntStatisticsCounters;
+
+    @Mock
+    private HuntRepository huntRepository;
+
+    @Mock
+    private HuntParticipationRepository huntParticipationRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        huntStatisticsCounters = new HuntStatisticsCounters(huntRepository);
+        huntAdmissionService = new HuntAdmissionService(huntRepository, huntParticipationRepository,
+                huntStatisticsCounters, eventPublisher);
+    }
+
+    @Test
+    void join_WithRoom_ShouldRecordParticipationThenTakeASeat() {
+        // Arrange
+        when(huntParticipationRepository.insertActive(eq(1L), eq(7L), any())).thenReturn(1);
+        when(huntRepository.admitParticipant(1L)).thenReturn(1);
+
+        // Act
+        huntAdmissionService.join(1L, 7L);
+
+        // Assert
+        var inOrder = inOrder(huntParticipationRepository, huntRepository, eventPublisher);
+        inOrder.verify(huntParticipationRepository).insertActive(eq(1L), eq(7L), any());
+        inOrder.verify(huntRepository).admitParticipant(1L);
+        inOrder.verify(eventPublisher).publishEvent(new HuntJoinedEvent(1L, 7L));
+        verify(huntRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void join_WhenUserIsActiveElsewhere_ShouldRejectWithoutTakingASeat() {
+        // Arrange
+        when(huntParticipationRepository.insertActive(eq(1L), eq(7L), any())).thenReturn(0);
+        when(huntParticipationRepository.existsByUserIdAndStatus(7L, ParticipationStatus.ACTIVE)).thenReturn(true);
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> huntAdmissionService.join(1L, 7L));
+        assertEquals("User is already in a hunt", exception.getMessage());
+        verify(huntRepository, never()).admitParticipant(anyLong());
+    }
+
+    @Test
+    void join_WhenUserAlreadyTookPartInTheHunt_ShouldRejectWithoutTakingASeat() {
+        // Arrange
+        when(huntParticipationRepository.insertActive(eq(1L), eq(7L), any())).thenReturn(0);
+        when(huntParticipationRepository.existsByUserIdAndStatus(7L, ParticipationStatus.ACTIVE)).thenReturn(false);
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> huntAdmissionService.join(1L, 7L));
+        assertEquals("User has already taken part in this hunt", exception.getMessage());
+        verify(huntRepository, never()).admitParticipant(anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void join_WhenHuntIsFull_ShouldRejectAndTurnAwayLaterJoinsInMemory() {
+        // Arrange
+        when(huntParticipationRepository.insertActive(any(), any(), any())).thenReturn(1);
+        when(huntRepository.admitParticipant(1L)).thenReturn(0);
+        when(huntRepository.existsById(1L)).thenReturn(true);
+
+        // Act
+        BadRequestException first = assertThrows(BadRequestException.class, () -> huntAdmissionService.join(1L, 7L));
+        BadRequestException second = assertThrows(BadRequestException.class, () -> huntAdmissionService.join(1L, 8L));
+
+        // Assert
+        assertEquals("Hunt is full", first.getMessage());
+        assertEquals("Hunt is full", second.getMessage());
+        verify(huntParticipationRepository, times(1)).insertActive(any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void join_WhenHuntDoesNotExist_ShouldThrowEntityNotFound() {
+        // Arrange
+        when(huntParticipationRepository.insertActive(any(), any(), any())).thenReturn(1);
+        when(huntRepository.admitParticipant(1L)).thenReturn(0);
+        when(huntRepository.existsById(1L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> huntAdmissionService.join(1L, 7L));
+        assertFalse(huntStatisticsCounters.isFull(1L));
+    }
+}
@@ -0,0 +1,333 @@
+package org.treasurehunt.hunt.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.treasurehunt.common.enums.ChallengeType;
+import org.treasurehunt.common.enums.HuntStatus;
+import org.treasurehunt.common.enums.SupportedLanguages;
+import org.treasurehunt.common.validation.ValidatorService;
+import org.treasurehunt.exception.BadRequestException;
+import org.treasurehunt.hunt.api.ChallengeArchiveEntry;
+import org.treasurehunt.hunt.api.ChallengeCodeDTO;
+import org.treasurehunt.hunt.api.OptimalSolutionDTO;
+import org.treasurehunt.hunt.api.TestCaseDTO;
+import org.treasurehunt.hunt.repository.ChallengeArchiveRow;
+import org.treasurehunt.hunt.repository.ChallengeRepository;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.LocationRepository;
+import org.treasurehunt.hunt.repository.entity.Hunt;
+import org.treasurehunt.hunt.repository.entity.Location;
+import org.treasurehunt.user.repository.entity.User;
+import org.treasurehunt.user.service.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HuntArchiveServiceTest {
+
+    @TempDir
+    Path uploadRoot;
+
+    private HuntArchiveService huntArchiveService;
+
+    @Mock
+    private HuntRepository huntRepository;
+
+    @Mock
+    private ChallengeRepository challengeRepository;
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ChallengeReadService challengeReadService;
+
+    @Mock
+    private ChallengeBatchWriter challengeBatchWriter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        huntArchiveService = newService(1024 * 1024);
+        when(locationRepository.save(any(Location.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(huntRepository.save(any(Hunt.class))).thenAnswer(invocation -> {
+            Hunt hunt = invocation.getArgument(0);
+            hunt.setId(2L);
+            return hunt;
+        });
+        when(challengeBatchWriter.insert(eq(2L), anyList())).thenAnswer(invocation -> {
+            List<ChallengeArchiveEntry> challenges = invocation.getArgument(1);
+            return challenges.stream().map(challenge -> 100L).toList();
+        });
+        when(userService.getUser(7L)).thenReturn(user(7L));
+    }
+
+    @Test
+    void exportThenImport_ShouldRecreateTheHuntWithItsChallengesAndImages() throws IOException {
+        // Arrange
+        write("hunt-bg-photos/1.png", "background");
+        write("challenge-pieces/piece-a.png", "piece a");
+        stubHuntWithChallenges(row(10L, "A", "piece-a.png"), row(11L, "B", null), row(12L, "C", "gone.png"));
+
+        // Act
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        huntArchiveService.exportHunt(1L, archive);
+        Hunt imported = huntArchiveService.importHunt(new ByteArrayInputStream(archive.toByteArray()), 7L);
+
+        // Assert: entries, read in order
+        assertEquals(List.of("hunt.json", "images/hunt-bg/1.png", "challenges/0.json",
+                "images/challenge-pieces/piece-a.png", "challenges/1.json", "challenges/2.json"), entryNames(archive));
+
+        // Assert: the new hunt is a draft of the importing organizer, with renamed images
+        assertEquals(HuntStatus.DRAFT, imported.getStatus());
+        assertEquals(7L, imported.getOrganizer().getId());
+        assertEquals("Hunt", imported.getTitle());
+        assertEquals(31.9, imported.getLocation().getLatitude());
+        assertNull(imported.getMapImgUri());
+        assertEquals("background", read("hunt-bg-photos/" + imported.getHuntImgUri()));
+
+        // Assert: challenges written in batches of two, children included
+        ArgumentCaptor<List<ChallengeArchiveEntry>> batches = ArgumentCaptor.captor();
+        verify(challengeBatchWriter, times(2)).insert(eq(2L), batches.capture());
+        assertEquals(List.of(2, 1), batches.getAllValues().stream().map(List::size).toList());
+        ChallengeArchiveEntry first = batches.getAllValues().getFirst().getFirst();
+        assertEquals("A", first.title());
+        assertEquals("in-10", first.testCases().getFirst().getInput());
+        assertTrue(first.testCases().getFirst().isSample());
+        assertEquals("code-10", first.challengeCodes().getFirst().code());
+        assertEquals("solution-10", first.optimalSolutions().getFirst().code());
+        assertEquals("piece a", read("challenge-pieces/" + first.mapPiece()));
+        assertNull(batches.getAllValues().getLast().getFirst().mapPiece());
+        verify(eventPublisher).publishEvent(HuntChangedEvent.saved(2L));
+    }
+
+    @Test
+    void exportHunt_ShouldReadChallengesOnePageAtATime() throws IOException {
+        // Arrange
+        stubHuntWithChallenges(row(10L, "A", null), row(11L, "B", null), row(12L, "C", null));
+
+        // Act
+        huntArchiveService.exportHunt(1L, new ByteArrayOutputStream());
+
+        // Assert: keyset pages of two, the last one short
+        verify(challengeRepository).findArchiveRowsByHuntIdAfter(eq(1L), eq(0L), any(Pageable.class));
+        verify(challengeRepository).findArchiveRowsByHuntIdAfter(eq(1L), eq(11L), any(Pageable.class));
+        verify(challengeReadService).fetchTestCases(List.of(10L, 11L));
+        verify(challengeReadService).fetchTestCases(List.of(12L));
+        verifyNoMoreInteractions(challengeRepository);
+    }
+
+    @Test
+    void importHunt_WhenHuntEntryIsNotFirst_ShouldRejectArchive() throws IOException {
+        // Arrange
+        byte[] archive = zip(Map.of("challenges/0.json", "{}"));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> huntArchiveService.importHunt(new ByteArrayInputStream(archive), 7L));
+        verifyNoInteractions(huntRepository, challengeBatchWriter);
+    }
+
+    @Test
+    void importHunt_WhenArchiveExpandsBeyondTheLimit_ShouldFailAndRemoveWrittenImages() throws IOException {
+        // Arrange
+        huntArchiveService = newService(4 * 1024);
+        byte[] archive = zip(Map.of(
+                "hunt.json", "{\"formatVersion\":1,\"title\":\"Hunt\",\"latitude\":1.0,\"longitude\":2.0,\"huntImage\":\"bg.png\"}",
+                "images/hunt-bg/bg.png", "small",
+                "images/challenge-pieces/huge.png", "x".repeat(64 * 1024)));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> huntArchiveService.importHunt(new ByteArrayInputStream(archive), 7L));
+        try (Stream<Path> files = Files.walk(uploadRoot)) {
+            assertTrue(files.noneMatch(Files::isRegularFile));
+        }
+    }
+
+    @Test
+    void importedImageName_ShouldStayInsideTheUploadDirectory() {
+        assertEquals("p_x.png", HuntArchiveService.importedImageName("p_", "images/hunt-bg/../../../x.png"));
+        assertEquals("p_y.JPG", HuntArchiveService.importedImageName("p_", "y.JPG"));
+        assertNull(HuntArchiveService.importedImageName("p_", null));
+        assertThrows(BadRequestException.class, () -> HuntArchiveService.importedImageName("p_", "../../etc/passwd"));
+    }
+
+    @Test
+    void checkExportAllowed_ForAnotherOrganizer_ShouldThrow() {
+        // Arrange
+        when(huntRepository.findById(1L)).thenReturn(Optional.of(hunt()));
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class,
+                () -> huntArchiveService.checkExportAllowed(1L, 8L, List.of(new SimpleGrantedAuthority("ORGANIZER"))));
+        assertDoesNotThrow(() -> huntArchiveService.checkExportAllowed(1L, 5L, List.of()));
+        assertDoesNotThrow(() -> huntArchiveService.checkExportAllowed(1L, 8L, List.of(new SimpleGrantedAuthority("ADMIN"))));
+    }
+
+    private HuntArchiveService newService(long maxImportBytes) {
+        return new HuntArchiveService(huntRepository, challengeRepository, locationRepository, userService,
+                challengeReadService, challengeBatchWriter,
+                new ValidatorService(Validation.buildDefaultValidatorFactory().getValidator()),
+                new ObjectMapper().findAndRegisterModules(), eventPublisher,
+                uploadRoot.toString(), 2, maxImportBytes);
+    }
+
+    private void stubHuntWithChallenges(ChallengeArchiveRow... rows) {
+        when(huntRepository.findById(1L)).thenReturn(Optional.of(hunt()));
+        when(challengeRepository.findArchiveRowsByHuntIdAfter(eq(1L), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(rows[0], rows[1]));
+        when(challengeRepository.findArchiveRowsByHuntIdAfter(eq(1L), eq(11L), any(Pageable.class)))
+                .thenReturn(List.of(rows[2]));
+        when(challengeReadService.fetchTestCases(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().collect(Collectors.toMap(id -> id, id -> {
+                TestCaseDTO testCase = new TestCaseDTO();
+                testCase.setInput("in-" + id);
+                testCase.setExpectedOutput("out-" + id);
+                testCase.setOrder(1);
+                testCase.setSample(true);
+                return List.of(testCase);
+            }));
+        });
+        when(challengeReadService.fetchChallengeCodes(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().collect(Collectors.toMap(id -> id,
+                    id -> List.of(new ChallengeCodeDTO(id, "code-" + id, SupportedLanguages.JAVA))));
+        });
+        when(challengeReadService.fetchOptimalSolutions(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().collect(Collectors.toMap(id -> id,
+                    id -> List.of(new OptimalSolutionDTO(id, "solution-" + id, SupportedLanguages.JAVA))));
+        });
+    }
+
+    private static Hunt hunt() {
+        Location location = new Location();
+        location.setLatitude(31.9);
+        location.setLongitude(35.9);
+        return Hunt.builder()
+                .id(1L)
+                .title("Hunt")
+                .description("A hunt")
+                .organizer(user(5L))
+                .status(HuntStatus.LIVE)
+                .location(location)
+                .huntImgUri("1.png")
+                .mapImgUri("missing.png")
+                .build();
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static ChallengeArchiveRow row(Long id, String title, String mapPieceUri) {
+        return new ChallengeArchiveRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getDescription() {
+                return "Description " + title;
+            }
+
+            @Override
+            public Integer getPoints() {
+                return 10;
+            }
+
+            @Override
+            public ChallengeType getChallengeType() {
+                return ChallengeType.CODING;
+            }
+
+            @Override
+            public String getExternalGameUri() {
+                return null;
+            }
+
+            @Override
+            public String getMapPieceUri() {
+                return mapPieceUri;
+            }
+        };
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = uploadRoot.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private String read(String path) throws IOException {
+        return Files.readString(uploadRoot.resolve(path));
+    }
+
+    private static List<String> entryNames(ByteArrayOutputStream archive) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+
+    private static byte[] zip(Map<String, String> entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            // hunt.json first, as exports write it
+            List<String> names = entries.keySet().stream()
+                    .sorted((a, b) -> a.equals("hunt.json") ? -1 : b.equals("hunt.json") ? 1 : a.compareTo(b))
+                    .toList();
+            for (String name : names) {
+                zip.putNextEntry(new ZipEntry(name));
+                zip.write(entries.get(name).getBytes());
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+}
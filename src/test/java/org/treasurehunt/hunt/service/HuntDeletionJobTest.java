@@ -0,0 +1,154 @@
+package org.treasurehunt.hunt.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.treasurehunt.hunt.api.HuntDeletionStatus;
+import org.treasurehunt.hunt.service.HuntDeletionService.ChallengeChunk;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class HuntDeletionJobTest {
+
+    private HuntDeletionJob huntDeletionJob;
+
+    @Mock
+    private HuntDeletionService huntDeletionService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        huntDeletionJob = new HuntDeletionJob(huntDeletionService, eventPublisher, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        huntDeletionJob.stop();
+    }
+
+    @Test
+    void submit_ShouldDeleteChallengesInChunksAndTheHuntLast() {
+        // Arrange
+        when(huntDeletionService.detachParticipants(1L)).thenReturn(7);
+        when(huntDeletionService.countChallenges(1L)).thenReturn(3L);
+        when(huntDeletionService.deleteChallengeChunk(1L, 2)).thenReturn(
+                new ChallengeChunk(List.of(10L, 11L), List.of()),
+                new ChallengeChunk(List.of(12L), List.of()),
+                new ChallengeChunk(List.of(), List.of()));
+        when(huntDeletionService.deleteHuntRow(1L)).thenReturn(List.of());
+
+        // Act
+        huntDeletionJob.submit(1L);
+
+        // Assert
+        verify(eventPublisher, timeout(2000)).publishEvent(HuntChangedEvent.deleted(1L));
+        InOrder inOrder = inOrder(huntDeletionService);
+        inOrder.verify(huntDeletionService).detachParticipants(1L);
+        inOrder.verify(huntDeletionService, times(3)).deleteChallengeChunk(1L, 2);
+        inOrder.verify(huntDeletionService).deleteHuntRow(1L);
+
+        HuntDeletionStatus status = awaitFinished(1L);
+        assertEquals(HuntDeletionStatus.State.DONE, status.state());
+        assertEquals(7, status.participantsDetached());
+        assertEquals(3, status.challengesTotal());
+        assertEquals(3, status.challengesDeleted());
+    }
+
+    @Test
+    void submit_WhileRunning_ShouldNotStartASecondDeletion() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(huntDeletionService.detachParticipants(1L)).thenAnswer(invocation -> {
+            release.await(2, TimeUnit.SECONDS);
+            return 0;
+        });
+        when(huntDeletionService.deleteChallengeChunk(any(), anyInt()))
+                .thenReturn(new ChallengeChunk(List.of(), List.of()));
+        when(huntDeletionService.deleteHuntRow(1L)).thenReturn(List.of());
+
+        // Act
+        huntDeletionJob.submit(1L);
+        huntDeletionJob.submit(1L);
+        release.countDown();
+
+        // Assert
+        assertEquals(HuntDeletionStatus.State.DONE, awaitFinished(1L).state());
+        verify(huntDeletionService, times(1)).detachParticipants(1L);
+        verify(huntDeletionService, times(1)).deleteHuntRow(1L);
+    }
+
+    @Test
+    void submit_WhenAChunkFails_ShouldReportTheFailureAndAllowARetry() {
+        // Arrange
+        when(huntDeletionService.deleteChallengeChunk(1L, 2))
+                .thenReturn(new ChallengeChunk(List.of(10L, 11L), List.of()))
+                .thenThrow(new DataAccessResourceFailureException("lock wait timeout"))
+                .thenReturn(new ChallengeChunk(List.of(), List.of()));
+        when(huntDeletionService.deleteHuntRow(1L)).thenReturn(List.of());
+
+        // Act
+        huntDeletionJob.submit(1L);
+        HuntDeletionStatus failed = awaitFinished(1L);
+        huntDeletionJob.submit(1L);
+        HuntDeletionStatus retried = awaitFinished(1L);
+
+        // Assert
+        assertEquals(HuntDeletionStatus.State.FAILED, failed.state());
+        assertEquals(2, failed.challengesDeleted());
+        assertEquals("lock wait timeout", failed.error());
+        assertEquals(HuntDeletionStatus.State.DONE, retried.state());
+        verify(eventPublisher, times(1)).publishEvent(HuntChangedEvent.deleted(1L));
+    }
+
+    @Test
+    void submit_WhenSomethingUnexpectedFails_ShouldMarkTheJobFailedAndAllowARetry() {
+        // Arrange
+        when(huntDeletionService.deleteChallengeChunk(1L, 2)).thenReturn(new ChallengeChunk(List.of(), List.of()));
+        when(huntDeletionService.deleteHuntRow(1L)).thenReturn(List.of());
+        doThrow(new IllegalStateException("listener broke")).doNothing()
+                .when(eventPublisher).publishEvent(HuntChangedEvent.deleted(1L));
+
+        // Act
+        huntDeletionJob.submit(1L);
+        HuntDeletionStatus failed = awaitFinished(1L);
+        huntDeletionJob.submit(1L);
+        HuntDeletionStatus retried = awaitFinished(1L);
+
+        // Assert
+        assertEquals(HuntDeletionStatus.State.FAILED, failed.state());
+        assertEquals("java.lang.IllegalStateException: listener broke", failed.error());
+        assertEquals(HuntDeletionStatus.State.DONE, retried.state());
+        verify(huntDeletionService, times(2)).deleteHuntRow(1L);
+    }
+
+    @Test
+    void status_ForUnknownHunt_ShouldBeEmpty() {
+        assertTrue(huntDeletionJob.status(99L).isEmpty());
+    }
+
+    private HuntDeletionStatus awaitFinished(Long huntId) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (System.currentTimeMillis() < deadline) {
+            HuntDeletionStatus status = huntDeletionJob.status(huntId).orElseThrow();
+            if (status.finishedAt() != null) {
+                return status;
+            }
+            Thread.onSpinWait();
+        }
+        return fail("Deletion of hunt " + huntId + " did not finish");
+    }
+}
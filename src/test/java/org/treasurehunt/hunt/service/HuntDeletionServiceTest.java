@@ -0,0 +1,140 @@
+package org.treasurehunt.hunt.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.treasurehunt.hunt.repository.ChallengeRepository;
+import org.treasurehunt.hunt.repository.CommentRepository;
+import org.treasurehunt.hunt.repository.HuntParticipationRepository;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.HuntResultRepository;
+import org.treasurehunt.hunt.repository.LocationRepository;
+import org.treasurehunt.hunt.service.HuntDeletionService.ChallengeChunk;
+import org.treasurehunt.hunt.service.HuntDeletionService.StoredFile;
+import org.treasurehunt.requestedcodes.repo.RequestedCodesRepo;
+import org.treasurehunt.submissions.repo.SubmissionRepo;
+import org.treasurehunt.submissions.repo.UserChallengeProgressRepo;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.treasurehunt.common.constants.UploadingConstants.CHALLENGE_PIECES_UPLOAD_DIR;
+import static org.treasurehunt.common.constants.UploadingConstants.HUNT_BG_UPLOAD_DIR;
+import static org.treasurehunt.common.constants.UploadingConstants.HUNT_MAP_UPLOAD_DIR;
+
+class HuntDeletionServiceTest {
+
+    private HuntDeletionService huntDeletionService;
+
+    @Mock
+    private HuntRepository huntRepository;
+
+    @Mock
+    private ChallengeRepository challengeRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private HuntParticipationRepository huntParticipationRepository;
+
+    @Mock
+    private SubmissionRepo submissionRepo;
+
+    @Mock
+    private UserChallengeProgressRepo userChallengeProgressRepo;
+
+    @Mock
+    private HuntResultRepository huntResultRepository;
+
+    @Mock
+    private RequestedCodesRepo requestedCodesRepo;
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        huntDeletionService = new HuntDeletionService(huntRepository, challengeRepository, commentRepository,
+                huntParticipationRepository, submissionRepo, userChallengeProgressRepo, huntResultRepository,
+                requestedCodesRepo, locationRepository);
+    }
+
+    @Test
+    void detachParticipants_ShouldUseASingleStatement() {
+        // Arrange
+        when(huntParticipationRepository.deleteAllByHuntId(1L)).thenReturn(250);
+
+        // Act
+        int detached = huntDeletionService.detachParticipants(1L);
+
+        // Assert
+        assertEquals(250, detached);
+        verify(huntParticipationRepository, never()).findAll();
+    }
+
+    @Test
+    void deleteChallengeChunk_ShouldDeleteChildrenBeforeTheChallenges() {
+        // Arrange
+        List<Long> ids = List.of(10L, 11L);
+        when(challengeRepository.findIdsByHuntId(1L, PageRequest.of(0, 2))).thenReturn(ids);
+        when(challengeRepository.findImagesByIdIn(ids)).thenReturn(List.of("10.png"));
+
+        // Act
+        ChallengeChunk chunk = huntDeletionService.deleteChallengeChunk(1L, 2);
+
+        // Assert
+        assertEquals(ids, chunk.challengeIds());
+        assertEquals(List.of(new StoredFile(CHALLENGE_PIECES_UPLOAD_DIR, "10.png")), chunk.files());
+        InOrder inOrder = inOrder(submissionRepo, userChallengeProgressRepo, challengeRepository);
+        inOrder.verify(submissionRepo).deleteByChallengeIdIn(ids);
+        inOrder.verify(userChallengeProgressRepo).deleteByChallengeIdIn(ids);
+        inOrder.verify(challengeRepository).deleteTestCasesByChallengeIdIn(ids);
+        inOrder.verify(challengeRepository).deleteCodesByChallengeIdIn(ids);
+        inOrder.verify(challengeRepository).deleteOptimalSolutionsByChallengeIdIn(ids);
+        inOrder.verify(challengeRepository).deleteByIdIn(ids);
+    }
+
+    @Test
+    void deleteChallengeChunk_WhenNoChallengesAreLeft_ShouldDeleteNothing() {
+        // Arrange
+        when(challengeRepository.findIdsByHuntId(any(), any())).thenReturn(List.of());
+
+        // Act
+        ChallengeChunk chunk = huntDeletionService.deleteChallengeChunk(1L, 50);
+
+        // Assert
+        assertTrue(chunk.challengeIds().isEmpty());
+        verifyNoInteractions(submissionRepo, userChallengeProgressRepo);
+        verify(challengeRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    void deleteHuntRow_ShouldDeleteRemainingChildrenThenHuntAndLocation() {
+        // Arrange
+        when(huntRepository.getHuntBgImageById(1L)).thenReturn("1.png");
+        when(huntRepository.getHuntMapImageById(1L)).thenReturn("1.jpg");
+        when(huntRepository.getLocationIdById(1L)).thenReturn(5L);
+        when(huntRepository.deleteRowById(1L)).thenReturn(1);
+
+        // Act
+        List<StoredFile> files = huntDeletionService.deleteHuntRow(1L);
+
+        // Assert
+        assertEquals(List.of(new StoredFile(HUNT_BG_UPLOAD_DIR, "1.png"), new StoredFile(HUNT_MAP_UPLOAD_DIR, "1.jpg")),
+                files);
+        InOrder inOrder = inOrder(commentRepository, requestedCodesRepo, huntResultRepository, huntRepository,
+                locationRepository);
+        inOrder.verify(commentRepository).deleteAllByHuntId(1L);
+        inOrder.verify(requestedCodesRepo).deleteAllByHuntId(1L);
+        inOrder.verify(huntResultRepository).deleteAllByHuntId(1L);
+        inOrder.verify(huntRepository).deleteRowById(1L);
+        inOrder.verify(locationRepository).deleteRowById(5L);
+    }
+}
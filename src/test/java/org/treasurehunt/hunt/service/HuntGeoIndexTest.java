@@ -0,0 +1,210 @@
+package org.treasurehunt.hunt.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.treasurehunt.hunt.repository.HuntLocationRow;
+import org.treasurehunt.hunt.repository.LocationRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Log4j2(topic = "benchmark")
+class HuntGeoIndexTest {
+
+    private HuntGeoIndex huntGeoIndex;
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(locationRepository.findAllHuntLocations()).thenReturn(List.of());
+        huntGeoIndex = new HuntGeoIndex(locationRepository);
+        // Loads the (empty) index, as the first query does
+        huntGeoIndex.findNearby(0, 0, 1, 1);
+    }
+
+    @Test
+    void findNearby_ShouldReturnHuntsInRadiusNearestFirst() {
+        // Arrange
+        huntGeoIndex.put(1L, 30.0444, 31.2357);   // Cairo
+        huntGeoIndex.put(2L, 30.0131, 31.2089);   // Giza, ~4 km away
+        huntGeoIndex.put(3L, 31.2001, 29.9187);   // Alexandria, ~180 km away
+
+        // Act
+        List<GeoHit> hits = huntGeoIndex.findNearby(30.0444, 31.2357, 10, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), hits.stream().map(GeoHit::huntId).toList());
+        assertEquals(0, hits.getFirst().distanceKm(), 1e-9);
+        assertEquals(4.3, hits.get(1).distanceKm(), 0.2);
+    }
+
+    @Test
+    void findNearby_ShouldSearchAcrossTheAntimeridianAndThePoles() {
+        // Arrange
+        huntGeoIndex.put(1L, 0, 179.99);
+        huntGeoIndex.put(2L, 89.99, -45);
+
+        // Act & Assert
+        assertEquals(List.of(1L), huntGeoIndex.findNearby(0, -179.99, 5, 10).stream().map(GeoHit::huntId).toList());
+        assertEquals(List.of(2L), huntGeoIndex.findNearby(89.99, 135, 5, 10).stream().map(GeoHit::huntId).toList());
+    }
+
+    @Test
+    void findNearby_ShouldMatchABruteForceScan() {
+        // Arrange
+        Random random = new Random(7);
+        double[][] points = new double[20_000][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[]{48 + random.nextDouble() * 4, 0 + random.nextDouble() * 6};
+            huntGeoIndex.put((long) i, points[i][0], points[i][1]);
+        }
+
+        for (int query = 0; query < 50; query++) {
+            double lat = 48 + random.nextDouble() * 4;
+            double lng = random.nextDouble() * 6;
+            double radius = 1 + random.nextDouble() * 40;
+
+            // Act
+            List<Long> indexed = huntGeoIndex.findNearby(lat, lng, radius, Integer.MAX_VALUE).stream()
+                    .map(GeoHit::huntId).sorted().toList();
+
+            // Assert
+            List<Long> scanned = new ArrayList<>();
+            for (int i = 0; i < points.length; i++) {
+                if (HuntGeoIndex.distanceKm(lat, lng, points[i][0], points[i][1]) <= radius) {
+                    scanned.add((long) i);
+                }
+            }
+            assertEquals(scanned, indexed);
+        }
+    }
+
+    @Test
+    void onHuntChanged_ShouldMoveAndRemoveHunts() {
+        // Arrange
+        huntGeoIndex.put(1L, 10, 10);
+        when(locationRepository.findHuntLocationByHuntId(1L)).thenReturn(Optional.of(row(1L, 20, 20)));
+
+        // Act
+        huntGeoIndex.onHuntChanged(HuntChangedEvent.saved(1L));
+
+        // Assert
+        assertTrue(huntGeoIndex.findNearby(10, 10, 5, 10).isEmpty());
+        assertEquals(1, huntGeoIndex.findNearby(20, 20, 5, 10).size());
+
+        huntGeoIndex.onHuntChanged(HuntChangedEvent.deleted(1L));
+        assertEquals(0, huntGeoIndex.indexedHuntCount());
+    }
+
+    @Test
+    void onHuntChanged_WhileLoading_ShouldApplyTheMoveOnceLoaded() {
+        // Arrange
+        HuntGeoIndex coldIndex = new HuntGeoIndex(locationRepository);
+        when(locationRepository.findAllHuntLocations()).thenAnswer(invocation -> {
+            // Hunt 1 is moved after its old coordinates were read, before the load is in
+            coldIndex.onHuntChanged(HuntChangedEvent.saved(1L));
+            return List.of(row(1L, 10, 10));
+        });
+        when(locationRepository.findHuntLocationByHuntId(1L)).thenReturn(Optional.of(row(1L, 20, 20)));
+
+        // Act
+        List<GeoHit> oldPlace = coldIndex.findNearby(10, 10, 5, 10);
+        List<GeoHit> newPlace = coldIndex.findNearby(20, 20, 5, 10);
+
+        // Assert
+        assertTrue(oldPlace.isEmpty());
+        assertEquals(List.of(1L), newPlace.stream().map(GeoHit::huntId).toList());
+        verify(locationRepository, times(1)).findHuntLocationByHuntId(1L);
+    }
+
+    @Test
+    void refresh_ShouldPickUpHuntsChangedOnOtherNodes() {
+        // Arrange: hunt 1 was moved and hunt 2 created elsewhere, without an event reaching this node
+        huntGeoIndex.put(1L, 10, 10);
+        when(locationRepository.findAllHuntLocations()).thenReturn(List.of(row(1L, 20, 20), row(2L, 20.01, 20.01)));
+
+        // Act
+        huntGeoIndex.refresh();
+
+        // Assert
+        assertTrue(huntGeoIndex.findNearby(10, 10, 5, 10).isEmpty());
+        assertEquals(List.of(1L, 2L), huntGeoIndex.findNearby(20, 20, 5, 10).stream().map(GeoHit::huntId).toList());
+    }
+
+    @Test
+    void refresh_WhenDatabaseFails_ShouldKeepServingTheCurrentIndex() {
+        // Arrange
+        huntGeoIndex.put(1L, 10, 10);
+        when(locationRepository.findAllHuntLocations()).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act
+        huntGeoIndex.refresh();
+
+        // Assert
+        assertEquals(List.of(1L), huntGeoIndex.findNearby(10, 10, 5, 10).stream().map(GeoHit::huntId).toList());
+        verify(locationRepository, times(2)).findAllHuntLocations();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmark_CandidateLookupOverManyHunts() {
+        // Arrange
+        Random random = new Random(11);
+        int huntCount = 300_000;
+        for (long id = 1; id <= huntCount; id++) {
+            // Clustered around a few cities, like real hunts
+            double lat = 30 + (id % 5) * 5 + random.nextGaussian();
+            double lng = 30 + (id % 5) * 5 + random.nextGaussian();
+            huntGeoIndex.put(id, lat, lng);
+        }
+        int queries = 2_000;
+        for (int i = 0; i < 200; i++) {
+            huntGeoIndex.findNearby(40, 40, 10, 50);
+        }
+
+        // Act
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < queries; i++) {
+            found += huntGeoIndex.findNearby(40 + random.nextGaussian(), 40 + random.nextGaussian(), 10, 50).size();
+        }
+        long micros = (System.nanoTime() - start) / 1_000 / queries;
+
+        // Assert
+        log.info("Nearby lookup over {} hunts: {} us per 10 km query ({} hits in total)",
+                huntCount, micros, found);
+        assertTrue(found > 0);
+    }
+
+    private static HuntLocationRow row(Long huntId, double latitude, double longitude) {
+        return new HuntLocationRow() {
+            @Override
+            public Long getHuntId() {
+                return huntId;
+            }
+
+            @Override
+            public Double getLatitude() {
+                return latitude;
+            }
+
+            @Override
+            public Double getLongitude() {
+                return longitude;
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package org.treasurehunt.hunt.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.treasurehunt.common.enums.HuntStatus;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.HuntScheduleRow;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HuntLifecycleSchedulerTest {
+
+    private HuntLifecycleScheduler scheduler;
+
+    @Mock
+    private HuntRepository huntRepository;
+
+    @Mock
+    private HuntLifecycleService huntLifecycleService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        scheduler = new HuntLifecycleScheduler(huntRepository, huntLifecycleService, 900_000, 300_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void refresh_ShouldQueueTransitionsByDueTime() {
+        // Arrange
+        Instant now = Instant.now();
+        when(huntRepository.findScheduledTransitions(any(), eq(HuntStatus.APPROVED), eq(HuntStatus.LIVE)))
+                .thenReturn(List.of(
+                        row(1L, HuntStatus.LIVE, now.minusSeconds(3600), now.plusSeconds(600)),
+                        row(2L, HuntStatus.APPROVED, now.plusSeconds(300), now.plusSeconds(7200))));
+
+        // Act
+        scheduler.refresh();
+
+        // Assert
+        assertEquals(List.of(
+                        new HuntLifecycleScheduler.Transition(2L, HuntStatus.LIVE, now.plusSeconds(300)),
+                        new HuntLifecycleScheduler.Transition(1L, HuntStatus.FINISHED, now.plusSeconds(600))),
+                scheduler.queuedTransitions());
+        verifyNoInteractions(huntLifecycleService);
+    }
+
+    @Test
+    void refresh_WithOverdueTransitions_ShouldCatchUpRightAway() {
+        // Arrange
+        Instant now = Instant.now();
+        when(huntRepository.findScheduledTransitions(any(), any(), any())).thenReturn(List.of(
+                row(1L, HuntStatus.APPROVED, now.minusSeconds(86_400), now.plusSeconds(86_400)),
+                row(2L, HuntStatus.LIVE, now.minusSeconds(86_400), now.minusSeconds(60))));
+        when(huntLifecycleService.acquireLease(anyLong(), anyString(), any())).thenReturn(true);
+
+        // Act
+        scheduler.refresh();
+
+        // Assert
+        verify(huntLifecycleService, timeout(2000)).startIfDue(eq(1L), any());
+        verify(huntLifecycleService, timeout(2000)).finishIfDue(eq(2L), any());
+        verify(huntLifecycleService, timeout(2000).times(2)).releaseLease(anyLong(), anyString());
+        assertTrue(scheduler.queuedTransitions().isEmpty());
+    }
+
+    @Test
+    void run_WhenAnotherNodeHoldsTheLease_ShouldSkipTheHunt() {
+        // Arrange
+        when(huntLifecycleService.acquireLease(anyLong(), anyString(), any())).thenReturn(false);
+
+        // Act
+        scheduler.run(new HuntLifecycleScheduler.Transition(1L, HuntStatus.FINISHED, Instant.now()));
+
+        // Assert
+        verify(huntLifecycleService, never()).finishIfDue(anyLong(), any());
+        verify(huntLifecycleService, never()).releaseLease(anyLong(), anyString());
+    }
+
+    @Test
+    void refresh_WhenDatabaseIsDown_ShouldKeepRunning() {
+        // Arrange
+        when(huntRepository.findScheduledTransitions(any(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> scheduler.refresh());
+        assertTrue(scheduler.queuedTransitions().isEmpty());
+    }
+
+    private static HuntScheduleRow row(Long huntId, HuntStatus status, Instant startDate, Instant endDate) {
+        return new HuntScheduleRow() {
+            @Override
+            public Long getHuntId() {
+                return huntId;
+            }
+
+            @Override
+            public HuntStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Instant getStartDate() {
+                return startDate;
+            }
+
+            @Override
+            public Instant getEndDate() {
+                return endDate;
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package org.treasurehunt.hunt.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.treasurehunt.support.DatabaseTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Finalizes hunts against the schema, with the statements as they run in production.
+ */
+@DatabaseTest
+@Import(HuntLifecycleService.class)
+class HuntLifecycleServiceDatabaseTest {
+
+    @Autowired
+    private HuntLifecycleService huntLifecycleService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (user_id, username, email, password, score) VALUES (1, 'organizer', 'o@example.com', 'x', 0)");
+        // 100 points from elsewhere, plus the 30 of the game awarded during the first hunt
+        jdbcTemplate.update("INSERT INTO users (user_id, username, email, password, score) VALUES (2, 'hunter', 'h@example.com', 'x', 130)");
+        hunt(10L);
+        hunt(20L);
+        challenge(11L, 10L, 50, 0);
+        challenge(12L, 10L, 30, 2);
+        challenge(21L, 20L, 40, 0);
+    }
+
+    @Test
+    void finalizeResults_ForTwoHuntsOfTheSameUser_ShouldAddBothHuntScoresToTheTotal() {
+        // Arrange: the first hunt scores 50 + 30 - 10 for one failed run, of which the game's 30 is credited
+        join(10L);
+        progress(11L, 10L, 1);
+        progress(12L, 10L, 0);
+        jdbcTemplate.update("INSERT INTO score_award (user_id, challenge_id, points, awarded_at) VALUES (2, 12, 30, CURRENT_TIMESTAMP)");
+
+        // Act
+        huntLifecycleService.finalizeResults(10L);
+        join(20L);
+        progress(21L, 20L, 0);
+        huntLifecycleService.finalizeResults(20L);
+
+        // Assert
+        assertEquals(100 + 70 + 40, score(2L));
+        assertEquals(70, jdbcTemplate.queryForObject("SELECT score FROM hunt_result WHERE hunt_id = 10 AND user_id = 2", Integer.class));
+        assertEquals(40, jdbcTemplate.queryForObject("SELECT score FROM hunt_result WHERE hunt_id = 20 AND user_id = 2", Integer.class));
+    }
+
+    @Test
+    void finalizeResults_WhenRunAgain_ShouldNotAddTheHuntScoreTwice() {
+        // Arrange
+        join(10L);
+        progress(11L, 10L, 0);
+
+        // Act
+        huntLifecycleService.finalizeResults(10L);
+        huntLifecycleService.finalizeResults(10L);
+
+        // Assert
+        assertEquals(130 + 50, score(2L));
+    }
+
+    private void hunt(Long huntId) {
+        jdbcTemplate.update("INSERT INTO location (location_id, latitude, longitude) VALUES (?, 0, 0)", huntId);
+        jdbcTemplate.update("""
+                INSERT INTO hunt (hunt_id, title, organizer_id, location_id, status, participant_count)
+                VALUES (?, ?, 1, ?, 'LIVE', 0)
+                """, huntId, "Hunt " + huntId, huntId);
+    }
+
+    private void challenge(Long challengeId, Long huntId, int points, int type) {
+        jdbcTemplate.update("""
+                INSERT INTO challenge (challenge_id, hunt_id, title, points, challenge_type, description)
+                VALUES (?, ?, ?, ?, ?, '')
+                """, challengeId, huntId, "Challenge " + challengeId, points, type);
+    }
+
+    private void join(Long huntId) {
+        jdbcTemplate.update("""
+                INSERT INTO hunt_participation (hunt_id, user_id, status, joined_at)
+                VALUES (?, 2, 'ACTIVE', CURRENT_TIMESTAMP)
+                """, huntId);
+    }
+
+    private void progress(Long challengeId, Long huntId, int failCount) {
+        jdbcTemplate.update("""
+                INSERT INTO user_challenge_progress (user_id, challenge_id, hunt_id, solved_at, fail_count)
+                VALUES (2, ?, ?, CURRENT_TIMESTAMP, ?)
+                """, challengeId, huntId, failCount);
+    }
+
+    private int score(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT score FROM users WHERE user_id = ?", Integer.class, userId);
+    }
+}
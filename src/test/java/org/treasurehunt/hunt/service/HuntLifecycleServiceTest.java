@@ -0,0 +1,160 @@
+package org.treasurehunt.hunt.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.treasurehunt.common.enums.HuntStatus;
+import org.treasurehunt.common.enums.ParticipationStatus;
+import org.treasurehunt.hunt.repository.HuntParticipationRepository;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.HuntResultRepository;
+import org.treasurehunt.hunt.repository.ScoreCreditRow;
+import org.treasurehunt.user.repository.UserRepository;
+import org.treasurehunt.user.repository.UserScoreRow;
+import org.treasurehunt.user.service.ScoreChangedEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class HuntLifecycleServiceTest {
+
+    private HuntLifecycleService huntLifecycleService;
+
+    @Mock
+    private HuntRepository huntRepository;
+
+    @Mock
+    private HuntResultRepository huntResultRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private HuntParticipationRepository huntParticipationRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        huntLifecycleService = new HuntLifecycleService(huntRepository, huntResultRepository, userRepository,
+                eventPublisher, huntParticipationRepository);
+    }
+
+    @Test
+    void finalizeResults_ShouldFreezeResultsAndAddWhatIsLeftToTheTotals() {
+        // Arrange
+        Long huntId = 1L;
+        when(huntResultRepository.findUncreditedScores(huntId))
+                .thenReturn(List.of(credit(10L, 90), credit(11L, -20)));
+        when(userRepository.findScoresByIdIn(any())).thenReturn(List.of(score(10L, 140), score(11L, 5)));
+
+        // Act
+        huntLifecycleService.finalizeResults(huntId);
+
+        // Assert
+        InOrder inOrder = inOrder(huntResultRepository);
+        inOrder.verify(huntResultRepository).freezeResults(eq(huntId), any(Instant.class));
+        inOrder.verify(huntResultRepository).creditScores(huntId);
+        inOrder.verify(huntResultRepository).markCredited(huntId);
+        verify(userRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(argThat((ScoreChangedEvent event) ->
+                event.userId() == 10L && event.delta() == 90 && event.newScore() == 140));
+        verify(eventPublisher).publishEvent(argThat((ScoreChangedEvent event) ->
+                event.userId() == 11L && event.delta() == -20 && event.newScore() == 5));
+        verify(huntParticipationRepository).updateStatusByHuntId(huntId, ParticipationStatus.ACTIVE,
+                ParticipationStatus.COMPLETED);
+    }
+
+    @Test
+    void finalizeResults_WhenEverythingIsCreditedAlready_ShouldNotTouchScores() {
+        // Arrange
+        when(huntResultRepository.findUncreditedScores(1L)).thenReturn(List.of());
+
+        // Act
+        huntLifecycleService.finalizeResults(1L);
+
+        // Assert
+        verify(huntResultRepository, never()).creditScores(any());
+        verifyNoInteractions(userRepository, eventPublisher);
+    }
+
+    @Test
+    void finishIfDue_WhenAnotherNodeAlreadyFinishedTheHunt_ShouldNotFinalizeAgain() {
+        // Arrange
+        Instant now = Instant.now();
+        when(huntRepository.finishIfDue(1L, now, HuntStatus.LIVE, HuntStatus.FINISHED)).thenReturn(0);
+
+        // Act
+        boolean finished = huntLifecycleService.finishIfDue(1L, now);
+
+        // Assert
+        assertFalse(finished);
+        verifyNoInteractions(huntResultRepository, eventPublisher);
+    }
+
+    @Test
+    void finishIfDue_WhenDue_ShouldFinalizeInTheSameCall() {
+        // Arrange
+        Instant now = Instant.now();
+        when(huntRepository.finishIfDue(1L, now, HuntStatus.LIVE, HuntStatus.FINISHED)).thenReturn(1);
+        when(huntResultRepository.findUncreditedScores(1L)).thenReturn(List.of());
+
+        // Act
+        boolean finished = huntLifecycleService.finishIfDue(1L, now);
+
+        // Assert
+        assertTrue(finished);
+        verify(huntResultRepository).freezeResults(eq(1L), any(Instant.class));
+        verify(eventPublisher).publishEvent(HuntChangedEvent.saved(1L));
+    }
+
+    @Test
+    void acquireLease_ShouldReportWhetherTheRowWasTaken() {
+        // Arrange
+        when(huntRepository.acquireLifecycleLease(eq(1L), eq("node-a"), any(), any())).thenReturn(1);
+        when(huntRepository.acquireLifecycleLease(eq(2L), eq("node-a"), any(), any())).thenReturn(0);
+
+        // Act & Assert
+        assertTrue(huntLifecycleService.acquireLease(1L, "node-a", Duration.ofMinutes(5)));
+        assertFalse(huntLifecycleService.acquireLease(2L, "node-a", Duration.ofMinutes(5)));
+    }
+
+    private static ScoreCreditRow credit(Long userId, int delta) {
+        return new ScoreCreditRow() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Integer getDelta() {
+                return delta;
+            }
+        };
+    }
+
+    private static UserScoreRow score(Long userId, int score) {
+        return new UserScoreRow() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Integer getScore() {
+                return score;
+            }
+        };
+    }
+}
@@ -4,9 +4,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.treasurehunt.common.api.CursorPage;
 import org.treasurehunt.common.enums.HuntStatus;
 import org.treasurehunt.common.enums.Roles;
 import org.treasurehunt.common.util.AuthUtil;
@@ -15,27 +21,35 @@ import org.treasurehunt.exception.EntityNotFoundException;
 import org.treasurehunt.hunt.api.CommentRequest;
 import org.treasurehunt.hunt.api.CommentResponse;
 import org.treasurehunt.hunt.api.DraftHuntDTO;
+import org.treasurehunt.hunt.api.HuntDeletionStatus;
+import org.treasurehunt.hunt.api.HuntFilter;
 import org.treasurehunt.hunt.api.LocationDTO;
+import org.treasurehunt.hunt.api.NearbyHuntDTO;
 import org.treasurehunt.hunt.mapper.HuntMapper;
 import org.treasurehunt.hunt.repository.ChallengeRepository;
 import org.treasurehunt.hunt.repository.CommentRepository;
+import org.treasurehunt.hunt.repository.HuntCursor;
+import org.treasurehunt.hunt.repository.HuntListRepository;
 import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.HuntResultRepository;
+import org.treasurehunt.hunt.repository.HuntSortField;
 import org.treasurehunt.hunt.repository.LocationRepository;
 import org.treasurehunt.user.service.UserService;
 import org.treasurehunt.common.validation.ValidatorService;
 import org.treasurehunt.hunt.repository.entity.Comment;
 import org.treasurehunt.hunt.repository.entity.Hunt;
 import org.treasurehunt.security.UserDetailsDTO;
-import org.treasurehunt.submissions.repo.SubmissionRepo;
 import org.treasurehunt.user.repository.UserRepository;
 import org.treasurehunt.user.repository.entity.User;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class HuntServiceTest {
@@ -70,7 +84,37 @@ class HuntServiceTest {
     private ChallengeRepository challengeRepository;
 
     @Mock
-    private SubmissionRepo submissionRepo;
+    private HuntProgressService huntProgressService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private HuntResultRepository huntResultRepository;
+
+    @Mock
+    private HuntListRepository huntListRepository;
+
+    @Mock
+    private HuntSearchEngine huntSearchEngine;
+
+    @Mock
+    private HuntGeoIndex huntGeoIndex;
+
+    @Mock
+    private HuntLifecycleService huntLifecycleService;
+
+    @Mock
+    private HuntDeletionJob huntDeletionJob;
+
+    @Mock
+    private HuntAdmissionService huntAdmissionService;
+
+    @Mock
+    private HuntStatisticsCounters huntStatisticsCounters;
+
+    @Mock
+    private PublishedHuntCache publishedHuntCache;
 
     @BeforeEach
     void setUp() {
@@ -85,7 +129,17 @@ class HuntServiceTest {
                 userRepository,
                 commentRepository,
                 challengeRepository,
-                submissionRepo
+                huntProgressService,
+                eventPublisher,
+                huntResultRepository,
+                huntListRepository,
+                huntSearchEngine,
+                huntGeoIndex,
+                huntLifecycleService,
+                huntDeletionJob,
+                huntAdmissionService,
+                huntStatisticsCounters,
+                publishedHuntCache
         );
     }
 
@@ -163,6 +217,34 @@ class HuntServiceTest {
         }
     }
 
+    @Test
+    void getPublishedHunt_WhenHuntIsNotLive_ShouldRenderItWithoutTheSnapshot() throws Exception {
+        // Arrange
+        Long huntId = 1L;
+        Hunt hunt = new Hunt();
+        hunt.setId(huntId);
+        hunt.setStatus(HuntStatus.FINISHED);
+        DraftHuntDTO draft = new DraftHuntDTO(huntId, "Test Hunt", "Test Description", 2L, 3L,
+                Instant.now(), Instant.now(), HuntStatus.FINISHED, new LocationDTO(1.0, 2.0));
+        UserDetailsDTO userDetailsDTO = new UserDetailsDTO(2L, "user@example.com", "password", List.of());
+
+        try (var authUtilMock = mockStatic(AuthUtil.class)) {
+            authUtilMock.when(() -> AuthUtil.getUserFromSecurityContext())
+                    .thenReturn(Optional.of(userDetailsDTO));
+            when(publishedHuntCache.cached(huntId)).thenReturn(Optional.empty());
+            when(huntRepository.findById(huntId)).thenReturn(Optional.of(hunt));
+            when(huntMapper.toDraftDTO(hunt)).thenReturn(draft);
+            when(objectMapper.writeValueAsBytes(draft)).thenReturn("{}".getBytes());
+
+            // Act
+            var result = huntService.getPublishedHunt(huntId);
+
+            // Assert
+            assertArrayEquals("{}".getBytes(), result.body());
+            verify(publishedHuntCache, never()).get(any());
+        }
+    }
+
     @Test
     void addComment_WithValidRequest_ShouldAddComment() {
         // Arrange
@@ -247,77 +329,252 @@ class HuntServiceTest {
     }
 
     @Test
-    void joinHunt_WithValidRequest_ShouldJoinHunt() {
+    void updateHuntStatus_ToFinished_ShouldFinalizeResults() {
         // Arrange
         Long huntId = 1L;
-        Long userId = 1L;
-
         Hunt hunt = new Hunt();
         hunt.setId(huntId);
-        hunt.setTitle("Test Hunt");
+        when(huntRepository.findById(huntId)).thenReturn(Optional.of(hunt));
+        when(huntRepository.save(hunt)).thenReturn(hunt);
 
-        User user = new User();
-        user.setId(userId);
-        user.setUsername("hunter");
-        user.setHunt(null); // User is not in a hunt yet
+        // Act
+        huntService.updateHuntStatus(huntId, HuntStatus.FINISHED);
 
-        UserDetailsDTO userDetailsDTO = new UserDetailsDTO(userId, "hunter@example.com", "password", List.of());
+        // Assert
+        verify(huntLifecycleService).finalizeResults(huntId);
+        verify(eventPublisher).publishEvent(HuntChangedEvent.saved(huntId));
+        assertEquals(HuntStatus.FINISHED, hunt.getStatus());
+    }
+
+    @Test
+    void deleteHunt_ShouldQueueTheDeletionWithoutLoadingUsers() {
+        // Arrange
+        Long huntId = 1L;
+        HuntDeletionStatus queued = new HuntDeletionStatus(huntId, HuntDeletionStatus.State.QUEUED,
+                0, 0, 0, null, null, null);
+        when(huntRepository.existsById(huntId)).thenReturn(true);
+        when(huntDeletionJob.submit(huntId)).thenReturn(queued);
+
+        // Act
+        HuntDeletionStatus status = huntService.deleteHunt(huntId);
+
+        // Assert
+        assertEquals(queued, status);
+        verify(userRepository, never()).findAll();
+        verifyNoInteractions(commentRepository, challengeRepository);
+    }
+
+    @Test
+    void deleteHunt_WhenHuntDoesNotExist_ShouldThrowEntityNotFound() {
+        // Arrange
+        when(huntRepository.existsById(1L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> huntService.deleteHunt(1L));
+        verify(huntDeletionJob, never()).submit(any());
+    }
+
+    @Test
+    void joinHunt_ShouldAdmitTheCurrentUser() {
+        // Arrange
+        UserDetailsDTO userDetailsDTO = new UserDetailsDTO(7L, "hunter@example.com", "password", List.of());
 
         try (var authUtilMock = mockStatic(AuthUtil.class)) {
             authUtilMock.when(() -> AuthUtil.getUserFromSecurityContext())
                     .thenReturn(Optional.of(userDetailsDTO));
 
-            when(huntRepository.findById(huntId)).thenReturn(Optional.of(hunt));
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
             // Act
-            huntService.joinHunt(huntId);
+            huntService.joinHunt(1L);
 
             // Assert
-            assertEquals(hunt, user.getHunt());
-
-            verify(huntRepository).findById(huntId);
-            verify(userRepository).findById(userId);
-            verify(userRepository).save(user);
+            verify(huntAdmissionService).join(1L, 7L);
+            verify(userRepository, never()).findById(anyLong());
         }
     }
 
     @Test
-    void joinHunt_WithUserAlreadyInHunt_ShouldThrowException() {
+    void getHuntsAfter_WithMoreRowsThanSize_ShouldReturnCursorOfLastHunt() {
         // Arrange
-        Long huntId = 1L;
-        Long userId = 1L;
+        List<DraftHuntDTO> rows = List.of(listedHunt(4L, "Alpha"), listedHunt(2L, "Beta"), listedHunt(7L, "Gamma"));
+        when(huntListRepository.findAllAfter(any(Specification.class), eq(HuntSortField.TITLE), eq(Sort.Direction.ASC),
+                isNull(), eq(3))).thenReturn(rows);
+
+        // Act
+        CursorPage<DraftHuntDTO> page = huntService.getHuntsAfter(null, "title", Sort.Direction.ASC, null, 2, false);
+
+        // Assert
+        assertEquals(List.of(4L, 2L), page.getContent().stream().map(DraftHuntDTO::id).toList());
+        assertTrue(page.isHasNext());
+        assertNull(page.getTotalElements());
+        HuntCursor next = HuntCursor.decode(page.getNextCursor());
+        assertEquals(HuntSortField.TITLE, next.field());
+        assertEquals("Beta", next.key());
+        assertEquals(2L, next.id());
+        verify(huntListRepository, never()).count(any());
+        verifyNoInteractions(huntRepository, huntMapper);
+    }
 
-        Hunt existingHunt = new Hunt();
-        existingHunt.setId(2L);
-        existingHunt.setTitle("Existing Hunt");
+    @Test
+    void getHuntsAfter_OnLastPage_ShouldReturnNoCursorAndCountWhenAsked() {
+        // Arrange
+        HuntCursor after = new HuntCursor(HuntSortField.ID, Sort.Direction.DESC, 10L, 10L);
+        when(huntListRepository.findAllAfter(any(Specification.class), eq(HuntSortField.ID), eq(Sort.Direction.DESC),
+                eq(after), eq(11))).thenReturn(List.of(listedHunt(9L, "Delta")));
+        when(huntListRepository.count(any())).thenReturn(11L);
+        String cursor = after.encode();
+
+        // Act
+        CursorPage<DraftHuntDTO> page = huntService.getHuntsAfter(null, "id", Sort.Direction.DESC, cursor, 10, true);
+
+        // Assert
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        assertEquals(11L, page.getTotalElements());
+    }
 
-        Hunt newHunt = new Hunt();
-        newHunt.setId(huntId);
-        newHunt.setTitle("New Hunt");
+    @Test
+    void getHuntsAfter_WithOversizedPage_ShouldClampToMaxPageSize() {
+        // Arrange
+        when(huntListRepository.findAllAfter(any(Specification.class), any(), any(), any(), anyInt())).thenReturn(List.of());
 
-        User user = new User();
-        user.setId(userId);
-        user.setUsername("hunter");
-        user.setHunt(existingHunt); // User is already in a hunt
+        // Act
+        CursorPage<DraftHuntDTO> page = huntService.getHuntsAfter(null, "id", Sort.Direction.ASC, null, 1_000_000, false);
 
-        UserDetailsDTO userDetailsDTO = new UserDetailsDTO(userId, "hunter@example.com", "password", List.of());
+        // Assert
+        assertEquals(HuntService.MAX_PAGE_SIZE, page.getSize());
+        verify(huntListRepository).findAllAfter(any(Specification.class), eq(HuntSortField.ID), eq(Sort.Direction.ASC),
+                isNull(), eq(HuntService.MAX_PAGE_SIZE + 1));
+    }
 
-        try (var authUtilMock = mockStatic(AuthUtil.class)) {
-            authUtilMock.when(() -> AuthUtil.getUserFromSecurityContext())
-                    .thenReturn(Optional.of(userDetailsDTO));
+    @Test
+    void getHuntsAfter_WithCursorOfAnotherSort_ShouldThrowException() {
+        // Arrange
+        String cursor = new HuntCursor(HuntSortField.ID, Sort.Direction.ASC, 3L, 3L).encode();
+
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> huntService.getHuntsAfter(null, "endDate", Sort.Direction.ASC, cursor, 10, false));
+        assertThrows(BadRequestException.class,
+                () -> huntService.getHuntsAfter(null, "description", Sort.Direction.ASC, null, 10, false));
+        verifyNoInteractions(huntListRepository);
+    }
 
-            when(huntRepository.findById(huntId)).thenReturn(Optional.of(newHunt));
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    @Test
+    void huntCursor_ShouldRoundTripNullKeysAndSeparatorsInTitles() {
+        // Arrange
+        HuntCursor untitled = new HuntCursor(HuntSortField.END_DATE, Sort.Direction.DESC, null, 5L);
+        HuntCursor titled = new HuntCursor(HuntSortField.TITLE, Sort.Direction.ASC, "Gold|Silver", 6L);
+        HuntCursor dated = new HuntCursor(HuntSortField.START_DATE, Sort.Direction.ASC,
+                Instant.parse("2025-03-01T10:15:30Z"), 7L);
+
+        // Act & Assert
+        assertEquals(untitled, HuntCursor.decode(untitled.encode()));
+        assertEquals(titled, HuntCursor.decode(titled.encode()));
+        assertEquals(dated, HuntCursor.decode(dated.encode()));
+        assertThrows(BadRequestException.class, () -> HuntCursor.decode("not a cursor"));
+    }
 
-            // Act & Assert
-            assertThrows(BadRequestException.class, () -> {
-                huntService.joinHunt(huntId);
-            });
+    @Test
+    void searchHunts_ShouldKeepRelevanceOrderAfterFiltering() {
+        // Arrange
+        when(huntSearchEngine.search("gold", Integer.MAX_VALUE)).thenReturn(List.of(
+                new HuntSearchHit(3L, 9.0), new HuntSearchHit(1L, 5.0), new HuntSearchHit(2L, 1.0)));
+        // The database returns the hunts that pass the filters in id order
+        when(huntListRepository.findAll(any(Specification.class), eq(3)))
+                .thenReturn(List.of(listedHunt(1L, "Gold rush"), listedHunt(3L, "Gold")));
+
+        // Act
+        Page<DraftHuntDTO> page = huntService.searchHunts("gold",
+                HuntFilter.builder().status(HuntStatus.LIVE).build(), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of(3L, 1L), page.getContent().stream().map(DraftHuntDTO::id).toList());
+        assertEquals(2L, page.getTotalElements());
+    }
 
-            verify(huntRepository).findById(huntId);
-            verify(userRepository).findById(userId);
-            verify(userRepository, never()).save(any(User.class));
-        }
+    @Test
+    void searchHunts_WhenTheBestHitsFailTheFilters_ShouldKeepFilteringLessRelevantHits() {
+        // Arrange
+        List<HuntSearchHit> hits = LongStream.rangeClosed(1, HuntService.MAX_SEARCH_HITS + 5)
+                .mapToObj(id -> new HuntSearchHit(id, 1.0 / id))
+                .toList();
+        when(huntSearchEngine.search("gold", Integer.MAX_VALUE)).thenReturn(hits);
+        // Only one of the first batch is live, two more are among the rest
+        when(huntListRepository.findAll(any(Specification.class), eq(HuntService.MAX_SEARCH_HITS)))
+                .thenReturn(List.of(listedHunt(1000L, "Gold")));
+        when(huntListRepository.findAll(any(Specification.class), eq(5)))
+                .thenReturn(List.of(listedHunt(1001L, "Gold rush"), listedHunt(1003L, "Gold bar")));
+
+        // Act
+        Page<DraftHuntDTO> page = huntService.searchHunts("gold",
+                HuntFilter.builder().status(HuntStatus.LIVE).build(), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of(1000L, 1001L, 1003L), page.getContent().stream().map(DraftHuntDTO::id).toList());
+        assertEquals(3L, page.getTotalElements());
+    }
+
+    @Test
+    void searchHunts_WhenTheFirstBatchFillsTheCap_ShouldNotFilterTheRest() {
+        // Arrange
+        List<HuntSearchHit> hits = LongStream.rangeClosed(1, HuntService.MAX_SEARCH_HITS + 5)
+                .mapToObj(id -> new HuntSearchHit(id, 1.0 / id))
+                .toList();
+        when(huntSearchEngine.search("gold", Integer.MAX_VALUE)).thenReturn(hits);
+        when(huntListRepository.findAll(any(Specification.class), eq(HuntService.MAX_SEARCH_HITS)))
+                .thenReturn(LongStream.rangeClosed(1, HuntService.MAX_SEARCH_HITS)
+                        .mapToObj(id -> listedHunt(id, "Gold " + id))
+                        .toList());
+
+        // Act
+        Page<DraftHuntDTO> page = huntService.searchHunts("gold", null, PageRequest.of(1, 10));
+
+        // Assert
+        assertEquals(LongStream.rangeClosed(11, 20).boxed().toList(),
+                page.getContent().stream().map(DraftHuntDTO::id).toList());
+        assertEquals(HuntService.MAX_SEARCH_HITS, page.getTotalElements());
+        verify(huntListRepository, times(1)).findAll(any(Specification.class), anyInt());
+    }
+
+    @Test
+    void searchHunts_WithoutHits_ShouldNotQueryTheDatabase() {
+        // Arrange
+        when(huntSearchEngine.search("nothing", Integer.MAX_VALUE)).thenReturn(List.of());
+
+        // Act
+        Page<DraftHuntDTO> page = huntService.searchHunts("nothing", null, PageRequest.of(0, 10));
+
+        // Assert
+        assertTrue(page.isEmpty());
+        verifyNoInteractions(huntListRepository);
+    }
+
+    @Test
+    void getNearbyHunts_ShouldReturnFilteredHuntsNearestFirst() {
+        // Arrange
+        when(huntGeoIndex.findNearby(30.0, 31.0, 5.0, HuntService.MAX_SEARCH_HITS)).thenReturn(List.of(
+                new GeoHit(2L, 0.4), new GeoHit(1L, 1.2), new GeoHit(3L, 4.9)));
+        when(huntListRepository.findAll(any(Specification.class), eq(HuntService.MAX_SEARCH_HITS)))
+                .thenReturn(List.of(listedHunt(1L, "Old town"), listedHunt(2L, "Harbor")));
+
+        // Act
+        List<NearbyHuntDTO> nearby = huntService.getNearbyHunts(30.0, 31.0, 5.0, 10, HuntStatus.LIVE);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), nearby.stream().map(n -> n.hunt().id()).toList());
+        assertEquals(0.4, nearby.getFirst().distanceKm());
+    }
+
+    @Test
+    void getNearbyHunts_WithInvalidArguments_ShouldThrowException() {
+        assertThrows(BadRequestException.class, () -> huntService.getNearbyHunts(91, 0, 5, 10, null));
+        assertThrows(BadRequestException.class, () -> huntService.getNearbyHunts(0, 0, 0, 10, null));
+        assertThrows(BadRequestException.class,
+                () -> huntService.getNearbyHunts(0, 0, HuntService.MAX_NEARBY_RADIUS_KM + 1, 10, null));
+        verifyNoInteractions(huntGeoIndex);
+    }
+
+    private static DraftHuntDTO listedHunt(Long id, String title) {
+        return new DraftHuntDTO(id, title, null, 1L, null, null, null, HuntStatus.LIVE, new LocationDTO(1.0, 2.0));
     }
 }
@@ -0,0 +1,141 @@
+package org.treasurehunt.hunt.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.treasurehunt.exception.EntityNotFoundException;
+import org.treasurehunt.hunt.api.HuntStatistics;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.HuntStatisticsRow;
+import org.treasurehunt.submissions.service.SubmissionRecordedEvent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class HuntStatisticsCountersTest {
+
+    private HuntStatisticsCounters huntStatisticsCounters;
+
+    @Mock
+    private HuntRepository huntRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        huntStatisticsCounters = new HuntStatisticsCounters(huntRepository);
+    }
+
+    @Test
+    void statistics_ShouldCountOnceThenFollowEvents() {
+        // Arrange
+        when(huntRepository.findStatisticsRows(List.of(1L))).thenReturn(List.of(row(1L, 4, 41, 100, 30, 12)));
+        huntStatisticsCounters.statistics(1L);
+
+        // Act
+        huntStatisticsCounters.onHuntJoined(new HuntJoinedEvent(1L, 7L));
+        huntStatisticsCounters.onSubmissionRecorded(new SubmissionRecordedEvent(1L, 2L, 7L, false, false));
+        huntStatisticsCounters.onSubmissionRecorded(new SubmissionRecordedEvent(1L, 2L, 7L, true, true));
+        huntStatisticsCounters.onSubmissionRecorded(new SubmissionRecordedEvent(1L, 3L, 7L, true, false));
+
+        // Assert
+        assertEquals(new HuntStatistics(4L, 42L, 103L, 32L, 13L), huntStatisticsCounters.statistics(1L));
+        verify(huntRepository, times(1)).findStatisticsRows(any());
+    }
+
+    @Test
+    void statistics_WhenHuntDoesNotExist_ShouldThrowEntityNotFound() {
+        // Arrange
+        when(huntRepository.findStatisticsRows(List.of(1L))).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> huntStatisticsCounters.statistics(1L));
+        assertEquals(0, huntStatisticsCounters.cachedHuntCount());
+    }
+
+    @Test
+    void onHuntChanged_ShouldRecountAndForgetThatTheHuntWasFull() {
+        // Arrange
+        when(huntRepository.findStatisticsRows(List.of(1L)))
+                .thenReturn(List.of(row(1L, 4, 10, 0, 0, 0)), List.of(row(1L, 5, 10, 0, 0, 0)));
+        huntStatisticsCounters.statistics(1L);
+        huntStatisticsCounters.markFull(1L);
+
+        // Act
+        huntStatisticsCounters.onHuntChanged(HuntChangedEvent.saved(1L));
+
+        // Assert
+        assertFalse(huntStatisticsCounters.isFull(1L));
+        assertEquals(5L, huntStatisticsCounters.statistics(1L).numberOfChallenges());
+    }
+
+    @Test
+    void reconcile_ShouldCorrectDriftAndDropDeletedHunts() {
+        // Arrange
+        when(huntRepository.findStatisticsRows(List.of(1L))).thenReturn(List.of(row(1L, 4, 10, 50, 20, 8)));
+        when(huntRepository.findStatisticsRows(List.of(2L))).thenReturn(List.of(row(2L, 1, 1, 1, 1, 1)));
+        huntStatisticsCounters.statistics(1L);
+        huntStatisticsCounters.statistics(2L);
+        // Joins handled by another node
+        when(huntRepository.findStatisticsRows(argThat(ids -> ids.size() == 2)))
+                .thenReturn(List.of(row(1L, 4, 15, 60, 22, 9)));
+
+        // Act
+        huntStatisticsCounters.reconcile();
+
+        // Assert
+        assertEquals(new HuntStatistics(4L, 15L, 60L, 22L, 9L), huntStatisticsCounters.statistics(1L));
+        assertEquals(1, huntStatisticsCounters.cachedHuntCount());
+    }
+
+    @Test
+    void reconcile_WhenDatabaseIsDown_ShouldKeepServingCachedCounters() {
+        // Arrange
+        when(huntRepository.findStatisticsRows(List.of(1L))).thenReturn(List.of(row(1L, 4, 10, 50, 20, 8)));
+        huntStatisticsCounters.statistics(1L);
+        when(huntRepository.findStatisticsRows(List.of(1L))).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> huntStatisticsCounters.reconcile());
+        assertEquals(10L, huntStatisticsCounters.statistics(1L).numberOfParticipants());
+    }
+
+    static HuntStatisticsRow row(Long huntId, long challenges, long participants, long submissions, long successes,
+                                 long uniqueSolvers) {
+        return new HuntStatisticsRow() {
+            @Override
+            public Long getHuntId() {
+                return huntId;
+            }
+
+            @Override
+            public Long getChallenges() {
+                return challenges;
+            }
+
+            @Override
+            public Long getParticipants() {
+                return participants;
+            }
+
+            @Override
+            public Long getSubmissions() {
+                return submissions;
+            }
+
+            @Override
+            public Long getSuccesses() {
+                return successes;
+            }
+
+            @Override
+            public Long getUniqueSolvers() {
+                return uniqueSolvers;
+            }
+        };
+    }
+}
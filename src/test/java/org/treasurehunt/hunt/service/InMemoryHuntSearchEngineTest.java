@@ -0,0 +1,231 @@
+package org.treasurehunt.hunt.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.HuntSearchRow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Log4j2(topic = "benchmark")
+class InMemoryHuntSearchEngineTest {
+
+    private InMemoryHuntSearchEngine searchEngine;
+
+    @Mock
+    private HuntRepository huntRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(huntRepository.findAllSearchRows()).thenReturn(List.of());
+        searchEngine = new InMemoryHuntSearchEngine(huntRepository);
+        // Loads the (empty) index, as the first search does
+        searchEngine.search("warm up", 10);
+    }
+
+    @Test
+    void search_ShouldMatchPrefixesAndRankTitleMatchesFirst() {
+        // Arrange
+        searchEngine.index(1L, "Forest walk", "Look for the golden acorn");
+        searchEngine.index(2L, "Golden Gate hunt", "Bridges and bays");
+        searchEngine.index(3L, "Museum night", "Paintings only");
+
+        // Act
+        List<HuntSearchHit> hits = searchEngine.search("gold", 10);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), hits.stream().map(HuntSearchHit::huntId).toList());
+    }
+
+    @Test
+    void search_ShouldRequireEveryTermAndIgnoreCaseAndAccents() {
+        // Arrange
+        searchEngine.index(1L, "Café crawl", "Old town squares");
+        searchEngine.index(2L, "Cafe quiz", "New town");
+
+        // Act
+        List<HuntSearchHit> hits = searchEngine.search("CAFE old", 10);
+
+        // Assert
+        assertEquals(List.of(1L), hits.stream().map(HuntSearchHit::huntId).toList());
+    }
+
+    @Test
+    void index_ShouldReplacePreviousTextAndRemoveShouldForgetTheHunt() {
+        // Arrange
+        searchEngine.index(1L, "Pirate cove", null);
+
+        // Act
+        searchEngine.index(1L, "Dragon cave", null);
+
+        // Assert
+        assertTrue(searchEngine.search("pirate", 10).isEmpty());
+        assertEquals(1, searchEngine.search("dragon", 10).size());
+
+        searchEngine.remove(1L);
+        assertTrue(searchEngine.search("dragon", 10).isEmpty());
+        assertEquals(0, searchEngine.indexedHuntCount());
+    }
+
+    @Test
+    void onHuntChanged_ShouldRefreshTheHuntOnceTheIndexIsLoaded() {
+        // Arrange
+        when(huntRepository.findSearchRowById(5L)).thenReturn(Optional.of(row(5L, "Treasure island", "Sail away")));
+
+        // Act
+        searchEngine.onHuntChanged(HuntChangedEvent.saved(5L));
+
+        // Assert
+        assertEquals(5L, searchEngine.search("island", 10).getFirst().huntId());
+
+        searchEngine.onHuntChanged(HuntChangedEvent.deleted(5L));
+        assertTrue(searchEngine.search("island", 10).isEmpty());
+    }
+
+    @Test
+    void onHuntChanged_WhenDatabaseFails_ShouldReloadOnNextSearch() {
+        // Arrange
+        when(huntRepository.findSearchRowById(5L)).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act
+        searchEngine.onHuntChanged(HuntChangedEvent.saved(5L));
+        searchEngine.search("anything", 10);
+
+        // Assert
+        verify(huntRepository, times(2)).findAllSearchRows();
+    }
+
+    @Test
+    void onHuntChanged_WhileLoading_ShouldApplyTheChangeOnceLoaded() {
+        // Arrange
+        InMemoryHuntSearchEngine coldEngine = new InMemoryHuntSearchEngine(huntRepository);
+        when(huntRepository.findAllSearchRows()).thenAnswer(invocation -> {
+            // Hunt 7 is committed after the table was read, before the load is in
+            coldEngine.onHuntChanged(HuntChangedEvent.saved(7L));
+            return List.of(row(1L, "Harbor lights", null));
+        });
+        when(huntRepository.findSearchRowById(7L)).thenReturn(Optional.of(row(7L, "Harbor walk", null)));
+
+        // Act
+        List<HuntSearchHit> hits = coldEngine.search("harbor", 10);
+
+        // Assert
+        assertEquals(Set.of(1L, 7L), hits.stream().map(HuntSearchHit::huntId).collect(Collectors.toSet()));
+        assertEquals(2, coldEngine.indexedHuntCount());
+    }
+
+    @Test
+    void refresh_ShouldPickUpHuntsChangedOnOtherNodes() {
+        // Arrange: hunt 1 was renamed and hunt 2 created elsewhere, without an event reaching this node
+        searchEngine.index(1L, "Pirate cove", null);
+        when(huntRepository.findAllSearchRows()).thenReturn(List.of(
+                row(1L, "Dragon cave", null), row(2L, "Dragon den", null)));
+
+        // Act
+        searchEngine.refresh();
+
+        // Assert
+        assertTrue(searchEngine.search("pirate", 10).isEmpty());
+        assertEquals(Set.of(1L, 2L), searchEngine.search("dragon", 10).stream()
+                .map(HuntSearchHit::huntId)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void refresh_WhenDatabaseFails_ShouldKeepServingTheCurrentIndex() {
+        // Arrange
+        searchEngine.index(1L, "Pirate cove", null);
+        when(huntRepository.findAllSearchRows()).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act
+        searchEngine.refresh();
+
+        // Assert
+        assertEquals(1L, searchEngine.search("pirate", 10).getFirst().huntId());
+        verify(huntRepository, times(2)).findAllSearchRows();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmark_IndexAgainstLikeScan() {
+        // Arrange
+        String[] words = {"gold", "forest", "pirate", "castle", "river", "museum", "night", "city", "secret",
+                "garden", "harbor", "mountain", "quest", "riddle", "map", "island", "bridge", "tower"};
+        Random random = new Random(42);
+        int huntCount = 50_000;
+        List<String> titles = new ArrayList<>(huntCount);
+        for (long id = 1; id <= huntCount; id++) {
+            String title = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]
+                    + " " + Long.toString(id, 36);
+            titles.add(title);
+            searchEngine.index(id, title, "A hunt through the " + words[random.nextInt(words.length)]);
+        }
+        String term = "zz1";
+        int rounds = 200;
+
+        // Act
+        long likeStart = System.nanoTime();
+        Set<Long> likeMatches = Set.of();
+        for (int round = 0; round < rounds; round++) {
+            // What LOWER(title) LIKE '%term%' does: scan and compare every title
+            List<Long> matches = new ArrayList<>();
+            for (int i = 0; i < titles.size(); i++) {
+                if (titles.get(i).toLowerCase(Locale.ROOT).contains(term)) {
+                    matches.add(i + 1L);
+                }
+            }
+            likeMatches = Set.copyOf(matches);
+        }
+        long likeNanos = System.nanoTime() - likeStart;
+
+        long indexStart = System.nanoTime();
+        Set<Long> indexMatches = Set.of();
+        for (int round = 0; round < rounds; round++) {
+            indexMatches = searchEngine.search(term, 1000).stream()
+                    .map(HuntSearchHit::huntId)
+                    .collect(Collectors.toSet());
+        }
+        long indexNanos = System.nanoTime() - indexStart;
+
+        // Assert
+        log.info("Search over {} hunts, {} queries: LIKE scan {} ms, inverted index {} ms",
+                huntCount, rounds, likeNanos / 1_000_000, indexNanos / 1_000_000);
+        // Titles end in base-36 ids, so both find the ids starting with "zz1"; LIKE also finds them mid-word
+        assertFalse(indexMatches.isEmpty());
+        assertTrue(likeMatches.containsAll(indexMatches));
+    }
+
+    private static HuntSearchRow row(Long id, String title, String description) {
+        return new HuntSearchRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+        };
+    }
+}
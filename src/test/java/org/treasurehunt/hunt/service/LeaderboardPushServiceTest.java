@@ -0,0 +1,169 @@
+package org.treasurehunt.hunt.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.treasurehunt.exception.EntityNotFoundException;
+import org.treasurehunt.hunt.repository.HuntParticipationRepository;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.HuntStandingRow;
+import org.treasurehunt.submissions.service.SubmissionRecordedEvent;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LeaderboardPushServiceTest {
+
+    private LeaderboardPushService leaderboardPushService;
+
+    @Mock
+    private HuntRepository huntRepository;
+
+    @Mock
+    private HuntParticipationRepository huntParticipationRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        leaderboardPushService = new LeaderboardPushService(huntRepository, huntParticipationRepository, new ObjectMapper(), 60_000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaderboardPushService.stop();
+    }
+
+    @Test
+    void flush_ShouldCoalesceBurstIntoOneStandingsReadPerHunt() {
+        // Arrange
+        when(huntRepository.existsById(1L)).thenReturn(true);
+        when(huntParticipationRepository.findStandings(eq(1L), any())).thenReturn(List.of(standing(7L, 500, 5)));
+        leaderboardPushService.subscribe(1L);
+        leaderboardPushService.subscribe(1L);
+
+        // Act: solves and failed runs alike
+        for (int i = 1; i <= 50; i++) {
+            leaderboardPushService.onSubmissionRecorded(submission(7L, i % 2 == 0));
+        }
+        leaderboardPushService.onSubmissionRecorded(submission(8L, false));
+        leaderboardPushService.flush();
+        leaderboardPushService.flush();
+
+        // Assert
+        verify(huntParticipationRepository, times(1)).findStandings(eq(1L), argThat(users ->
+                users.size() == 2 && users.containsAll(List.of(7L, 8L))));
+        verifyNoMoreInteractions(huntParticipationRepository);
+        assertEquals(2, leaderboardPushService.subscriberCount(1L));
+    }
+
+    @Test
+    void onSubmissionRecorded_WithoutSubscribers_ShouldNotQueueAnything() {
+        // Act
+        leaderboardPushService.onSubmissionRecorded(submission(7L, true));
+        leaderboardPushService.flush();
+
+        // Assert
+        verifyNoInteractions(huntParticipationRepository);
+    }
+
+    @Test
+    void subscribe_WhenTheLastSubscriberLeavesMeanwhile_ShouldKeepTheNewOne() throws Exception {
+        // Arrange
+        when(huntRepository.existsById(1L)).thenReturn(true);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+
+        // Act: subscribers come and go on another thread while this one keeps a subscription open
+        try {
+            for (int i = 0; i < 500; i++) {
+                SseEmitter leaving = leaderboardPushService.subscribe(1L);
+                Future<?> leave = pool.submit(() -> leaderboardPushService.unsubscribe(1L, leaving));
+                SseEmitter staying = leaderboardPushService.subscribe(1L);
+                leave.get();
+
+                // Assert
+                assertEquals(1, leaderboardPushService.subscriberCount(1L));
+                leaderboardPushService.unsubscribe(1L, staying);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void flush_WhenAClientIsSlow_ShouldNotWaitForItAndKeepItsChangesForLater() throws Exception {
+        // Arrange
+        when(huntParticipationRepository.findStandings(eq(1L), any())).thenReturn(List.of(standing(7L, 10, 1)));
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger frames = new AtomicInteger();
+        leaderboardPushService.subscribe(1L, new SseEmitter() {
+            @Override
+            public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+                frames.incrementAndGet();
+                sending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        // Act
+        leaderboardPushService.onSubmissionRecorded(submission(7L, true));
+        leaderboardPushService.flush();
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        leaderboardPushService.onSubmissionRecorded(submission(7L, false));
+        leaderboardPushService.flush();
+
+        // Assert: the second change waits, coalesced, until the first frame is out
+        assertEquals(1, frames.get());
+        verify(huntParticipationRepository, times(1)).findStandings(eq(1L), any());
+        release.countDown();
+    }
+
+    @Test
+    void subscribe_WithUnknownHunt_ShouldThrow() {
+        when(huntRepository.existsById(9L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> leaderboardPushService.subscribe(9L));
+    }
+
+    private static SubmissionRecordedEvent submission(Long userId, boolean success) {
+        return new SubmissionRecordedEvent(1L, 3L, userId, success, false);
+    }
+
+    private static HuntStandingRow standing(Long userId, int score, long rank) {
+        return new HuntStandingRow() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Integer getScore() {
+                return score;
+            }
+
+            @Override
+            public Long getHuntRank() {
+                return rank;
+            }
+        };
+    }
+}
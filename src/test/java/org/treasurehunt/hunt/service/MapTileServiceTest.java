@@ -0,0 +1,164 @@
+package org.treasurehunt.hunt.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.FileSystemUtils;
+import org.treasurehunt.exception.EntityNotFoundException;
+import org.treasurehunt.hunt.api.MapTileSet;
+import org.treasurehunt.hunt.repository.HuntRepository;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.treasurehunt.common.constants.UploadingConstants.HUNT_MAP_UPLOAD_DIR;
+
+class MapTileServiceTest {
+
+    @TempDir
+    private Path uploadRoot;
+
+    private MapTileService mapTileService;
+    private Path map;
+    private Path tilesDir;
+
+    @Mock
+    private HuntRepository huntRepository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        mapTileService = newService();
+        map = Files.createDirectories(uploadRoot.resolve(HUNT_MAP_UPLOAD_DIR)).resolve("5.png");
+        tilesDir = uploadRoot.resolve(HUNT_MAP_UPLOAD_DIR).resolve("tiles/5");
+        ImageIO.write(new BufferedImage(1000, 600, BufferedImage.TYPE_INT_ARGB), "png", map.toFile());
+        when(huntRepository.getHuntMapImageById(5L)).thenReturn("5.png");
+    }
+
+    @AfterEach
+    void tearDown() {
+        mapTileService.stop();
+    }
+
+    @Test
+    void tileSet_ShouldCutAPyramidOnFirstRequest() throws IOException {
+        // Act
+        MapTileSet tileSet = mapTileService.tileSet(5L).orElseThrow();
+
+        // Assert
+        assertEquals(new MapTileSet(1000, 600, 256, 2), tileSet);
+        assertTrue(Files.exists(tilesDir.resolve("2/3/2.jpg")));
+        assertFalse(Files.exists(tilesDir.resolve("2/4/0.jpg")));
+        BufferedImage edge = ImageIO.read(tilesDir.resolve("2/3/2.jpg").toFile());
+        assertEquals(1000 - 3 * 256, edge.getWidth());
+        assertEquals(600 - 2 * 256, edge.getHeight());
+        BufferedImage whole = ImageIO.read(tilesDir.resolve("0/0/0.jpg").toFile());
+        assertEquals(250, whole.getWidth());
+        assertEquals(150, whole.getHeight());
+    }
+
+    @Test
+    void serveTile_ShouldServeHotTilesFromMemoryAndAnswer304() throws IOException {
+        // Arrange
+        ResponseEntity<byte[]> first = mapTileService.serveTile(5L, 1, 1, 1, null);
+        FileSystemUtils.deleteRecursively(tilesDir.resolve("1"));
+
+        // Act
+        ResponseEntity<byte[]> second = mapTileService.serveTile(5L, 1, 1, 1, null);
+        ResponseEntity<byte[]> notModified = mapTileService.serveTile(5L, 1, 1, 1, first.getHeaders().getETag());
+
+        // Assert
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertArrayEquals(first.getBody(), second.getBody());
+        assertEquals(244, ImageIO.read(new ByteArrayInputStream(second.getBody())).getWidth());
+        assertEquals("max-age=3600, public", second.getHeaders().getCacheControl());
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals(1, mapTileService.cachedTileCount());
+    }
+
+    @Test
+    void serveTile_WhenOutsideThePyramid_ShouldThrowEntityNotFound() {
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> mapTileService.serveTile(5L, 3, 0, 0, null));
+        assertThrows(EntityNotFoundException.class, () -> mapTileService.serveTile(5L, 0, 1, 0, null));
+        assertThrows(EntityNotFoundException.class, () -> mapTileService.serveTile(5L, 2, 0, -1, null));
+    }
+
+    @Test
+    void tileSet_WhenHuntHasNoMap_ShouldThrowEntityNotFound() {
+        // Arrange
+        when(huntRepository.getHuntMapImageById(6L)).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> mapTileService.tileSet(6L));
+    }
+
+    @Test
+    void tileSet_ShouldReuseThePyramidOnDiskUntilTheMapChanges() throws IOException {
+        // Arrange
+        mapTileService.tileSet(5L);
+        Files.setLastModifiedTime(map, FileTime.from(Instant.now().minusSeconds(60)));
+        mapTileService.stop();
+        mapTileService = newService();
+
+        // Act & Assert
+        Files.delete(tilesDir.resolve("0/0/0.jpg"));
+        mapTileService.tileSet(5L);
+        assertFalse(Files.exists(tilesDir.resolve("0/0/0.jpg")));
+
+        ImageIO.write(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), "png", map.toFile());
+        mapTileService.stop();
+        mapTileService = newService();
+        assertEquals(new MapTileSet(200, 100, 256, 0), mapTileService.tileSet(5L).orElseThrow());
+    }
+
+    @Test
+    void tileSet_WhenTheMapCannotBeDecoded_ShouldAnswer404UntilTheMapChanges() throws IOException {
+        // Arrange: a PNG cut short after its header
+        byte[] png = Files.readAllBytes(map);
+        Files.write(map, Arrays.copyOf(png, 64));
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> mapTileService.tileSet(5L));
+        assertThrows(EntityNotFoundException.class, () -> mapTileService.tileSet(5L));
+        verify(huntRepository, times(1)).getHuntMapImageById(5L);
+
+        Files.write(map, png);
+        Files.setLastModifiedTime(map, FileTime.from(Instant.now().plusSeconds(60)));
+        assertEquals(new MapTileSet(1000, 600, 256, 2), mapTileService.tileSet(5L).orElseThrow());
+    }
+
+    @Test
+    void onHuntChanged_WhenDeleted_ShouldRemoveTheTiles() throws Exception {
+        // Arrange
+        mapTileService.serveTile(5L, 0, 0, 0, null);
+
+        // Act
+        mapTileService.onHuntChanged(HuntChangedEvent.deleted(5L));
+
+        // Assert
+        for (int i = 0; i < 100 && Files.exists(tilesDir); i++) {
+            Thread.sleep(20);
+        }
+        assertFalse(Files.exists(tilesDir));
+        assertEquals(0, mapTileService.cachedTileCount());
+    }
+
+    private MapTileService newService() {
+        return new MapTileService(huntRepository, uploadRoot.toString(), 0.8f, 3600, 40_000_000, 1 << 20, 20_000);
+    }
+}
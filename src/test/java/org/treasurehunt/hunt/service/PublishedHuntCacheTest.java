@@ -0,0 +1,152 @@
+package org.treasurehunt.hunt.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.treasurehunt.common.api.RenderedJson;
+import org.treasurehunt.common.enums.HuntStatus;
+import org.treasurehunt.hunt.repository.HuntAccessRow;
+import org.treasurehunt.hunt.repository.HuntRepository;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PublishedHuntCacheTest {
+
+    private PublishedHuntCache publishedHuntCache;
+
+    @Mock
+    private PublishedHuntLoader publishedHuntLoader;
+
+    @Mock
+    private HuntRepository huntRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        publishedHuntCache = new PublishedHuntCache(publishedHuntLoader, huntRepository);
+    }
+
+    @Test
+    void get_WhenHuntIsLive_ShouldLoadOnceAndServeFromMemory() {
+        // Arrange
+        when(publishedHuntLoader.load(eq(1L), anyLong()))
+                .thenAnswer(invocation -> snapshot(1L, invocation.getArgument(1), HuntStatus.LIVE));
+
+        // Act
+        PublishedHunt first = publishedHuntCache.get(1L);
+        PublishedHunt second = publishedHuntCache.get(1L);
+
+        // Assert
+        assertSame(first, second);
+        verify(publishedHuntLoader, times(1)).load(eq(1L), anyLong());
+    }
+
+    @Test
+    void get_WhenHuntIsNotLive_ShouldNotKeepIt() {
+        // Arrange
+        when(publishedHuntLoader.load(eq(1L), anyLong()))
+                .thenAnswer(invocation -> snapshot(1L, invocation.getArgument(1), HuntStatus.APPROVED));
+
+        // Act
+        publishedHuntCache.get(1L);
+        publishedHuntCache.get(1L);
+
+        // Assert
+        assertEquals(0, publishedHuntCache.cachedHuntCount());
+        verify(publishedHuntLoader, times(2)).load(eq(1L), anyLong());
+    }
+
+    @Test
+    void onHuntChanged_ShouldRebuildLiveHuntsAndDropDeletedOnes() {
+        // Arrange
+        when(huntRepository.findAccessRowById(1L)).thenReturn(Optional.of(accessRow(HuntStatus.LIVE)));
+        when(publishedHuntLoader.load(eq(1L), anyLong()))
+                .thenAnswer(invocation -> snapshot(1L, invocation.getArgument(1), HuntStatus.LIVE));
+
+        // Act: the hunt goes live
+        publishedHuntCache.onHuntChanged(HuntChangedEvent.saved(1L));
+        PublishedHunt live = publishedHuntCache.get(1L);
+
+        // Assert
+        assertEquals(HuntStatus.LIVE, live.status());
+        verify(publishedHuntLoader, times(1)).load(eq(1L), anyLong());
+
+        publishedHuntCache.onHuntChanged(HuntChangedEvent.deleted(1L));
+        assertEquals(0, publishedHuntCache.cachedHuntCount());
+    }
+
+    @Test
+    void onHuntChanged_WhenHuntIsNotLive_ShouldDropTheSnapshotWithoutLoading() {
+        // Arrange
+        when(publishedHuntLoader.load(eq(1L), anyLong()))
+                .thenAnswer(invocation -> snapshot(1L, invocation.getArgument(1), HuntStatus.LIVE));
+        publishedHuntCache.get(1L);
+        when(huntRepository.findAccessRowById(1L)).thenReturn(Optional.of(accessRow(HuntStatus.FINISHED)));
+
+        // Act: the hunt ends
+        publishedHuntCache.onHuntChanged(HuntChangedEvent.saved(1L));
+
+        // Assert
+        assertTrue(publishedHuntCache.cached(1L).isEmpty());
+        verify(publishedHuntLoader, times(1)).load(eq(1L), anyLong());
+    }
+
+    @Test
+    void get_WhenHuntChangesWhileLoading_ShouldNotKeepTheStaleSnapshot() {
+        // Arrange
+        when(publishedHuntLoader.load(eq(1L), anyLong()))
+                .thenAnswer(invocation -> {
+                    // An admin edit commits while this request is loading
+                    publishedHuntCache.onHuntChanged(HuntChangedEvent.deleted(1L));
+                    return snapshot(1L, invocation.getArgument(1), HuntStatus.LIVE);
+                });
+
+        // Act
+        publishedHuntCache.get(1L);
+
+        // Assert
+        assertEquals(0, publishedHuntCache.cachedHuntCount());
+    }
+
+    @Test
+    void onHuntChanged_WhenDatabaseIsDown_ShouldBuildOnTheNextRead() {
+        // Arrange
+        when(huntRepository.findAccessRowById(1L)).thenReturn(Optional.of(accessRow(HuntStatus.LIVE)));
+        when(publishedHuntLoader.load(eq(1L), anyLong()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenAnswer(invocation -> snapshot(1L, invocation.getArgument(1), HuntStatus.LIVE));
+
+        // Act
+        assertDoesNotThrow(() -> publishedHuntCache.onHuntChanged(HuntChangedEvent.saved(1L)));
+        PublishedHunt live = publishedHuntCache.get(1L);
+
+        // Assert
+        assertSame(live, publishedHuntCache.get(1L));
+    }
+
+    private static PublishedHunt snapshot(Long huntId, long version, HuntStatus status) {
+        RenderedJson body = new RenderedJson(("{\"version\":" + version + "}").getBytes(), "\"v" + version + "\"");
+        return new PublishedHunt(huntId, version, status, 9L, body, body);
+    }
+
+    private static HuntAccessRow accessRow(HuntStatus status) {
+        return new HuntAccessRow() {
+            @Override
+            public HuntStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getOrganizerId() {
+                return 9L;
+            }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package org.treasurehunt.hunt.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.treasurehunt.common.enums.HuntStatus;
+import org.treasurehunt.hunt.mapper.HuntMapper;
+import org.treasurehunt.hunt.repository.HuntRepository;
+import org.treasurehunt.hunt.repository.entity.Hunt;
+import org.treasurehunt.user.repository.entity.User;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PublishedHuntLoaderTest {
+
+    private PublishedHuntLoader publishedHuntLoader;
+
+    @Mock
+    private HuntRepository huntRepository;
+
+    @Mock
+    private ChallengeReadService challengeReadService;
+
+    @Mock
+    private HuntMapper huntMapper;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        publishedHuntLoader = new PublishedHuntLoader(huntRepository, challengeReadService, huntMapper, new ObjectMapper());
+    }
+
+    @Test
+    void load_ShouldReadOnlyTheHunterView() {
+        // Arrange
+        User organizer = new User();
+        organizer.setId(9L);
+        Hunt hunt = new Hunt();
+        hunt.setId(1L);
+        hunt.setStatus(HuntStatus.LIVE);
+        hunt.setOrganizer(organizer);
+        when(huntRepository.findById(1L)).thenReturn(Optional.of(hunt));
+        when(challengeReadService.getHunterChallengesByHuntId(1L)).thenReturn(List.of());
+
+        // Act
+        PublishedHunt published = publishedHuntLoader.load(1L, 4L);
+
+        // Assert
+        assertEquals(9L, published.organizerId());
+        assertArrayEquals("[]".getBytes(), published.hunterChallenges().body());
+        verify(challengeReadService, never()).getChallengesByHuntId(any());
+    }
+}
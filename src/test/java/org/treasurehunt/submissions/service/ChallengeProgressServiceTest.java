@@ -0,0 +1,172 @@
+package org.treasurehunt.submissions.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.treasurehunt.hunt.repository.entity.Challenge;
+import org.treasurehunt.hunt.repository.entity.Hunt;
+import org.treasurehunt.submissions.repo.Submission;
+import org.treasurehunt.submissions.repo.SubmissionRepo;
+import org.treasurehunt.submissions.repo.UserChallengeProgress;
+import org.treasurehunt.submissions.repo.UserChallengeProgressId;
+import org.treasurehunt.submissions.repo.UserChallengeProgressRepo;
+import org.treasurehunt.user.service.DailyPointsService;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChallengeProgressServiceTest {
+
+    private ChallengeProgressService challengeProgressService;
+
+    @Mock
+    private UserChallengeProgressRepo progressRepo;
+
+    @Mock
+    private SubmissionRepo submissionRepo;
+
+    @Mock
+    private DailyPointsService dailyPointsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        challengeProgressService = new ChallengeProgressService(progressRepo, submissionRepo, dailyPointsService,
+                eventPublisher);
+    }
+
+    @Test
+    void recordSubmission_WithSuccess_ShouldUpsertSolvedProgress() {
+        // Arrange
+        Instant now = Instant.now();
+        Submission submission = submission(Submission.SubmissionStatus.SUCCESS, now, 0.25);
+        when(submissionRepo.save(submission)).thenReturn(submission);
+        when(progressRepo.insertSolved(1L, 2L, 3L, now, 0.25)).thenReturn(1);
+        when(progressRepo.countSolved(1L, 3L)).thenReturn(1L);
+
+        // Act
+        Submission saved = challengeProgressService.recordSubmission(submission, challenge());
+
+        // Assert
+        assertSame(submission, saved);
+        verify(progressRepo, never()).markSolved(anyLong(), anyLong(), any(), any());
+        verify(progressRepo, never()).upsertFailure(anyLong(), anyLong(), anyLong());
+        verify(dailyPointsService).addPoints(1L, 50, now);
+        verify(eventPublisher).publishEvent(new SubmissionRecordedEvent(3L, 2L, 1L, true, true));
+    }
+
+    @Test
+    void recordSubmission_WithSuccessAfterFailures_ShouldCreditPointsWhenMarkedSolved() {
+        // Arrange
+        Instant now = Instant.now();
+        Submission submission = submission(Submission.SubmissionStatus.SUCCESS, now, 0.3);
+        when(submissionRepo.save(submission)).thenReturn(submission);
+        when(progressRepo.insertSolved(1L, 2L, 3L, now, 0.3)).thenReturn(0);
+        when(progressRepo.markSolved(1L, 2L, now, 0.3)).thenReturn(1);
+        when(progressRepo.countSolved(1L, 3L)).thenReturn(2L);
+
+        // Act
+        challengeProgressService.recordSubmission(submission, challenge());
+
+        // Assert
+        verify(progressRepo, never()).recordRuntime(anyLong(), anyLong(), any());
+        verify(dailyPointsService).addPoints(1L, 50, now);
+        verify(eventPublisher).publishEvent(new SubmissionRecordedEvent(3L, 2L, 1L, true, false));
+    }
+
+    @Test
+    void recordSubmission_WithRepeatedSuccess_ShouldNotCreditPointsTwice() {
+        // Arrange
+        Instant now = Instant.now();
+        Submission submission = submission(Submission.SubmissionStatus.SUCCESS, now, 0.1);
+        when(submissionRepo.save(submission)).thenReturn(submission);
+        // Both conditional writes find the challenge already solved, e.g. by a concurrent run
+        when(progressRepo.insertSolved(1L, 2L, 3L, now, 0.1)).thenReturn(0);
+        when(progressRepo.markSolved(1L, 2L, now, 0.1)).thenReturn(0);
+
+        // Act
+        challengeProgressService.recordSubmission(submission, challenge());
+
+        // Assert
+        verify(progressRepo).recordRuntime(1L, 2L, 0.1);
+        verify(progressRepo, never()).findById(any());
+        verify(dailyPointsService, never()).addPoints(anyLong(), anyInt(), any());
+        verify(eventPublisher).publishEvent(new SubmissionRecordedEvent(3L, 2L, 1L, true, false));
+    }
+
+    @Test
+    void recordSubmission_WithFailure_ShouldIncrementFailCount() {
+        // Arrange
+        Submission submission = submission(Submission.SubmissionStatus.FAIL, Instant.now(), null);
+        when(submissionRepo.save(submission)).thenReturn(submission);
+
+        // Act
+        challengeProgressService.recordSubmission(submission, challenge());
+
+        // Assert
+        verify(progressRepo).upsertFailure(1L, 2L, 3L);
+        verify(dailyPointsService, never()).addPoints(anyLong(), anyInt(), any());
+        verify(progressRepo, never()).insertSolved(anyLong(), anyLong(), anyLong(), any(), any());
+        verify(eventPublisher).publishEvent(new SubmissionRecordedEvent(3L, 2L, 1L, false, false));
+    }
+
+    @Test
+    void getProgressByChallenge_ShouldKeyRowsByChallengeId() {
+        // Arrange
+        UserChallengeProgress solved = progress(1L, 10L, Instant.now(), 2);
+        UserChallengeProgress unsolved = progress(1L, 11L, null, 4);
+        when(progressRepo.findByUserIdAndHuntId(1L, 3L)).thenReturn(List.of(solved, unsolved));
+        when(progressRepo.findById(new UserChallengeProgressId(1L, 10L))).thenReturn(Optional.of(solved));
+
+        // Act
+        Map<Long, UserChallengeProgress> result = challengeProgressService.getProgressByChallenge(1L, 3L);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertTrue(result.get(10L).isSolved());
+        assertFalse(result.get(11L).isSolved());
+        assertEquals(4, result.get(11L).getFailCount());
+        assertTrue(challengeProgressService.hasSolved(1L, 10L));
+        assertFalse(challengeProgressService.hasSolved(1L, 11L));
+    }
+
+    private Submission submission(Submission.SubmissionStatus status, Instant time, Double runtime) {
+        Submission submission = new Submission();
+        submission.setUserId(1L);
+        submission.setChallengeId(2L);
+        submission.setStatus(status);
+        submission.setTime(time);
+        submission.setRuntime(runtime);
+        return submission;
+    }
+
+    private Challenge challenge() {
+        Hunt hunt = new Hunt();
+        hunt.setId(3L);
+        Challenge challenge = new Challenge();
+        challenge.setId(2L);
+        challenge.setHunt(hunt);
+        challenge.setPoints(50);
+        return challenge;
+    }
+
+    private UserChallengeProgress progress(Long userId, Long challengeId, Instant solvedAt, int failCount) {
+        UserChallengeProgress progress = new UserChallengeProgress();
+        progress.setId(new UserChallengeProgressId(userId, challengeId));
+        progress.setHuntId(3L);
+        progress.setSolvedAt(solvedAt);
+        progress.setFailCount(failCount);
+        return progress;
+    }
+}
@@ -41,10 +41,14 @@ class SubmissionServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ChallengeProgressService challengeProgressService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        submissionService = new SubmissionService(judge0Service, challengeRepository, submissionRepo, userRepository);
+        submissionService = new SubmissionService(judge0Service, challengeRepository, submissionRepo, userRepository,
+                challengeProgressService);
     }
 
     @Test
@@ -0,0 +1,90 @@
+package org.treasurehunt.user.mapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.treasurehunt.auth.UserAuthResponse;
+import org.treasurehunt.hunt.repository.CurrentHuntTitleRow;
+import org.treasurehunt.hunt.repository.HuntParticipationRepository;
+import org.treasurehunt.user.repository.entity.User;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class UserMapperTest {
+
+    @InjectMocks
+    private UserMapperImpl userMapper;
+
+    @Mock
+    private HuntParticipationRepository huntParticipationRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void toUserAuthPageResponse_ShouldLoadTheCurrentHuntsOfThePageInOneQuery() {
+        // Arrange
+        Page<User> users = new PageImpl<>(List.of(user(1L), user(2L), user(3L)), PageRequest.of(0, 3), 7);
+        when(huntParticipationRepository.findCurrentHuntTitles(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(title(1L, "Gold rush"), title(3L, "Night museum")));
+
+        // Act
+        Page<UserAuthResponse> page = userMapper.toUserAuthPageResponse(users);
+
+        // Assert
+        assertEquals(List.of("Gold rush", "", "Night museum"),
+                page.getContent().stream().map(UserAuthResponse::currentHunt).toList());
+        assertEquals("2", page.getContent().get(1).id());
+        assertEquals(7, page.getTotalElements());
+        verify(huntParticipationRepository, times(1)).findCurrentHuntTitles(List.of(1L, 2L, 3L));
+        verify(huntParticipationRepository, never()).findCurrentHuntTitle(anyLong());
+    }
+
+    @Test
+    void toUserAuthResponseList_WithNoUsers_ShouldNotQuery() {
+        // Act
+        List<UserAuthResponse> responses = userMapper.toUserAuthResponseList(List.of());
+
+        // Assert
+        assertTrue(responses.isEmpty());
+        verifyNoInteractions(huntParticipationRepository);
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setRoles(Set.of());
+        return user;
+    }
+
+    private static CurrentHuntTitleRow title(Long userId, String title) {
+        return new CurrentHuntTitleRow() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package org.treasurehunt.user.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.treasurehunt.exception.BadRequestException;
+import org.treasurehunt.user.repository.UserDailyPointsRepository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DailyPointsServiceTest {
+
+    private DailyPointsService dailyPointsService;
+
+    @Mock
+    private UserDailyPointsRepository userDailyPointsRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        dailyPointsService = new DailyPointsService(userDailyPointsRepository);
+    }
+
+    @Test
+    void addPoints_ShouldUpsertIntoUtcDayBucket() {
+        // Arrange
+        Instant earnedAt = Instant.parse("2024-03-10T23:30:00Z");
+
+        // Act
+        dailyPointsService.addPoints(1L, 40, earnedAt);
+
+        // Assert
+        verify(userDailyPointsRepository).addPoints(1L, LocalDate.of(2024, 3, 10), 40);
+    }
+
+    @Test
+    void getPointsEarnedInLastDays_ShouldSumWindowEndingToday() {
+        // Arrange
+        LocalDate fromDay = LocalDate.now(ZoneOffset.UTC).minusDays(6);
+        when(userDailyPointsRepository.sumPointsSince(1L, fromDay)).thenReturn(120L);
+
+        // Act
+        int result = dailyPointsService.getPointsEarnedInLastDays(1L, 7);
+
+        // Assert
+        assertEquals(120, result);
+    }
+
+    @Test
+    void getPointsEarnedInLastDays_WithEmptyWindow_ShouldThrow() {
+        assertThrows(BadRequestException.class, () -> dailyPointsService.getPointsEarnedInLastDays(1L, 0));
+        verify(userDailyPointsRepository, never()).sumPointsSince(anyLong(), any());
+    }
+}
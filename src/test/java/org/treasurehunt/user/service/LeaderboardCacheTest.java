@@ -0,0 +1,95 @@
+package org.treasurehunt.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.treasurehunt.common.api.RenderedJson;
+import org.treasurehunt.user.repository.LeaderboardRow;
+import org.treasurehunt.user.repository.UserRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LeaderboardCacheTest {
+
+    private LeaderboardCache leaderboardCache;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(userRepository.findLeaderboardRows(any(Pageable.class)))
+                .thenReturn(List.of(row(1L, "alice", 300), row(2L, "bob", 200), row(3L, "carol", 100)));
+        when(userRepository.count()).thenReturn(3L);
+    }
+
+    @Test
+    void getPage_WithinInterval_ShouldServeSnapshotWithoutQuerying() {
+        // Arrange
+        leaderboardCache = new LeaderboardCache(userRepository, userService, new ObjectMapper(), 100, 60_000, 60_000);
+
+        // Act
+        RenderedJson first = leaderboardCache.getPage(0, 2);
+        leaderboardCache.onScoreChanged(new ScoreChangedEvent(3L, 500, 600, 1L, Instant.now()));
+        RenderedJson second = leaderboardCache.getPage(0, 2);
+
+        // Assert
+        assertSame(first, second);
+        assertTrue(second.matches(first.etag()));
+        assertTrue(new String(first.body()).contains("\"username\":\"alice\""));
+        verify(userRepository, times(1)).findLeaderboardRows(any(Pageable.class));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void getPage_AfterScoreChange_ShouldRebuildAndChangeEtag() {
+        // Arrange
+        leaderboardCache = new LeaderboardCache(userRepository, userService, new ObjectMapper(), 100, 0, 60_000);
+        RenderedJson before = leaderboardCache.getPage(0, 2);
+        RenderedJson unchanged = leaderboardCache.getPage(0, 2);
+        when(userRepository.findLeaderboardRows(any(Pageable.class)))
+                .thenReturn(List.of(row(3L, "carol", 600), row(1L, "alice", 300), row(2L, "bob", 200)));
+
+        // Act
+        leaderboardCache.onScoreChanged(new ScoreChangedEvent(3L, 500, 600, 1L, Instant.now()));
+        RenderedJson after = leaderboardCache.getPage(0, 2);
+
+        // Assert
+        assertSame(before, unchanged);
+        assertNotEquals(before.etag(), after.etag());
+        assertFalse(after.matches(before.etag()));
+        verify(userRepository, times(2)).findLeaderboardRows(any(Pageable.class));
+    }
+
+    @Test
+    void matches_ShouldHonourListsAndWeakValidators() {
+        RenderedJson page = new RenderedJson(new byte[0], "\"abc\"");
+
+        assertTrue(page.matches("\"xyz\", \"abc\""));
+        assertTrue(page.matches("W/\"abc\""));
+        assertTrue(page.matches("*"));
+        assertFalse(page.matches("\"xyz\""));
+        assertFalse(page.matches(null));
+    }
+
+    private LeaderboardRow row(Long id, String username, int score) {
+        return new LeaderboardRow() {
+            public Long getId() { return id; }
+            public String getUsername() { return username; }
+            public Integer getScore() { return score; }
+            public String getProfilePicture() { return null; }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package org.treasurehunt.user.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ScoreEventAppenderTest {
+
+    private ScoreEventAppender appender;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        appender = new ScoreEventAppender(jdbcTemplate, 1000, 50, 20);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        appender.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void append_ShouldWriteEventsInBatches() {
+        // Arrange
+        List<ScoreChangedEvent> written = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            Collection<ScoreChangedEvent> batch = invocation.getArgument(1);
+            synchronized (written) {
+                written.addAll(batch);
+                batchSizes.add(batch.size());
+            }
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+
+        // Act
+        for (int i = 0; i < 120; i++) {
+            appender.append(new ScoreChangedEvent(1L, 10, 10 * (i + 1), 3L, Instant.now()));
+        }
+        appender.start();
+
+        // Assert
+        verify(jdbcTemplate, timeout(2000).atLeast(3)).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        synchronized (written) {
+            assertEquals(120, written.size());
+            assertTrue(batchSizes.stream().allMatch(size -> size <= 50));
+            assertEquals(1200, written.get(119).newScore());
+        }
+    }
+
+    @Test
+    void append_WithFullQueue_ShouldWriteSynchronously() {
+        // Arrange
+        appender = new ScoreEventAppender(jdbcTemplate, 1, 50, 20);
+        appender.append(new ScoreChangedEvent(1L, 5, 5, null, Instant.now()));
+
+        // Act
+        appender.append(new ScoreChangedEvent(1L, 5, 10, null, Instant.now()));
+
+        // Assert
+        ArgumentCaptor<Collection<ScoreChangedEvent>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture(), eq(1), any());
+        assertEquals(10, captor.getValue().iterator().next().newScore());
+    }
+}
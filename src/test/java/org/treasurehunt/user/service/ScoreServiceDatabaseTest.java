@@ -0,0 +1,80 @@
+package org.treasurehunt.user.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.treasurehunt.support.DatabaseTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Awards scores from many threads at once, each call committing on its own, as concurrent
+ * requests do.
+ */
+@DatabaseTest
+@Import(ScoreService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ScoreServiceDatabaseTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ScoreService scoreService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (user_id, username, email, password, score) VALUES (1, 'hunter', 'h@example.com', 'x', 5)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM score_award");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void awardChallenge_WhenCalledConcurrentlyForTheSamePair_ShouldCreditExactlyOnce() throws Exception {
+        // Arrange
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> awards = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            awards.add(pool.submit(() -> {
+                start.await();
+                return scoreService.awardChallenge(1L, 7L, 30, 3L);
+            }));
+        }
+
+        // Act
+        start.countDown();
+        int credited = 0;
+        try {
+            for (Future<Boolean> award : awards) {
+                credited += award.get() ? 1 : 0;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(1, credited);
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM score_award WHERE user_id = 1 AND challenge_id = 7", Integer.class));
+        assertEquals(5 + 30, jdbcTemplate.queryForObject("SELECT score FROM users WHERE user_id = 1", Integer.class));
+    }
+}
@@ -0,0 +1,73 @@
+package org.treasurehunt.user.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.treasurehunt.user.repository.ScoreAwardRepository;
+import org.treasurehunt.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ScoreServiceTest {
+
+    private ScoreService scoreService;
+
+    @Mock
+    private ScoreAwardRepository scoreAwardRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        scoreService = new ScoreService(scoreAwardRepository, userRepository, eventPublisher);
+    }
+
+    @Test
+    void awardChallenge_WhenNotYetAwarded_ShouldInsertTheAwardThenIncrementTheScore() {
+        // Arrange
+        when(scoreAwardRepository.insertIfAbsent(eq(1L), eq(10L), eq(50), any())).thenReturn(1);
+        when(userRepository.getScoreById(1L)).thenReturn(120);
+
+        // Act
+        boolean credited = scoreService.awardChallenge(1L, 10L, 50, 3L);
+
+        // Assert
+        assertTrue(credited);
+        InOrder inOrder = inOrder(scoreAwardRepository, userRepository, eventPublisher);
+        inOrder.verify(scoreAwardRepository).insertIfAbsent(eq(1L), eq(10L), eq(50), any());
+        inOrder.verify(userRepository).incrementScore(1L, 50);
+        inOrder.verify(userRepository).getScoreById(1L);
+        ArgumentCaptor<ScoreChangedEvent> event = ArgumentCaptor.forClass(ScoreChangedEvent.class);
+        inOrder.verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(1L, event.getValue().userId());
+        assertEquals(50, event.getValue().delta());
+        assertEquals(120, event.getValue().newScore());
+        assertEquals(3L, event.getValue().huntId());
+    }
+
+    @Test
+    void awardChallenge_WhenAlreadyAwarded_ShouldLeaveTheScoreAlone() {
+        // Arrange
+        when(scoreAwardRepository.insertIfAbsent(eq(1L), eq(10L), eq(50), any())).thenReturn(0);
+
+        // Act
+        boolean credited = scoreService.awardChallenge(1L, 10L, 50, 3L);
+
+        // Assert
+        assertFalse(credited);
+        verify(userRepository, never()).incrementScore(anyLong(), anyInt());
+        verify(userRepository, never()).getScoreById(anyLong());
+        verify(eventPublisher, never()).publishEvent(any(ScoreChangedEvent.class));
+    }
+}
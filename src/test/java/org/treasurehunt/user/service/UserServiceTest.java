@@ -4,20 +4,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.treasurehunt.auth.ChangePasswordRequest;
 import org.treasurehunt.auth.CreateUserRequest;
 import org.treasurehunt.auth.UserAuthResponse;
 import org.treasurehunt.common.enums.Roles;
+import org.treasurehunt.common.util.AuthUtil;
 import org.treasurehunt.exception.IncorrectPasswordException;
-import org.treasurehunt.hunt.repository.ChallengeRepository;
+import org.treasurehunt.security.UserDetailsDTO;
 import org.treasurehunt.security.jwt.JwtService;
-import org.treasurehunt.submissions.repo.SubmissionRepo;
+import org.treasurehunt.user.api.UserScoreResponse;
 import org.treasurehunt.user.mapper.UserMapper;
 import org.treasurehunt.user.repository.UserCriteriaRepository;
 import org.treasurehunt.user.repository.UserRepository;
 import org.treasurehunt.user.repository.entity.User;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,16 +47,19 @@ class UserServiceTest {
     private UserCriteriaRepository userCriteriaRepository;
 
     @Mock
-    private SubmissionRepo submissionRepo;
+    private DailyPointsService dailyPointsService;
 
     @Mock
-    private ChallengeRepository challengeRepository;
+    private ScoreHistoryService scoreHistoryService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
         userService = new UserService(userRepository, userMapper, jwtService, passwordEncoder, 
-                                     userCriteriaRepository, submissionRepo, challengeRepository);
+                                     userCriteriaRepository, dailyPointsService, scoreHistoryService, eventPublisher);
     }
 
     @Test
@@ -158,4 +164,29 @@ class UserServiceTest {
         verify(passwordEncoder).matches(oldPassword, user.getPassword());
         verify(userRepository, never()).save(any(User.class));
     }
+
+    @Test
+    void getUserScore_ShouldRankByCountingHigherScores() {
+        // Arrange
+        User user = new User();
+        user.setId(1L);
+        user.setScore(120);
+        UserDetailsDTO principal = new UserDetailsDTO(1L, "user@example.com", "password", List.of());
+
+        try (var authUtilMock = mockStatic(AuthUtil.class)) {
+            authUtilMock.when(AuthUtil::getUserFromSecurityContext).thenReturn(Optional.of(principal));
+            when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+            when(userRepository.countUsersWithScoreAbove(120)).thenReturn(4L);
+            when(scoreHistoryService.getHighestScore(1L, 120)).thenReturn(150);
+
+            // Act
+            UserScoreResponse response = userService.getUserScore(7);
+
+            // Assert
+            assertEquals(120, response.getData().getTotal());
+            assertEquals(5, response.getData().getRank());
+            assertEquals(150, response.getData().getHighestScore());
+            verify(userRepository, never()).findAll();
+        }
+    }
 }